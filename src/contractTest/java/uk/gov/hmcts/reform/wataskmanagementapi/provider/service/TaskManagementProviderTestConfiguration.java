@@ -19,6 +19,7 @@ import org.zalando.problem.jackson.ProblemModule;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.access.AccessControlService;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.idam.IdamService;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.idam.IdamTokenGenerator;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.RoleAssignmentCache;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.RoleAssignmentService;
 import uk.gov.hmcts.reform.wataskmanagementapi.cft.query.CftQueryService;
 import uk.gov.hmcts.reform.wataskmanagementapi.config.AllowedJurisdictionConfiguration;
@@ -35,6 +36,7 @@ import uk.gov.hmcts.reform.wataskmanagementapi.services.TaskAutoAssignmentServic
 import uk.gov.hmcts.reform.wataskmanagementapi.services.TaskManagementService;
 import uk.gov.hmcts.reform.wataskmanagementapi.services.TerminationProcessHelper;
 import uk.gov.hmcts.reform.wataskmanagementapi.services.operation.TaskOperationPerformService;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.outbox.CamundaOutboxService;
 import uk.gov.hmcts.reform.wataskmanagementapi.services.utils.TaskMandatoryFieldsValidator;
 
 import java.text.SimpleDateFormat;
@@ -67,8 +69,12 @@ public class TaskManagementProviderTestConfiguration {
     @MockitoBean
     private RoleAssignmentService roleAssignmentService;
     @MockitoBean
+    private RoleAssignmentCache roleAssignmentCache;
+    @MockitoBean
     private TerminationProcessHelper terminationProcessHelper;
     @MockitoBean
+    private CamundaOutboxService camundaOutboxService;
+    @MockitoBean
     private ConfigureTaskService configureTaskService;
     @MockitoBean
     private TaskAutoAssignmentService taskAutoAssignmentService;
@@ -108,11 +114,11 @@ public class TaskManagementProviderTestConfiguration {
             configureTaskService,
             taskAutoAssignmentService,
             roleAssignmentVerificationService,
-            entityManager,
             idamTokenGenerator,
             cftSensitiveTaskEventLogsDatabaseService,
             taskMandatoryFieldsValidator,
-            terminationProcessHelper);
+            terminationProcessHelper,
+            camundaOutboxService);
     }
 
     @Bean
@@ -120,7 +126,8 @@ public class TaskManagementProviderTestConfiguration {
     public AccessControlService accessControlService() {
         return new AccessControlService(
             idamService,
-            roleAssignmentService
+            roleAssignmentService,
+            roleAssignmentCache
         );
     }
 
@@ -1,6 +1,8 @@
 package uk.gov.hmcts.reform.wataskmanagementapi.cft.cleanupsensitivedata;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import lombok.extern.slf4j.Slf4j;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.AfterEach;
@@ -14,7 +16,6 @@ import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
 import org.testcontainers.junit.jupiter.Testcontainers;
 import uk.gov.hmcts.reform.wataskmanagementapi.config.JacksonConfiguration;
-import uk.gov.hmcts.reform.wataskmanagementapi.config.executors.ExecutorServiceConfig;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.parameter.SearchRequestCustomDeserializer;
 import uk.gov.hmcts.reform.wataskmanagementapi.entity.SensitiveTaskEventLog;
 import uk.gov.hmcts.reform.wataskmanagementapi.repository.SensitiveTaskEventLogsRepository;
@@ -22,15 +23,19 @@ import uk.gov.hmcts.reform.wataskmanagementapi.repository.TaskResourceRepository
 import uk.gov.hmcts.reform.wataskmanagementapi.services.CFTSensitiveTaskEventLogsDatabaseService;
 import uk.gov.hmcts.reform.wataskmanagementapi.services.CFTTaskDatabaseService;
 import uk.gov.hmcts.reform.wataskmanagementapi.services.CFTTaskMapper;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.SensitiveTaskEventLogWriter;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.signature.RoleSignatureBuilder;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.signature.SearchFilterSignatureBuilder;
 
 import java.time.LocalDateTime;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
+
+import static org.mockito.Mockito.mock;
 
 @ActiveProfiles("integration")
 @DataJpaTest
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
-@Import({ExecutorServiceConfig.class, JacksonConfiguration.class, SearchRequestCustomDeserializer.class})
+@Import({JacksonConfiguration.class, SearchRequestCustomDeserializer.class})
 @Testcontainers
 @Sql("/scripts/cleanup/data.sql")
 @Slf4j
@@ -39,9 +44,6 @@ public class CleanUpSensitiveLogsDataTest {
     @Autowired
     TaskResourceRepository taskResourceRepository;
 
-    @Autowired
-    private ExecutorService sensitiveTaskEventLogsExecutorService;
-
     @Autowired
     private SensitiveTaskEventLogsRepository sensitiveTaskEventLogsRepository;
 
@@ -60,12 +62,16 @@ public class CleanUpSensitiveLogsDataTest {
     @BeforeEach
     void setUp() {
         CFTTaskMapper cftTaskMapper = new CFTTaskMapper(objectMapper);
-        cftTaskDatabaseService = new CFTTaskDatabaseService(taskResourceRepository, cftTaskMapper);
+        cftTaskDatabaseService = new CFTTaskDatabaseService(
+            taskResourceRepository, cftTaskMapper, Runnable::run,
+            new SearchFilterSignatureBuilder(Caffeine.newBuilder().maximumWeight(1000), new SimpleMeterRegistry()),
+            new RoleSignatureBuilder(Caffeine.newBuilder().maximumWeight(1000), new SimpleMeterRegistry())
+        );
 
         cftSensitiveTaskEventLogsDatabaseService = new CFTSensitiveTaskEventLogsDatabaseService(
             sensitiveTaskEventLogsRepository,
             cftTaskDatabaseService,
-            sensitiveTaskEventLogsExecutorService
+            mock(SensitiveTaskEventLogWriter.class)
         );
     }
 
@@ -75,7 +81,7 @@ public class CleanUpSensitiveLogsDataTest {
         long totalCount = sensitiveTaskEventLogsRepository.count();
         Assertions.assertThat(totalCount).isEqualTo(4);
 
-        int removedRecords = cftSensitiveTaskEventLogsDatabaseService.cleanUpSensitiveLogs(LocalDateTime.now());
+        int removedRecords = cftSensitiveTaskEventLogsDatabaseService.cleanUpSensitiveLogs(LocalDateTime.now(), 100);
         Assertions.assertThat(removedRecords).isEqualTo(3);
 
         long remainingCount = sensitiveTaskEventLogsRepository.count();
@@ -86,7 +92,7 @@ public class CleanUpSensitiveLogsDataTest {
     void should_not_clean_up_tasks_where_expiry_time_is_greater_than_current_time() {
 
         LocalDateTime jobStartTime = LocalDateTime.now();
-        cftSensitiveTaskEventLogsDatabaseService.cleanUpSensitiveLogs(jobStartTime);
+        cftSensitiveTaskEventLogsDatabaseService.cleanUpSensitiveLogs(jobStartTime, 100);
 
         List<SensitiveTaskEventLog> sensitiveTaskEventLogList =
             (List<SensitiveTaskEventLog>) sensitiveTaskEventLogsRepository.findAll();
@@ -98,4 +104,18 @@ public class CleanUpSensitiveLogsDataTest {
 
     }
 
+    @Test
+    void should_clean_up_no_more_than_a_chunk_at_a_time() {
+        LocalDateTime jobStartTime = LocalDateTime.now();
+
+        Assertions.assertThat(cftSensitiveTaskEventLogsDatabaseService.cleanUpSensitiveLogs(jobStartTime, 2))
+            .isEqualTo(2);
+        Assertions.assertThat(sensitiveTaskEventLogsRepository.count()).isEqualTo(2);
+        Assertions.assertThat(cftSensitiveTaskEventLogsDatabaseService.cleanUpSensitiveLogs(jobStartTime, 2))
+            .isEqualTo(1);
+        Assertions.assertThat(cftSensitiveTaskEventLogsDatabaseService.cleanUpSensitiveLogs(jobStartTime, 2))
+            .isZero();
+        Assertions.assertThat(sensitiveTaskEventLogsRepository.count()).isEqualTo(1);
+    }
+
 }
@@ -0,0 +1,209 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.cft.query;
+
+import jakarta.persistence.EntityManager;
+import jakarta.persistence.criteria.CriteriaBuilder;
+import jakarta.persistence.criteria.Predicate;
+import jakarta.persistence.criteria.Root;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
+import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.test.context.ActiveProfiles;
+import org.testcontainers.junit.jupiter.Testcontainers;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.permission.PermissionRequirementBuilder;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.permission.PermissionRequirements;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.permission.entities.PermissionJoin;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.RoleAssignment;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.Classification;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.GrantType;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.RoleType;
+import uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.CFTTaskState;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.SecurityClassification;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskRoleResource;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static uk.gov.hmcts.reform.wataskmanagementapi.auth.permission.entities.PermissionTypes.CANCEL;
+import static uk.gov.hmcts.reform.wataskmanagementapi.auth.permission.entities.PermissionTypes.CLAIM;
+import static uk.gov.hmcts.reform.wataskmanagementapi.auth.permission.entities.PermissionTypes.EXECUTE;
+import static uk.gov.hmcts.reform.wataskmanagementapi.auth.permission.entities.PermissionTypes.MANAGE;
+import static uk.gov.hmcts.reform.wataskmanagementapi.auth.permission.entities.PermissionTypes.OWN;
+import static uk.gov.hmcts.reform.wataskmanagementapi.auth.permission.entities.PermissionTypes.READ;
+
+/**
+ * Compares the in memory evaluation of role assignments with the query it replaces, on tasks and role
+ * assignments generated from a seed. Values are drawn from small sets, so that attributes, role names,
+ * classifications and authorisations match as often as they differ.
+ */
+@ActiveProfiles("integration")
+@DataJpaTest
+@AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
+@Testcontainers
+class RoleAssignmentEvaluatorConsistencyTest {
+
+    private static final int TASKS = 40;
+    private static final int TRIALS = 100;
+    private static final String[] JURISDICTIONS = {"IA", "WA", null};
+    private static final String[] CASE_TYPES = {"Asylum", "WaCaseType", null};
+    private static final String[] REGIONS = {"1", "2", null};
+    private static final String[] LOCATIONS = {"765324", "512401", null};
+    private static final String[] CASE_IDS = {"1623278362431001", "1623278362431002", null};
+    private static final String[] ROLE_NAMES = {"tribunal-caseofficer", "case-manager", "judge"};
+    private static final String[][] AUTHORIZATIONS = {null, {}, {"IAC"}, {"IAC", "SSCS"}};
+    private static final List<List<String>> AUTHORISATIONS = Arrays.asList(
+        null, List.of(), List.of("IAC"), List.of("SSCS", "373")
+    );
+    private static final GrantType[] GRANT_TYPES = {
+        GrantType.STANDARD, GrantType.SPECIFIC, GrantType.CHALLENGED, GrantType.EXCLUDED, GrantType.BASIC
+    };
+    private static final List<PermissionRequirements> PERMISSION_REQUIREMENTS = List.of(
+        PermissionRequirementBuilder.builder().buildSingleType(READ),
+        PermissionRequirementBuilder.builder().buildSingleRequirementWithOr(OWN, EXECUTE),
+        PermissionRequirementBuilder.builder().buildSingleRequirementWithAnd(OWN, CLAIM),
+        PermissionRequirementBuilder.builder()
+            .initPermissionRequirement(List.of(OWN, EXECUTE), PermissionJoin.OR)
+            .joinPermissionRequirement(PermissionJoin.AND)
+            .nextPermissionRequirement(List.of(MANAGE), PermissionJoin.AND)
+            .build(),
+        PermissionRequirementBuilder.builder()
+            .initPermissionRequirement(List.of(MANAGE, CANCEL), PermissionJoin.AND)
+            .joinPermissionRequirement(PermissionJoin.OR)
+            .nextPermissionRequirement(List.of(READ), PermissionJoin.AND)
+            .build()
+    );
+
+    @Autowired
+    private EntityManager entityManager;
+
+    @ParameterizedTest
+    @ValueSource(longs = {1L, 2L, 3L})
+    void should_evaluate_role_assignments_as_the_query_does(long seed) {
+        Random random = new Random(seed);
+        List<TaskResource> tasks = new ArrayList<>();
+        for (int i = 0; i < TASKS; i++) {
+            TaskResource task = task(random, "task-" + seed + "-" + i);
+            entityManager.persist(task);
+            tasks.add(task);
+        }
+        entityManager.flush();
+
+        int granted = 0;
+        for (int trial = 0; trial < TRIALS; trial++) {
+            List<RoleAssignment> roleAssignments = roleAssignments(random);
+            PermissionRequirements permissionsRequired = pick(random, PERMISSION_REQUIREMENTS);
+            for (TaskResource task : tasks) {
+                boolean expected = matchesQuery(task.getTaskId(), roleAssignments, permissionsRequired);
+                boolean actual = RoleAssignmentEvaluator.hasAccess(task, roleAssignments, permissionsRequired);
+                assertEquals(expected, actual, () -> "Seed " + seed + ", task " + task + ", roles "
+                                                     + task.getTaskRoleResources() + ", role assignments "
+                                                     + roleAssignments);
+                if (actual) {
+                    granted++;
+                }
+            }
+        }
+        assertTrue(granted > 0, "Expected some of the generated role assignments to give access");
+    }
+
+    private boolean matchesQuery(String taskId,
+                                 List<RoleAssignment> roleAssignments,
+                                 PermissionRequirements permissionsRequired) {
+        SelectTaskResourceQueryBuilder selectQueryBuilder = new SelectTaskResourceQueryBuilder(entityManager);
+        CriteriaBuilder builder = selectQueryBuilder.builder;
+        Root<TaskResource> root = selectQueryBuilder.root;
+        Predicate predicate = builder.and(
+            TaskQuerySpecification.searchByTaskIds(List.of(taskId), builder, root),
+            RoleAssignmentFilter.buildRoleAssignmentConstraints(permissionsRequired, roleAssignments, builder, root)
+        );
+        return !selectQueryBuilder.where(predicate).build().getResultList().isEmpty();
+    }
+
+    private TaskResource task(Random random, String taskId) {
+        TaskResource task = new TaskResource(taskId, "aTaskName", "aTaskType", CFTTaskState.UNASSIGNED,
+                                             pick(random, CASE_IDS));
+        task.setCreated(OffsetDateTime.now());
+        task.setDueDateTime(OffsetDateTime.now());
+        task.setJurisdiction(pick(random, JURISDICTIONS));
+        task.setCaseTypeId(pick(random, CASE_TYPES));
+        task.setRegion(pick(random, REGIONS));
+        task.setLocation(pick(random, LOCATIONS));
+        SecurityClassification[] classifications = SecurityClassification.values();
+        task.setSecurityClassification(random.nextInt(4) == 0
+                                           ? null
+                                           : classifications[random.nextInt(classifications.length)]);
+
+        Set<TaskRoleResource> roles = new HashSet<>();
+        for (String roleName : ROLE_NAMES) {
+            if (random.nextBoolean()) {
+                TaskRoleResource role = new TaskRoleResource(
+                    roleName, flag(random), flag(random), flag(random), flag(random), flag(random), false,
+                    pick(random, AUTHORIZATIONS), 1, false
+                );
+                role.setClaim(flag(random));
+                role.setTaskId(taskId);
+                roles.add(role);
+            }
+        }
+        task.setTaskRoleResources(roles);
+        return task;
+    }
+
+    private List<RoleAssignment> roleAssignments(Random random) {
+        List<RoleAssignment> roleAssignments = new ArrayList<>();
+        int count = 1 + random.nextInt(4);
+        for (int i = 0; i < count; i++) {
+            Map<String, String> attributes = new HashMap<>();
+            putSometimes(random, attributes, "jurisdiction", JURISDICTIONS);
+            putSometimes(random, attributes, "caseType", CASE_TYPES);
+            putSometimes(random, attributes, "region", REGIONS);
+            putSometimes(random, attributes, "baseLocation", LOCATIONS);
+            putSometimes(random, attributes, "caseId", CASE_IDS);
+            Classification[] classifications = {Classification.PUBLIC, Classification.PRIVATE,
+                Classification.RESTRICTED};
+
+            roleAssignments.add(RoleAssignment.builder()
+                .id("role-assignment-" + i)
+                .roleName(pick(random, ROLE_NAMES))
+                .roleType(pick(random, RoleType.values()))
+                .grantType(pick(random, GRANT_TYPES))
+                .classification(pick(random, classifications))
+                .attributes(attributes)
+                .authorisations(pick(random, AUTHORISATIONS))
+                .endTime(random.nextInt(10) == 0 ? OffsetDateTime.now().minusDays(1) : null)
+                .build());
+        }
+        return roleAssignments;
+    }
+
+    private void putSometimes(Random random, Map<String, String> attributes, String key, String[] values) {
+        String value = pick(random, values);
+        if (value != null && random.nextBoolean()) {
+            attributes.put(key, value);
+        }
+    }
+
+    private Boolean flag(Random random) {
+        int value = random.nextInt(5);
+        return value == 0 ? null : value > 2;
+    }
+
+    private static <T> T pick(Random random, T[] values) {
+        return values[random.nextInt(values.length)];
+    }
+
+    private static <T> T pick(Random random, List<T> values) {
+        return values.get(random.nextInt(values.size()));
+    }
+}
@@ -2,6 +2,8 @@ package uk.gov.hmcts.reform.wataskmanagementapi.cft.query.wa;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
 import jakarta.persistence.EntityManager;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
@@ -418,6 +420,60 @@ public class CftQueryServiceSearchForCompletableTasksTest {
 
     }
 
+    @Test
+    void should_reuse_the_query_plan_for_different_role_assignments() {
+        Statistics statistics = entityManager.getEntityManagerFactory().unwrap(SessionFactory.class).getStatistics();
+        boolean statisticsEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        when(camundaService.evaluateTaskCompletionDmn(any())).thenReturn(mockTaskCompletionDMNResponse());
+        when(camundaService.getVariableValue(any(), any())).thenReturn("processApplication");
+
+        List<RoleAssignment> standard = new ArrayList<>();
+        roleAssignmentHelper.createRoleAssignment(standard, RoleAssignmentRequest.builder()
+            .testRolesWithGrantType(TestRolesWithGrantType.STANDARD_TRIBUNAL_CASE_WORKER_PUBLIC)
+            .roleAssignmentAttribute(RoleAssignmentAttribute.builder()
+                                         .jurisdiction(WA_JURISDICTION)
+                                         .caseType(WA_CASE_TYPE)
+                                         .caseId("1652446087857201")
+                                         .build())
+            .build());
+        cftQueryService.searchForCompletableTasks(
+            new SearchEventAndCase("1652446087857201", "decideAnApplication", WA_JURISDICTION, WA_CASE_TYPE),
+            standard,
+            permissionsRequired
+        );
+        long misses = statistics.getQueryPlanCacheMissCount();
+        long hits = statistics.getQueryPlanCacheHitCount();
+
+        List<RoleAssignment> specificAndExcluded = new ArrayList<>();
+        roleAssignmentHelper.createRoleAssignment(specificAndExcluded, RoleAssignmentRequest.builder()
+            .testRolesWithGrantType(TestRolesWithGrantType.SPECIFIC_FTPA_JUDGE)
+            .roleAssignmentAttribute(RoleAssignmentAttribute.builder()
+                                         .jurisdiction(WA_JURISDICTION)
+                                         .caseType(WA_CASE_TYPE)
+                                         .caseId("1652446087857203")
+                                         .build())
+            .build());
+        roleAssignmentHelper.createRoleAssignment(specificAndExcluded, RoleAssignmentRequest.builder()
+            .testRolesWithGrantType(TestRolesWithGrantType.EXCLUDED_CHALLENGED_ACCESS_ADMIN_ADMIN)
+            .roleAssignmentAttribute(RoleAssignmentAttribute.builder()
+                                         .jurisdiction(WA_JURISDICTION)
+                                         .caseType(WA_CASE_TYPE)
+                                         .caseId("1652446087857203")
+                                         .build())
+            .build());
+        final GetTasksCompletableResponse<Task> task = cftQueryService.searchForCompletableTasks(
+            new SearchEventAndCase("1652446087857203", "decideAnApplication", WA_JURISDICTION, WA_CASE_TYPE),
+            specificAndExcluded,
+            permissionsRequired
+        );
+        statistics.setStatisticsEnabled(statisticsEnabled);
+
+        assertThat(task.getTasks()).isNotEmpty();
+        assertThat(statistics.getQueryPlanCacheMissCount()).isEqualTo(misses);
+        assertThat(statistics.getQueryPlanCacheHitCount()).isGreaterThan(hits);
+    }
+
     private List<Map<String, CamundaVariable>> mockTaskCompletionDMNResponse() {
         List<Map<String, CamundaVariable>> dmnResult = new ArrayList<>();
         Map<String, CamundaVariable> response = Map.of(
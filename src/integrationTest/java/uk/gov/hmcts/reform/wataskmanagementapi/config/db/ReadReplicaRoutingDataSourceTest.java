@@ -0,0 +1,71 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.config.db;
+
+import io.micrometer.core.instrument.MeterRegistry;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.data.domain.Sort;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.CFTTaskState;
+import uk.gov.hmcts.reform.wataskmanagementapi.config.IntegrationTest;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
+import uk.gov.hmcts.reform.wataskmanagementapi.repository.TaskResourceRepository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * The read replica is the test database itself, which is not in recovery and so has no replication lag.
+ */
+@IntegrationTest(properties = {
+    "config.readReplica.enabled=true",
+    "spring.datasource-read.driverClassName=org.testcontainers.jdbc.ContainerDatabaseDriver",
+    "spring.datasource-read.jdbcUrl=jdbc:tc:postgresql:11.4://localhost/cft_task_db?TC_INITSCRIPT=initDb.sql"
+})
+class ReadReplicaRoutingDataSourceTest {
+
+    @Autowired
+    ReadReplicaRoutingDataSource readReplicaRoutingDataSource;
+    @Autowired
+    TaskResourceRepository taskResourceRepository;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+    @Autowired
+    MeterRegistry meterRegistry;
+
+    @Test
+    void should_send_marked_reads_to_the_replica_and_everything_else_to_the_primary() {
+        readReplicaRoutingDataSource.refreshLag();
+        assertTrue(readReplicaRoutingDataSource.isReplicaUsable());
+
+        String taskId = UUID.randomUUID().toString();
+        double replicaConnections = connections("replica");
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            TaskResource task = new TaskResource(taskId, "aTaskName", "aTaskType", CFTTaskState.UNASSIGNED,
+                                                 "1623278362431003");
+            task.setCreated(OffsetDateTime.now());
+            task.setDueDateTime(OffsetDateTime.now());
+            taskResourceRepository.save(task);
+        });
+        assertEquals(replicaConnections, connections("replica"));
+
+        List<TaskResource> tasks = taskResourceRepository.findAllWithTaskRolesByTaskIdIn(
+            List.of(taskId), Sort.by("taskId")
+        );
+
+        assertEquals(1, tasks.size());
+        assertEquals(replicaConnections + 1, connections("replica"));
+
+        assertTrue(taskResourceRepository.existsById(taskId));
+        assertEquals(replicaConnections + 1, connections("replica"));
+        taskResourceRepository.deleteById(taskId);
+    }
+
+    private double connections(String target) {
+        return meterRegistry.get("wa.read_replica.connections").tag("target", target).counter().count();
+    }
+}
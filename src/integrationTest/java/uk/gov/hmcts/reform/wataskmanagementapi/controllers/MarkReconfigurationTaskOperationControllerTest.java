@@ -1,6 +1,5 @@
 package uk.gov.hmcts.reform.wataskmanagementapi.controllers;
 
-import jakarta.persistence.OptimisticLockException;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -13,6 +12,8 @@ import org.springframework.test.annotation.DirtiesContext;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
 import org.springframework.test.context.bean.override.mockito.MockitoSpyBean;
 import org.springframework.test.web.servlet.MockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.idam.IdamTokenGenerator;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.idam.entities.Token;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.idam.entities.UserIdamTokenGeneratorInfo;
@@ -38,8 +39,12 @@ import uk.gov.hmcts.reform.wataskmanagementapi.utils.TaskTestUtils;
 
 import java.time.LocalDate;
 import java.util.List;
-import java.util.Optional;
 import java.util.UUID;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
@@ -48,6 +53,7 @@ import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.when;
 import static org.springframework.test.web.servlet.request.MockMvcRequestBuilders.post;
@@ -90,6 +96,9 @@ class MarkReconfigurationTaskOperationControllerTest {
     @Autowired
     protected MockMvc mockMvc;
 
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
     @Autowired
     protected IntegrationTestUtils integrationTestUtils;
 
@@ -272,20 +281,16 @@ class MarkReconfigurationTaskOperationControllerTest {
         taskTestUtils.createTaskAndRoleAssignments(ASSIGNED, "caseId6",null,null);
 
         List<TaskResource> taskResourcesTobeLocked = cftTaskDatabaseService.findByCaseIdOnly("caseId6");
-        taskResourcesTobeLocked.stream().forEach(task -> {
-            when(cftTaskDatabaseService.findByIdAndStateInObtainPessimisticWriteLock(task.getTaskId(),
-                                                                                     List.of(ASSIGNED, UNASSIGNED)))
-                .thenThrow(new OptimisticLockException());
-        });
-
-        mockMvc.perform(
-            post(ENDPOINT_BEING_TESTED)
-                .header(SERVICE_AUTHORIZATION, SERVICE_AUTHORIZATION_TOKEN)
-                .contentType(MediaType.APPLICATION_JSON_VALUE)
-                .content(integrationTestUtils.asJsonString(taskOperationRequest(MARK_TO_RECONFIGURE, "caseId6")))
-        ).andExpectAll(
-            status().is(HttpStatus.CONFLICT.value())
-        );
+        try (TaskLock ignored = new TaskLock(taskResourcesTobeLocked)) {
+            mockMvc.perform(
+                post(ENDPOINT_BEING_TESTED)
+                    .header(SERVICE_AUTHORIZATION, SERVICE_AUTHORIZATION_TOKEN)
+                    .contentType(MediaType.APPLICATION_JSON_VALUE)
+                    .content(integrationTestUtils.asJsonString(taskOperationRequest(MARK_TO_RECONFIGURE, "caseId6")))
+            ).andExpectAll(
+                status().is(HttpStatus.CONFLICT.value())
+            );
+        }
 
         List<TaskResource> taskResources = cftTaskDatabaseService.findByCaseIdOnly("caseId6");
         taskResources.stream().forEach(task -> {
@@ -303,23 +308,20 @@ class MarkReconfigurationTaskOperationControllerTest {
         taskTestUtils.createTaskAndRoleAssignments(UNASSIGNED, "caseId7",null,null);
 
         List<TaskResource> taskResourcesTobeLocked = cftTaskDatabaseService.findByCaseIdOnly("caseId7");
-        when(cftTaskDatabaseService.findByIdAndStateInObtainPessimisticWriteLock(
-            taskResourcesTobeLocked.get(0).getTaskId(), List.of(ASSIGNED, UNASSIGNED)))
-            .thenThrow(new OptimisticLockException());
-        when(cftTaskDatabaseService.findByIdAndStateInObtainPessimisticWriteLock(
-            taskResourcesTobeLocked.get(1).getTaskId(), List.of(ASSIGNED, UNASSIGNED)))
-            .thenReturn(Optional.of(taskResourcesTobeLocked.get(1)));
-
-        mockMvc.perform(
-            post(ENDPOINT_BEING_TESTED)
-                .header(SERVICE_AUTHORIZATION, SERVICE_AUTHORIZATION_TOKEN)
-                .contentType(MediaType.APPLICATION_JSON_VALUE)
-                .content(integrationTestUtils.asJsonString(taskOperationRequest(MARK_TO_RECONFIGURE, "caseId7")))
-        ).andExpectAll(
-            status().is(HttpStatus.CONFLICT.value())
-        );
-
-        List<TaskResource> taskResources = cftTaskDatabaseService.findByCaseIdOnly("caseId7");
+        try (TaskLock ignored = new TaskLock(List.of(taskResourcesTobeLocked.get(0)))) {
+            mockMvc.perform(
+                post(ENDPOINT_BEING_TESTED)
+                    .header(SERVICE_AUTHORIZATION, SERVICE_AUTHORIZATION_TOKEN)
+                    .contentType(MediaType.APPLICATION_JSON_VALUE)
+                    .content(integrationTestUtils.asJsonString(taskOperationRequest(MARK_TO_RECONFIGURE, "caseId7")))
+            ).andExpectAll(
+                status().is(HttpStatus.CONFLICT.value())
+            );
+        }
+
+        List<TaskResource> taskResources = taskResourcesTobeLocked.stream()
+            .map(task -> cftTaskDatabaseService.findByIdOnly(task.getTaskId()).orElseThrow())
+            .toList();
         //task1
         assertNull(taskResources.get(0).getReconfigureRequestTime());
         assertNull(taskResources.get(0).getLastUpdatedTimestamp());
@@ -345,27 +347,16 @@ class MarkReconfigurationTaskOperationControllerTest {
 
         //2 tasks failed, 2 tasks succeeded
         List<TaskResource> taskResourcesTobeLocked = cftTaskDatabaseService.findByCaseIdOnly("caseId8");
-        when(cftTaskDatabaseService.findByIdAndStateInObtainPessimisticWriteLock(
-            taskResourcesTobeLocked.get(0).getTaskId(), List.of(ASSIGNED, UNASSIGNED)))
-            .thenReturn(Optional.of(taskResourcesTobeLocked.get(0)));
-        when(cftTaskDatabaseService.findByIdAndStateInObtainPessimisticWriteLock(
-            taskResourcesTobeLocked.get(1).getTaskId(), List.of(ASSIGNED, UNASSIGNED)))
-            .thenThrow(new OptimisticLockException());
-        when(cftTaskDatabaseService.findByIdAndStateInObtainPessimisticWriteLock(
-            taskResourcesTobeLocked.get(2).getTaskId(), List.of(ASSIGNED, UNASSIGNED)))
-            .thenReturn(Optional.of(taskResourcesTobeLocked.get(2)));
-        when(cftTaskDatabaseService.findByIdAndStateInObtainPessimisticWriteLock(
-            taskResourcesTobeLocked.get(3).getTaskId(), List.of(ASSIGNED, UNASSIGNED)))
-            .thenThrow(new OptimisticLockException());
-
-        mockMvc.perform(
-            post(ENDPOINT_BEING_TESTED)
-                .header(SERVICE_AUTHORIZATION, SERVICE_AUTHORIZATION_TOKEN)
-                .contentType(MediaType.APPLICATION_JSON_VALUE)
-                .content(integrationTestUtils.asJsonString(taskOperationRequest(MARK_TO_RECONFIGURE, "caseId8")))
-        ).andExpectAll(
-            status().is(HttpStatus.CONFLICT.value())
-        );
+        try (TaskLock ignored = new TaskLock(List.of(taskResourcesTobeLocked.get(1), taskResourcesTobeLocked.get(3)))) {
+            mockMvc.perform(
+                post(ENDPOINT_BEING_TESTED)
+                    .header(SERVICE_AUTHORIZATION, SERVICE_AUTHORIZATION_TOKEN)
+                    .contentType(MediaType.APPLICATION_JSON_VALUE)
+                    .content(integrationTestUtils.asJsonString(taskOperationRequest(MARK_TO_RECONFIGURE, "caseId8")))
+            ).andExpectAll(
+                status().is(HttpStatus.CONFLICT.value())
+            );
+        }
 
         List<TaskResource> taskResources = cftTaskDatabaseService.findByCaseIdOnly("caseId8");
         //task1
@@ -428,21 +419,17 @@ class MarkReconfigurationTaskOperationControllerTest {
         taskTestUtils.createTaskAndRoleAssignments(ASSIGNED, "caseId9",null,null);
 
         List<TaskResource> taskResourcesTobeLocked = cftTaskDatabaseService.findByCaseIdOnly("caseId9");
-        taskResourcesTobeLocked.stream().forEach(task -> {
-            when(cftTaskDatabaseService.findByIdAndStateInObtainPessimisticWriteLock(
-                task.getTaskId(), List.of(ASSIGNED, UNASSIGNED)))
-                .thenThrow(new OptimisticLockException())
-                .thenReturn(Optional.of(taskResourcesTobeLocked.get(0)));
-        });
-
-        mockMvc.perform(
-            post(ENDPOINT_BEING_TESTED)
-                .header(SERVICE_AUTHORIZATION, SERVICE_AUTHORIZATION_TOKEN)
-                .contentType(MediaType.APPLICATION_JSON_VALUE)
-                .content(integrationTestUtils.asJsonString(taskOperationRequest(MARK_TO_RECONFIGURE, "caseId9")))
-        ).andExpectAll(
-            status().is(HttpStatus.OK.value())
-        );
+        try (TaskLock taskLock = new TaskLock(taskResourcesTobeLocked)) {
+            releaseAfterFirstAttempt(taskLock);
+            mockMvc.perform(
+                post(ENDPOINT_BEING_TESTED)
+                    .header(SERVICE_AUTHORIZATION, SERVICE_AUTHORIZATION_TOKEN)
+                    .contentType(MediaType.APPLICATION_JSON_VALUE)
+                    .content(integrationTestUtils.asJsonString(taskOperationRequest(MARK_TO_RECONFIGURE, "caseId9")))
+            ).andExpectAll(
+                status().is(HttpStatus.OK.value())
+            );
+        }
 
         List<TaskResource> taskResources = cftTaskDatabaseService.findByCaseIdOnly("caseId9");
         taskResources.stream().forEach(task -> {
@@ -464,29 +451,17 @@ class MarkReconfigurationTaskOperationControllerTest {
 
         //2 tasks failed, 2 tasks succeeded
         List<TaskResource> taskResourcesTobeLocked = cftTaskDatabaseService.findByCaseIdOnly("caseId10");
-        when(cftTaskDatabaseService.findByIdAndStateInObtainPessimisticWriteLock(
-            taskResourcesTobeLocked.get(0).getTaskId(), List.of(ASSIGNED, UNASSIGNED)))
-            .thenReturn(Optional.of(taskResourcesTobeLocked.get(0)));
-        when(cftTaskDatabaseService.findByIdAndStateInObtainPessimisticWriteLock(
-            taskResourcesTobeLocked.get(1).getTaskId(), List.of(ASSIGNED, UNASSIGNED)))
-            .thenThrow(new OptimisticLockException())
-            .thenReturn(Optional.of(taskResourcesTobeLocked.get(1)));
-        when(cftTaskDatabaseService.findByIdAndStateInObtainPessimisticWriteLock(
-            taskResourcesTobeLocked.get(2).getTaskId(), List.of(ASSIGNED, UNASSIGNED)))
-            .thenReturn(Optional.of(taskResourcesTobeLocked.get(2)));
-        when(cftTaskDatabaseService.findByIdAndStateInObtainPessimisticWriteLock(
-            taskResourcesTobeLocked.get(3).getTaskId(), List.of(ASSIGNED, UNASSIGNED)))
-            .thenThrow(new OptimisticLockException())
-            .thenReturn(Optional.of(taskResourcesTobeLocked.get(3)));
-
-        mockMvc.perform(
-            post(ENDPOINT_BEING_TESTED)
-                .header(SERVICE_AUTHORIZATION, SERVICE_AUTHORIZATION_TOKEN)
-                .contentType(MediaType.APPLICATION_JSON_VALUE)
-                .content(integrationTestUtils.asJsonString(taskOperationRequest(MARK_TO_RECONFIGURE, "caseId10")))
-        ).andExpectAll(
-            status().is(HttpStatus.OK.value())
-        );
+        try (TaskLock taskLock = new TaskLock(List.of(taskResourcesTobeLocked.get(1), taskResourcesTobeLocked.get(3)))) {
+            releaseAfterFirstAttempt(taskLock);
+            mockMvc.perform(
+                post(ENDPOINT_BEING_TESTED)
+                    .header(SERVICE_AUTHORIZATION, SERVICE_AUTHORIZATION_TOKEN)
+                    .contentType(MediaType.APPLICATION_JSON_VALUE)
+                    .content(integrationTestUtils.asJsonString(taskOperationRequest(MARK_TO_RECONFIGURE, "caseId10")))
+            ).andExpectAll(
+                status().is(HttpStatus.OK.value())
+            );
+        }
 
         List<TaskResource> taskResources = cftTaskDatabaseService.findByCaseIdOnly("caseId10");
         assertNotNull(taskResources.get(0).getReconfigureRequestTime());
@@ -507,6 +482,47 @@ class MarkReconfigurationTaskOperationControllerTest {
         assertEquals(TaskAction.MARK_FOR_RECONFIGURE.getValue(), taskResources.get(3).getLastUpdatedAction());
     }
 
+    private void releaseAfterFirstAttempt(TaskLock taskLock) {
+        doAnswer(invocation -> {
+            taskLock.close();
+            return invocation.callRealMethod();
+        }).when(cftTaskDatabaseService).countActiveTasksByCaseIdsAndReconfigureRequestTimeIsNull(any(), any());
+    }
+
+    /**
+     * Holds row locks on tasks in another transaction until closed.
+     */
+    private final class TaskLock implements AutoCloseable {
+
+        private final CountDownLatch locked = new CountDownLatch(1);
+        private final CountDownLatch released = new CountDownLatch(1);
+        private final ExecutorService executor = Executors.newSingleThreadExecutor();
+        private final Future<?> lockHolder;
+
+        TaskLock(List<TaskResource> tasks) throws InterruptedException {
+            lockHolder = executor.submit(() -> new TransactionTemplate(transactionManager).executeWithoutResult(
+                status -> {
+                    tasks.forEach(task -> cftTaskDatabaseService.findByIdAndStateInObtainPessimisticWriteLock(
+                        task.getTaskId(), List.of(ASSIGNED, UNASSIGNED)));
+                    locked.countDown();
+                    try {
+                        released.await();
+                    } catch (InterruptedException e) {
+                        Thread.currentThread().interrupt();
+                    }
+                }
+            ));
+            assertTrue(locked.await(10, TimeUnit.SECONDS), "Tasks could not be locked");
+        }
+
+        @Override
+        public void close() throws Exception {
+            released.countDown();
+            lockHolder.get();
+            executor.shutdown();
+        }
+    }
+
     private TaskOperationRequest taskOperationRequest(TaskOperationType operationName, String caseId) {
         TaskOperation operation = TaskOperation.builder()
             .type(operationName)
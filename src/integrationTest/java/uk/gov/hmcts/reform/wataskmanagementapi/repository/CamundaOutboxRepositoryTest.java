@@ -0,0 +1,83 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.repository;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.CFTTaskState;
+import uk.gov.hmcts.reform.wataskmanagementapi.config.IntegrationTest;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.CamundaOutboxEntry;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
+import uk.gov.hmcts.reform.wataskmanagementapi.enums.CamundaOutboxAction;
+import uk.gov.hmcts.reform.wataskmanagementapi.enums.CamundaOutboxStatus;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.TransactionHelper;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.UUID;
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+@IntegrationTest
+class CamundaOutboxRepositoryTest {
+
+    @Autowired
+    private CamundaOutboxRepository camundaOutboxRepository;
+    @Autowired
+    private TaskResourceRepository taskResourceRepository;
+    @Autowired
+    private TransactionHelper transactionHelper;
+
+    @AfterEach
+    void tearDown() {
+        camundaOutboxRepository.deleteAll();
+        taskResourceRepository.deleteAll();
+    }
+
+    @Test
+    void should_requeue_failed_entries_that_still_match_their_task() {
+        String assignedTaskId = saveTask(CFTTaskState.ASSIGNED, "someAssignee");
+        String unassignedTaskId = saveTask(CFTTaskState.UNASSIGNED, null);
+        String reassignedTaskId = saveTask(CFTTaskState.ASSIGNED, "otherAssignee");
+        String completedTaskId = saveTask(CFTTaskState.COMPLETED, "someAssignee");
+        saveFailedEntry(assignedTaskId, CamundaOutboxAction.ASSIGN, "someAssignee");
+        saveFailedEntry(unassignedTaskId, CamundaOutboxAction.UNCLAIM, null);
+        saveFailedEntry(reassignedTaskId, CamundaOutboxAction.ASSIGN, "someAssignee");
+        saveFailedEntry(completedTaskId, CamundaOutboxAction.ASSIGN, "someAssignee");
+
+        transactionHelper.doInNewTransaction(() -> {
+            assertEquals(2, camundaOutboxRepository.requeueCurrentFailedEntries(OffsetDateTime.now()));
+            assertEquals(2, camundaOutboxRepository.deleteFailedEntries());
+        });
+
+        List<CamundaOutboxEntry> entries = StreamSupport
+            .stream(camundaOutboxRepository.findAll().spliterator(), false)
+            .toList();
+        assertThat(entries).extracting(CamundaOutboxEntry::getTaskId)
+            .containsExactlyInAnyOrder(assignedTaskId, unassignedTaskId);
+        entries.forEach(entry -> {
+            assertEquals(CamundaOutboxStatus.PENDING, entry.getStatus());
+            assertEquals(0, entry.getAttempts());
+        });
+    }
+
+    private String saveTask(CFTTaskState state, String assignee) {
+        String taskId = UUID.randomUUID().toString();
+        TaskResource taskResource = new TaskResource(taskId, "someTaskName", "someTaskType", state,
+                                                     OffsetDateTime.parse("2022-05-09T20:15:45.345875+01:00"));
+        taskResource.setAssignee(assignee);
+        taskResource.setCreated(OffsetDateTime.now());
+        taskResource.setPriorityDate(OffsetDateTime.parse("2022-05-09T20:15:45.345875+01:00"));
+        taskResourceRepository.save(taskResource);
+        return taskId;
+    }
+
+    private void saveFailedEntry(String taskId, CamundaOutboxAction action, String assignee) {
+        CamundaOutboxEntry entry = new CamundaOutboxEntry(taskId, action, assignee, false, OffsetDateTime.now());
+        entry.setStatus(CamundaOutboxStatus.FAILED);
+        entry.setAttempts(10);
+        entry.setLastError("Camunda unavailable");
+        camundaOutboxRepository.save(entry);
+    }
+}
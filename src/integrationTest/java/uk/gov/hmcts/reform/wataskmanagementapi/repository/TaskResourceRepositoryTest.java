@@ -32,6 +32,8 @@ import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
 import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskRoleResource;
 import uk.gov.hmcts.reform.wataskmanagementapi.entity.WorkTypeResource;
 import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.ResourceNotFoundException;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.CFTTaskDatabaseService;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.SearchIndexWorker;
 import uk.gov.hmcts.reform.wataskmanagementapi.services.TransactionHelper;
 import uk.gov.hmcts.reform.wataskmanagementapi.utils.AwaitilityIntegrationTestConfig;
 
@@ -82,6 +84,10 @@ class TaskResourceRepositoryTest {
 
     @Autowired
     private TaskRoleResourceRepository taskRoleResourceRepository;
+    @Autowired
+    private CFTTaskDatabaseService cftTaskDatabaseService;
+    @Autowired
+    private SearchIndexWorker searchIndexWorker;
 
 
     @AfterEach
@@ -697,6 +703,27 @@ class TaskResourceRepositoryTest {
         assertEquals(0, taskResult.size());
     }
 
+    @Test
+    void given_task_marked_to_reconfigure_when_search_index_worker_runs_then_task_stays_unindexed() {
+        String taskId2 = UUID.randomUUID().toString();
+        TaskResource createdTask = createTask(taskId2, "case-manager", "IA",
+            "reviewAppeal", "anotherAssignee", "1623278362430413", CFTTaskState.UNASSIGNED);
+
+        transactionHelper.doInNewTransaction(() -> {
+            task.setIndexed(true);
+            createdTask.setIndexed(false);
+            taskResourceRepository.save(task);
+            taskResourceRepository.save(createdTask);
+        });
+        List<String> markedTaskIds = cftTaskDatabaseService
+            .markActiveTasksToReconfigure(List.of("1623278362430412"), "someUser");
+
+        searchIndexWorker.indexTasks();
+
+        assertEquals(List.of(taskId), markedTaskIds);
+        assertFalse(taskResourceRepository.findById(taskId).orElseThrow().getIndexed());
+        assertTrue(taskResourceRepository.findById(taskId2).orElseThrow().getIndexed());
+    }
 
     @Test
     void given_tasks_exist_when_get_top_5_order_by_lastUpdated_timestamp_asc_then_return_max_5_tasks_ordered() {
@@ -0,0 +1,155 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.transaction.PlatformTransactionManager;
+import uk.gov.hmcts.reform.wataskmanagementapi.config.IntegrationTest;
+import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.InitiateTasksRequestItem;
+import uk.gov.hmcts.reform.wataskmanagementapi.controllers.response.InitiateTaskResult;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.TaskState;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.configuration.TaskToConfigure;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskRoleResource;
+import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.ServerErrorException;
+import uk.gov.hmcts.reform.wataskmanagementapi.repository.TaskResourceRepository;
+import uk.gov.hmcts.reform.wataskmanagementapi.repository.TaskRoleResourceRepository;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.CaseDataCache.CaseData;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.utils.TaskMandatoryFieldsValidator;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.reset;
+import static org.mockito.Mockito.when;
+import static uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.CFTTaskState.UNASSIGNED;
+import static uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.CFTTaskState.UNCONFIGURED;
+import static uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.enums.InitiateTaskOperation.INITIATION;
+import static uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.CamundaVariableDefinition.CASE_ID;
+import static uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.CamundaVariableDefinition.DUE_DATE;
+
+/**
+ * Initiates tasks in bulk against the database, with Camunda failing for some of them, to check that a task
+ * that was not initiated leaves neither its task nor its task roles behind.
+ */
+@IntegrationTest
+class BulkTaskInitiationDbTransactionTest {
+
+    private static final String CASE_ID_VALUE = "1623278362431003";
+
+    @Autowired
+    private CFTTaskDatabaseService cftTaskDatabaseService;
+    @Autowired
+    private TaskResourceRepository taskResourceRepository;
+    @Autowired
+    private TaskRoleResourceRepository taskRoleResourceRepository;
+    @Autowired
+    private PlatformTransactionManager transactionManager;
+
+    private final CFTTaskMapper cftTaskMapper = mock(CFTTaskMapper.class);
+    private final ConfigureTaskService configureTaskService = mock(ConfigureTaskService.class);
+    private final CaseConfigurationProviderService caseConfigurationProviderService =
+        mock(CaseConfigurationProviderService.class);
+    private final TaskAutoAssignmentService taskAutoAssignmentService = mock(TaskAutoAssignmentService.class);
+    private final CamundaService camundaService = mock(CamundaService.class);
+
+    private final OffsetDateTime dueDate = OffsetDateTime.now().plusDays(1);
+    private BulkTaskInitiationService bulkTaskInitiationService;
+
+    @BeforeEach
+    void setUp() {
+        bulkTaskInitiationService = new BulkTaskInitiationService(
+            cftTaskDatabaseService,
+            cftTaskMapper,
+            configureTaskService,
+            caseConfigurationProviderService,
+            mock(TaskMandatoryFieldsValidator.class),
+            taskAutoAssignmentService,
+            camundaService,
+            Runnable::run,
+            transactionManager
+        );
+        when(cftTaskMapper.readDate(anyMap(), eq(DUE_DATE), isNull())).thenReturn(dueDate);
+        when(caseConfigurationProviderService.getCaseData(CASE_ID_VALUE)).thenReturn(new CaseData(null, "{}"));
+    }
+
+    @AfterEach
+    void tearDown() {
+        taskRoleResourceRepository.deleteAll();
+        taskResourceRepository.deleteAll();
+    }
+
+    @Test
+    void should_leave_no_rows_behind_for_a_task_whose_camunda_update_failed() {
+        String failingTaskId = UUID.randomUUID().toString();
+        String taskId = UUID.randomUUID().toString();
+        mockConfiguration(failingTaskId);
+        mockConfiguration(taskId);
+        doThrow(new ServerErrorException("Camunda is unavailable", null))
+            .when(camundaService).updateCftTaskState(failingTaskId, TaskState.UNASSIGNED);
+
+        List<InitiateTaskResult> results = bulkTaskInitiationService.initiateTasks(List.of(
+            task(failingTaskId), task(taskId)
+        ));
+
+        assertEquals(List.of(502, 201), results.stream().map(InitiateTaskResult::getStatus).toList());
+        assertTrue(taskResourceRepository.findById(failingTaskId).isEmpty());
+        assertTrue(taskRoleResourceRepository.findByTaskId(failingTaskId).isEmpty());
+        assertTrue(taskResourceRepository.findById(taskId).isPresent());
+        assertFalse(taskRoleResourceRepository.findByTaskId(taskId).isEmpty());
+    }
+
+    @Test
+    void should_initiate_a_task_again_once_its_camunda_update_failed() {
+        String taskId = UUID.randomUUID().toString();
+        mockConfiguration(taskId);
+        doThrow(new ServerErrorException("Camunda is unavailable", null))
+            .when(camundaService).updateCftTaskState(taskId, TaskState.UNASSIGNED);
+        assertEquals(502, bulkTaskInitiationService.initiateTasks(List.of(task(taskId))).get(0).getStatus());
+
+        reset(camundaService);
+        mockConfiguration(taskId);
+        List<InitiateTaskResult> retried = bulkTaskInitiationService.initiateTasks(List.of(task(taskId)));
+
+        assertEquals(201, retried.get(0).getStatus());
+        assertEquals(UNASSIGNED, taskResourceRepository.findById(taskId).orElseThrow().getState());
+    }
+
+    private InitiateTasksRequestItem task(String taskId) {
+        return new InitiateTasksRequestItem(taskId, INITIATION, Map.of(CASE_ID.value(), CASE_ID_VALUE));
+    }
+
+    private void mockConfiguration(String taskId) {
+        TaskResource skeleton = new TaskResource(taskId, "aTaskName", "aTaskType", UNCONFIGURED, CASE_ID_VALUE);
+        skeleton.setDueDateTime(dueDate);
+        when(cftTaskMapper.mapToTaskResource(eq(taskId), anyMap())).thenReturn(skeleton);
+        when(configureTaskService.configureCFTTask(eq(skeleton), any(TaskToConfigure.class)))
+            .thenAnswer(invocation -> configuredTask(taskId));
+        when(taskAutoAssignmentService.performAutoAssignment(eq(taskId), any(TaskResource.class)))
+            .thenAnswer(invocation -> invocation.getArgument(1));
+    }
+
+    private TaskResource configuredTask(String taskId) {
+        TaskResource task = new TaskResource(taskId, "aTaskName", "aTaskType", UNASSIGNED, CASE_ID_VALUE);
+        task.setCreated(OffsetDateTime.now());
+        task.setDueDateTime(dueDate);
+        task.setJurisdiction("IA");
+        task.setTaskRoleResources(Set.of(new TaskRoleResource(
+            "tribunal-caseworker", true, true, false, false, false, false, new String[]{}, 1, false, null, taskId,
+            OffsetDateTime.now())));
+        return task;
+    }
+}
@@ -1,6 +1,8 @@
 package uk.gov.hmcts.reform.wataskmanagementapi.services;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.transaction.Transactional;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
@@ -18,18 +20,20 @@ import uk.gov.hmcts.reform.wataskmanagementapi.RoleAssignmentHelper.RoleAssignme
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.RoleAssignment;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.Classification;
 import uk.gov.hmcts.reform.wataskmanagementapi.config.JacksonConfiguration;
-import uk.gov.hmcts.reform.wataskmanagementapi.config.executors.ExecutorServiceConfig;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.enums.TestRolesWithGrantType;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.parameter.SearchRequestCustomDeserializer;
 import uk.gov.hmcts.reform.wataskmanagementapi.entity.SensitiveTaskEventLog;
 import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.enums.ErrorMessages;
 import uk.gov.hmcts.reform.wataskmanagementapi.repository.SensitiveTaskEventLogsRepository;
 import uk.gov.hmcts.reform.wataskmanagementapi.repository.TaskResourceRepository;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.signature.RoleSignatureBuilder;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.signature.SearchFilterSignatureBuilder;
 
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
@@ -40,7 +44,7 @@ import static uk.gov.hmcts.reform.wataskmanagementapi.utils.Common.WA_JURISDICTI
 @Slf4j
 @ActiveProfiles("integration")
 @DataJpaTest
-@Import({ExecutorServiceConfig.class, JacksonConfiguration.class, SearchRequestCustomDeserializer.class})
+@Import({JacksonConfiguration.class, SearchRequestCustomDeserializer.class})
 @AutoConfigureTestDatabase(replace = AutoConfigureTestDatabase.Replace.NONE)
 @Testcontainers
 @Sql("/scripts/wa/get_task_data.sql")
@@ -50,8 +54,8 @@ public class CFTSensitiveTaskEventLogsDatabaseServiceTest {
     TaskResourceRepository taskResourceRepository;
     @Autowired
     SensitiveTaskEventLogsRepository sensitiveTaskEventLogsRepository;
-    @Autowired
     ExecutorService sensitiveTaskEventLogsExecutorService;
+    SensitiveTaskEventLogWriter sensitiveTaskEventLogWriter;
     @Autowired
     ObjectMapper objectMapper;
     CFTTaskDatabaseService cftTaskDatabaseService;
@@ -61,11 +65,27 @@ public class CFTSensitiveTaskEventLogsDatabaseServiceTest {
     @BeforeEach
     void setUp() {
         CFTTaskMapper cftTaskMapper = new CFTTaskMapper(objectMapper);
-        cftTaskDatabaseService = new CFTTaskDatabaseService(taskResourceRepository, cftTaskMapper);
+        cftTaskDatabaseService = new CFTTaskDatabaseService(
+            taskResourceRepository, cftTaskMapper, Runnable::run,
+            new SearchFilterSignatureBuilder(Caffeine.newBuilder().maximumWeight(1000), new SimpleMeterRegistry()),
+            new RoleSignatureBuilder(Caffeine.newBuilder().maximumWeight(1000), new SimpleMeterRegistry())
+        );
+        sensitiveTaskEventLogsExecutorService = Executors.newSingleThreadExecutor();
+        sensitiveTaskEventLogWriter = new SensitiveTaskEventLogWriter(
+            sensitiveTaskEventLogsRepository,
+            sensitiveTaskEventLogsExecutorService,
+            new SimpleMeterRegistry(),
+            10,
+            5,
+            100,
+            SensitiveTaskEventLogWriter.OverflowPolicy.BLOCK,
+            100
+        );
+        sensitiveTaskEventLogWriter.start();
         cftSensitiveTaskEventLogsDatabaseService = new CFTSensitiveTaskEventLogsDatabaseService(
             sensitiveTaskEventLogsRepository,
             cftTaskDatabaseService,
-            sensitiveTaskEventLogsExecutorService
+            sensitiveTaskEventLogWriter
         );
     }
 
@@ -82,7 +102,9 @@ public class CFTSensitiveTaskEventLogsDatabaseServiceTest {
             ErrorMessages.ROLE_ASSIGNMENT_VERIFICATIONS_FAILED_ASSIGNEE
         );
 
-        sensitiveTaskEventLogsExecutorService.awaitTermination(400, TimeUnit.MILLISECONDS);
+        sensitiveTaskEventLogWriter.stop();
+        sensitiveTaskEventLogsExecutorService.shutdown();
+        assertThat(sensitiveTaskEventLogsExecutorService.awaitTermination(5, TimeUnit.SECONDS)).isTrue();
 
         Optional<SensitiveTaskEventLog> sensitiveTaskEventLog = sensitiveTaskEventLogsRepository.getByTaskId(taskId);
         assertThat(sensitiveTaskEventLog).isPresent();
@@ -1,12 +1,17 @@
 package uk.gov.hmcts.reform.wataskmanagementapi.services;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.assertj.core.api.Assertions;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.jdbc.AutoConfigureTestDatabase;
 import org.springframework.boot.test.autoconfigure.orm.jpa.DataJpaTest;
+import org.springframework.boot.test.autoconfigure.orm.jpa.TestEntityManager;
 import org.springframework.context.annotation.Import;
 import org.springframework.test.context.ActiveProfiles;
 import org.springframework.test.context.jdbc.Sql;
@@ -33,6 +38,8 @@ import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.parameter.SearchReq
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.task.Task;
 import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
 import uk.gov.hmcts.reform.wataskmanagementapi.repository.TaskResourceRepository;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.signature.RoleSignatureBuilder;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.signature.SearchFilterSignatureBuilder;
 
 import java.util.ArrayList;
 import java.util.Arrays;
@@ -60,6 +67,9 @@ class CFTTaskDatabaseServiceSearchTest {
     @Autowired
     ObjectMapper objectMapper;
 
+    @Autowired
+    TestEntityManager entityManager;
+
     CFTTaskDatabaseService cftTaskDatabaseService;
 
     static RoleAssignmentHelper roleAssignmentHelper = new RoleAssignmentHelper();
@@ -67,7 +77,11 @@ class CFTTaskDatabaseServiceSearchTest {
     @BeforeEach
     void setUp() {
         CFTTaskMapper cftTaskMapper = new CFTTaskMapper(objectMapper);
-        cftTaskDatabaseService = new CFTTaskDatabaseService(taskResourceRepository, cftTaskMapper);
+        cftTaskDatabaseService = new CFTTaskDatabaseService(
+            taskResourceRepository, cftTaskMapper, Runnable::run,
+            new SearchFilterSignatureBuilder(Caffeine.newBuilder().maximumWeight(1000), new SimpleMeterRegistry()),
+            new RoleSignatureBuilder(Caffeine.newBuilder().maximumWeight(1000), new SimpleMeterRegistry())
+        );
     }
 
     // ** Filter Signature **
@@ -131,6 +145,37 @@ class CFTTaskDatabaseServiceSearchTest {
             );
     }
 
+    @Test
+    void should_load_search_result_tasks_and_task_roles_without_a_query_per_task() {
+        List<RoleAssignment> roleAssignments = roleAssignmentsTribunalCaseWorkerWithPublicAndPrivateClasification();
+        AccessControlResponse accessControlResponse = new AccessControlResponse(userInfo, roleAssignments);
+        indexRecord();
+        entityManager.flush();
+        entityManager.clear();
+
+        SearchRequest searchRequest = SearchRequest.builder()
+            .cftTaskStates(List.of(CFTTaskState.ASSIGNED, CFTTaskState.UNASSIGNED))
+            .jurisdictions(List.of("WA", "IA"))
+            .locations(List.of("765324", "765325"))
+            .roleCategories(List.of(RoleCategory.JUDICIAL, RoleCategory.CTSC))
+            .workTypes(List.of("hearing_work", "follow_up"))
+            .build();
+
+        Statistics statistics = entityManager.getEntityManager().getEntityManagerFactory()
+            .unwrap(SessionFactory.class).getStatistics();
+        boolean statisticsEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+        statistics.clear();
+
+        GetTasksResponse<Task> response = cftTaskDatabaseService.searchForTasks(0, 25, searchRequest,
+            accessControlResponse);
+
+        assertEquals(8, response.getTasks().size());
+        //The id page, the count and a single query for the tasks with their task roles
+        assertEquals(3, statistics.getPrepareStatementCount());
+        statistics.setStatisticsEnabled(statisticsEnabled);
+    }
+
     @Test
     void should_return_ordered_by_desc_task_list_and_count_when_search_find_some_tasks() {
         List<RoleAssignment> roleAssignments = roleAssignmentsTribunalCaseWorkerWithPublicAndPrivateClasification();
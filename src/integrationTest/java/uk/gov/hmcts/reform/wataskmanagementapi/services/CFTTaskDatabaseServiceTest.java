@@ -1,5 +1,7 @@
 package uk.gov.hmcts.reform.wataskmanagementapi.services;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeAll;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -10,6 +12,8 @@ import uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.CFTTaskState;
 import uk.gov.hmcts.reform.wataskmanagementapi.config.IntegrationTest;
 import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
 import uk.gov.hmcts.reform.wataskmanagementapi.repository.TaskResourceRepository;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.signature.RoleSignatureBuilder;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.signature.SearchFilterSignatureBuilder;
 
 import java.time.OffsetDateTime;
 import java.util.List;
@@ -43,7 +47,11 @@ class CFTTaskDatabaseServiceTest {
 
     @BeforeAll
     void setUp() {
-        cftTaskDatabaseService = new CFTTaskDatabaseService(taskResourceRepository, cftTaskMapper);
+        cftTaskDatabaseService = new CFTTaskDatabaseService(
+            taskResourceRepository, cftTaskMapper, Runnable::run,
+            new SearchFilterSignatureBuilder(Caffeine.newBuilder().maximumWeight(1000), new SimpleMeterRegistry()),
+            new RoleSignatureBuilder(Caffeine.newBuilder().maximumWeight(1000), new SimpleMeterRegistry())
+        );
     }
 
     @BeforeEach
@@ -1,6 +1,8 @@
 package uk.gov.hmcts.reform.wataskmanagementapi.services;
 
 import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -23,6 +25,8 @@ import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.enums.TaskOpe
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.parameter.SearchRequestCustomDeserializer;
 import uk.gov.hmcts.reform.wataskmanagementapi.repository.TaskResourceRepository;
 import uk.gov.hmcts.reform.wataskmanagementapi.services.operation.ExecuteTaskReconfigurationFailureService;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.signature.RoleSignatureBuilder;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.signature.SearchFilterSignatureBuilder;
 
 import java.time.OffsetDateTime;
 import java.util.List;
@@ -50,8 +54,9 @@ public class ExecuteTaskReconfigurationFailureServiceTest {
     void setUp() {
         CFTTaskMapper cftTaskMapper = new CFTTaskMapper(objectMapper);
         CFTTaskDatabaseService cftTaskDatabaseService = new CFTTaskDatabaseService(
-            taskResourceRepository,
-            cftTaskMapper
+            taskResourceRepository, cftTaskMapper, Runnable::run,
+            new SearchFilterSignatureBuilder(Caffeine.newBuilder().maximumWeight(1000), new SimpleMeterRegistry()),
+            new RoleSignatureBuilder(Caffeine.newBuilder().maximumWeight(1000), new SimpleMeterRegistry())
         );
         executeTaskReconfigurationFailureService = new ExecuteTaskReconfigurationFailureService(
             cftTaskDatabaseService);
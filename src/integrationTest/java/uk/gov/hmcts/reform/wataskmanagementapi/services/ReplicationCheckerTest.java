@@ -46,6 +46,8 @@ public class ReplicationCheckerTest {
 
     @Autowired
     ReplicationChecker replicationChecker;
+    @Autowired
+    ReplicationLagMonitor replicationLagMonitor;
 
     @Autowired
     private TaskResourceRepository taskResourceRepository;
@@ -109,6 +111,17 @@ public class ReplicationCheckerTest {
                     return true;
                 });
 
+    }
+
+    @Test
+    void should_report_the_replication_lag_measured_with_heartbeats() {
+        await()
+            .until(
+                () -> {
+                    replicationLagMonitor.probe();
+                    return (Boolean) replicationLagMonitor.getStatus().get("replicated");
+                });
+
         TaskOperationRequest request = new TaskOperationRequest(
             TaskOperation.builder()
                 .type(TaskOperationType.PERFORM_REPLICATION_CHECK).build(),
@@ -119,11 +132,16 @@ public class ReplicationCheckerTest {
             request
         ).getResponseMap();
 
-        List<?> tasks = (List<?>) resourceMap.get("replicationCheckedTaskIds");
-        assertEquals(1, tasks.size());
-        List<?> notReplicated = (List<?>) resourceMap.get("notReplicatedTaskIds");
-        assertEquals(0, notReplicated.size());
+        assertEquals(true, resourceMap.get("replicated"));
+        assertTrue((Long) resourceMap.get("lastLagMillis") >= 0);
+        assertEquals(0L, resourceMap.get("missedHeartbeats"));
+        assertTrue(((Map<?, ?>) resourceMap.get("lagPercentilesMillis")).containsKey("p95"));
 
+        String instanceName = replicationLagMonitor.getInstanceName();
+        assertTrue(replicaIntegrationTestUtils.getMiReportingServiceForTest()
+                       .findByTaskId(instanceName).isEmpty());
+        assertTrue(replicaIntegrationTestUtils.getMiReportingServiceForTest()
+                       .findByReportingTaskId(instanceName).isEmpty());
     }
 
     private TaskResource createAndSaveTask() {
@@ -6,19 +6,35 @@ import org.junit.jupiter.api.TestInstance;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
 import org.springframework.test.context.bean.override.mockito.MockitoBean;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.permission.PermissionRequirementBuilder;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.permission.PermissionRequirements;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.permission.entities.PermissionTypes;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.RoleAssignment;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.Classification;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.GrantType;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.RoleType;
+import uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.CFTTaskState;
 import uk.gov.hmcts.reform.wataskmanagementapi.cft.query.CftQueryService;
 import uk.gov.hmcts.reform.wataskmanagementapi.config.IntegrationTest;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.SecurityClassification;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskRoleResource;
 import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.RoleAssignmentVerificationException;
+import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.TaskNotFoundException;
 import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.enums.ErrorMessages;
 import uk.gov.hmcts.reform.wataskmanagementapi.repository.SensitiveTaskEventLogsRepository;
 
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.Set;
 import java.util.UUID;
 
+import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.never;
 import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -73,4 +89,49 @@ public class RoleAssignmentVerificationServiceTest {
                 ErrorMessages.ROLE_ASSIGNMENT_VERIFICATIONS_FAILED_ASSIGNEE);
 
     }
+
+    @Test
+    void should_verify_role_assignments_in_memory_against_the_task_roles() {
+        RoleAssignmentVerificationService inMemoryVerificationService = new RoleAssignmentVerificationService(
+            cftTaskDatabaseService, cftQueryService, cftSensitiveTaskEventLogsDatabaseService, true
+        );
+        String taskId = UUID.randomUUID().toString();
+        TaskResource taskResource = new TaskResource(taskId, "aTaskName", "aTaskType", CFTTaskState.UNASSIGNED,
+                                                     "1623278362431003");
+        taskResource.setJurisdiction("IA");
+        taskResource.setSecurityClassification(SecurityClassification.PUBLIC);
+        taskResource.setTaskRoleResources(Set.of(new TaskRoleResource(
+            "tribunal-caseofficer", true, false, false, false, false, false, new String[]{}, 1, false)));
+        when(cftTaskDatabaseService.findByIdWithTaskRoles(taskId)).thenReturn(Optional.of(taskResource));
+        List<RoleAssignment> roleAssignments = List.of(RoleAssignment.builder()
+            .roleName("tribunal-caseofficer")
+            .roleType(RoleType.ORGANISATION)
+            .grantType(GrantType.STANDARD)
+            .classification(Classification.PUBLIC)
+            .attributes(Map.of("jurisdiction", "IA"))
+            .build());
+
+        TaskResource verified = inMemoryVerificationService.verifyRoleAssignments(
+            taskId, roleAssignments, PermissionRequirementBuilder.builder().buildSingleType(PermissionTypes.READ)
+        );
+
+        assertThat(verified).isSameAs(taskResource);
+        assertThatThrownBy(() -> inMemoryVerificationService.verifyRoleAssignments(
+            taskId, roleAssignments, PermissionRequirementBuilder.builder().buildSingleType(PermissionTypes.MANAGE)
+        )).isInstanceOf(RoleAssignmentVerificationException.class);
+        verify(cftQueryService, never()).getTask(any(), any(), any(PermissionRequirements.class));
+    }
+
+    @Test
+    void should_throw_task_not_found_when_verifying_in_memory_and_the_task_does_not_exist() {
+        RoleAssignmentVerificationService inMemoryVerificationService = new RoleAssignmentVerificationService(
+            cftTaskDatabaseService, cftQueryService, cftSensitiveTaskEventLogsDatabaseService, true
+        );
+        String taskId = UUID.randomUUID().toString();
+        when(cftTaskDatabaseService.findByIdWithTaskRoles(taskId)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> inMemoryVerificationService.verifyRoleAssignments(
+            taskId, List.of(), PermissionRequirementBuilder.builder().buildSingleType(PermissionTypes.READ)
+        )).isInstanceOf(TaskNotFoundException.class);
+    }
 }
@@ -0,0 +1,179 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.EntityStatistics;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.AfterAll;
+import org.junit.jupiter.api.BeforeAll;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.TestInstance;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.autoconfigure.web.servlet.AutoConfigureMockMvc;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.hmcts.reform.wataskmanagementapi.config.IntegrationTest;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.PermissionsDmnEvaluationResponse;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.configuration.TaskConfigurationResults;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskRoleResource;
+import uk.gov.hmcts.reform.wataskmanagementapi.repository.TaskResourceRepository;
+import uk.gov.hmcts.reform.wataskmanagementapi.repository.TaskRoleResourceRepository;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.signature.RoleSignatureBuilder;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.signature.SearchFilterSignatureBuilder;
+
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.UUID;
+
+import static java.util.Collections.emptyList;
+import static java.util.Collections.emptyMap;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.junit.jupiter.api.TestInstance.Lifecycle.PER_CLASS;
+import static uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.CFTTaskState.UNCONFIGURED;
+import static uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.CamundaValue.stringValue;
+
+/**
+ * Counts the statements sent to the database to save an initiated task and a reconfigured task, the
+ * rows of the task roles are expected to be written in batches and only when they change.
+ */
+@Slf4j
+@IntegrationTest
+@AutoConfigureMockMvc(addFilters = false)
+@TestInstance(PER_CLASS)
+class TaskPersistenceStatementCountTest {
+
+    private static final int ROLES = 20;
+
+    @Autowired
+    TaskResourceRepository taskResourceRepository;
+    @Autowired
+    TaskRoleResourceRepository taskRoleResourceRepository;
+    @Autowired
+    CFTTaskMapper cftTaskMapper;
+    @Autowired
+    EntityManagerFactory entityManagerFactory;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    CFTTaskDatabaseService cftTaskDatabaseService;
+    TransactionTemplate transactionTemplate;
+    Statistics statistics;
+    boolean statisticsEnabled;
+
+    @BeforeAll
+    void setUp() {
+        cftTaskDatabaseService = new CFTTaskDatabaseService(
+            taskResourceRepository, cftTaskMapper, Runnable::run,
+            new SearchFilterSignatureBuilder(Caffeine.newBuilder().maximumWeight(1000), new SimpleMeterRegistry()),
+            new RoleSignatureBuilder(Caffeine.newBuilder().maximumWeight(1000), new SimpleMeterRegistry())
+        );
+        transactionTemplate = new TransactionTemplate(transactionManager);
+        statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+        statisticsEnabled = statistics.isStatisticsEnabled();
+        statistics.setStatisticsEnabled(true);
+    }
+
+    @AfterAll
+    void tearDown() {
+        statistics.setStatisticsEnabled(statisticsEnabled);
+    }
+
+    @BeforeEach
+    void beforeEach() {
+        taskResourceRepository.deleteAll();
+    }
+
+    @Test
+    void should_batch_the_role_inserts_when_saving_an_initiated_task() {
+        String taskId = UUID.randomUUID().toString();
+
+        statistics.clear();
+        transactionTemplate.executeWithoutResult(status -> cftTaskDatabaseService.saveTask(
+            cftTaskMapper.mapConfigurationAttributes(
+                skeletonTask(taskId),
+                new TaskConfigurationResults(emptyMap(), emptyList(), permissions("Read,Own"))
+            )
+        ));
+
+        EntityStatistics roleStatistics = statistics.getEntityStatistics(TaskRoleResource.class.getName());
+        log.info("Initiate: {} statements prepared, {} roles inserted",
+                 statistics.getPrepareStatementCount(), roleStatistics.getInsertCount());
+        assertEquals(ROLES, roleStatistics.getInsertCount());
+        assertTrue(statistics.getPrepareStatementCount() < ROLES,
+                   "Expected the role inserts to be batched, statements prepared: "
+                   + statistics.getPrepareStatementCount());
+    }
+
+    @Test
+    void should_only_write_the_changed_roles_when_saving_a_reconfigured_task() {
+        String taskId = UUID.randomUUID().toString();
+        transactionTemplate.executeWithoutResult(status -> cftTaskDatabaseService.saveTask(
+            cftTaskMapper.mapConfigurationAttributes(
+                skeletonTask(taskId),
+                new TaskConfigurationResults(emptyMap(), emptyList(), permissions("Read,Own"))
+            )
+        ));
+
+        List<PermissionsDmnEvaluationResponse> permissions = permissions("Read,Own");
+        //One role changes, one is removed and one is added
+        permissions.set(0, permission("role0", "Read,Own,Manage"));
+        permissions.set(1, permission("newRole", "Read"));
+
+        statistics.clear();
+        transactionTemplate.executeWithoutResult(status -> {
+            TaskResource taskResource = cftTaskDatabaseService.findByIdOnly(taskId).orElseThrow();
+            cftTaskDatabaseService.saveTask(cftTaskMapper.reconfigureTaskResourceFromDmnResults(
+                taskResource,
+                new TaskConfigurationResults(emptyMap(), emptyList(), permissions)
+            ));
+        });
+
+        EntityStatistics roleStatistics = statistics.getEntityStatistics(TaskRoleResource.class.getName());
+        log.info("Reconfigure: {} statements prepared, {} roles inserted, {} updated, {} deleted",
+                 statistics.getPrepareStatementCount(), roleStatistics.getInsertCount(),
+                 roleStatistics.getUpdateCount(), roleStatistics.getDeleteCount());
+        assertEquals(1, roleStatistics.getInsertCount());
+        assertEquals(1, roleStatistics.getUpdateCount());
+        assertEquals(1, roleStatistics.getDeleteCount());
+        assertEquals(ROLES, taskRoleResourceRepository.findByTaskId(taskId).size());
+    }
+
+    private TaskResource skeletonTask(String taskId) {
+        TaskResource taskResource = new TaskResource(
+            taskId,
+            "someTaskName",
+            "someTaskType",
+            UNCONFIGURED,
+            OffsetDateTime.now()
+        );
+        taskResource.setCreated(OffsetDateTime.now());
+        return taskResource;
+    }
+
+    private List<PermissionsDmnEvaluationResponse> permissions(String value) {
+        List<PermissionsDmnEvaluationResponse> permissions = new ArrayList<>();
+        for (int i = 0; i < ROLES; i++) {
+            permissions.add(permission("role" + i, value));
+        }
+        return permissions;
+    }
+
+    private PermissionsDmnEvaluationResponse permission(String roleName, String value) {
+        return new PermissionsDmnEvaluationResponse(
+            stringValue(roleName),
+            stringValue(value),
+            null,
+            null,
+            null,
+            stringValue("LEGAL_OPERATIONS"),
+            null
+        );
+    }
+}
@@ -0,0 +1,137 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services;
+
+import jakarta.persistence.EntityManager;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.CsvSource;
+import org.springframework.beans.factory.annotation.Autowired;
+import uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.CFTTaskState;
+import uk.gov.hmcts.reform.wataskmanagementapi.config.IntegrationTest;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.SecurityClassification;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskRoleResource;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.WorkTypeResource;
+import uk.gov.hmcts.reform.wataskmanagementapi.repository.TaskResourceRepository;
+import uk.gov.hmcts.reform.wataskmanagementapi.repository.TaskRoleResourceRepository;
+
+import java.time.OffsetDateTime;
+import java.util.Set;
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * Compares the signatures written by the TaskSignatureWriter with the signatures of the role_signatures and
+ * filter_signatures functions, which are still used to refresh the signatures after data fixes and to write
+ * the signatures of tasks saved without them.
+ */
+@IntegrationTest
+class TaskSignatureWriterSqlFunctionsTest {
+
+    private static final String SQL_FUNCTION_SIGNATURES = "select "
+        + "array_to_string(array(select distinct s from unnest(cft_task_db.filter_signatures(task_id, state, "
+        + "jurisdiction, role_category, work_type, region, location)) s where s is not null "
+        + "order by s collate \"C\"), ','), "
+        + "array_to_string(array(select distinct s from unnest(cft_task_db.role_signatures(task_id, "
+        + "jurisdiction, region, location, case_id, security_classification)) s where s is not null "
+        + "order by s collate \"C\"), ',') "
+        + "from cft_task_db.tasks where task_id = :taskId";
+
+    @Autowired
+    private TaskResourceRepository taskResourceRepository;
+    @Autowired
+    private TaskRoleResourceRepository taskRoleResourceRepository;
+    @Autowired
+    private TransactionHelper transactionHelper;
+    @Autowired
+    private EntityManager entityManager;
+
+    @AfterEach
+    void tearDown() {
+        taskRoleResourceRepository.deleteAll();
+        taskResourceRepository.deleteAll();
+    }
+
+    @ParameterizedTest
+    @CsvSource(value = {
+        "UNASSIGNED,PUBLIC,1,765324,LEGAL_OPERATIONS,1623278362431003",
+        "ASSIGNED,PRIVATE,1,765324,JUDICIAL,1623278362431003",
+        "UNASSIGNED,RESTRICTED,NULL,NULL,NULL,1623278362431003",
+        "ASSIGNED,PUBLIC,2,NULL,ADMIN,NULL",
+        "UNASSIGNED,PRIVATE,NULL,765325,UNKNOWN_CATEGORY,1623278362431004"
+    }, nullValues = "NULL")
+    void should_write_the_signatures_of_the_sql_signature_functions(CFTTaskState state,
+                                                                     SecurityClassification securityClassification,
+                                                                     String region,
+                                                                     String location,
+                                                                     String roleCategory,
+                                                                     String caseId) {
+        String taskId = UUID.randomUUID().toString();
+        TaskResource task = new TaskResource(taskId, "aTaskName", "aTaskType", state, caseId);
+        task.setCreated(OffsetDateTime.now());
+        task.setDueDateTime(OffsetDateTime.now().plusDays(1));
+        task.setPriorityDate(task.getDueDateTime());
+        task.setJurisdiction("IA");
+        task.setRegion(region);
+        task.setLocation(location);
+        task.setRoleCategory(roleCategory);
+        task.setWorkTypeResource(new WorkTypeResource("routine_work", "Routine work"));
+        task.setSecurityClassification(securityClassification);
+        task.setTaskRoleResources(Set.of(
+            role(taskId, "tribunal-caseofficer", true, true, true, false, new String[]{"IAC", "SSCS"}),
+            role(taskId, "senior-tribunal-caseworker", false, true, true, true, new String[]{}),
+            role(taskId, "case-manager", true, false, false, true, null),
+            role(taskId, "hearing-centre-admin", false, true, false, false, new String[]{"IAC"})
+        ));
+        transactionHelper.doInNewTransaction(() -> taskResourceRepository.save(task));
+
+        TaskResource saved = taskResourceRepository.findById(taskId).orElseThrow();
+        Object[] sqlSignatures = (Object[]) entityManager.createNativeQuery(SQL_FUNCTION_SIGNATURES)
+            .setParameter("taskId", taskId)
+            .getSingleResult();
+
+        assertFalse(String.join(",", saved.getRoleSignatures()).isEmpty());
+        assertEquals(sqlSignatures[0], String.join(",", saved.getFilterSignatures()));
+        assertEquals(sqlSignatures[1], String.join(",", saved.getRoleSignatures()));
+    }
+
+    @Test
+    void should_write_the_missing_signatures_of_tasks_saved_without_them() {
+        String taskId = UUID.randomUUID().toString();
+        TaskResource task = new TaskResource(taskId, "aTaskName", "aTaskType", CFTTaskState.UNASSIGNED,
+                                             "1623278362431003");
+        task.setCreated(OffsetDateTime.now());
+        task.setDueDateTime(OffsetDateTime.now().plusDays(1));
+        task.setPriorityDate(task.getDueDateTime());
+        task.setJurisdiction("IA");
+        task.setSecurityClassification(SecurityClassification.PUBLIC);
+        task.setTaskRoleResources(Set.of(
+            role(taskId, "tribunal-caseofficer", true, true, true, false, new String[]{"IAC"})
+        ));
+        transactionHelper.doInNewTransaction(() -> taskResourceRepository.save(task));
+        TaskResource saved = taskResourceRepository.findById(taskId).orElseThrow();
+        transactionHelper.doInNewTransaction(() -> entityManager.createNativeQuery(
+                "update cft_task_db.tasks set filter_signatures = null, role_signatures = null where task_id = :taskId")
+            .setParameter("taskId", taskId)
+            .executeUpdate());
+
+        assertTrue(taskResourceRepository.fillMissingSignatures(10).contains(taskId));
+
+        TaskResource filled = taskResourceRepository.findById(taskId).orElseThrow();
+        assertEquals(String.join(",", saved.getFilterSignatures()), String.join(",", filled.getFilterSignatures()));
+        assertEquals(String.join(",", saved.getRoleSignatures()), String.join(",", filled.getRoleSignatures()));
+        assertTrue(taskResourceRepository.fillMissingSignatures(10).isEmpty());
+    }
+
+    private TaskRoleResource role(String taskId, String roleName, boolean read, boolean own, boolean claim,
+                                  boolean manage, String[] authorizations) {
+        TaskRoleResource role = new TaskRoleResource(
+            roleName, read, own, false, manage, false, false, authorizations, 1, false, null, taskId,
+            OffsetDateTime.now());
+        role.setClaim(claim);
+        return role;
+    }
+}
@@ -0,0 +1,59 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services.cache;
+
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.support.TransactionTemplate;
+import uk.gov.hmcts.reform.wataskmanagementapi.config.IntegrationTest;
+
+import java.time.Duration;
+
+import static org.awaitility.Awaitility.await;
+import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
+@IntegrationTest(properties = "config.cacheInvalidation.enabled=true")
+class CacheInvalidationBusTest {
+
+    @Autowired
+    CacheInvalidationBus cacheInvalidationBus;
+    @Autowired
+    @Qualifier("taskTypeCacheManager")
+    CacheManager taskTypeCacheManager;
+    @Autowired
+    PlatformTransactionManager transactionManager;
+
+    @Test
+    void should_evict_the_published_key_through_the_database() {
+        Cache taskTypes = taskTypeCacheManager.getCache("task_types");
+        taskTypes.put("wa-task-types-wa", "taskTypes");
+        taskTypes.put("wa-task-types-ia", "taskTypes");
+
+        cacheInvalidationBus.publish("task_types", "wa-task-types-wa");
+
+        await().atMost(Duration.ofSeconds(10))
+            .untilAsserted(() -> assertNull(taskTypes.get("wa-task-types-wa")));
+        assertNotNull(taskTypes.get("wa-task-types-ia"));
+    }
+
+    @Test
+    void should_only_evict_once_the_transaction_commits() {
+        Cache taskTypes = taskTypeCacheManager.getCache("task_types");
+        taskTypes.put("wa-task-types-sscs", "taskTypes");
+        taskTypes.put("wa-task-types-civil", "taskTypes");
+
+        new TransactionTemplate(transactionManager).executeWithoutResult(status -> {
+            cacheInvalidationBus.publish("task_types", "wa-task-types-sscs");
+            status.setRollbackOnly();
+        });
+        cacheInvalidationBus.publish("task_types", "wa-task-types-civil");
+
+        //Notifications are delivered in commit order, so the rolled back one would have arrived first
+        await().atMost(Duration.ofSeconds(10))
+            .untilAsserted(() -> assertNull(taskTypes.get("wa-task-types-civil")));
+        assertNotNull(taskTypes.get("wa-task-types-sscs"));
+    }
+}
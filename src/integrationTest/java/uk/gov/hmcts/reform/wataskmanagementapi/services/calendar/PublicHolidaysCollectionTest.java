@@ -32,7 +32,7 @@ class PublicHolidaysCollectionTest {
     private PublicHolidaysCollection publicHolidaysCollection;
 
     @Autowired
-    private PublicHolidayService publicHolidayService;
+    private CalendarStore calendarStore;
 
     @Test
     public void should_not_return_empty_bank_holidays() {
@@ -42,9 +42,9 @@ class PublicHolidaysCollectionTest {
 
     @Test
     public void should_call_external_api_only_once() {
-        BankHolidays resultFromApi = publicHolidayService.getPublicHolidays(CALENDAR_URI);
-        BankHolidays resultFromCache = publicHolidayService.getPublicHolidays(CALENDAR_URI);
-        BankHolidays resultFromCacheAgain = publicHolidayService.getPublicHolidays(CALENDAR_URI);
+        BankHolidays resultFromApi = calendarStore.getCalendar(CALENDAR_URI);
+        BankHolidays resultFromCache = calendarStore.getCalendar(CALENDAR_URI);
+        BankHolidays resultFromCacheAgain = calendarStore.getCalendar(CALENDAR_URI);
 
         assertThat(resultFromApi).isSameAs(resultFromCache).isSameAs(resultFromCacheAgain);
     }
@@ -89,17 +89,17 @@ class PublicHolidaysCollectionTest {
 
     @Test
     public void should_change_after_cache_expiry_external_api() {
-        BankHolidays resultFromApi = publicHolidayService.getPublicHolidays(CALENDAR_URI);
+        BankHolidays resultFromApi = calendarStore.getCalendar(CALENDAR_URI);
 
         PublicHolidaysCollectionTest.TestConfiguration.fakeTicker.advance(10, TimeUnit.HOURS);
 
-        BankHolidays resultFromCache = publicHolidayService.getPublicHolidays(CALENDAR_URI);
+        BankHolidays resultFromCache = calendarStore.getCalendar(CALENDAR_URI);
 
         assertThat(resultFromApi).isSameAs(resultFromCache);
 
         PublicHolidaysCollectionTest.TestConfiguration.fakeTicker.advance(25, TimeUnit.HOURS);
 
-        BankHolidays resultFromRenewedCache = publicHolidayService.getPublicHolidays(CALENDAR_URI);
+        BankHolidays resultFromRenewedCache = calendarStore.getCalendar(CALENDAR_URI);
 
         assertThat(resultFromApi).isSameAs(resultFromCache).isNotSameAs(resultFromRenewedCache);
     }
@@ -0,0 +1,138 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services.calendar;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.ConfigurationDmnEvaluationResponse;
+
+import java.time.LocalDate;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.TimeUnit;
+
+import static uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.CamundaValue.stringValue;
+
+/**
+ * Measures date calculation for a task with a next hearing date, an intermediate date, a due date and a
+ * priority date, each calculated from a fixed date, an interval, a reference to another date or the
+ * earliest of other dates. Run with ./gradlew jmh.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DateTypeConfiguratorBenchmark {
+
+    private static final String CALENDAR = "https://www.gov.uk/bank-holidays/england-and-wales.json";
+    private static final String INTERMEDIATE_DATE = "hearingDatePreDate";
+    private static final String CALCULATED_DATES = "nextHearingDate," + INTERMEDIATE_DATE + ",dueDate,priorityDate";
+
+    @Param({"DATE", "INTERVAL", "ORIGIN_REF", "ORIGIN_EARLIEST"})
+    private String scenario;
+
+    private DateTypeConfigurator dateTypeConfigurator;
+    private List<ConfigurationDmnEvaluationResponse> responses;
+
+    @Setup
+    public void setUp() {
+        Set<LocalDate> publicHolidays = Set.of(
+            LocalDate.of(2026, 12, 25), LocalDate.of(2026, 12, 28),
+            LocalDate.of(2027, 1, 1), LocalDate.of(2027, 3, 26), LocalDate.of(2027, 3, 29)
+        );
+        WorkingDayIndicator workingDayIndicator = new WorkingDayIndicator(new PublicHolidaysCollection(null) {
+            @Override
+            public Set<LocalDate> getPublicHolidays(List<String> uris) {
+                return publicHolidays;
+            }
+        });
+
+        dateTypeConfigurator = new DateTypeConfigurator(List.of(
+            new DueDateCalculator(),
+            new DueDateTimeCalculator(),
+            new DueDateIntervalCalculator(workingDayIndicator),
+            new DueDateOriginRefCalculator(workingDayIndicator),
+            new DueDateOriginEarliestCalculator(workingDayIndicator),
+            new DueDateOriginLatestCalculator(workingDayIndicator),
+            new PriorityDateCalculator(),
+            new PriorityDateTimeCalculator(),
+            new PriorityDateIntervalCalculator(workingDayIndicator),
+            new PriorityDateOriginRefCalculator(workingDayIndicator),
+            new PriorityDateOriginEarliestCalculator(workingDayIndicator),
+            new PriorityDateOriginLatestCalculator(workingDayIndicator),
+            new NextHearingDateCalculator(),
+            new NextHearingDateIntervalCalculator(workingDayIndicator),
+            new NextHearingDateOriginRefCalculator(workingDayIndicator),
+            new NextHearingDateOriginEarliestCalculator(workingDayIndicator),
+            new NextHearingDateOriginLatestCalculator(workingDayIndicator),
+            new IntermediateDateCalculator(),
+            new IntermediateDateIntervalCalculator(workingDayIndicator),
+            new IntermediateDateOriginRefCalculator(workingDayIndicator),
+            new IntermediateDateOriginEarliestCalculator(workingDayIndicator),
+            new IntermediateDateOriginLatestCalculator(workingDayIndicator)
+        ));
+
+        responses = new ArrayList<>();
+        add("calculatedDates", CALCULATED_DATES);
+        switch (scenario) {
+            case "DATE" -> {
+                add("nextHearingDate", "2026-12-21T16:00");
+                add(INTERMEDIATE_DATE, "2026-12-18T16:00");
+                add("dueDate", "2026-12-17T16:00");
+                add("priorityDate", "2026-12-16T16:00");
+            }
+            case "INTERVAL" -> {
+                addInterval("nextHearingDate", "2026-12-21T16:00", "5");
+                addInterval(INTERMEDIATE_DATE, "2026-12-21T16:00", "-2");
+                addInterval("dueDate", "2026-12-21T16:00", "10");
+                addInterval("priorityDate", "2026-12-21T16:00", "-5");
+            }
+            case "ORIGIN_REF" -> {
+                add("nextHearingDateOrigin", "2026-12-21T16:00");
+                add(INTERMEDIATE_DATE + "OriginRef", "nextHearingDate");
+                add(INTERMEDIATE_DATE + "IntervalDays", "-2");
+                add("dueDateOriginRef", INTERMEDIATE_DATE);
+                add("dueDateIntervalDays", "-3");
+                add("priorityDateOriginRef", "dueDate");
+                add("priorityDateIntervalDays", "-1");
+            }
+            case "ORIGIN_EARLIEST" -> {
+                add("nextHearingDateOrigin", "2026-12-21T16:00");
+                add(INTERMEDIATE_DATE + "Origin", "2026-12-14T16:00");
+                add("dueDateOriginEarliest", "nextHearingDate," + INTERMEDIATE_DATE);
+                add("dueDateIntervalDays", "5");
+                add("priorityDateOriginEarliest", "dueDate,nextHearingDate");
+            }
+            default -> throw new IllegalArgumentException("Unknown scenario " + scenario);
+        }
+    }
+
+    @Benchmark
+    public List<ConfigurationDmnEvaluationResponse> configureDates() {
+        return dateTypeConfigurator.configureDates(responses, false, false, Map.of());
+    }
+
+    private void addInterval(String dateType, String origin, String intervalDays) {
+        add(dateType + "Origin", origin);
+        add(dateType + "IntervalDays", intervalDays);
+        add(dateType + "NonWorkingCalendar", CALENDAR);
+        add(dateType + "NonWorkingDaysOfWeek", "SATURDAY,SUNDAY");
+        add(dateType + "SkipNonWorkingDays", "true");
+        add(dateType + "MustBeWorkingDay", "Next");
+    }
+
+    private void add(String name, String value) {
+        responses.add(new ConfigurationDmnEvaluationResponse(stringValue(name), stringValue(value)));
+    }
+}
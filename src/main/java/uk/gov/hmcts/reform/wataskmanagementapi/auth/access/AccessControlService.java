@@ -6,6 +6,7 @@ import org.springframework.stereotype.Service;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.access.entities.AccessControlResponse;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.idam.IdamService;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.idam.entities.UserInfo;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.RoleAssignmentCache;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.RoleAssignmentService;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.RoleAssignment;
 import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.NoRoleAssignmentsFoundException;
@@ -19,18 +20,21 @@ public class AccessControlService {
 
     private final IdamService idamService;
     private final RoleAssignmentService roleAssignmentService;
+    private final RoleAssignmentCache roleAssignmentCache;
 
     @Autowired
     public AccessControlService(IdamService idamService,
-                                RoleAssignmentService roleAssignmentService) {
+                                RoleAssignmentService roleAssignmentService,
+                                RoleAssignmentCache roleAssignmentCache) {
         this.idamService = idamService;
         this.roleAssignmentService = roleAssignmentService;
+        this.roleAssignmentCache = roleAssignmentCache;
     }
 
     public AccessControlResponse getRoles(String authToken) {
         UserInfo userInfo = idamService.getUserInfo(authToken);
         log.debug("UserInfo successfully retrieved from IDAM");
-        List<RoleAssignment> roleAssignments = roleAssignmentService.getRolesForUser(userInfo.getUid(), authToken);
+        List<RoleAssignment> roleAssignments = roleAssignmentCache.getRolesForUser(userInfo.getUid(), authToken);
 
         //Safe-guard
         if (roleAssignments.isEmpty()) {
@@ -0,0 +1,207 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.auth.role;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.RoleAssignment;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.response.RoleAssignmentResource;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.cache.InvalidatableCache;
+
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static java.util.Objects.requireNonNull;
+
+/**
+ * Bounded per user cache of role assignments. Once an entry is older than the refresh interval, which is
+ * shorter than its expiry, the user's next request is served from the cache while the entry is revalidated
+ * ahead of expiry in the background, with the token of that request, by sending the entity tag returned by
+ * the role assignment service so unchanged assignments are not transferred again. No user token is kept in
+ * the cache.
+ */
+@Slf4j
+@Component
+@SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+public class RoleAssignmentCache implements InvalidatableCache {
+
+    public static final String CACHE_NAME = "role_assignments";
+
+    private final RoleAssignmentService roleAssignmentService;
+    private final boolean enabled;
+    private final Cache<String, CachedRoleAssignments> cache;
+    private final Ticker ticker;
+    private final long refreshNanos;
+    private final Timer remoteLatencyTimer;
+    private final Counter savedLatencyCounter;
+    private final Executor refreshExecutor;
+    private final Set<String> refreshing = ConcurrentHashMap.newKeySet();
+
+    @Autowired
+    public RoleAssignmentCache(RoleAssignmentService roleAssignmentService,
+                               @Qualifier("roleAssignmentCaffeineConfig") Caffeine<Object, Object> caffeineConfig,
+                               Ticker ticker,
+                               MeterRegistry meterRegistry,
+                               @Value("${caffeine.role-assignment.enabled}") boolean enabled,
+                               @Value("${caffeine.role-assignment.refresh.duration}") long refreshDuration,
+                               @Value("${caffeine.role-assignment.refresh.unit}") TimeUnit refreshDurationUnit) {
+        this(roleAssignmentService, caffeineConfig, ticker, meterRegistry, enabled, refreshDuration,
+             refreshDurationUnit, ForkJoinPool.commonPool());
+    }
+
+    RoleAssignmentCache(RoleAssignmentService roleAssignmentService,
+                        Caffeine<Object, Object> caffeineConfig,
+                        Ticker ticker,
+                        MeterRegistry meterRegistry,
+                        boolean enabled,
+                        long refreshDuration,
+                        TimeUnit refreshDurationUnit,
+                        Executor refreshExecutor) {
+        this.roleAssignmentService = roleAssignmentService;
+        this.enabled = enabled;
+        this.cache = caffeineConfig.build();
+        this.ticker = ticker;
+        this.refreshNanos = refreshDurationUnit.toNanos(refreshDuration);
+        this.remoteLatencyTimer = Timer.builder("wa.role_assignment.remote.latency")
+            .description("Latency of role assignment retrievals from the role assignment service")
+            .register(meterRegistry);
+        this.savedLatencyCounter = Counter.builder("wa.role_assignment.cache.saved_latency")
+            .description("Estimated remote latency saved by serving role assignments from the cache")
+            .baseUnit("milliseconds")
+            .register(meterRegistry);
+        this.refreshExecutor = refreshExecutor;
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public List<RoleAssignment> getRolesForUser(String idamUserId, String authToken) {
+        requireNonNull(idamUserId, "IdamUserId cannot be null");
+
+        if (!enabled) {
+            return roleAssignmentService.getRolesForUser(idamUserId, authToken);
+        }
+
+        AtomicBoolean loaded = new AtomicBoolean(false);
+        CachedRoleAssignments cached = cache.get(idamUserId, userId -> {
+            loaded.set(true);
+            return fetch(userId, authToken, null);
+        });
+
+        if (loaded.get()) {
+            if (cached.getRoleAssignments().isEmpty()) {
+                //Do not keep users without role assignments, they may be granted roles at any time
+                cache.invalidate(idamUserId);
+            }
+            return cached.getRoleAssignments();
+        }
+
+        savedLatencyCounter.increment(remoteLatencyTimer.mean(TimeUnit.MILLISECONDS));
+        if (ticker.read() - cached.getFetchedNanos() >= refreshNanos) {
+            refreshAhead(idamUserId, authToken, cached);
+        }
+        return cached.getRoleAssignments();
+    }
+
+    @Override
+    public String getCacheName() {
+        return CACHE_NAME;
+    }
+
+    @Override
+    public void evict(String idamUserId) {
+        log.debug("Evicting cached role assignments for user '{}'", idamUserId);
+        cache.invalidate(idamUserId);
+    }
+
+    @Override
+    public void evictAll() {
+        log.debug("Evicting all cached role assignments");
+        cache.invalidateAll();
+    }
+
+    private void refreshAhead(String idamUserId, String authToken, CachedRoleAssignments cached) {
+        if (!refreshing.add(idamUserId)) {
+            return;
+        }
+        try {
+            refreshExecutor.execute(() -> {
+                try {
+                    CachedRoleAssignments refreshed = fetch(idamUserId, authToken, cached);
+                    //Only replace the entry that was revalidated so an eviction in the meantime is not undone
+                    if (refreshed.getRoleAssignments().isEmpty()) {
+                        cache.asMap().remove(idamUserId, cached);
+                    } else {
+                        cache.asMap().replace(idamUserId, cached, refreshed);
+                    }
+                } catch (RuntimeException ex) {
+                    log.warn("Could not refresh cached role assignments for user '{}'", idamUserId, ex);
+                } finally {
+                    refreshing.remove(idamUserId);
+                }
+            });
+        } catch (RuntimeException ex) {
+            refreshing.remove(idamUserId);
+            log.warn("Could not schedule refresh of cached role assignments for user '{}'", idamUserId, ex);
+        }
+    }
+
+    private CachedRoleAssignments fetch(String idamUserId, String authToken, CachedRoleAssignments previous) {
+        String eTag = previous == null ? null : previous.getETag();
+
+        ResponseEntity<RoleAssignmentResource> response = remoteLatencyTimer.record(
+            () -> roleAssignmentService.getRolesForUserIfNoneMatch(idamUserId, authToken, eTag)
+        );
+        requireNonNull(response, "Role assignment response must not be null");
+
+        if (previous != null && response.getStatusCode() == HttpStatus.NOT_MODIFIED) {
+            log.debug("Role assignments for user '{}' have not been modified", idamUserId);
+            return new CachedRoleAssignments(previous.getRoleAssignments(), eTag, ticker.read());
+        }
+
+        RoleAssignmentResource roleAssignmentResource = requireNonNull(response.getBody());
+        return new CachedRoleAssignments(
+            roleAssignmentResource.getRoleAssignmentResponse(),
+            response.getHeaders().getETag(),
+            ticker.read()
+        );
+    }
+
+    private static final class CachedRoleAssignments {
+
+        private final List<RoleAssignment> roleAssignments;
+        private final String eTag;
+        private final long fetchedNanos;
+
+        private CachedRoleAssignments(List<RoleAssignment> roleAssignments, String eTag, long fetchedNanos) {
+            this.roleAssignments = roleAssignments == null ? List.of() : List.copyOf(roleAssignments);
+            this.eTag = eTag;
+            this.fetchedNanos = fetchedNanos;
+        }
+
+        private List<RoleAssignment> getRoleAssignments() {
+            return roleAssignments;
+        }
+
+        private String getETag() {
+            return eTag;
+        }
+
+        private long getFetchedNanos() {
+            return fetchedNanos;
+        }
+    }
+}
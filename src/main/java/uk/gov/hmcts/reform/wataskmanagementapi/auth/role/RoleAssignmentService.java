@@ -4,6 +4,7 @@ import feign.FeignException;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.beans.factory.annotation.Value;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import org.springframework.stereotype.Service;
 import uk.gov.hmcts.reform.authorisation.generators.AuthTokenGenerator;
@@ -82,6 +83,37 @@ public class RoleAssignmentService {
         }
     }
 
+    /**
+     * Conditionally retrieves the role assignments of a user using the given entity tag.
+     * When the role assignments have not changed since the tag was issued a response with
+     * status {@link HttpStatus#NOT_MODIFIED} and no body is returned.
+     *
+     * @param idamUserId the idam user id
+     * @param authToken  the user authorization token
+     * @param eTag       the entity tag of the previous response, may be null
+     * @return the role assignment response including its entity tag
+     */
+    public ResponseEntity<RoleAssignmentResource> getRolesForUserIfNoneMatch(String idamUserId,
+                                                                             String authToken,
+                                                                             String eTag) {
+        requireNonNull(idamUserId, "IdamUserId cannot be null");
+        try {
+            return roleAssignmentServiceApi.getRolesForUserIfNoneMatch(
+                idamUserId,
+                authToken,
+                serviceAuthTokenGenerator.generate(),
+                eTag
+            );
+        } catch (FeignException ex) {
+            if (ex.status() == HttpStatus.NOT_MODIFIED.value()) {
+                return ResponseEntity.status(HttpStatus.NOT_MODIFIED).build();
+            }
+            log.error("Error when retrieving roles for user '{}'", idamUserId, ex);
+            throw new UnAuthorizedException(
+                "User did not have sufficient permissions to perform this action", ex);
+        }
+    }
+
     public List<RoleAssignment> queryRolesForAutoAssignmentByCaseId(TaskResource taskResource) {
         requireNonNull(taskResource, "taskResource cannot be null");
         RoleAssignmentResource roleAssignmentResponse = performSearch(buildQueryForAutoAssignment(taskResource));
@@ -43,6 +43,10 @@ public enum CFTTaskState {
         return value;
     }
 
+    public String getAbbreviation() {
+        return abbreviation;
+    }
+
     public static Set<String> getAbbreviations(List<CFTTaskState> states) {
         return Stream.ofNullable(states)
             .flatMap(Collection::stream)
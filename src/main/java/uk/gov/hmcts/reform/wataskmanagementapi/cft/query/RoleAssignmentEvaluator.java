@@ -0,0 +1,197 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.cft.query;
+
+import org.springframework.util.CollectionUtils;
+import org.springframework.util.StringUtils;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.permission.PermissionRequirement;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.permission.PermissionRequirements;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.permission.entities.PermissionJoin;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.permission.entities.PermissionTypes;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.RoleAssignment;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.RoleAssignmentForSearch;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.GrantType;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.RoleType;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.SecurityClassification;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskRoleResource;
+
+import java.util.Arrays;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.GrantType.CHALLENGED;
+import static uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.GrantType.EXCLUDED;
+import static uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.GrantType.SPECIFIC;
+import static uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.GrantType.STANDARD;
+
+/**
+ * Evaluates in memory whether role assignments give access to a task loaded with its task roles, the
+ * counterpart of the query built by {@link RoleAssignmentFilter#buildRoleAssignmentConstraints}. A single
+ * task role has to match a specific, standard or challenged role assignment and meet the permission
+ * requirements, standard and challenged role assignments only count when no excluded role assignment
+ * matches the task. Attributes are compared as the query compares them, a value missing from the task
+ * never matches a role assignment attribute.
+ */
+@SuppressWarnings({"PMD.LawOfDemeter", "PMD.TooManyMethods", "PMD.CyclomaticComplexity"})
+public final class RoleAssignmentEvaluator {
+
+    private static final Set<GrantType> STANDARD_AND_CHALLENGED = EnumSet.of(STANDARD, CHALLENGED);
+    private static final Set<RoleType> SEARCHED_ROLE_TYPES = EnumSet.of(RoleType.ORGANISATION, RoleType.CASE);
+
+    private RoleAssignmentEvaluator() {
+        // avoid creating object
+    }
+
+    public static boolean hasAccess(TaskResource task,
+                                    List<RoleAssignment> roleAssignments,
+                                    PermissionRequirements permissionsRequired) {
+        if (permissionsRequired == null || permissionsRequired.isEmpty()
+            || CollectionUtils.isEmpty(task.getTaskRoleResources())) {
+            return false;
+        }
+        List<RoleAssignmentForSearch> activeRoleAssignments = roleAssignments.stream()
+            .filter(RoleAssignmentFilter::filterByActiveRole)
+            .filter(roleAssignment -> SEARCHED_ROLE_TYPES.contains(roleAssignment.getRoleType()))
+            .map(RoleAssignmentForSearch::new)
+            .toList();
+
+        //As in the query, an exclusion from cases can not be ruled out for a task without a case id
+        boolean excluded = activeRoleAssignments.stream()
+            .filter(roleAssignment -> EXCLUDED.name().equals(roleAssignment.getGrantType()))
+            .anyMatch(roleAssignment -> matchesClassification(task, roleAssignment)
+                                        && (task.getCaseId() == null || matchesCaseId(task, roleAssignment)));
+
+        for (TaskRoleResource taskRole : task.getTaskRoleResources()) {
+            if (!meetsRequirements(taskRole, permissionsRequired)) {
+                continue;
+            }
+            for (RoleAssignmentForSearch roleAssignment : activeRoleAssignments) {
+                GrantType grantType = GrantType.valueOf(roleAssignment.getGrantType());
+                boolean granted = grantType == SPECIFIC
+                                  || !excluded && STANDARD_AND_CHALLENGED.contains(grantType);
+                if (granted && matches(task, taskRole, roleAssignment)) {
+                    return true;
+                }
+            }
+        }
+        return false;
+    }
+
+    /**
+     * Whether an active organisation or case role assignment has the name of a task role that can read the task,
+     * which is all that is required to see the permissions of the task roles.
+     */
+    public static boolean hasReadPermission(TaskResource task, List<RoleAssignment> roleAssignments) {
+        if (CollectionUtils.isEmpty(task.getTaskRoleResources())) {
+            return false;
+        }
+        Set<String> roleNames = roleAssignments.stream()
+            .filter(RoleAssignmentFilter::filterByActiveRole)
+            .filter(roleAssignment -> SEARCHED_ROLE_TYPES.contains(roleAssignment.getRoleType()))
+            .map(RoleAssignment::getRoleName)
+            .collect(Collectors.toSet());
+        return task.getTaskRoleResources().stream()
+            .anyMatch(taskRole -> Boolean.TRUE.equals(taskRole.getRead())
+                                  && roleNames.contains(taskRole.getRoleName()));
+    }
+
+    private static boolean matches(TaskResource task,
+                                   TaskRoleResource taskRole,
+                                   RoleAssignmentForSearch roleAssignment) {
+        return roleAssignment.getRoleName() != null
+               && roleAssignment.getRoleName().equals(taskRole.getRoleName())
+               && matchesClassification(task, roleAssignment)
+               && matchesAuthorisations(taskRole, roleAssignment)
+               && matchesAttribute(roleAssignment.getJurisdiction(), task.getJurisdiction())
+               && matchesAttribute(roleAssignment.getLocation(), task.getLocation())
+               && matchesAttribute(roleAssignment.getRegion(), task.getRegion())
+               && matchesAttribute(roleAssignment.getCaseType(), task.getCaseTypeId())
+               && matchesCaseId(task, roleAssignment);
+    }
+
+    private static boolean matchesClassification(TaskResource task, RoleAssignmentForSearch roleAssignment) {
+        SecurityClassification securityClassification = task.getSecurityClassification();
+        if (securityClassification == null) {
+            return false;
+        }
+        return switch (roleAssignment.getClassification()) {
+            case "PUBLIC" -> securityClassification == SecurityClassification.PUBLIC;
+            case "PRIVATE" -> securityClassification != SecurityClassification.RESTRICTED;
+            case "RESTRICTED" -> true;
+            default -> false;
+        };
+    }
+
+    private static boolean matchesAuthorisations(TaskRoleResource taskRole, RoleAssignmentForSearch roleAssignment) {
+        String[] authorizations = taskRole.getAuthorizations();
+        if (authorizations == null || authorizations.length == 0) {
+            return true;
+        }
+        List<String> authorisations = roleAssignment.getAuthorisations();
+        return authorisations != null && Arrays.stream(authorizations).anyMatch(authorisations::contains);
+    }
+
+    private static boolean matchesAttribute(String roleAssignmentValue, String taskValue) {
+        return !StringUtils.hasText(roleAssignmentValue) || roleAssignmentValue.equals(taskValue);
+    }
+
+    private static boolean matchesCaseId(TaskResource task, RoleAssignmentForSearch roleAssignment) {
+        Set<String> caseIds = roleAssignment.getCaseIds();
+        return CollectionUtils.isEmpty(caseIds) || caseIds.contains(task.getCaseId());
+    }
+
+    private static boolean meetsRequirements(TaskRoleResource taskRole, PermissionRequirements permissionsRequired) {
+        PermissionRequirements nextRequirements = permissionsRequired;
+        PermissionJoin nextPermissionJoin = permissionsRequired.getPermissionJoin();
+        Boolean met = null;
+
+        while (nextRequirements != null && !nextRequirements.isEmpty()) {
+            boolean requirementMet = meetsRequirement(taskRole, nextRequirements.getPermissionRequirement());
+
+            if (met == null) {
+                met = requirementMet;
+            } else if (PermissionJoin.AND.equals(nextPermissionJoin)) {
+                met = met && requirementMet;
+            } else {
+                met = met || requirementMet;
+            }
+
+            nextPermissionJoin = nextRequirements.getPermissionJoin();
+            nextRequirements = nextRequirements.getNextPermissionRequirements();
+        }
+        return Boolean.TRUE.equals(met);
+    }
+
+    private static boolean meetsRequirement(TaskRoleResource taskRole, PermissionRequirement requirement) {
+        List<PermissionTypes> permissionTypes = requirement.getPermissionTypes();
+        if (PermissionJoin.AND.equals(requirement.getPermissionJoin())) {
+            return permissionTypes.stream().allMatch(type -> hasPermission(taskRole, type));
+        } else if (PermissionJoin.OR.equals(requirement.getPermissionJoin())) {
+            return permissionTypes.stream().anyMatch(type -> hasPermission(taskRole, type));
+        }
+        return hasPermission(taskRole, permissionTypes.get(0));
+    }
+
+    private static boolean hasPermission(TaskRoleResource taskRole, PermissionTypes permissionType) {
+        Boolean permission = switch (permissionType) {
+            case READ -> taskRole.getRead();
+            case REFER -> taskRole.getRefer();
+            case OWN -> taskRole.getOwn();
+            case MANAGE -> taskRole.getManage();
+            case EXECUTE -> taskRole.getExecute();
+            case CANCEL -> taskRole.getCancel();
+            case COMPLETE -> taskRole.getComplete();
+            case COMPLETE_OWN -> taskRole.getCompleteOwn();
+            case CANCEL_OWN -> taskRole.getCancelOwn();
+            case CLAIM -> taskRole.getClaim();
+            case UNCLAIM -> taskRole.getUnclaim();
+            case ASSIGN -> taskRole.getAssign();
+            case UNASSIGN -> taskRole.getUnassign();
+            case UNCLAIM_ASSIGN -> taskRole.getUnclaimAssign();
+            case UNASSIGN_CLAIM -> taskRole.getUnassignClaim();
+            case UNASSIGN_ASSIGN -> taskRole.getUnassignAssign();
+        };
+        return Boolean.TRUE.equals(permission);
+    }
+}
@@ -50,7 +50,6 @@ public final class RoleAssignmentFilter {
     public static final String ROLE_NAME_COLUMN = "roleName";
     public static final String TASK_ROLE_RESOURCES = "taskRoleResources";
     public static final ZoneId ZONE_ID = ZoneId.of("Europe/London");
-    public static final String READ_COLUMN = "read";
     public static final int ONE = 1;
 
     private RoleAssignmentFilter() {
@@ -76,36 +75,6 @@ public final class RoleAssignmentFilter {
         return builder.and(roleAssignmentFilterPredicate, permissionRequirementPredicate);
     }
 
-    public static Predicate buildQueryToRetrieveRoleInformation(
-        List<RoleAssignment> roleAssignments,
-        CriteriaBuilder builder,
-        Root<TaskResource> root) {
-        // filter roles which are active.
-        final List<RoleAssignment> activeRoleAssignments = roleAssignments
-            .stream().filter(RoleAssignmentFilter::filterByActiveRole).toList();
-
-        RoleAssignmentSearchData searchData = new RoleAssignmentSearchData(
-            activeRoleAssignments,
-            RoleAssignmentForSearch::getRoleType
-        );
-        List<RoleAssignmentForSearch> roleAssignmentsForSearch = searchData.getRoleAssignmentsForSearch();
-
-        final Join<TaskResource, TaskRoleResource> taskRoleResources = root.join(TASK_ROLE_RESOURCES);
-
-        List<Predicate> rolePredicates = new ArrayList<>();
-        for (RoleAssignmentForSearch roleAssignment : roleAssignmentsForSearch) {
-
-            Predicate rolePredicate = builder.equal(
-                taskRoleResources.get(ROLE_NAME_COLUMN),
-                roleAssignment.getRoleName()
-            );
-
-            rolePredicates.add(builder.and(rolePredicate, builder.isTrue(taskRoleResources.get(READ_COLUMN))));
-
-        }
-        return builder.or(rolePredicates.toArray(new Predicate[0]));
-    }
-
     private static Predicate getRoleAssignmentFilterPredicate(List<RoleAssignment> roleAssignments,
                                                               CriteriaBuilder builder,
                                                               Root<TaskResource> root,
@@ -398,7 +367,7 @@ public final class RoleAssignmentFilter {
         return builder.conjunction();
     }
 
-    private static boolean filterByActiveRole(RoleAssignment roleAssignment) {
+    static boolean filterByActiveRole(RoleAssignment roleAssignment) {
         return hasBeginTimePermission(roleAssignment) && hasEndTimePermission(roleAssignment);
     }
 
@@ -10,9 +10,12 @@ import jakarta.persistence.criteria.Selection;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Pageable;
 import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.idam.entities.SearchEventAndCase;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.permission.PermissionRequirements;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.RoleAssignment;
+import uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.CFTTaskState;
+import uk.gov.hmcts.reform.wataskmanagementapi.config.db.ReadFromReplica;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SearchRequest;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SortingParameter;
 import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
@@ -34,6 +37,12 @@ public class TaskResourceDao {
     static final String MAJOR_PRIORITY = "majorPriority";
     static final String PRIORITY_DATE = "priorityDate";
     static final String MINOR_PRIORITY = "minorPriority";
+    static final String COMPLETABLE_TASKS_QUERY = "select distinct t from tasks t left join fetch t.taskRoleResources"
+        + " where t.caseId = :caseId and t.state in :states and t.taskType in :taskTypes";
+    static final String TASK_WITH_ROLES_QUERY = "select distinct t from tasks t left join fetch t.taskRoleResources"
+        + " where t.taskId = :taskId";
+    private static final List<CFTTaskState> COMPLETABLE_STATES =
+        List.of(CFTTaskState.ASSIGNED, CFTTaskState.UNASSIGNED);
 
     @PersistenceContext
     private final EntityManager entityManager;
@@ -42,6 +51,8 @@ public class TaskResourceDao {
         this.entityManager = entityManager;
     }
 
+    @ReadFromReplica
+    @Transactional(readOnly = true)
     public List<Object[]> getTaskResourceSummary(int firstResult,
                                                  int maxResults,
                                                  SearchRequest searchRequest,
@@ -91,6 +102,8 @@ public class TaskResourceDao {
         return selections;
     }
 
+    @ReadFromReplica
+    @Transactional(readOnly = true)
     public List<TaskResource> getTaskResources(SearchRequest searchRequest,
                                                List<Object[]> taskResourcesSummary) {
         SelectTaskResourceQueryBuilder selectQueryBuilder = new SelectTaskResourceQueryBuilder(entityManager, true);
@@ -113,6 +126,8 @@ public class TaskResourceDao {
             .getResultList();
     }
 
+    @ReadFromReplica
+    @Transactional(readOnly = true)
     public Long getTotalCount(SearchRequest searchRequest,
                               List<RoleAssignment> roleAssignments,
                               PermissionRequirements permissionsRequired,
@@ -139,46 +154,42 @@ public class TaskResourceDao {
             .getSingleResult();
     }
 
+    /**
+     * Finds the task if the role assignments give access to it. As for the completable tasks, the query has the
+     * same shape for every user and the role assignments are evaluated in memory on the loaded task roles.
+     */
     public Optional<TaskResource> getTask(String taskId,
                                           List<RoleAssignment> roleAssignments,
                                           PermissionRequirements permissionsRequired
     ) {
-        SelectTaskResourceQueryBuilder selectQueryBuilder = new SelectTaskResourceQueryBuilder(entityManager);
-
-        final Predicate selectPredicate = TaskSearchQueryBuilder.buildSingleTaskQuery(
-            taskId,
-            roleAssignments,
-            permissionsRequired,
-            selectQueryBuilder.builder,
-            selectQueryBuilder.root
-        );
-
-        return selectQueryBuilder
-            .where(selectPredicate)
-            .build()
+        return entityManager.createQuery(TASK_WITH_ROLES_QUERY, TaskResource.class)
+            .setParameter("taskId", taskId)
             .getResultList().stream()
+            .filter(task -> RoleAssignmentEvaluator.hasAccess(task, roleAssignments, permissionsRequired))
             .findFirst();
     }
 
+    /**
+     * Finds the assigned and unassigned tasks of the given types on a case that the role assignments give access
+     * to. The query has the same shape for every user, so that its plan is reused, and loads the task roles
+     * with the tasks so that the role assignments are evaluated on them in memory.
+     */
+    @ReadFromReplica
+    @Transactional(readOnly = true)
     public List<TaskResource> getCompletableTaskResources(SearchEventAndCase searchEventAndCase,
                                                           List<RoleAssignment> roleAssignments,
                                                           PermissionRequirements permissionsRequired,
                                                           List<String> taskTypes) {
-        SelectTaskResourceQueryBuilder selectQueryBuilder = new SelectTaskResourceQueryBuilder(entityManager);
-
-        final Predicate selectPredicate = TaskSearchQueryBuilder.buildQueryForCompletable(
-            searchEventAndCase,
-            roleAssignments,
-            permissionsRequired,
-            taskTypes,
-            selectQueryBuilder.builder,
-            selectQueryBuilder.root
-        );
-
-        return selectQueryBuilder
-            .where(selectPredicate)
-            .build()
-            .getResultList();
+        if (taskTypes.isEmpty()) {
+            return List.of();
+        }
+        return entityManager.createQuery(COMPLETABLE_TASKS_QUERY, TaskResource.class)
+            .setParameter("caseId", searchEventAndCase.getCaseId())
+            .setParameter("states", COMPLETABLE_STATES)
+            .setParameter("taskTypes", taskTypes)
+            .getResultList().stream()
+            .filter(task -> RoleAssignmentEvaluator.hasAccess(task, roleAssignments, permissionsRequired))
+            .toList();
     }
 
     private List<Order> getSortOrders(SearchRequest searchRequest,
@@ -4,20 +4,15 @@ import jakarta.persistence.criteria.CriteriaBuilder;
 import jakarta.persistence.criteria.Predicate;
 import jakarta.persistence.criteria.Root;
 import lombok.extern.slf4j.Slf4j;
-import uk.gov.hmcts.reform.wataskmanagementapi.auth.idam.entities.SearchEventAndCase;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.permission.PermissionRequirements;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.RoleAssignment;
-import uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.CFTTaskState;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SearchRequest;
 import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
 
 import java.util.ArrayList;
 import java.util.List;
 
-import static java.util.Collections.singletonList;
-import static uk.gov.hmcts.reform.wataskmanagementapi.cft.query.RoleAssignmentFilter.buildQueryToRetrieveRoleInformation;
 import static uk.gov.hmcts.reform.wataskmanagementapi.cft.query.RoleAssignmentFilter.buildRoleAssignmentConstraints;
-import static uk.gov.hmcts.reform.wataskmanagementapi.cft.query.TaskQuerySpecification.searchByCaseId;
 import static uk.gov.hmcts.reform.wataskmanagementapi.cft.query.TaskQuerySpecification.searchByCaseIds;
 import static uk.gov.hmcts.reform.wataskmanagementapi.cft.query.TaskQuerySpecification.searchByJurisdiction;
 import static uk.gov.hmcts.reform.wataskmanagementapi.cft.query.TaskQuerySpecification.searchByLocation;
@@ -76,56 +71,6 @@ public final class TaskSearchQueryBuilder {
         return searchByTaskIds(taskIds, builder, root);
     }
 
-    public static Predicate buildSingleTaskQuery(String taskId,
-                                                 List<RoleAssignment> roleAssignments,
-                                                 PermissionRequirements permissionsRequired,
-                                                 CriteriaBuilder builder,
-                                                 Root<TaskResource> root
-    ) {
-        Predicate roleAssignmentConstraints = buildRoleAssignmentConstraints(
-            permissionsRequired,
-            roleAssignments,
-            builder,
-            root
-        );
-
-        return builder.and(searchByTaskIds(singletonList(taskId), builder, root), roleAssignmentConstraints);
-    }
-
-    public static Predicate buildTaskRolePermissionsQuery(
-        String taskId,
-        List<RoleAssignment> roleAssignments,
-        CriteriaBuilder builder,
-        Root<TaskResource> root) {
-
-        return builder.and(
-            searchByTaskIds(singletonList(taskId), builder, root),
-            buildQueryToRetrieveRoleInformation(roleAssignments, builder, root)
-        );
-    }
-
-    public static Predicate buildQueryForCompletable(
-        SearchEventAndCase searchEventAndCase,
-        List<RoleAssignment> roleAssignments,
-        PermissionRequirements permissionsRequired,
-        List<String> taskTypes,
-        CriteriaBuilder builder,
-        Root<TaskResource> root) {
-
-        ArrayList<Predicate> predicates = new ArrayList<>();
-
-        predicates.add(searchByCaseId(searchEventAndCase.getCaseId(), builder, root));
-        predicates.add(searchByState(List.of(CFTTaskState.ASSIGNED, CFTTaskState.UNASSIGNED), builder, root));
-        predicates.add(searchByTaskTypes(taskTypes, builder, root));
-        predicates.add(buildRoleAssignmentConstraints(
-            permissionsRequired,
-            roleAssignments,
-            builder,
-            root
-        ));
-        return builder.and(predicates.toArray(new Predicate[0]));
-    }
-
     private static Predicate buildApplicationConstraints(SearchRequest searchRequest,
                                                          CriteriaBuilder builder,
                                                          Root<TaskResource> root) {
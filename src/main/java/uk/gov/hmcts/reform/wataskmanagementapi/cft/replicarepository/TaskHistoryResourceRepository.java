@@ -4,6 +4,7 @@ import org.springframework.context.annotation.Profile;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
 import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskHistoryResource;
 
 import java.util.List;
@@ -15,6 +16,8 @@ public interface TaskHistoryResourceRepository
     String CHECK_SUBSCRIPTION =
         "select count(*) from pg_subscription pgp WHERE subname='task_subscription';";
 
+    String CHECK_HEARTBEAT_REPLICATED = "select exists(select 1 from {h-schema}replication_heartbeat h "
+        + "where h.instance_name = :instanceName and h.marker = :marker)";
 
     List<TaskHistoryResource> findAllByTaskIdOrderByUpdatedAsc(String taskId);
 
@@ -24,4 +27,7 @@ public interface TaskHistoryResourceRepository
 
     @Query(value = CHECK_SUBSCRIPTION, nativeQuery = true)
     int countSubscriptions();
+
+    @Query(value = CHECK_HEARTBEAT_REPLICATED, nativeQuery = true)
+    boolean isHeartbeatReplicated(@Param("instanceName") String instanceName, @Param("marker") String marker);
 }
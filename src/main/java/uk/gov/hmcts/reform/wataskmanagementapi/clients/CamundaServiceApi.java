@@ -18,6 +18,8 @@ import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.CamundaVariable;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.CamundaVariableInstance;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.CompleteTaskVariables;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.ConfigurationDmnEvaluationResponse;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.DecisionDefinition;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.DecisionDefinitionXml;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.DecisionTableRequest;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.DmnRequest;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.HistoryVariableInstance;
@@ -172,6 +174,23 @@ public interface CamundaServiceApi {
         DmnRequest<DecisionTableRequest> evaluateDmnRequest
     );
 
+    @GetMapping(
+        value = "/decision-definition/key/{dmn-table-key}/tenant-id/{jurisdiction}",
+        produces = MediaType.APPLICATION_JSON_VALUE)
+    DecisionDefinition getDecisionDefinition(
+        @RequestHeader(SERVICE_AUTHORIZATION) String serviceAuthorisation,
+        @PathVariable("dmn-table-key") String dmnTableKey,
+        @PathVariable("jurisdiction") String jurisdiction
+    );
+
+    @GetMapping(
+        value = "/decision-definition/{id}/xml",
+        produces = MediaType.APPLICATION_JSON_VALUE)
+    DecisionDefinitionXml getDecisionDefinitionXml(
+        @RequestHeader(SERVICE_AUTHORIZATION) String serviceAuthorisation,
+        @PathVariable("id") String decisionDefinitionId
+    );
+
     @GetMapping(
         value = "/decision-definition/",
         consumes = MediaType.APPLICATION_JSON_VALUE,
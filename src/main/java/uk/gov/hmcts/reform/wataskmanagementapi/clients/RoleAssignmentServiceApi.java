@@ -1,6 +1,7 @@
 package uk.gov.hmcts.reform.wataskmanagementapi.clients;
 
 import org.springframework.cloud.openfeign.FeignClient;
+import org.springframework.http.HttpHeaders;
 import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.web.bind.annotation.DeleteMapping;
@@ -36,6 +37,15 @@ public interface RoleAssignmentServiceApi {
                                            @RequestHeader(AUTHORIZATION) String userToken,
                                            @RequestHeader(SERVICE_AUTHORIZATION) String serviceAuthToken);
 
+    @GetMapping(
+        value = "/am/role-assignments/actors/{user-id}",
+        produces = "application/vnd.uk.gov.hmcts.role-assignment-service.get-assignments+json;charset=UTF-8;version=1.0"
+    )
+    ResponseEntity<RoleAssignmentResource> getRolesForUserIfNoneMatch(@PathVariable("user-id") String userId,
+                                                                      @RequestHeader(AUTHORIZATION) String userToken,
+                                                                      @RequestHeader(SERVICE_AUTHORIZATION) String serviceAuthToken,
+                                                                      @RequestHeader(value = HttpHeaders.IF_NONE_MATCH, required = false) String eTag);
+
 
     @DeleteMapping(
         value = "/am/role-assignments/{role-assignment-id}",
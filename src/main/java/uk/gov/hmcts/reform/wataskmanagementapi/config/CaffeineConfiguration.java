@@ -35,6 +35,57 @@ public class CaffeineConfiguration {
     @Value("#{T(java.util.concurrent.TimeUnit).of('${caffeine.calendar.timeout.unit}')}")
     private TimeUnit calendarCacheDurationUnit;
 
+    @Value("${caffeine.calendar.refresh.duration}")
+    private Integer calendarRefreshDuration;
+
+    @Value("#{T(java.util.concurrent.TimeUnit).of('${caffeine.calendar.refresh.unit}')}")
+    private TimeUnit calendarRefreshDurationUnit;
+
+    @Value("${caffeine.role-assignment.timeout.duration}")
+    private Integer roleAssignmentCacheDuration;
+
+    @Value("#{T(java.util.concurrent.TimeUnit).of('${caffeine.role-assignment.timeout.unit}')}")
+    private TimeUnit roleAssignmentCacheDurationUnit;
+
+    @Value("${caffeine.role-assignment.maximum-size}")
+    private Long roleAssignmentCacheMaximumSize;
+
+    @Value("${caffeine.role-signature.timeout.duration}")
+    private Integer roleSignatureCacheDuration;
+
+    @Value("#{T(java.util.concurrent.TimeUnit).of('${caffeine.role-signature.timeout.unit}')}")
+    private TimeUnit roleSignatureCacheDurationUnit;
+
+    @Value("${caffeine.role-signature.maximum-weight}")
+    private Long roleSignatureCacheMaximumWeight;
+
+    @Value("${caffeine.filter-signature.timeout.duration}")
+    private Integer filterSignatureCacheDuration;
+
+    @Value("#{T(java.util.concurrent.TimeUnit).of('${caffeine.filter-signature.timeout.unit}')}")
+    private TimeUnit filterSignatureCacheDurationUnit;
+
+    @Value("${caffeine.filter-signature.maximum-weight}")
+    private Long filterSignatureCacheMaximumWeight;
+
+    @Value("${caffeine.dmn-decision.refresh.duration}")
+    private Integer dmnDecisionRefreshDuration;
+
+    @Value("#{T(java.util.concurrent.TimeUnit).of('${caffeine.dmn-decision.refresh.unit}')}")
+    private TimeUnit dmnDecisionRefreshDurationUnit;
+
+    @Value("${caffeine.dmn-decision.maximum-size}")
+    private Long dmnDecisionCacheMaximumSize;
+
+    @Value("${caffeine.case-data.timeout.duration}")
+    private Integer caseDataCacheDuration;
+
+    @Value("#{T(java.util.concurrent.TimeUnit).of('${caffeine.case-data.timeout.unit}')}")
+    private TimeUnit caseDataCacheDurationUnit;
+
+    @Value("${caffeine.case-data.maximum-size}")
+    private Long caseDataCacheMaximumSize;
+
     @Bean
     public Ticker ticker() {
         return Ticker.systemTicker();
@@ -74,16 +125,54 @@ public class CaffeineConfiguration {
     public Caffeine<Object, Object> calendarCaffeineConfig(Ticker ticker) {
         return Caffeine.newBuilder()
             .expireAfterWrite(calendarCacheDuration, calendarCacheDurationUnit)
+            .refreshAfterWrite(calendarRefreshDuration, calendarRefreshDurationUnit)
+            .recordStats()
             .ticker(ticker);
     }
 
     @Bean
-    public CacheManager calendarCacheManager(Caffeine<Object, Object> calendarCaffeineConfig) {
-        CaffeineCacheManager caffeineCacheManager = new CaffeineCacheManager();
-        caffeineCacheManager.setCaffeine(calendarCaffeineConfig);
-        caffeineCacheManager.setCacheNames(List.of("calendar_cache"));
-        return caffeineCacheManager;
+    public Caffeine<Object, Object> roleAssignmentCaffeineConfig(Ticker ticker) {
+        return Caffeine.newBuilder()
+            .expireAfterWrite(roleAssignmentCacheDuration, roleAssignmentCacheDurationUnit)
+            .maximumSize(roleAssignmentCacheMaximumSize)
+            .recordStats()
+            .ticker(ticker);
+    }
+
+    @Bean
+    public Caffeine<Object, Object> roleSignatureCaffeineConfig(Ticker ticker) {
+        return Caffeine.newBuilder()
+            .expireAfterAccess(roleSignatureCacheDuration, roleSignatureCacheDurationUnit)
+            .maximumWeight(roleSignatureCacheMaximumWeight)
+            .recordStats()
+            .ticker(ticker);
+    }
+
+    @Bean
+    public Caffeine<Object, Object> filterSignatureCaffeineConfig(Ticker ticker) {
+        return Caffeine.newBuilder()
+            .expireAfterAccess(filterSignatureCacheDuration, filterSignatureCacheDurationUnit)
+            .maximumWeight(filterSignatureCacheMaximumWeight)
+            .recordStats()
+            .ticker(ticker);
+    }
+
+    @Bean
+    public Caffeine<Object, Object> dmnDecisionCaffeineConfig(Ticker ticker) {
+        return Caffeine.newBuilder()
+            .refreshAfterWrite(dmnDecisionRefreshDuration, dmnDecisionRefreshDurationUnit)
+            .maximumSize(dmnDecisionCacheMaximumSize)
+            .recordStats()
+            .ticker(ticker);
     }
 
+    @Bean
+    public Caffeine<Object, Object> caseDataCaffeineConfig(Ticker ticker) {
+        return Caffeine.newBuilder()
+            .expireAfterWrite(caseDataCacheDuration, caseDataCacheDurationUnit)
+            .maximumSize(caseDataCacheMaximumSize)
+            .recordStats()
+            .ticker(ticker);
+    }
 
 }
@@ -0,0 +1,18 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.config;
+
+import lombok.Getter;
+import lombok.Setter;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.HashMap;
+import java.util.Map;
+
+@Configuration
+@ConfigurationProperties(prefix = "config.reconfiguration")
+@Getter
+@Setter
+public class TaskReconfigurationConfiguration {
+    //Maximum number of tasks reconfigured per second, keyed by lower case jurisdiction
+    Map<String, Double> jurisdictionRateLimits = new HashMap<>();
+}
@@ -1,6 +1,9 @@
 package uk.gov.hmcts.reform.wataskmanagementapi.config.db;
 
 import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.resource.jdbc.spi.PhysicalConnectionHandlingMode;
+import org.springframework.beans.factory.ObjectProvider;
 import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.boot.context.properties.ConfigurationProperties;
 import org.springframework.boot.jdbc.DataSourceBuilder;
@@ -9,11 +12,14 @@ import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 import org.springframework.context.annotation.Primary;
 import org.springframework.data.jpa.repository.config.EnableJpaRepositories;
+import org.springframework.jdbc.datasource.LazyConnectionDataSourceProxy;
 import org.springframework.orm.jpa.JpaTransactionManager;
 import org.springframework.orm.jpa.LocalContainerEntityManagerFactoryBean;
 import org.springframework.transaction.PlatformTransactionManager;
 import org.springframework.transaction.annotation.EnableTransactionManagement;
 
+import java.util.HashMap;
+import java.util.Map;
 import javax.sql.DataSource;
 
 @Configuration
@@ -30,14 +36,35 @@ public class DatasourceConfiguration {
         return DataSourceBuilder.create().build();
     }
 
+    /**
+     * The data source of the entity manager and of its transaction manager, which routes the connections of
+     * reads marked with {@link ReadFromReplica} to the read replica when it is enabled.
+     */
+    @Bean(name = "entityManagerDataSource")
+    public DataSource entityManagerDataSource(
+        @Qualifier("dataSource") DataSource dataSource,
+        ObjectProvider<ReadReplicaRoutingDataSource> readReplicaRoutingDataSource
+    ) {
+        ReadReplicaRoutingDataSource routingDataSource = readReplicaRoutingDataSource.getIfAvailable();
+        //Connections are taken once the first statement runs, when the transaction is known to be read only
+        return routingDataSource == null ? dataSource : new LazyConnectionDataSourceProxy(routingDataSource);
+    }
+
     @Primary
     @Bean(name = "entityManagerFactory")
     public LocalContainerEntityManagerFactoryBean entityManagerFactory(
         EntityManagerFactoryBuilder builder,
-        @Qualifier("dataSource") DataSource dataSource
+        @Qualifier("entityManagerDataSource") DataSource entityManagerDataSource
     ) {
+        Map<String, Object> properties = new HashMap<>();
+        if (entityManagerDataSource instanceof LazyConnectionDataSourceProxy) {
+            //Connections are released after each transaction so that the next one is routed again
+            properties.put(AvailableSettings.CONNECTION_HANDLING,
+                           PhysicalConnectionHandlingMode.DELAYED_ACQUISITION_AND_RELEASE_AFTER_TRANSACTION);
+        }
         return builder
-            .dataSource(dataSource)
+            .dataSource(entityManagerDataSource)
+            .properties(properties)
             .packages("uk.gov.hmcts.reform.wataskmanagementapi.entity",
                       "uk.gov.hmcts.reform.wataskmanagementapi.repository")
             .persistenceUnit("cft_task_db")
@@ -47,7 +74,11 @@ public class DatasourceConfiguration {
     @Primary
     @Bean(name = "transactionManager")
     public PlatformTransactionManager transactionManager(
-        @Qualifier("entityManagerFactory") EntityManagerFactory entityManagerFactory) {
-        return new JpaTransactionManager(entityManagerFactory);
+        @Qualifier("entityManagerFactory") EntityManagerFactory entityManagerFactory,
+        @Qualifier("entityManagerDataSource") DataSource entityManagerDataSource) {
+        JpaTransactionManager transactionManager = new JpaTransactionManager(entityManagerFactory);
+        //JDBC access through the data source of the entity manager joins the JPA transactions
+        transactionManager.setDataSource(entityManagerDataSource);
+        return transactionManager;
     }
 }
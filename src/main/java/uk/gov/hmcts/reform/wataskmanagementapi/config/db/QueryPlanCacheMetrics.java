@@ -0,0 +1,43 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.config.db;
+
+import io.micrometer.core.instrument.FunctionCounter;
+import io.micrometer.core.instrument.MeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import lombok.extern.slf4j.Slf4j;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.springframework.stereotype.Component;
+
+import java.util.Map;
+
+/**
+ * Exposes the hits and misses of the Hibernate query plan cache of every entity manager factory, so that
+ * queries built with a different shape for each request show up as misses. Hibernate only counts them while
+ * statistics are enabled, which they are not by default as they add overhead to every session, so the metrics
+ * are only registered for the factories with statistics enabled, see HIBERNATE_GENERATE_STATISTICS.
+ */
+@Slf4j
+@Component
+public class QueryPlanCacheMetrics {
+
+    public QueryPlanCacheMetrics(Map<String, EntityManagerFactory> entityManagerFactories,
+                                 MeterRegistry meterRegistry) {
+        entityManagerFactories.forEach((name, entityManagerFactory) -> {
+            Statistics statistics = entityManagerFactory.unwrap(SessionFactory.class).getStatistics();
+            if (!statistics.isStatisticsEnabled()) {
+                log.info("Hibernate statistics are disabled, not exposing the query plan cache of {}", name);
+                return;
+            }
+            FunctionCounter.builder("wa.hibernate.query_plan_cache.hits", statistics,
+                                    Statistics::getQueryPlanCacheHitCount)
+                .description("Queries whose plan was found in the Hibernate query plan cache")
+                .tag("entity_manager_factory", name)
+                .register(meterRegistry);
+            FunctionCounter.builder("wa.hibernate.query_plan_cache.misses", statistics,
+                                    Statistics::getQueryPlanCacheMissCount)
+                .description("Queries whose plan had to be built by Hibernate")
+                .tag("entity_manager_factory", name)
+                .register(meterRegistry);
+        });
+    }
+}
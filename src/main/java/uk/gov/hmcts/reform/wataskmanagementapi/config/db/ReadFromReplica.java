@@ -0,0 +1,17 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.config.db;
+
+import java.lang.annotation.Documented;
+import java.lang.annotation.ElementType;
+import java.lang.annotation.Retention;
+import java.lang.annotation.RetentionPolicy;
+import java.lang.annotation.Target;
+
+/**
+ * Marks a read whose read only transaction may be served by the read replica. Read only transactions that
+ * are not marked, such as the ones of the inherited repository methods, always use the primary.
+ */
+@Target(ElementType.METHOD)
+@Retention(RetentionPolicy.RUNTIME)
+@Documented
+public @interface ReadFromReplica {
+}
@@ -0,0 +1,28 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.config.db;
+
+import org.aopalliance.intercept.MethodInterceptor;
+import org.aopalliance.intercept.MethodInvocation;
+
+/**
+ * Tells the {@link ReadReplicaRoutingDataSource} that the connections taken while a method marked with
+ * {@link ReadFromReplica} runs may come from the read replica.
+ */
+public class ReadFromReplicaInterceptor implements MethodInterceptor {
+
+    private static final ThreadLocal<Boolean> READ_FROM_REPLICA = ThreadLocal.withInitial(() -> false);
+
+    static boolean isReadFromReplica() {
+        return READ_FROM_REPLICA.get();
+    }
+
+    @Override
+    public Object invoke(MethodInvocation invocation) throws Throwable {
+        boolean outer = READ_FROM_REPLICA.get();
+        READ_FROM_REPLICA.set(true);
+        try {
+            return invocation.proceed();
+        } finally {
+            READ_FROM_REPLICA.set(outer);
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.config.db;
+
+import com.zaxxer.hikari.HikariConfig;
+import com.zaxxer.hikari.HikariDataSource;
+import io.micrometer.core.instrument.MeterRegistry;
+import org.springframework.aop.Advisor;
+import org.springframework.aop.support.DefaultPointcutAdvisor;
+import org.springframework.aop.support.annotation.AnnotationMatchingPointcut;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.boot.context.properties.ConfigurationProperties;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import javax.sql.DataSource;
+
+/**
+ * Sends the read only transactions of reads marked with {@link ReadFromReplica} to a streaming read replica
+ * of the primary database. The replica pool is not a data source bean of its own, so that the replica being
+ * unavailable does not make the service unhealthy.
+ */
+@Configuration
+@ConditionalOnProperty(value = "config.readReplica.enabled", havingValue = "true")
+public class ReadReplicaConfiguration {
+
+    @Bean(name = "readReplicaHikariConfig")
+    @ConfigurationProperties(prefix = "spring.datasource-read")
+    public HikariConfig readReplicaHikariConfig() {
+        HikariConfig hikariConfig = new HikariConfig();
+        hikariConfig.setPoolName("read-replica");
+        hikariConfig.setReadOnly(true);
+        //The service starts without the replica, reads use the primary until it can be reached
+        hikariConfig.setInitializationFailTimeout(-1);
+        return hikariConfig;
+    }
+
+    @Bean(name = "readReplicaRoutingDataSource")
+    public ReadReplicaRoutingDataSource readReplicaRoutingDataSource(
+        @Qualifier("dataSource") DataSource dataSource,
+        @Qualifier("readReplicaHikariConfig") HikariConfig readReplicaHikariConfig,
+        MeterRegistry meterRegistry,
+        @Value("${config.readReplica.maxLagMillis}") long maxLagMillis) {
+        return new ReadReplicaRoutingDataSource(
+            dataSource, new HikariDataSource(readReplicaHikariConfig), meterRegistry, maxLagMillis
+        );
+    }
+
+    @Bean(name = "readFromReplicaAdvisor")
+    public Advisor readFromReplicaAdvisor() {
+        //Annotations on the methods of the repository interfaces are found as well
+        return new DefaultPointcutAdvisor(new AnnotationMatchingPointcut(null, ReadFromReplica.class, true),
+                                          new ReadFromReplicaInterceptor());
+    }
+}
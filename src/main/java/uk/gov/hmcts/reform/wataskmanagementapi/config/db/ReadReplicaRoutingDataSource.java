@@ -0,0 +1,137 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.config.db;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.dao.DataAccessException;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.jdbc.datasource.AbstractDataSource;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.sql.Connection;
+import java.sql.SQLException;
+import java.sql.SQLFeatureNotSupportedException;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import javax.sql.DataSource;
+
+/**
+ * Takes the connections of read only transactions marked with {@link ReadFromReplica} from the read replica
+ * while its replication lag is under the threshold, and every other connection from the primary. The lag is
+ * measured on the replica from the time of the last transaction it replayed, and counts as none when the
+ * replica is streaming from the primary and has replayed everything it received. A replica that is not
+ * streaming has an unknown lag, as it can not tell how far behind it is. Until the lag is known, or once the
+ * replica can not be reached, connections are taken from the primary again.
+ */
+@Slf4j
+@SuppressWarnings("PMD.AvoidUsingVolatile")
+public class ReadReplicaRoutingDataSource extends AbstractDataSource implements Closeable {
+
+    static final String REPLICATION_LAG_MILLIS = "SELECT CASE WHEN NOT pg_is_in_recovery() THEN 0 "
+        + "WHEN NOT EXISTS (SELECT 1 FROM pg_stat_wal_receiver WHERE status = 'streaming') THEN NULL "
+        + "WHEN pg_last_wal_receive_lsn() = pg_last_wal_replay_lsn() THEN 0 "
+        + "ELSE extract(epoch FROM now() - pg_last_xact_replay_timestamp()) * 1000 END";
+
+    private final DataSource primaryDataSource;
+    private final DataSource replicaDataSource;
+    private final JdbcTemplate replicaJdbcTemplate;
+    private final long maxLagMillis;
+    private final AtomicLong lagMillis = new AtomicLong(-1);
+    private final Counter replicaConnections;
+    private final Counter primaryConnections;
+    private volatile boolean replicaUsable;
+
+    public ReadReplicaRoutingDataSource(DataSource primaryDataSource,
+                                        DataSource replicaDataSource,
+                                        MeterRegistry meterRegistry,
+                                        long maxLagMillis) {
+        this.primaryDataSource = primaryDataSource;
+        this.replicaDataSource = replicaDataSource;
+        this.replicaJdbcTemplate = new JdbcTemplate(replicaDataSource);
+        this.maxLagMillis = maxLagMillis;
+        this.replicaConnections = Counter.builder("wa.read_replica.connections")
+            .description("Connections of read only transactions that may use the read replica")
+            .tag("target", "replica")
+            .register(meterRegistry);
+        this.primaryConnections = Counter.builder("wa.read_replica.connections")
+            .description("Connections of read only transactions that may use the read replica")
+            .tag("target", "primary")
+            .register(meterRegistry);
+        TimeGauge.builder("wa.read_replica.lag", lagMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+            .description("Replication lag of the read replica, negative when unknown")
+            .register(meterRegistry);
+        Gauge.builder("wa.read_replica.usable", this, dataSource -> dataSource.isReplicaUsable() ? 1 : 0)
+            .description("Whether read only transactions are sent to the read replica")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public Connection getConnection() throws SQLException {
+        if (!TransactionSynchronizationManager.isCurrentTransactionReadOnly()
+            || !ReadFromReplicaInterceptor.isReadFromReplica()) {
+            return primaryDataSource.getConnection();
+        }
+        if (replicaUsable) {
+            try {
+                Connection connection = replicaDataSource.getConnection();
+                replicaConnections.increment();
+                return connection;
+            } catch (SQLException e) {
+                markReplicaUnusable("it could not be reached: " + e.getMessage());
+            }
+        }
+        primaryConnections.increment();
+        return primaryDataSource.getConnection();
+    }
+
+    @Override
+    public Connection getConnection(String username, String password) throws SQLException {
+        throw new SQLFeatureNotSupportedException("Connections are only taken with the configured credentials");
+    }
+
+    /**
+     * Measures the replication lag of the read replica and decides whether read only transactions use it.
+     */
+    public void refreshLag() {
+        try {
+            Double lag = replicaJdbcTemplate.queryForObject(REPLICATION_LAG_MILLIS, Double.class);
+            if (lag == null) {
+                lagMillis.set(-1);
+                markReplicaUnusable("it is not streaming from the primary or has not replayed any transaction yet");
+                return;
+            }
+            lagMillis.set(lag.longValue());
+            if (lag > maxLagMillis) {
+                markReplicaUnusable("its replication lag is " + lag.longValue() + " ms");
+            } else if (!replicaUsable) {
+                replicaUsable = true;
+                log.info("Read only transactions use the read replica, replication lag {} ms", lag.longValue());
+            }
+        } catch (DataAccessException e) {
+            lagMillis.set(-1);
+            markReplicaUnusable("its replication lag could not be read: " + e.getMessage());
+        }
+    }
+
+    public boolean isReplicaUsable() {
+        return replicaUsable;
+    }
+
+    private void markReplicaUnusable(String reason) {
+        if (replicaUsable) {
+            replicaUsable = false;
+            log.warn("Read only transactions use the primary, as the read replica is not usable: {}", reason);
+        }
+    }
+
+    @Override
+    public void close() throws IOException {
+        if (replicaDataSource instanceof Closeable closeable) {
+            closeable.close();
+        }
+    }
+}
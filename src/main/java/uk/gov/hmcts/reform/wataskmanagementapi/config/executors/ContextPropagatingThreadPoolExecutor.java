@@ -0,0 +1,68 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.config.executors;
+
+import org.slf4j.MDC;
+import org.springframework.security.core.context.SecurityContext;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+
+import java.util.Map;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.RejectedExecutionHandler;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Thread pool that runs each task with the context of the submitting thread: its logging context (MDC), so
+ * that correlation and trace identifiers are kept on log lines written by the worker, its security context
+ * and its request attributes. The context of the worker is restored once the task has run, which also
+ * covers tasks run by the submitting thread itself when the pool rejects them.
+ */
+@SuppressWarnings("PMD.DoNotUseThreads")
+public class ContextPropagatingThreadPoolExecutor extends ThreadPoolExecutor {
+
+    public ContextPropagatingThreadPoolExecutor(int threads,
+                                                BlockingQueue<Runnable> workQueue,
+                                                RejectedExecutionHandler rejectedExecutionHandler) {
+        super(threads, threads, 0L, TimeUnit.MILLISECONDS, workQueue, rejectedExecutionHandler);
+    }
+
+    @Override
+    public void execute(Runnable command) {
+        Map<String, String> context = MDC.getCopyOfContextMap();
+        SecurityContext securityContext = SecurityContextHolder.getContext();
+        RequestAttributes requestAttributes = RequestContextHolder.getRequestAttributes();
+        super.execute(() -> {
+            Map<String, String> previous = MDC.getCopyOfContextMap();
+            SecurityContext previousSecurityContext = SecurityContextHolder.getContext();
+            RequestAttributes previousRequestAttributes = RequestContextHolder.getRequestAttributes();
+            setContext(context);
+            SecurityContextHolder.setContext(securityContext);
+            RequestContextHolder.setRequestAttributes(requestAttributes);
+            try {
+                command.run();
+            } finally {
+                setContext(previous);
+                setSecurityContext(previousSecurityContext);
+                RequestContextHolder.setRequestAttributes(previousRequestAttributes);
+            }
+        });
+    }
+
+    private static void setContext(Map<String, String> context) {
+        if (context == null) {
+            MDC.clear();
+        } else {
+            MDC.setContextMap(context);
+        }
+    }
+
+    private static void setSecurityContext(SecurityContext securityContext) {
+        //Pooled threads are not left holding an empty context
+        if (SecurityContextHolder.createEmptyContext().equals(securityContext)) {
+            SecurityContextHolder.clearContext();
+        } else {
+            SecurityContextHolder.setContext(securityContext);
+        }
+    }
+}
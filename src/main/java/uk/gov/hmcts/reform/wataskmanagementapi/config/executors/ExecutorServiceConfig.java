@@ -1,10 +1,13 @@
 package uk.gov.hmcts.reform.wataskmanagementapi.config.executors;
 
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
 
+import java.util.concurrent.ArrayBlockingQueue;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
+import java.util.concurrent.ThreadPoolExecutor;
 
 @Configuration
 @SuppressWarnings("PMD.DoNotUseThreads")
@@ -12,7 +15,57 @@ public class ExecutorServiceConfig {
 
     @Bean("sensitiveTaskEventLogsExecutorService")
     public ExecutorService createSensitiveTaskEventLogsExecutorService() {
+        //Runs the single flush thread of the sensitive task event log writer, the logs are buffered by the writer
         return Executors.newFixedThreadPool(1);
     }
 
+    @Bean("taskSearchExecutorService")
+    public ExecutorService createTaskSearchExecutorService(
+        @Value("${config.search.executor.threads}") int threads,
+        @Value("${config.search.executor.queueCapacity}") int queueCapacity) {
+        //When saturated the submitting request thread runs the query itself rather than queueing without bound
+        return new ContextPropagatingThreadPoolExecutor(
+            threads,
+            new ArrayBlockingQueue<>(queueCapacity),
+            new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+    }
+
+    @Bean("dmnEvaluationExecutorService")
+    public ExecutorService createDmnEvaluationExecutorService(
+        @Value("${config.dmn.executor.threads}") int threads,
+        @Value("${config.dmn.executor.queueCapacity}") int queueCapacity) {
+        //When saturated the submitting thread evaluates the DMN itself, as it would without the executor
+        return new ContextPropagatingThreadPoolExecutor(
+            threads,
+            new ArrayBlockingQueue<>(queueCapacity),
+            new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+    }
+
+    @Bean("taskInitiationExecutorService")
+    public ExecutorService createTaskInitiationExecutorService(
+        @Value("${config.initiation.executor.threads}") int threads,
+        @Value("${config.initiation.executor.queueCapacity}") int queueCapacity) {
+        //When saturated the submitting request thread updates Camunda itself, as a single initiation does
+        return new ContextPropagatingThreadPoolExecutor(
+            threads,
+            new ArrayBlockingQueue<>(queueCapacity),
+            new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+    }
+
+    @Bean("taskReconfigurationExecutorService")
+    public ExecutorService createTaskReconfigurationExecutorService(
+        @Value("${config.reconfiguration.executor.threads}") int threads,
+        @Value("${config.reconfiguration.executor.queueCapacity}") int queueCapacity) {
+        //Each thread holds a database connection while reconfiguring, keep below the connection pool size.
+        //When saturated the submitting thread reconfigures the task itself, which holds back further submissions.
+        return new ContextPropagatingThreadPoolExecutor(
+            threads,
+            new ArrayBlockingQueue<>(queueCapacity),
+            new ThreadPoolExecutor.CallerRunsPolicy()
+        );
+    }
+
 }
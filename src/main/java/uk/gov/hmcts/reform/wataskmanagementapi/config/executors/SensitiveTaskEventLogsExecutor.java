@@ -4,6 +4,7 @@ import jakarta.annotation.PreDestroy;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.SensitiveTaskEventLogWriter;
 
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.TimeUnit;
@@ -16,10 +17,14 @@ public class SensitiveTaskEventLogsExecutor {
     @Autowired
     public ExecutorService sensitiveTaskEventLogsExecutorService;
 
+    @Autowired
+    public SensitiveTaskEventLogWriter sensitiveTaskEventLogWriter;
 
     @PreDestroy
     public void cleanup() {
         log.info("Shutting down SensitiveTaskEventLog executor");
+        //The flush thread writes the buffered logs before it ends
+        sensitiveTaskEventLogWriter.stop();
         sensitiveTaskEventLogsExecutorService.shutdown();
         try {
             // Wait a while for sensitiveTaskEventLog to be saved
@@ -36,6 +41,10 @@ public class SensitiveTaskEventLogsExecutor {
             // Preserve interrupt status
             Thread.currentThread().interrupt();
         }
+        int drained = sensitiveTaskEventLogWriter.drain();
+        if (drained > 0) {
+            log.info("Wrote {} SensitiveTaskEventLogs left in the buffer", drained);
+        }
         log.info("Shut down SensitiveTaskEventLog executor");
     }
 }
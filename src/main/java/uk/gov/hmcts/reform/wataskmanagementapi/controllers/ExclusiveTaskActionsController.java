@@ -22,16 +22,26 @@ import org.springframework.web.bind.annotation.RestController;
 import org.zalando.problem.violations.Violation;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.restrict.ClientAccessControlService;
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.InitiateTaskRequestMap;
+import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.InitiateTasksRequest;
+import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.InitiateTasksRequestItem;
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.TerminateTaskRequest;
+import uk.gov.hmcts.reform.wataskmanagementapi.controllers.response.InitiateTaskResult;
+import uk.gov.hmcts.reform.wataskmanagementapi.controllers.response.InitiateTasksResponse;
 import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
 import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.GenericForbiddenException;
 import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.validation.CustomConstraintViolationException;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.BulkTaskInitiationService;
 import uk.gov.hmcts.reform.wataskmanagementapi.services.TaskManagementService;
 
 import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
 
+import static java.util.Collections.singletonList;
 import static org.springframework.http.MediaType.APPLICATION_JSON_VALUE;
 import static uk.gov.hmcts.reform.wataskmanagementapi.config.SecurityConfiguration.SERVICE_AUTHORIZATION;
 import static uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.enums.ErrorMessages.GENERIC_FORBIDDEN_ERROR;
@@ -43,16 +53,21 @@ import static uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.enums.ErrorM
 public class ExclusiveTaskActionsController extends BaseController {
 
     private final TaskManagementService taskManagementService;
+    private final BulkTaskInitiationService bulkTaskInitiationService;
     private final ClientAccessControlService clientAccessControlService;
     @Value("${config.initiationRequestRequiredFields}")
     private List<String> initiationRequestRequiredFields;
+    @Value("${config.initiation.maxTasks}")
+    private int maxTasksToInitiate;
 
     @Autowired
     public ExclusiveTaskActionsController(ClientAccessControlService clientAccessControlService,
-                                          TaskManagementService taskManagementService) {
+                                          TaskManagementService taskManagementService,
+                                          BulkTaskInitiationService bulkTaskInitiationService) {
         super();
         this.clientAccessControlService = clientAccessControlService;
         this.taskManagementService = taskManagementService;
+        this.bulkTaskInitiationService = bulkTaskInitiationService;
     }
 
     @Operation(description = "Exclusive access only: Initiate a Task identified by an id.")
@@ -85,7 +100,87 @@ public class ExclusiveTaskActionsController extends BaseController {
             .body(savedTask);
     }
 
+    @Operation(description = "Exclusive access only: Initiate several Tasks, each identified by an id. "
+        + "Each task is initiated or fails on its own, the results are returned in the order requested.")
+    @ApiResponse(responseCode = "201", description = "All tasks have been initiated", content = {
+        @Content(mediaType = "application/json", schema = @Schema(implementation = InitiateTasksResponse.class))})
+    @ApiResponse(responseCode = "207", description = "Some tasks could not be initiated", content = {
+        @Content(mediaType = "application/json", schema = @Schema(implementation = InitiateTasksResponse.class))})
+    @ApiResponse(responseCode = "400", description = BAD_REQUEST)
+    @ApiResponse(responseCode = "401", description = UNAUTHORIZED)
+    @ApiResponse(responseCode = "403", description = FORBIDDEN)
+    @ApiResponse(responseCode = "415", description = UNSUPPORTED_MEDIA_TYPE)
+    @ApiResponse(responseCode = "500", description = INTERNAL_SERVER_ERROR)
+    @PostMapping(path = "/initiation")
+    public ResponseEntity<InitiateTasksResponse> initiateTasks(@Parameter(hidden = true)
+                                                               @RequestHeader(SERVICE_AUTHORIZATION)
+                                                               String serviceAuthToken,
+                                                               @RequestBody InitiateTasksRequest initiateTasksRequest) {
+        boolean hasAccess = clientAccessControlService.hasExclusiveAccess(serviceAuthToken);
+        if (!hasAccess) {
+            throw new GenericForbiddenException(GENERIC_FORBIDDEN_ERROR);
+        }
+        List<InitiateTasksRequestItem> tasks = initiateTasksRequest.getTasks();
+        if (tasks == null || tasks.isEmpty() || tasks.size() > maxTasksToInitiate) {
+            throw new CustomConstraintViolationException(singletonList(
+                new Violation("tasks", "must contain between 1 and " + maxTasksToInitiate + " tasks")));
+        }
+        log.info("Initiate {} tasks", tasks.size());
+
+        //Invalid tasks fail on their own, the others are initiated together
+        InitiateTaskResult[] results = new InitiateTaskResult[tasks.size()];
+        List<InitiateTasksRequestItem> validTasks = new ArrayList<>();
+        List<Integer> validTaskPositions = new ArrayList<>();
+        Set<String> taskIds = new HashSet<>();
+        for (int i = 0; i < tasks.size(); i++) {
+            InitiateTasksRequestItem task = tasks.get(i);
+            List<Violation> violations = initiationRequestViolations(task.getTaskAttributes());
+            if (task.getTaskId() == null || task.getTaskId().isBlank()) {
+                violations.add(new Violation("task_id", "must not be empty"));
+            } else if (!taskIds.add(task.getTaskId())) {
+                violations.add(new Violation("task_id", "must be unique within the request"));
+            }
+
+            if (violations.isEmpty()) {
+                validTasks.add(task);
+                validTaskPositions.add(i);
+            } else {
+                results[i] = InitiateTaskResult.failed(
+                    task.getTaskId(),
+                    HttpStatus.BAD_REQUEST.value(),
+                    violations.stream()
+                        .map(violation -> violation.getField() + ": " + violation.getMessage())
+                        .collect(Collectors.joining(", "))
+                );
+            }
+        }
+
+        if (!validTasks.isEmpty()) {
+            List<InitiateTaskResult> validTaskResults = bulkTaskInitiationService.initiateTasks(validTasks);
+            for (int i = 0; i < validTaskResults.size(); i++) {
+                results[validTaskPositions.get(i)] = validTaskResults.get(i);
+            }
+            bulkTaskInitiationService.updateTaskIndexes(validTaskResults.stream()
+                                                            .filter(InitiateTaskResult::isInitiated)
+                                                            .map(InitiateTaskResult::getTaskId)
+                                                            .toList());
+        }
+
+        InitiateTasksResponse response = new InitiateTasksResponse(Arrays.asList(results));
+        return ResponseEntity
+            .status(response.isAllInitiated() ? HttpStatus.CREATED : HttpStatus.MULTI_STATUS)
+            .cacheControl(CacheControl.noCache())
+            .body(response);
+    }
+
     private void validateInitiationRequestMap(Map<String, Object> taskAttributes) {
+        List<Violation> violations = initiationRequestViolations(taskAttributes);
+        if (!violations.isEmpty()) {
+            throw new CustomConstraintViolationException(violations);
+        }
+    }
+
+    private List<Violation> initiationRequestViolations(Map<String, Object> taskAttributes) {
         List<Violation> violations = new ArrayList<>();
         String errorMessage = "must not be empty";
         initiationRequestRequiredFields.forEach(mandatoryField -> {
@@ -95,10 +190,7 @@ public class ExclusiveTaskActionsController extends BaseController {
                 violations.add(new Violation(mandatoryField, errorMessage));
             }
         });
-
-        if (!violations.isEmpty()) {
-            throw new CustomConstraintViolationException(violations);
-        }
+        return violations;
     }
 
     @Operation(description = "Exclusive access only: Terminate a Task identified by an id.")
@@ -98,6 +98,10 @@ public class TaskSearchController extends BaseController {
         @Min(value = 0, message = "first_result must not be less than zero") Integer firstResult,
         @RequestParam(required = false, name = "max_results")
         @Min(value = 1, message = "max_results must not be less than one") Integer maxResults,
+        @RequestParam(required = false, name = "count_limit")
+        @Min(value = 1, message = "count_limit must not be less than one") Integer countLimit,
+        @RequestParam(required = false, name = "keyset_pagination", defaultValue = "false") boolean keysetPagination,
+        @RequestParam(required = false, name = "page_token") String pageToken,
         @Valid @RequestBody SearchTaskRequest searchTaskRequest
     ) {
         //Safe-guard
@@ -128,7 +132,11 @@ public class TaskSearchController extends BaseController {
             accessControlResponse.getUserInfo().getEmail()
         );
 
-        SearchRequest searchRequest = SearchTaskRequestMapper.map(searchTaskRequest);
+        SearchRequest searchRequest = SearchTaskRequestMapper.map(searchTaskRequest).toBuilder()
+            .countLimit(countLimit)
+            .keysetPagination(keysetPagination || pageToken != null)
+            .pageToken(pageToken)
+            .build();
         log.info("Search request mapped to '{}', first_result '{}', max_result '{}'", searchRequest,
             Optional.ofNullable(firstResult).orElse(0),
             Optional.ofNullable(maxResults).orElse(defaultMaxResults));
@@ -0,0 +1,21 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.controllers.request;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Value;
+
+import java.util.List;
+
+@Schema(
+    name = "InitiateTasksRequest",
+    description = "Allows initiating several tasks in one request"
+)
+@Value
+public class InitiateTasksRequest {
+    List<InitiateTasksRequestItem> tasks;
+
+    @JsonCreator
+    public InitiateTasksRequest(List<InitiateTasksRequestItem> tasks) {
+        this.tasks = tasks;
+    }
+}
@@ -0,0 +1,30 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.controllers.request;
+
+import com.fasterxml.jackson.annotation.JsonCreator;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Value;
+import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.enums.InitiateTaskOperation;
+
+import java.util.Map;
+
+@Schema(
+    name = "InitiateTasksRequestItem",
+    description = "A task to initiate as part of an InitiateTasksRequest"
+)
+@Value
+public class InitiateTasksRequestItem implements InitiateTask<Map<String, Object>> {
+    @Schema(name = "task_id")
+    String taskId;
+    @Schema(name = "task_attributes")
+    Map<String, Object> taskAttributes;
+    InitiateTaskOperation operation;
+
+    @JsonCreator
+    public InitiateTasksRequestItem(String taskId,
+                                    InitiateTaskOperation operation,
+                                    Map<String, Object> taskAttributes) {
+        this.taskId = taskId;
+        this.operation = operation;
+        this.taskAttributes = taskAttributes;
+    }
+}
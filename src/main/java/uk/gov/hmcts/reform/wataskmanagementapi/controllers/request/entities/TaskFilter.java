@@ -11,7 +11,8 @@ import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.enums.TaskFil
 @JsonSubTypes({
     @JsonSubTypes.Type(value = MarkTaskToReconfigureTaskFilter.class, name = "MarkTaskToReconfigureTaskFilter"),
     @JsonSubTypes.Type(value = ExecuteReconfigureTaskFilter.class, name = "ExecuteReconfigureTaskFilter"),
-    @JsonSubTypes.Type(value = CleanupSensitiveLogsTaskFilter.class, name = "CleanupSensitiveLogsTaskFilter")
+    @JsonSubTypes.Type(value = CleanupSensitiveLogsTaskFilter.class, name = "CleanupSensitiveLogsTaskFilter"),
+    @JsonSubTypes.Type(value = CacheInvalidationTaskFilter.class, name = "CacheInvalidationTaskFilter")
 })
 public interface TaskFilter<T> {
 
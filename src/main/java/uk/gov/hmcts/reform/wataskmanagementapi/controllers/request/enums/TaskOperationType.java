@@ -6,7 +6,9 @@ public enum TaskOperationType {
     EXECUTE_RECONFIGURE_FAILURES("execute_reconfigure_failures"),
     UPDATE_SEARCH_INDEX("update_search_index"),
     CLEANUP_SENSITIVE_LOG_ENTRIES("cleanup_sensitive_log_entries"),
-    PERFORM_REPLICATION_CHECK("perform_replication_check");
+    PERFORM_REPLICATION_CHECK("perform_replication_check"),
+    INVALIDATE_CACHES("invalidate_caches"),
+    REPLAY_CAMUNDA_OUTBOX("replay_camunda_outbox");
 
     private final String value;
 
@@ -14,9 +14,16 @@ public class GetTasksResponse<T extends Task> {
 
     private final long totalRecords;
 
+    private final String nextPageToken;
+
     public GetTasksResponse(List<T> tasks, long totalRecords) {
+        this(tasks, totalRecords, null);
+    }
+
+    public GetTasksResponse(List<T> tasks, long totalRecords, String nextPageToken) {
         this.tasks = tasks;
         this.totalRecords = totalRecords;
+        this.nextPageToken = nextPageToken;
     }
 
     public List<T> getTasks() {
@@ -26,4 +33,8 @@ public class GetTasksResponse<T extends Task> {
     public long getTotalRecords() {
         return totalRecords;
     }
+
+    public String getNextPageToken() {
+        return nextPageToken;
+    }
 }
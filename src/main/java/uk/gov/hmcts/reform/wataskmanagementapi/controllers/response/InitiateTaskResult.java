@@ -0,0 +1,34 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.controllers.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import com.fasterxml.jackson.annotation.JsonInclude;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Value;
+import org.springframework.http.HttpStatus;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
+
+@Schema(
+    name = "InitiateTaskResult",
+    description = "The outcome of initiating one task, with the status the single task initiation would return"
+)
+@JsonInclude(JsonInclude.Include.NON_NULL)
+@Value
+public class InitiateTaskResult {
+    String taskId;
+    int status;
+    TaskResource task;
+    String error;
+
+    public static InitiateTaskResult initiated(TaskResource task) {
+        return new InitiateTaskResult(task.getTaskId(), HttpStatus.CREATED.value(), task, null);
+    }
+
+    public static InitiateTaskResult failed(String taskId, int status, String error) {
+        return new InitiateTaskResult(taskId, status, null, error);
+    }
+
+    @JsonIgnore
+    public boolean isInitiated() {
+        return status == HttpStatus.CREATED.value();
+    }
+}
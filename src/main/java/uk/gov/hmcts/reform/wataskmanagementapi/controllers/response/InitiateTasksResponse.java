@@ -0,0 +1,21 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.controllers.response;
+
+import com.fasterxml.jackson.annotation.JsonIgnore;
+import io.swagger.v3.oas.annotations.media.Schema;
+import lombok.Value;
+
+import java.util.List;
+
+@Schema(
+    name = "InitiateTasksResponse",
+    description = "The outcome of each task of an InitiateTasksRequest, in the order requested"
+)
+@Value
+public class InitiateTasksResponse {
+    List<InitiateTaskResult> results;
+
+    @JsonIgnore
+    public boolean isAllInitiated() {
+        return results.stream().allMatch(InitiateTaskResult::isInitiated);
+    }
+}
@@ -0,0 +1,47 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+@ToString
+@EqualsAndHashCode
+@JsonIgnoreProperties(ignoreUnknown = true)
+public final class DecisionDefinition {
+
+    private String id;
+    private String key;
+    private Integer version;
+    private String tenantId;
+
+    private DecisionDefinition() {
+        //No-op constructor for deserialization
+    }
+
+    public DecisionDefinition(String id,
+                              String key,
+                              Integer version,
+                              String tenantId) {
+        this.id = id;
+        this.key = key;
+        this.version = version;
+        this.tenantId = tenantId;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getKey() {
+        return key;
+    }
+
+    public Integer getVersion() {
+        return version;
+    }
+
+    public String getTenantId() {
+        return tenantId;
+    }
+
+}
@@ -0,0 +1,33 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda;
+
+import com.fasterxml.jackson.annotation.JsonIgnoreProperties;
+import lombok.EqualsAndHashCode;
+import lombok.ToString;
+
+@ToString(onlyExplicitlyIncluded = true)
+@EqualsAndHashCode
+@JsonIgnoreProperties(ignoreUnknown = true)
+public final class DecisionDefinitionXml {
+
+    @ToString.Include
+    private String id;
+    private String dmnXml;
+
+    private DecisionDefinitionXml() {
+        //No-op constructor for deserialization
+    }
+
+    public DecisionDefinitionXml(String id, String dmnXml) {
+        this.id = id;
+        this.dmnXml = dmnXml;
+    }
+
+    public String getId() {
+        return id;
+    }
+
+    public String getDmnXml() {
+        return dmnXml;
+    }
+
+}
@@ -2,6 +2,7 @@ package uk.gov.hmcts.reform.wataskmanagementapi.domain.configuration;
 
 import lombok.Builder;
 import lombok.Data;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.CaseDataCache.CaseData;
 
 import java.util.Map;
 
@@ -14,6 +15,8 @@ public class TaskToConfigure {
     private final String name;
     @Builder.Default
     private Map<String, Object> taskAttributes = Map.of();
+    //Case data already retrieved from ccd, shared by the tasks of a case initiated together
+    private CaseData caseData;
 
     public TaskToConfigure(String id,
                            String taskTypeId,
@@ -33,5 +36,15 @@ public class TaskToConfigure {
         this(id, taskTypeId, caseId, name);
         this.taskAttributes = taskAttributes;
     }
+
+    public TaskToConfigure(String id,
+                           String taskTypeId,
+                           String caseId,
+                           String name,
+                           Map<String, Object> taskAttributes,
+                           CaseData caseData) {
+        this(id, taskTypeId, caseId, name, taskAttributes);
+        this.caseData = caseData;
+    }
 }
 
@@ -0,0 +1,66 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.domain.search;
+
+import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.InvalidRequestException;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.util.ArrayList;
+import java.util.Base64;
+import java.util.Collections;
+import java.util.List;
+
+/**
+ * Opaque continuation token for keyset paginated task searches. It holds the sort key of the last task
+ * returned, as text, together with the sort order it was produced for so it can not be replayed against
+ * a search with a different order.
+ */
+public record SearchPageToken(String sortOrder, List<String> sortKey) {
+
+    private static final String INVALID_TOKEN = "Invalid request parameter page_token";
+
+    public SearchPageToken {
+        //The sort key may contain nulls for nullable sort columns
+        sortKey = Collections.unmodifiableList(new ArrayList<>(sortKey));
+    }
+
+    public String encode() {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        try (DataOutputStream out = new DataOutputStream(bytes)) {
+            out.writeUTF(sortOrder);
+            out.writeInt(sortKey.size());
+            for (String value : sortKey) {
+                out.writeBoolean(value != null);
+                if (value != null) {
+                    out.writeUTF(value);
+                }
+            }
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+        return Base64.getUrlEncoder().withoutPadding().encodeToString(bytes.toByteArray());
+    }
+
+    public static SearchPageToken decode(String token, String expectedSortOrder) {
+        SearchPageToken pageToken;
+        try (DataInputStream in = new DataInputStream(new ByteArrayInputStream(Base64.getUrlDecoder().decode(token)))) {
+            String sortOrder = in.readUTF();
+            int size = in.readInt();
+            List<String> sortKey = new ArrayList<>();
+            for (int i = 0; i < size; i++) {
+                sortKey.add(in.readBoolean() ? in.readUTF() : null);
+            }
+            pageToken = new SearchPageToken(sortOrder, sortKey);
+        } catch (IOException | IllegalArgumentException e) {
+            throw new InvalidRequestException(INVALID_TOKEN);
+        }
+
+        if (!pageToken.sortOrder().equals(expectedSortOrder)) {
+            throw new InvalidRequestException(INVALID_TOKEN);
+        }
+        return pageToken;
+    }
+}
@@ -12,7 +12,7 @@ import uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.CFTTaskState;
 import java.util.List;
 
 @Getter
-@Builder
+@Builder(toBuilder = true)
 @EqualsAndHashCode
 @ToString
 public class SearchRequest {
@@ -29,6 +29,17 @@ public class SearchRequest {
     @Setter(AccessLevel.NONE)
     private RequestContext requestContext;
     private List<SortingParameter> sortingParameters;
+    /**
+     * When set the total is only counted up to this limit, for callers that only need to know
+     * whether there are more than this many matching tasks.
+     */
+    private Integer countLimit;
+    /**
+     * When set the page after the given token is returned using a keyset (seek) query instead of an offset,
+     * and a token for the following page is returned with the results.
+     */
+    private boolean keysetPagination;
+    private String pageToken;
 
     public boolean isAvailableTasksOnly() {
         return requestContext != null && requestContext.equals(RequestContext.AVAILABLE_TASKS);
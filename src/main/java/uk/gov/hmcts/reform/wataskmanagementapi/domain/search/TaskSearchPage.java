@@ -0,0 +1,10 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.domain.search;
+
+import java.util.List;
+
+/**
+ * A page of task ids found by a keyset paginated search, with the token for the next page
+ * or null when the page was not full.
+ */
+public record TaskSearchPage(List<String> taskIds, SearchPageToken nextPageToken) {
+}
@@ -0,0 +1,46 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.Id;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.ToString;
+import org.hibernate.annotations.JdbcTypeCode;
+
+import java.io.Serializable;
+import java.sql.Types;
+import java.time.OffsetDateTime;
+
+/**
+ * The last public holiday calendar successfully retrieved from a calendar uri.
+ */
+@ToString(onlyExplicitlyIncluded = true)
+@Getter
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Entity(name = "calendar_snapshot")
+public class CalendarSnapshot implements Serializable {
+
+    private static final long serialVersionUID = -3391682542512385529L;
+
+    @Id
+    @ToString.Include
+    @EqualsAndHashCode.Include
+    private String uri;
+    private String content;
+
+    @ToString.Include
+    @Column(columnDefinition = "TIMESTAMP")
+    @JdbcTypeCode(Types.TIMESTAMP)
+    private OffsetDateTime fetched;
+
+    protected CalendarSnapshot() {
+        // required for runtime proxy generation in Hibernate
+    }
+
+    public CalendarSnapshot(String uri, String content, OffsetDateTime fetched) {
+        this.uri = uri;
+        this.content = content;
+        this.fetched = fetched;
+    }
+}
@@ -0,0 +1,72 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.entity;
+
+import jakarta.persistence.Column;
+import jakarta.persistence.Entity;
+import jakarta.persistence.EnumType;
+import jakarta.persistence.Enumerated;
+import jakarta.persistence.GeneratedValue;
+import jakarta.persistence.GenerationType;
+import jakarta.persistence.Id;
+import lombok.EqualsAndHashCode;
+import lombok.Getter;
+import lombok.Setter;
+import lombok.ToString;
+import org.hibernate.annotations.JdbcTypeCode;
+import uk.gov.hmcts.reform.wataskmanagementapi.enums.CamundaOutboxAction;
+import uk.gov.hmcts.reform.wataskmanagementapi.enums.CamundaOutboxStatus;
+
+import java.io.Serializable;
+import java.sql.Types;
+import java.time.OffsetDateTime;
+
+@ToString
+@Getter
+@Setter
+@EqualsAndHashCode(onlyExplicitlyIncluded = true)
+@Entity(name = "camunda_outbox")
+public class CamundaOutboxEntry implements Serializable {
+
+    private static final long serialVersionUID = 2954398114585731129L;
+
+    public static final String TIMESTAMP = "TIMESTAMP";
+
+    @Id
+    @EqualsAndHashCode.Include
+    @GeneratedValue(strategy = GenerationType.IDENTITY)
+    private Long id;
+    private String taskId;
+    @Enumerated(EnumType.STRING)
+    private CamundaOutboxAction action;
+    private String assignee;
+    private boolean taskHasUnassigned;
+    @Enumerated(EnumType.STRING)
+    private CamundaOutboxStatus status;
+    private int attempts;
+    private String lastError;
+
+    @Column(columnDefinition = TIMESTAMP)
+    @JdbcTypeCode(Types.TIMESTAMP)
+    private OffsetDateTime created;
+
+    @Column(columnDefinition = TIMESTAMP)
+    @JdbcTypeCode(Types.TIMESTAMP)
+    private OffsetDateTime nextAttemptTime;
+
+    protected CamundaOutboxEntry() {
+        // required for runtime proxy generation in Hibernate
+    }
+
+    public CamundaOutboxEntry(String taskId,
+                              CamundaOutboxAction action,
+                              String assignee,
+                              boolean taskHasUnassigned,
+                              OffsetDateTime created) {
+        this.taskId = taskId;
+        this.action = action;
+        this.assignee = assignee;
+        this.taskHasUnassigned = taskHasUnassigned;
+        this.status = CamundaOutboxStatus.PENDING;
+        this.created = created;
+        this.nextAttemptTime = created;
+    }
+}
@@ -1,11 +1,14 @@
 package uk.gov.hmcts.reform.wataskmanagementapi.entity;
 
+import com.fasterxml.jackson.annotation.JsonIgnore;
 import com.fasterxml.jackson.annotation.JsonManagedReference;
+import io.hypersistence.utils.hibernate.type.array.StringArrayType;
 import io.hypersistence.utils.hibernate.type.json.JsonType;
 import io.swagger.v3.oas.annotations.media.Schema;
 import jakarta.persistence.CascadeType;
 import jakarta.persistence.Column;
 import jakarta.persistence.Entity;
+import jakarta.persistence.EntityListeners;
 import jakarta.persistence.EnumType;
 import jakarta.persistence.Enumerated;
 import jakarta.persistence.FetchType;
@@ -19,6 +22,7 @@ import lombok.ToString;
 import org.hibernate.annotations.JdbcType;
 import org.hibernate.annotations.JdbcTypeCode;
 import org.hibernate.annotations.Type;
+import org.hibernate.collection.spi.PersistentCollection;
 import org.hibernate.dialect.PostgreSQLEnumJdbcType;
 import org.hibernate.type.SqlTypes;
 import uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.BusinessContext;
@@ -26,6 +30,7 @@ import uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.CFTTaskState;
 import uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.TaskSystem;
 import uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.TerminationProcess;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.SecurityClassification;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.signature.TaskSignatureWriter;
 
 import java.io.Serializable;
 import java.sql.Types;
@@ -38,8 +43,9 @@ import java.util.Set;
 @Getter
 @EqualsAndHashCode(onlyExplicitlyIncluded = true)
 @Entity(name = "tasks")
+@EntityListeners(TaskSignatureWriter.class)
 @SuppressWarnings({"PMD.ExcessiveParameterList", "PMD.TooManyFields",
-    "PMD.UnnecessaryFullyQualifiedName", "PMD.ExcessiveImports"})
+    "PMD.UnnecessaryFullyQualifiedName", "PMD.ExcessiveImports", "PMD.UseVarargs"})
 public class TaskResource implements Serializable {
 
     private static final long serialVersionUID = -4550112481797873963L;
@@ -145,7 +151,7 @@ public class TaskResource implements Serializable {
 
     @JsonManagedReference
     @ToString.Exclude
-    @OneToMany(mappedBy = "taskResource", fetch = FetchType.LAZY, cascade = CascadeType.ALL)
+    @OneToMany(mappedBy = "taskResource", fetch = FetchType.LAZY, cascade = CascadeType.ALL, orphanRemoval = true)
     @Schema(name = "task_role_resources")
     private Set<TaskRoleResource> taskRoleResources;
 
@@ -201,6 +207,21 @@ public class TaskResource implements Serializable {
     @JdbcTypeCode(Types.TIMESTAMP)
     private OffsetDateTime caseDeletionTimestamp;
 
+    //Search index signatures, written by the TaskSignatureWriter
+    @JsonIgnore
+    @ToString.Exclude
+    @Type(StringArrayType.class)
+    @Column(columnDefinition = "text[]")
+    @Schema(hidden = true)
+    private String[] filterSignatures;
+
+    @JsonIgnore
+    @ToString.Exclude
+    @Type(StringArrayType.class)
+    @Column(columnDefinition = "text[]")
+    @Schema(hidden = true)
+    private String[] roleSignatures;
+
     protected TaskResource() {
         // required for runtime proxy generation in Hibernate
     }
@@ -524,7 +545,15 @@ public class TaskResource implements Serializable {
     }
 
     public void setTaskRoleResources(Set<TaskRoleResource> taskRoleResources) {
-        this.taskRoleResources = taskRoleResources;
+        //A loaded collection has to be kept for Hibernate to remove the roles no longer part of it
+        if (this.taskRoleResources instanceof PersistentCollection<?> && this.taskRoleResources != taskRoleResources) {
+            this.taskRoleResources.clear();
+            if (taskRoleResources != null) {
+                this.taskRoleResources.addAll(taskRoleResources);
+            }
+        } else {
+            this.taskRoleResources = taskRoleResources;
+        }
     }
 
     public void setCaseCategory(String caseCategory) {
@@ -579,6 +608,14 @@ public class TaskResource implements Serializable {
         this.caseDeletionTimestamp = caseDeletionTimestamp;
     }
 
+    public void setFilterSignatures(String[] filterSignatures) {
+        this.filterSignatures = filterSignatures == null ? null : filterSignatures.clone();
+    }
+
+    public void setRoleSignatures(String[] roleSignatures) {
+        this.roleSignatures = roleSignatures == null ? null : roleSignatures.clone();
+    }
+
     public TaskResource(String taskId,
                         String caseId,
                         String jurisdiction,
@@ -0,0 +1,9 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.enums;
+
+/**
+ * Camunda updates that are delivered through the outbox after the task change has been committed.
+ */
+public enum CamundaOutboxAction {
+    ASSIGN,
+    UNCLAIM
+}
@@ -0,0 +1,6 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.enums;
+
+public enum CamundaOutboxStatus {
+    PENDING,
+    FAILED
+}
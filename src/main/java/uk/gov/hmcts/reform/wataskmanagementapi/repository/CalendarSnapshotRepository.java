@@ -0,0 +1,30 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.repository;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.CalendarSnapshot;
+
+import java.time.OffsetDateTime;
+
+public interface CalendarSnapshotRepository extends CrudRepository<CalendarSnapshot, String> {
+
+    /**
+     * Every instance refreshes its calendars, so the snapshot is upserted rather than saved to avoid
+     * instances racing to insert the same calendar.
+     */
+    String UPSERT_SNAPSHOT = """
+        insert into {h-schema}calendar_snapshot (uri, content, fetched)
+        values (:uri, :content, :fetched)
+        on conflict (uri) do update set content = excluded.content, fetched = excluded.fetched
+        """;
+
+    @Transactional
+    @Modifying
+    @Query(value = UPSERT_SNAPSHOT, nativeQuery = true)
+    void upsert(@Param("uri") String uri,
+                @Param("content") String content,
+                @Param("fetched") OffsetDateTime fetched);
+}
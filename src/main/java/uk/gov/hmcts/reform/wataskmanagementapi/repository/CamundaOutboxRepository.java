@@ -0,0 +1,73 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.repository;
+
+import org.springframework.data.jpa.repository.Modifying;
+import org.springframework.data.jpa.repository.Query;
+import org.springframework.data.repository.CrudRepository;
+import org.springframework.data.repository.query.Param;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.CamundaOutboxEntry;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+
+public interface CamundaOutboxRepository extends CrudRepository<CamundaOutboxEntry, Long> {
+
+    /**
+     * Selects the oldest pending entry of each task that is due, skipping entries locked by other instances.
+     * Later entries of a task only become eligible once the earlier ones are delivered, which keeps the
+     * Camunda updates of a task in order.
+     */
+    String FIND_DUE_ENTRIES_FOR_UPDATE = """
+        select o.* from {h-schema}camunda_outbox o
+        where o.status = 'PENDING'
+        and o.next_attempt_time <= :now
+        and not exists (
+            select 1 from {h-schema}camunda_outbox e
+            where e.task_id = o.task_id and e.status = 'PENDING' and e.id < o.id
+        )
+        order by o.id
+        limit :batchSize
+        for update skip locked
+        """;
+
+    String DELETE_PENDING_ENTRIES_BY_TASK_ID = """
+        delete from {h-schema}camunda_outbox o
+        where o.task_id = :taskId and o.status = 'PENDING'
+        """;
+
+    /**
+     * Puts failed entries back in the queue when they would still bring Camunda in line with the task, that is
+     * the task is active and its assignee is the one the entry sets.
+     */
+    String REQUEUE_CURRENT_FAILED_ENTRIES = """
+        update {h-schema}camunda_outbox o
+        set status = 'PENDING', attempts = 0, last_error = null, next_attempt_time = :now
+        where o.status = 'FAILED'
+        and exists (
+            select 1 from {h-schema}tasks t
+            where t.task_id = o.task_id
+            and t.state in ('ASSIGNED', 'UNASSIGNED')
+            and t.assignee is not distinct from o.assignee
+        )
+        """;
+
+    String DELETE_FAILED_ENTRIES = """
+        delete from {h-schema}camunda_outbox o
+        where o.status = 'FAILED'
+        """;
+
+    @Query(value = FIND_DUE_ENTRIES_FOR_UPDATE, nativeQuery = true)
+    List<CamundaOutboxEntry> findDueEntriesForUpdate(@Param("now") OffsetDateTime now,
+                                                     @Param("batchSize") int batchSize);
+
+    @Modifying
+    @Query(value = DELETE_PENDING_ENTRIES_BY_TASK_ID, nativeQuery = true)
+    int deletePendingByTaskId(@Param("taskId") String taskId);
+
+    @Modifying
+    @Query(value = REQUEUE_CURRENT_FAILED_ENTRIES, nativeQuery = true)
+    int requeueCurrentFailedEntries(@Param("now") OffsetDateTime now);
+
+    @Modifying
+    @Query(value = DELETE_FAILED_ENTRIES, nativeQuery = true)
+    int deleteFailedEntries();
+}
@@ -5,6 +5,7 @@ import org.springframework.data.jpa.repository.Modifying;
 import org.springframework.data.jpa.repository.Query;
 import org.springframework.data.repository.CrudRepository;
 import org.springframework.data.repository.query.Param;
+import org.springframework.transaction.annotation.Transactional;
 import uk.gov.hmcts.reform.wataskmanagementapi.entity.SensitiveTaskEventLog;
 
 import java.time.LocalDateTime;
@@ -13,16 +14,22 @@ import java.util.Optional;
 public interface SensitiveTaskEventLogsRepository extends CrudRepository<SensitiveTaskEventLog, String>,
     JpaSpecificationExecutor<SensitiveTaskEventLog> {
 
+    //The rows are looked up by ctid from an array, so that Postgres deletes them with a TID scan
     String CLEANUP_SENSITIVE_LOG_ENTRIES = """
         delete from
         cft_task_db.sensitive_task_event_logs t
         where
-        t.expiry_time < :timestamp
+        t.ctid = any(array(
+            select s.ctid from cft_task_db.sensitive_task_event_logs s
+            where s.expiry_time < :timestamp
+            limit :chunkSize
+        ))
         """;
 
+    @Transactional
     @Modifying
     @Query(value = CLEANUP_SENSITIVE_LOG_ENTRIES, nativeQuery = true)
-    int cleanUpSensitiveLogs(@Param("timestamp") LocalDateTime timestamp);
+    int cleanUpSensitiveLogs(@Param("timestamp") LocalDateTime timestamp, @Param("chunkSize") int chunkSize);
 
     Optional<SensitiveTaskEventLog> getByTaskId(String taskId);
 
@@ -1,14 +1,20 @@
 package uk.gov.hmcts.reform.wataskmanagementapi.repository;
 
 import org.springframework.transaction.annotation.Transactional;
+import uk.gov.hmcts.reform.wataskmanagementapi.config.db.ReadFromReplica;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SearchPageToken;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SearchRequest;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.TaskSearchPage;
 
+import java.time.OffsetDateTime;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 public interface TaskResourceCustomRepository {
 
-    @Transactional
+    @ReadFromReplica
+    @Transactional(readOnly = true)
     List<String> searchTasksIds(int firstResult,
                                 int maxResults,
                                 Set<String> filterSignature,
@@ -16,10 +22,29 @@ public interface TaskResourceCustomRepository {
                                 List<String> excludeCaseIds,
                                 SearchRequest searchRequest);
 
-    @Transactional
+    @ReadFromReplica
+    @Transactional(readOnly = true)
+    TaskSearchPage searchTasksPage(int maxResults,
+                                   SearchPageToken after,
+                                   Set<String> filterSignature,
+                                   Set<String> roleSignature,
+                                   List<String> excludeCaseIds,
+                                   SearchRequest searchRequest);
+
+    @ReadFromReplica
+    @Transactional(readOnly = true)
     Long searchTasksCount(Set<String> filterSignature,
                           Set<String> roleSignature,
                           List<String> excludeCaseIds,
                           SearchRequest searchRequest);
 
+    /**
+     * Inserts and locks the tasks that do not exist yet with multi-row inserts.
+     *
+     * @param dueDates the due date of each task id
+     * @return the ids of the tasks inserted, tasks that already existed are left out
+     */
+    @Transactional
+    Set<String> insertAndLockAll(Map<String, OffsetDateTime> dueDates, OffsetDateTime created);
+
 }
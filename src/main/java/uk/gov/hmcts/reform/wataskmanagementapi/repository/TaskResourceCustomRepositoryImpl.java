@@ -8,11 +8,28 @@ import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.Query;
 import jakarta.persistence.SqlResultSetMapping;
 import lombok.extern.slf4j.Slf4j;
+import org.hibernate.Session;
+import org.hibernate.cfg.AvailableSettings;
+import org.hibernate.jpa.SpecHints;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.util.CollectionUtils;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SearchPageToken;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SearchRequest;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SortOrder;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SortingParameter;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.TaskSearchPage;
+import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.InvalidRequestException;
 import uk.gov.hmcts.reform.wataskmanagementapi.services.TaskSearchSortProvider;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.signature.SignatureSet;
 
+import java.sql.PreparedStatement;
+import java.sql.ResultSet;
+import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 import java.util.stream.Collectors;
 
@@ -21,17 +38,29 @@ public class TaskResourceCustomRepositoryImpl implements TaskResourceCustomRepos
     private static final String BASE_QUERY =
         "%sFROM {h-schema}tasks t "
         + "WHERE indexed "
-        + "AND {h-schema}filter_signatures(t.task_id, t.state, t.jurisdiction, t.role_category, t.work_type, t.region, "
-        + "t.location) && CAST(:filterSignature AS text[]) "
-        + "AND {h-schema}role_signatures(t.task_id, t.jurisdiction, t.region, t.location, t.case_id, "
-        + "t.security_classification) && CAST(:roleSignature AS text[]) "
+        + "AND t.filter_signatures && CAST(:filterSignature AS text[]) "
+        + "AND t.role_signatures && CAST(:roleSignature AS text[]) "
         + "%s%s%s";
 
     private static final String SELECT_CLAUSE = "SELECT t.task_id ";
 
     private static final String DB_COL_ASSIGNEE = "assignee";
     private static final String COUNT_CLAUSE = "SELECT count(*) ";
+    private static final String CAPPED_COUNT_QUERY = "SELECT count(*) FROM (%s) capped";
+    private static final String CAPPED_COUNT_SELECT_CLAUSE = "SELECT 1 ";
+    private static final String CAPPED_COUNT_LIMIT_CLAUSE = "LIMIT :countLimit";
     private static final String PAGINATION_CLAUSE = "OFFSET :firstResult LIMIT :maxResults";
+    private static final String KEYSET_PAGINATION_CLAUSE = "LIMIT :maxResults";
+    private static final String SORT_KEY_PARAMETER = "sortKey";
+    private static final String INSERT_TASKS_IF_ABSENT =
+        "INSERT INTO %stasks (task_id, created, due_date_time, priority_date) VALUES %s "
+        + "ON CONFLICT (task_id) DO NOTHING RETURNING task_id";
+    private static final String INSERT_TASK_VALUES = "(?, ?, ?, ?)";
+    //Keeps each statement well under the 32767 bind parameters allowed by the driver
+    private static final int INSERT_TASKS_CHUNK_SIZE = 1000;
+    private static final Set<String> TIMESTAMP_SORT_COLUMNS = Set.of("due_date_time", "next_hearing_date",
+        "priority_date");
+    private static final Set<String> INTEGER_SORT_COLUMNS = Set.of("major_priority", "minor_priority");
 
     protected static final String RESULT_MAPPER = "TaskSearchResult";
     private static final int ONE = 1;
@@ -39,6 +68,10 @@ public class TaskResourceCustomRepositoryImpl implements TaskResourceCustomRepos
     @PersistenceContext
     private EntityManager entityManager;
 
+    //Enforced by the database driver, which cancels the statement on the server once it runs over
+    @Value("${config.search.queryTimeoutMillis}")
+    private int queryTimeoutMillis;
+
     @SqlResultSetMapping(name = RESULT_MAPPER,
         columns = {
             @ColumnResult(name = "task_id", type = String.class)
@@ -67,7 +100,7 @@ public class TaskResourceCustomRepositoryImpl implements TaskResourceCustomRepos
         );
 
         log.info("Task search query [{}]", queryString);
-        Query query = entityManager.createNativeQuery(queryString, RESULT_MAPPER);
+        Query query = createSearchQuery(queryString, RESULT_MAPPER);
         addParameters(query, firstResult, maxResults, filterSignature, roleSignature, excludeCaseIds, searchRequest);
 
         List<String> taskIds = query.getResultList();
@@ -76,20 +109,89 @@ public class TaskResourceCustomRepositoryImpl implements TaskResourceCustomRepos
         return taskIds;
     }
 
+    @Override
+    @SuppressWarnings("unchecked")
+    public TaskSearchPage searchTasksPage(int maxResults,
+                                          SearchPageToken after,
+                                          Set<String> filterSignature,
+                                          Set<String> roleSignature,
+                                          List<String> excludeCaseIds,
+                                          SearchRequest searchRequest) {
+
+        List<SortingParameter> sortingParameters = TaskSearchSortProvider.getSortingParameters(searchRequest);
+        String sortOrderQuery = TaskSearchSortProvider.getSortOrderQuery(searchRequest);
+        if (after != null && after.sortKey().size() != sortingParameters.size()) {
+            throw new InvalidRequestException("Invalid request parameter page_token");
+        }
+
+        StringBuilder selectClause = new StringBuilder("SELECT t.task_id");
+        for (int i = 0; i < sortingParameters.size(); i++) {
+            selectClause.append(", CAST(").append(sortingParameters.get(i).getSortBy().getDbColumnName())
+                .append(" AS text) AS ").append(SORT_KEY_PARAMETER).append(i);
+        }
+        selectClause.append(' ');
+
+        String queryString = String.format(BASE_QUERY,
+            selectClause,
+            extraConstraints(excludeCaseIds, searchRequest) + seekConstraint(sortingParameters, after),
+            sortOrderQuery,
+            KEYSET_PAGINATION_CLAUSE
+        );
+
+        log.info("Task search query [{}]", queryString);
+        Query query = createSearchQuery(queryString, null);
+        addParameters(query, filterSignature, roleSignature, excludeCaseIds, searchRequest);
+        if (after != null) {
+            for (int i = 0; i < after.sortKey().size(); i++) {
+                if (after.sortKey().get(i) != null) {
+                    query.setParameter(SORT_KEY_PARAMETER + i, after.sortKey().get(i));
+                }
+            }
+        }
+        query.setParameter("maxResults", maxResults);
+
+        List<Object[]> rows = query.getResultList();
+        log.info("Number of tasks returned {}", rows.size());
+
+        List<String> taskIds = rows.stream().map(row -> (String) row[0]).toList();
+        if (rows.size() < maxResults) {
+            return new TaskSearchPage(taskIds, null);
+        }
+        Object[] lastRow = rows.get(rows.size() - 1);
+        List<String> sortKey = new ArrayList<>();
+        for (int i = 1; i < lastRow.length; i++) {
+            sortKey.add((String) lastRow[i]);
+        }
+        return new TaskSearchPage(taskIds, new SearchPageToken(sortOrderQuery, sortKey));
+    }
+
     @Override
     public Long searchTasksCount(Set<String> filterSignature,
                                  Set<String> roleSignature,
                                  List<String> excludeCaseIds,
                                  SearchRequest searchRequest) {
 
-        String queryString = String.format(BASE_QUERY,
-            COUNT_CLAUSE,
-            extraConstraints(excludeCaseIds, searchRequest),
-            "", "");
+        Integer countLimit = searchRequest.getCountLimit();
+        String queryString;
+        if (countLimit == null) {
+            queryString = String.format(BASE_QUERY,
+                COUNT_CLAUSE,
+                extraConstraints(excludeCaseIds, searchRequest),
+                "", "");
+        } else {
+            //Stops counting once the limit is reached rather than visiting every matching task
+            queryString = String.format(CAPPED_COUNT_QUERY, String.format(BASE_QUERY,
+                CAPPED_COUNT_SELECT_CLAUSE,
+                extraConstraints(excludeCaseIds, searchRequest),
+                "", CAPPED_COUNT_LIMIT_CLAUSE));
+        }
 
         log.info("Task count query [{}]", queryString);
-        Query query = entityManager.createNativeQuery(queryString);
+        Query query = createSearchQuery(queryString, null);
         addParameters(query, filterSignature, roleSignature, excludeCaseIds, searchRequest);
+        if (countLimit != null) {
+            query.setParameter("countLimit", countLimit);
+        }
 
         Long taskCount = ((Number) query.getSingleResult()).longValue();
         log.info("Total number of tasks {}", taskCount);
@@ -97,10 +199,61 @@ public class TaskResourceCustomRepositoryImpl implements TaskResourceCustomRepos
         return taskCount;
     }
 
+    @Override
+    public Set<String> insertAndLockAll(Map<String, OffsetDateTime> dueDates, OffsetDateTime created) {
+        //Plain JDBC so that the rows are sent in one statement, {h-schema} is only expanded by Hibernate.
+        //A multi-row insert returning the inserted ids is used rather than a JDBC batch, as the update
+        //counts of a batch are not reported once the driver rewrites it into a multi-row insert.
+        Object schema = entityManager.getEntityManagerFactory().getProperties().get(AvailableSettings.DEFAULT_SCHEMA);
+        List<String> taskIds = new ArrayList<>(dueDates.keySet());
+
+        return entityManager.unwrap(Session.class).doReturningWork(connection -> {
+            Set<String> inserted = new HashSet<>();
+            for (int from = 0; from < taskIds.size(); from += INSERT_TASKS_CHUNK_SIZE) {
+                List<String> chunk = taskIds.subList(from, Math.min(from + INSERT_TASKS_CHUNK_SIZE, taskIds.size()));
+                String sql = String.format(
+                    INSERT_TASKS_IF_ABSENT,
+                    schema == null ? "" : schema + ".",
+                    String.join(", ", Collections.nCopies(chunk.size(), INSERT_TASK_VALUES))
+                );
+                try (PreparedStatement statement = connection.prepareStatement(sql)) {
+                    int index = 1;
+                    for (String taskId : chunk) {
+                        statement.setString(index++, taskId);
+                        statement.setObject(index++, created);
+                        statement.setObject(index++, dueDates.get(taskId));
+                        statement.setObject(index++, dueDates.get(taskId));
+                    }
+                    try (ResultSet resultSet = statement.executeQuery()) {
+                        while (resultSet.next()) {
+                            inserted.add(resultSet.getString(1));
+                        }
+                    }
+                }
+            }
+            log.info("Inserted {} of {} tasks", inserted.size(), taskIds.size());
+            return inserted;
+        });
+    }
+
     void setEntityManager(EntityManager em) {
         this.entityManager = em;
     }
 
+    void setQueryTimeoutMillis(int queryTimeoutMillis) {
+        this.queryTimeoutMillis = queryTimeoutMillis;
+    }
+
+    private Query createSearchQuery(String queryString, String resultSetMapping) {
+        Query query = resultSetMapping == null
+            ? entityManager.createNativeQuery(queryString)
+            : entityManager.createNativeQuery(queryString, resultSetMapping);
+        if (queryTimeoutMillis > 0) {
+            query.setHint(SpecHints.HINT_SPEC_QUERY_TIMEOUT, queryTimeoutMillis);
+        }
+        return query;
+    }
+
     private String extraConstraints(List<String> excludeCaseIds, SearchRequest searchRequest) {
         StringBuilder extraConstraints = new StringBuilder("");
         if (searchRequest.isAvailableTasksOnly()) {
@@ -135,6 +288,47 @@ public class TaskResourceCustomRepositoryImpl implements TaskResourceCustomRepos
         return "";
     }
 
+    /**
+     * Builds the predicate selecting the tasks that sort after the given sort key, expanded column by column
+     * as the sort may mix directions. Nulls sort last in ascending and first in descending order.
+     */
+    private String seekConstraint(List<SortingParameter> sortingParameters, SearchPageToken after) {
+        if (after == null) {
+            return "";
+        }
+        List<String> alternatives = new ArrayList<>();
+        StringBuilder equalPrefix = new StringBuilder();
+        for (int i = 0; i < sortingParameters.size(); i++) {
+            String column = sortingParameters.get(i).getSortBy().getDbColumnName();
+            boolean ascending = sortingParameters.get(i).getSortOrder() == SortOrder.ASCENDANT;
+            String value = after.sortKey().get(i) == null ? null : sortKeyValue(column, i);
+
+            String sortsAfter;
+            if (value == null) {
+                sortsAfter = ascending ? null : column + " IS NOT NULL";
+            } else {
+                sortsAfter = ascending
+                    ? "(" + column + " > " + value + " OR " + column + " IS NULL)"
+                    : column + " < " + value;
+            }
+            if (sortsAfter != null) {
+                alternatives.add("(" + equalPrefix + sortsAfter + ")");
+            }
+            equalPrefix.append(value == null ? column + " IS NULL" : column + " = " + value).append(" AND ");
+        }
+        return alternatives.isEmpty() ? "AND FALSE " : "AND (" + String.join(" OR ", alternatives) + ") ";
+    }
+
+    private String sortKeyValue(String column, int index) {
+        String parameter = ":" + SORT_KEY_PARAMETER + index;
+        if (TIMESTAMP_SORT_COLUMNS.contains(column)) {
+            return "CAST(" + parameter + " AS timestamp)";
+        } else if (INTEGER_SORT_COLUMNS.contains(column)) {
+            return "CAST(" + parameter + " AS integer)";
+        }
+        return parameter;
+    }
+
     private void addParameters(Query query,
                                int firstResult,
                                int maxResults,
@@ -154,8 +348,8 @@ public class TaskResourceCustomRepositoryImpl implements TaskResourceCustomRepos
                                List<String> excludeCaseIds,
                                SearchRequest searchRequest) {
 
-        query.setParameter("filterSignature", filterSignature.toArray(new String[0]));
-        query.setParameter("roleSignature", roleSignature.toArray(new String[0]));
+        query.setParameter("filterSignature", SignatureSet.toSignatureArray(filterSignature));
+        query.setParameter("roleSignature", SignatureSet.toSignatureArray(roleSignature));
         List<String> users = searchRequest.getUsers();
         if (!searchRequest.isAvailableTasksOnly() && !CollectionUtils.isEmpty(users)) {
             setParameter(query, DB_COL_ASSIGNEE, users);
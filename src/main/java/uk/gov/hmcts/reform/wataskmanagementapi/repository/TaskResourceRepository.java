@@ -2,7 +2,9 @@ package uk.gov.hmcts.reform.wataskmanagementapi.repository;
 
 import jakarta.persistence.LockModeType;
 import jakarta.persistence.QueryHint;
+import org.hibernate.jpa.HibernateHints;
 import org.springframework.data.domain.Sort;
+import org.springframework.data.jpa.repository.EntityGraph;
 import org.springframework.data.jpa.repository.JpaSpecificationExecutor;
 import org.springframework.data.jpa.repository.Lock;
 import org.springframework.data.jpa.repository.Modifying;
@@ -14,6 +16,7 @@ import org.springframework.lang.NonNull;
 import org.springframework.transaction.annotation.Transactional;
 import uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.CFTTaskState;
 import uk.gov.hmcts.reform.wataskmanagementapi.cft.query.TaskResourceCaseQueryBuilder;
+import uk.gov.hmcts.reform.wataskmanagementapi.config.db.ReadFromReplica;
 import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
 
 import java.time.OffsetDateTime;
@@ -37,18 +40,70 @@ public interface TaskResourceRepository extends CrudRepository<TaskResource, Str
         "select count(*) from pg_publication_TABLES pgp WHERE pubname='task_publication';";
     String CREATE_PUBLICATION =
         "CREATE PUBLICATION task_publication FOR TABLE cft_task_db.tasks, "
-            + "cft_task_db.work_types WITH (publish = 'insert,update,delete');";
+            + "cft_task_db.work_types, cft_task_db.replication_heartbeat WITH (publish = 'insert,update,delete');";
 
     String ADD_WORK_TYPES_TO_PUBLICATION = "ALTER PUBLICATION task_publication ADD TABLE {h-schema}work_types;";
 
+    String CHECK_HEARTBEAT_IN_PUBLICATION = "select count(*) from pg_publication_tables pgp "
+            + "WHERE pubname='task_publication' and tablename='replication_heartbeat';";
+
+    String ADD_HEARTBEAT_TO_PUBLICATION =
+        "ALTER PUBLICATION task_publication ADD TABLE {h-schema}replication_heartbeat;";
+
     String GET_TASK_ID_BY_CASE_ID = "select c.task_id AS taskid, c.state AS state from {h-schema}tasks c where "
            + "c.case_id=:caseId";
 
     String MARK_TASK_FOR_DELETION = "update {h-schema}tasks t set case_deletion_timestamp = CURRENT_TIMESTAMP"
             + " where t.task_id in :taskIds";
 
+    String MARK_TASKS_INDEXED = "update {h-schema}tasks t set indexed = true where t.task_id in :taskIds";
+
+    String DELETE_TASK_ROLES = "delete from {h-schema}task_roles r where r.task_id in :taskIds";
+
+    String DELETE_TASKS = "delete from {h-schema}tasks t where t.task_id in :taskIds";
+
+    String MARK_ACTIVE_TASKS_TO_RECONFIGURE = "with marked as (select t.task_id from {h-schema}tasks t "
+            + "where t.case_id in :caseIds and t.state in ('ASSIGNED', 'UNASSIGNED') "
+            + "and t.reconfigure_request_time is null for update skip locked) "
+            + "update {h-schema}tasks t set reconfigure_request_time = :requestTime, indexed = false, "
+            + "last_updated_timestamp = :requestTime, last_updated_user = :userId, last_updated_action = :action "
+            + "from marked where t.task_id = marked.task_id returning t.task_id";
+
+    String UNINDEXED_ACTIVE_TASKS = "from {h-schema}tasks t "
+            + "where not t.indexed and t.state in ('ASSIGNED', 'UNASSIGNED') and t.reconfigure_request_time is null ";
+
+    String INDEX_TASKS = "with batch as (select t.task_id " + UNINDEXED_ACTIVE_TASKS
+            + "order by coalesce(t.last_updated_timestamp, t.created) limit :batchSize for update skip locked) "
+            + "update {h-schema}tasks t set indexed = true from batch where t.task_id = batch.task_id "
+            + "returning t.task_id";
+
+    String COUNT_TASKS_TO_INDEX = "select count(*) " + UNINDEXED_ACTIVE_TASKS;
+
+    String FILL_MISSING_SIGNATURES = "with batch as (select t.task_id from {h-schema}tasks t "
+            + "where t.state in ('ASSIGNED', 'UNASSIGNED') "
+            + "and (t.filter_signatures is null or t.role_signatures is null) "
+            + "limit :batchSize for update skip locked) "
+            + "update {h-schema}tasks t set filter_signatures = array(select distinct s "
+            + "from unnest({h-schema}filter_signatures(t.task_id, t.state, t.jurisdiction, t.role_category, "
+            + "t.work_type, t.region, t.location)) s where s is not null order by s collate \"C\"), "
+            + "role_signatures = array(select distinct s "
+            + "from unnest({h-schema}role_signatures(t.task_id, t.jurisdiction, t.region, t.location, t.case_id, "
+            + "t.security_classification)) s where s is not null order by s collate \"C\") "
+            + "from batch where t.task_id = batch.task_id returning t.task_id";
+
+    String GET_INDEXING_LAG_SECONDS = "select cast(coalesce(extract(epoch from "
+            + "now() - min(coalesce(t.last_updated_timestamp, t.created))), 0) as double precision) "
+            + UNINDEXED_ACTIVE_TASKS;
+
     String SHOW_WAL_LEVEL = "SHOW wal_level;";
 
+    String WRITE_REPLICATION_HEARTBEAT = "with stale as (delete from {h-schema}replication_heartbeat h "
+            + "where h.instance_name <> :instanceName "
+            + "and h.updated < cast(:heartbeatTime as timestamp) - interval '1 day') "
+            + "insert into {h-schema}replication_heartbeat (instance_name, marker, updated) "
+            + "values (:instanceName, :marker, :heartbeatTime) "
+            + "on conflict (instance_name) do update set marker = excluded.marker, updated = excluded.updated";
+
     String LOCK_TIMEOUT_STR = "javax.persistence.lock.timeout";
 
     @Lock(LockModeType.PESSIMISTIC_WRITE)
@@ -67,17 +122,76 @@ public interface TaskResourceRepository extends CrudRepository<TaskResource, Str
 
     Optional<TaskResource> getByTaskId(String id);
 
+    /**
+     * Loads a task together with its task roles in a single query, to verify role assignments against it.
+     */
+    @EntityGraph(attributePaths = {"taskRoleResources"})
+    Optional<TaskResource> findWithTaskRolesByTaskId(String id);
+
     List<TaskResource> getByCaseId(String caseId);
 
     List<TaskResource> findByIndexedFalseAndStateIn(List<CFTTaskState> states);
 
+    /**
+     * Marks a batch of the active tasks that are not indexed yet as indexed, oldest changes first,
+     * skipping the tasks locked by other transactions. Tasks waiting to be reconfigured are left for the
+     * reconfiguration to index.
+     *
+     * @return the ids of the tasks indexed
+     */
+    @Transactional
+    @Query(value = INDEX_TASKS, nativeQuery = true)
+    List<String> indexTasks(@Param("batchSize") int batchSize);
+
+    @Query(value = COUNT_TASKS_TO_INDEX, nativeQuery = true)
+    long countTasksToIndex();
+
+    /**
+     * Writes the search signatures of a batch of active tasks that have none, with the signature functions.
+     * These are tasks saved by instances that did not write the signatures yet while a release was rolled out.
+     *
+     * @return the ids of the tasks whose signatures were written
+     */
+    @Transactional
+    @Query(value = FILL_MISSING_SIGNATURES, nativeQuery = true)
+    List<String> fillMissingSignatures(@Param("batchSize") int batchSize);
+
+    @Query(value = GET_INDEXING_LAG_SECONDS, nativeQuery = true)
+    double getIndexingLagSeconds();
+
     List<TaskResource> findAllByTaskIdIn(List<String> taskIds, Sort order);
 
+    /**
+     * Loads the tasks of a search result page together with their task roles in a single query.
+     * The tasks are loaded read only as they are only mapped to the search response.
+     */
+    @EntityGraph(attributePaths = {"taskRoleResources", "workTypeResource", "executionTypeCode"})
+    @QueryHints({@QueryHint(name = HibernateHints.HINT_READ_ONLY, value = "true")})
+    @ReadFromReplica
+    @Transactional(readOnly = true)
+    List<TaskResource> findAllWithTaskRolesByTaskIdIn(List<String> taskIds, Sort order);
+
     @Query(value = GET_TASK_ID_BY_CASE_ID, nativeQuery = true)
     List<TaskResourceCaseQueryBuilder> getTaskIdsByCaseId(final @Param("caseId") String caseId);
 
-    List<TaskResource> findByCaseIdInAndStateInAndReconfigureRequestTimeIsNull(
-        List<String> caseIds, List<CFTTaskState> states);
+    long countByCaseIdInAndStateInAndReconfigureRequestTimeIsNull(List<String> caseIds, List<CFTTaskState> states);
+
+    /**
+     * Marks the active tasks of the cases that are not marked yet to be reconfigured, skipping the tasks
+     * locked by other transactions.
+     *
+     * @return the ids of the tasks marked
+     */
+    @Transactional
+    @Query(value = MARK_ACTIVE_TASKS_TO_RECONFIGURE, nativeQuery = true)
+    List<String> markActiveTasksToReconfigure(@Param("caseIds") List<String> caseIds,
+                                              @Param("requestTime") OffsetDateTime requestTime,
+                                              @Param("userId") String userId,
+                                              @Param("action") String action);
+
+    @Query("select t.taskId, t.jurisdiction FROM tasks t where t.taskId in (:taskIds)")
+    @Transactional
+    List<Object[]> findTaskIdAndJurisdictionByTaskIdIn(List<String> taskIds);
 
     @Query("select t.taskId FROM tasks t where t.state in (:states)"
         + " and t.reconfigureRequestTime > :reconfigureRequestTime")
@@ -120,6 +234,17 @@ public interface TaskResourceRepository extends CrudRepository<TaskResource, Str
         @Param("priority_date") OffsetDateTime priorityDate
     );
 
+    /**
+     * Writes the replication heartbeat of an instance with a new marker, so that the replica can tell when this
+     * update has reached it. The heartbeats of instances that have not written one for a day are removed.
+     */
+    @Modifying
+    @Transactional
+    @Query(value = WRITE_REPLICATION_HEARTBEAT, nativeQuery = true)
+    void writeReplicationHeartbeat(@Param("instanceName") String instanceName,
+                                   @Param("marker") String marker,
+                                   @Param("heartbeatTime") OffsetDateTime heartbeatTime);
+
     @Query(value = CHECK_REPLICATION_SLOT, nativeQuery = true)
     int countReplicationSlots();
 
@@ -144,6 +269,14 @@ public interface TaskResourceRepository extends CrudRepository<TaskResource, Str
     @Query(value = ADD_WORK_TYPES_TO_PUBLICATION, nativeQuery = true)
     Object addWorkTypesToPublication();
 
+    @Query(value = CHECK_HEARTBEAT_IN_PUBLICATION, nativeQuery = true)
+    int countHeartbeatPublicationTables();
+
+    @Modifying
+    @Transactional
+    @Query(value = ADD_HEARTBEAT_TO_PUBLICATION, nativeQuery = true)
+    Object addHeartbeatToPublication();
+
     @Query(value = SHOW_WAL_LEVEL, nativeQuery = true)
     String showWalLevel();
 
@@ -151,4 +284,17 @@ public interface TaskResourceRepository extends CrudRepository<TaskResource, Str
     @Transactional
     @Query(value = MARK_TASK_FOR_DELETION, nativeQuery = true)
     void updateTaskDeletionTimestampByTaskIds(@Param("taskIds") List<String> taskIds);
+
+    @Modifying
+    @Transactional
+    @Query(value = MARK_TASKS_INDEXED, nativeQuery = true)
+    void updateIndexedByTaskIds(@Param("taskIds") List<String> taskIds);
+
+    @Modifying
+    @Query(value = DELETE_TASK_ROLES, nativeQuery = true)
+    void deleteTaskRolesByTaskIds(@Param("taskIds") List<String> taskIds);
+
+    @Modifying
+    @Query(value = DELETE_TASKS, nativeQuery = true)
+    void deleteByTaskIds(@Param("taskIds") List<String> taskIds);
 }
@@ -0,0 +1,29 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.schedulers;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.calendar.CalendarStore;
+
+/**
+ * This scheduler loads the public holiday calendars at startup and keeps them refreshed.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(value = "config.calendar.refresh.enabled", havingValue = "true")
+public class CalendarRefreshScheduler {
+    private final CalendarStore calendarStore;
+
+    @Autowired
+    public CalendarRefreshScheduler(CalendarStore calendarStore) {
+        this.calendarStore = calendarStore;
+    }
+
+    @Scheduled(fixedDelayString = "${config.calendar.refresh.intervalMillis}")
+    public void scheduled() {
+        log.info("Calendar refresh scheduler executed");
+        calendarStore.refreshAll();
+    }
+}
@@ -0,0 +1,29 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.schedulers;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.outbox.CamundaOutboxDispatcher;
+
+/**
+ * This scheduler delivers the pending Camunda updates recorded in the outbox.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(value = "camunda.outbox.enabled", havingValue = "true")
+public class CamundaOutboxScheduler {
+    private final CamundaOutboxDispatcher camundaOutboxDispatcher;
+
+    @Autowired
+    public CamundaOutboxScheduler(CamundaOutboxDispatcher camundaOutboxDispatcher) {
+        this.camundaOutboxDispatcher = camundaOutboxDispatcher;
+    }
+
+    @Scheduled(fixedDelayString = "${camunda.outbox.pollIntervalMillis}")
+    public void scheduled() {
+        log.debug("Camunda outbox scheduler executed");
+        camundaOutboxDispatcher.dispatch();
+    }
+}
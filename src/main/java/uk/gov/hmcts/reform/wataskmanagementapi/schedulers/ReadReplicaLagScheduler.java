@@ -0,0 +1,30 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.schedulers;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.wataskmanagementapi.config.db.ReadReplicaRoutingDataSource;
+
+/**
+ * This scheduler keeps measuring the replication lag of the read replica, which decides whether
+ * read only transactions are sent to it.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(value = "config.readReplica.enabled", havingValue = "true")
+public class ReadReplicaLagScheduler {
+    private final ReadReplicaRoutingDataSource readReplicaRoutingDataSource;
+
+    @Autowired
+    public ReadReplicaLagScheduler(ReadReplicaRoutingDataSource readReplicaRoutingDataSource) {
+        this.readReplicaRoutingDataSource = readReplicaRoutingDataSource;
+    }
+
+    @Scheduled(fixedDelayString = "${config.readReplica.probeIntervalMillis}")
+    public void scheduled() {
+        log.debug("Read replica lag scheduler executed");
+        readReplicaRoutingDataSource.refreshLag();
+    }
+}
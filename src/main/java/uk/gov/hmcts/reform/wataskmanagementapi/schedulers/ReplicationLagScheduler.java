@@ -0,0 +1,32 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.schedulers;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.context.annotation.Profile;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.ReplicationLagMonitor;
+
+/**
+ * This scheduler keeps writing replication heartbeats and checking when they reach the reporting replica,
+ * the probe interval bounds how precisely their lag is measured.
+ */
+@Slf4j
+@Component
+@Profile("replica | preview")
+@ConditionalOnProperty(value = "config.replicationMonitor.enabled", havingValue = "true")
+public class ReplicationLagScheduler {
+    private final ReplicationLagMonitor replicationLagMonitor;
+
+    @Autowired
+    public ReplicationLagScheduler(ReplicationLagMonitor replicationLagMonitor) {
+        this.replicationLagMonitor = replicationLagMonitor;
+    }
+
+    @Scheduled(fixedDelayString = "${config.replicationMonitor.probeIntervalMillis}")
+    public void scheduled() {
+        log.debug("Replication lag scheduler executed");
+        replicationLagMonitor.probe();
+    }
+}
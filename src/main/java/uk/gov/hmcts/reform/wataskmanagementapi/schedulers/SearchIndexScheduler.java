@@ -0,0 +1,29 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.schedulers;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnProperty;
+import org.springframework.scheduling.annotation.Scheduled;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.SearchIndexWorker;
+
+/**
+ * This scheduler keeps adding the active tasks that are not indexed yet to the search index.
+ */
+@Slf4j
+@Component
+@ConditionalOnProperty(value = "config.searchIndex.enabled", havingValue = "true")
+public class SearchIndexScheduler {
+    private final SearchIndexWorker searchIndexWorker;
+
+    @Autowired
+    public SearchIndexScheduler(SearchIndexWorker searchIndexWorker) {
+        this.searchIndexWorker = searchIndexWorker;
+    }
+
+    @Scheduled(fixedDelayString = "${config.searchIndex.intervalMillis}")
+    public void scheduled() {
+        log.debug("Search index scheduler executed");
+        searchIndexWorker.indexTasks();
+    }
+}
@@ -0,0 +1,288 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services;
+
+import feign.FeignException;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.dao.DataAccessException;
+import org.springframework.http.HttpStatus;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.PlatformTransactionManager;
+import org.springframework.transaction.TransactionDefinition;
+import org.springframework.transaction.annotation.Transactional;
+import org.springframework.transaction.support.TransactionTemplate;
+import org.zalando.problem.ThrowableProblem;
+import org.zalando.problem.violations.ConstraintViolationProblem;
+import org.zalando.problem.violations.Violation;
+import uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.CFTTaskState;
+import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.InitiateTasksRequestItem;
+import uk.gov.hmcts.reform.wataskmanagementapi.controllers.response.InitiateTaskResult;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.CamundaVariableDefinition;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.TaskState;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.configuration.TaskToConfigure;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
+import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.ServerErrorException;
+import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.DatabaseConflictException;
+import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.enums.ErrorMessages;
+import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.validation.CustomConstraintViolationException;
+import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.validation.ServiceMandatoryFieldValidationException;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.CaseDataCache.CaseData;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.utils.TaskMandatoryFieldsValidator;
+
+import java.time.OffsetDateTime;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executor;
+import java.util.stream.Collectors;
+
+import static java.util.Collections.singletonList;
+import static uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.CamundaVariableDefinition.CASE_ID;
+import static uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.CamundaVariableDefinition.DUE_DATE;
+import static uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.enums.ErrorMessages.MANDATORY_FIELD_MISSING_ERROR;
+
+/**
+ * Initiates several tasks. The tasks are inserted in one batch, the tasks of a case share the case data
+ * retrieved from ccd for their DMN evaluations, and each task is saved and its Camunda task state updated in
+ * its own transaction, concurrently. A task that can not be initiated is reported with the status a single
+ * initiation would have returned and removed again, without affecting the other tasks.
+ */
+@Slf4j
+@Service
+@SuppressWarnings({"PMD.AvoidCatchingGenericException", "PMD.DoNotUseThreads", "PMD.ExcessiveImports"})
+public class BulkTaskInitiationService {
+
+    private final CFTTaskDatabaseService cftTaskDatabaseService;
+    private final CFTTaskMapper cftTaskMapper;
+    private final ConfigureTaskService configureTaskService;
+    private final CaseConfigurationProviderService caseConfigurationProviderService;
+    private final TaskMandatoryFieldsValidator taskMandatoryFieldsValidator;
+    private final TaskAutoAssignmentService taskAutoAssignmentService;
+    private final CamundaService camundaService;
+    private final Executor taskInitiationExecutor;
+    private final TransactionTemplate transactionTemplate;
+
+    @Autowired
+    public BulkTaskInitiationService(CFTTaskDatabaseService cftTaskDatabaseService,
+                                     CFTTaskMapper cftTaskMapper,
+                                     ConfigureTaskService configureTaskService,
+                                     CaseConfigurationProviderService caseConfigurationProviderService,
+                                     TaskMandatoryFieldsValidator taskMandatoryFieldsValidator,
+                                     TaskAutoAssignmentService taskAutoAssignmentService,
+                                     CamundaService camundaService,
+                                     @Qualifier("taskInitiationExecutorService") Executor taskInitiationExecutor,
+                                     PlatformTransactionManager transactionManager) {
+        this.cftTaskDatabaseService = cftTaskDatabaseService;
+        this.cftTaskMapper = cftTaskMapper;
+        this.configureTaskService = configureTaskService;
+        this.caseConfigurationProviderService = caseConfigurationProviderService;
+        this.taskMandatoryFieldsValidator = taskMandatoryFieldsValidator;
+        this.taskAutoAssignmentService = taskAutoAssignmentService;
+        this.camundaService = camundaService;
+        this.taskInitiationExecutor = taskInitiationExecutor;
+        this.transactionTemplate = new TransactionTemplate(transactionManager);
+        transactionTemplate.setPropagationBehavior(TransactionDefinition.PROPAGATION_REQUIRES_NEW);
+    }
+
+    /**
+     * Exclusive client access only.
+     * Initiates the tasks, each the same way as {@link TaskManagementService#initiateTask} does. The inserted
+     * tasks are committed up front, so that a task failing later on is removed again rather than rolling back
+     * the tasks already initiated.
+     *
+     * @param tasks the tasks to initiate, with unique task ids
+     * @return the result of each task, in the order of the tasks
+     */
+    public List<InitiateTaskResult> initiateTasks(List<InitiateTasksRequestItem> tasks) {
+        Map<String, InitiateTaskResult> results = new HashMap<>();
+        Map<String, Map<String, Object>> taskAttributes = new LinkedHashMap<>();
+        Map<String, OffsetDateTime> dueDates = new LinkedHashMap<>();
+        for (InitiateTasksRequestItem task : tasks) {
+            try {
+                Map<String, Object> attributes = new ConcurrentHashMap<>(task.getTaskAttributes());
+                attributes.put("taskId", task.getTaskId());
+                dueDates.put(task.getTaskId(), extractDueDate(attributes));
+                taskAttributes.put(task.getTaskId(), attributes);
+            } catch (RuntimeException e) {
+                results.put(task.getTaskId(), failed(task.getTaskId(), e));
+            }
+        }
+
+        Set<String> lockedTaskIds = lockTaskIds(dueDates);
+        dueDates.keySet().stream()
+            .filter(taskId -> !lockedTaskIds.contains(taskId))
+            .forEach(taskId -> results.put(taskId, failed(
+                taskId, new DatabaseConflictException(ErrorMessages.DATABASE_CONFLICT_ERROR))));
+
+        Map<String, List<String>> taskIdsByCaseId = dueDates.keySet().stream()
+            .filter(lockedTaskIds::contains)
+            .collect(Collectors.groupingBy(
+                taskId -> Objects.toString(taskAttributes.get(taskId).get(CASE_ID.value()), ""),
+                LinkedHashMap::new,
+                Collectors.toList()
+            ));
+        Map<String, TaskResource> configuredTasks = new LinkedHashMap<>();
+        taskIdsByCaseId.forEach((caseId, taskIds) -> {
+            CaseData caseData;
+            try {
+                caseData = caseId.isEmpty() ? null : caseConfigurationProviderService.getCaseData(caseId);
+            } catch (RuntimeException e) {
+                taskIds.forEach(taskId -> results.put(taskId, failed(taskId, e)));
+                return;
+            }
+            for (String taskId : taskIds) {
+                try {
+                    configuredTasks.put(taskId, configureTask(taskId, taskAttributes.get(taskId), caseData));
+                } catch (RuntimeException e) {
+                    results.put(taskId, failed(taskId, e));
+                }
+            }
+        });
+
+        Map<String, TaskResource> initiatedTasks = initiateConfiguredTasks(configuredTasks, results);
+        initiatedTasks.forEach((taskId, taskResource) ->
+            results.put(taskId, InitiateTaskResult.initiated(taskResource)));
+
+        deleteTasks(lockedTaskIds.stream().filter(taskId -> !initiatedTasks.containsKey(taskId)).toList());
+
+        return tasks.stream().map(task -> results.get(task.getTaskId())).toList();
+    }
+
+    @Transactional
+    public void updateTaskIndexes(List<String> taskIds) {
+        cftTaskDatabaseService.markTasksIndexed(taskIds);
+    }
+
+    @SuppressWarnings("PMD.PreserveStackTrace")
+    private Set<String> lockTaskIds(Map<String, OffsetDateTime> dueDates) {
+        try {
+            return cftTaskDatabaseService.insertAndLockAll(dueDates);
+        } catch (DataAccessException e) {
+            log.error("Error when inserting and locking the tasks(ids={})", dueDates.keySet(), e);
+            throw new DatabaseConflictException(ErrorMessages.DATABASE_CONFLICT_ERROR);
+        }
+    }
+
+    private TaskResource configureTask(String taskId, Map<String, Object> taskAttributes, CaseData caseData) {
+        TaskResource taskResource = cftTaskMapper.mapToTaskResource(taskId, taskAttributes);
+        taskAttributes.put(DUE_DATE.value(), taskResource.getDueDateTime());
+
+        taskResource = configureTaskService.configureCFTTask(
+            taskResource,
+            new TaskToConfigure(
+                taskResource.getTaskId(),
+                taskResource.getTaskType(),
+                taskResource.getCaseId(),
+                taskResource.getTaskName(),
+                taskAttributes,
+                caseData
+            )
+        );
+        taskMandatoryFieldsValidator.validate(taskResource);
+        return taskAutoAssignmentService.performAutoAssignment(taskId, taskResource);
+    }
+
+    /**
+     * Saves each task and updates its Camunda task state in its own transaction on the initiation worker pool, as
+     * Camunda can not update the local variables of several tasks in one call. As in a single initiation, the
+     * task is only committed once Camunda has been updated, so a task failing either step leaves only its
+     * inserted row behind and does not roll back the others.
+     *
+     * @return the initiated tasks, tasks that could not be initiated are reported as failed and left out
+     */
+    private Map<String, TaskResource> initiateConfiguredTasks(Map<String, TaskResource> configuredTasks,
+                                                              Map<String, InitiateTaskResult> results) {
+        Map<String, CompletableFuture<TaskResource>> initiations = new LinkedHashMap<>();
+        configuredTasks.forEach((taskId, taskResource) -> initiations.put(
+            taskId, CompletableFuture.supplyAsync(() -> initiateConfiguredTask(taskResource), taskInitiationExecutor)));
+
+        Map<String, TaskResource> initiatedTasks = new LinkedHashMap<>();
+        initiations.forEach((taskId, initiation) -> {
+            try {
+                initiatedTasks.put(taskId, initiation.join());
+            } catch (CompletionException e) {
+                results.put(taskId, failed(taskId, e.getCause()));
+            }
+        });
+        return initiatedTasks;
+    }
+
+    private TaskResource initiateConfiguredTask(TaskResource taskResource) {
+        return transactionTemplate.execute(status -> {
+            TaskResource savedTask = cftTaskDatabaseService.saveTask(taskResource);
+            updateCftTaskState(savedTask);
+            return savedTask;
+        });
+    }
+
+    /**
+     * Removes the tasks that were inserted but not initiated, so that their initiation can be retried.
+     */
+    private void deleteTasks(List<String> taskIds) {
+        if (taskIds.isEmpty()) {
+            return;
+        }
+        try {
+            transactionTemplate.executeWithoutResult(status -> cftTaskDatabaseService.deleteTasks(taskIds));
+        } catch (RuntimeException e) {
+            log.error("Error when removing the tasks(ids={}) that were not initiated", taskIds, e);
+        }
+    }
+
+    private void updateCftTaskState(TaskResource taskResource) {
+        if (CFTTaskState.ASSIGNED.equals(taskResource.getState())) {
+            camundaService.updateCftTaskState(taskResource.getTaskId(), TaskState.ASSIGNED);
+        } else if (CFTTaskState.UNASSIGNED.equals(taskResource.getState())) {
+            camundaService.updateCftTaskState(taskResource.getTaskId(), TaskState.UNASSIGNED);
+        }
+    }
+
+    private OffsetDateTime extractDueDate(Map<String, Object> taskAttributes) {
+        Map<CamundaVariableDefinition, Object> attributes = taskAttributes.entrySet().stream()
+            .filter(key -> CamundaVariableDefinition.from(key.getKey()).isPresent())
+            .collect(Collectors.toMap(
+                key -> CamundaVariableDefinition.from(key.getKey()).get(),
+                Map.Entry::getValue
+            ));
+        OffsetDateTime dueDate = cftTaskMapper.readDate(attributes, DUE_DATE, null);
+
+        if (dueDate == null) {
+            Violation violation = new Violation(
+                DUE_DATE.value(),
+                "Each task to initiate must contain dueDate field present and populated."
+            );
+            throw new CustomConstraintViolationException(singletonList(violation));
+        }
+        return dueDate;
+    }
+
+    /**
+     * Maps the failure of a task to the status and detail the single task initiation would have returned.
+     */
+    private InitiateTaskResult failed(String taskId, Throwable e) {
+        log.error("Error when initiating task(id={})", taskId, e);
+        if (e instanceof ConstraintViolationProblem problem) {
+            String violations = problem.getViolations().stream()
+                .map(violation -> violation.getField() + ": " + violation.getMessage())
+                .collect(Collectors.joining(", "));
+            return InitiateTaskResult.failed(taskId, HttpStatus.BAD_REQUEST.value(), violations);
+        } else if (e instanceof ThrowableProblem problem) {
+            return InitiateTaskResult.failed(taskId, problem.getStatus() == null
+                ? HttpStatus.INTERNAL_SERVER_ERROR.value()
+                : problem.getStatus().getStatusCode(), problem.getDetail());
+        } else if (e instanceof FeignException || e instanceof ServerErrorException) {
+            return InitiateTaskResult.failed(taskId, HttpStatus.BAD_GATEWAY.value(), e.getMessage());
+        } else if (e instanceof ServiceMandatoryFieldValidationException) {
+            return InitiateTaskResult.failed(taskId, HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                                             MANDATORY_FIELD_MISSING_ERROR.getDetail() + taskId + e.getMessage());
+        }
+        return InitiateTaskResult.failed(taskId, HttpStatus.INTERNAL_SERVER_ERROR.value(),
+                                         ErrorMessages.INITIATE_TASK_PROCESS_ERROR.getDetail());
+    }
+}
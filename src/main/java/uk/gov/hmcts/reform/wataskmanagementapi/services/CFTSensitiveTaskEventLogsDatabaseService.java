@@ -3,8 +3,6 @@ package uk.gov.hmcts.reform.wataskmanagementapi.services;
 import com.microsoft.applicationinsights.telemetry.TelemetryContext;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Service;
-import org.springframework.transaction.annotation.Propagation;
-import org.springframework.transaction.annotation.Transactional;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.RoleAssignment;
 import uk.gov.hmcts.reform.wataskmanagementapi.entity.SensitiveTaskEventLog;
 import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
@@ -13,67 +11,70 @@ import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.enums.ErrorMessages
 import uk.gov.hmcts.reform.wataskmanagementapi.repository.SensitiveTaskEventLogsRepository;
 
 import java.time.LocalDateTime;
+import java.time.OffsetDateTime;
 import java.time.ZonedDateTime;
 import java.util.List;
-import java.util.Optional;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.atomic.AtomicReference;
 
 @Slf4j
 @Service
-@SuppressWarnings("PMD.DoNotUseThreads")
 public class CFTSensitiveTaskEventLogsDatabaseService {
     private final SensitiveTaskEventLogsRepository sensitiveTaskEventLogsRepository;
     private final CFTTaskDatabaseService cftTaskDatabaseService;
-
-    private final ExecutorService sensitiveTaskEventLogsExecutorService;
+    private final SensitiveTaskEventLogWriter sensitiveTaskEventLogWriter;
 
     public CFTSensitiveTaskEventLogsDatabaseService(SensitiveTaskEventLogsRepository sensitiveTaskEventLogsRepository,
                                                     CFTTaskDatabaseService cftTaskDatabaseService,
-                                                    ExecutorService sensitiveTaskEventLogsExecutorService) {
+                                                    SensitiveTaskEventLogWriter sensitiveTaskEventLogWriter) {
         this.sensitiveTaskEventLogsRepository = sensitiveTaskEventLogsRepository;
         this.cftTaskDatabaseService = cftTaskDatabaseService;
-        this.sensitiveTaskEventLogsExecutorService = sensitiveTaskEventLogsExecutorService;
+        this.sensitiveTaskEventLogWriter = sensitiveTaskEventLogWriter;
     }
 
-    @Transactional(propagation = Propagation.REQUIRES_NEW)
-    public SensitiveTaskEventLog processSensitiveTaskEventLog(String taskId,
-                                                              List<RoleAssignment> roleAssignments,
-                                                              ErrorMessages customErrorMessage) {
-        TelemetryContext telemetryContext = new TelemetryContext();
-        Optional<TaskResource> taskResource = cftTaskDatabaseService.findByIdOnly(taskId);
-        AtomicReference<SensitiveTaskEventLog> sensitiveTaskEventLogOutput = new AtomicReference<>();
-        if (taskResource.isPresent()) {
-            log.info("TaskRoles for taskId {} is {}", taskId, taskResource.get().getTaskRoleResources());
-            SensitiveTaskEventLog sensitiveTaskEventLog = new SensitiveTaskEventLog(
-                telemetryContext.getOperation().getId(),
-                "",
-                taskId,
-                taskResource.get().getCaseId(),
-                customErrorMessage.getDetail(),
-                List.of(taskResource.get()),
-                new Users(roleAssignments),
-                ZonedDateTime.now().toOffsetDateTime().plusDays(90),
-                ZonedDateTime.now().toOffsetDateTime()
-            );
-
-            sensitiveTaskEventLogsExecutorService
-                .execute(() -> sensitiveTaskEventLogOutput.set(saveSensitiveTaskEventLog(sensitiveTaskEventLog)));
-
-        }
-        return sensitiveTaskEventLogOutput.get();
+    /**
+     * Logs a failed role assignment verification for a task that has not been loaded, the task is loaded
+     * with its task roles.
+     */
+    public void processSensitiveTaskEventLog(String taskId,
+                                             List<RoleAssignment> roleAssignments,
+                                             ErrorMessages customErrorMessage) {
+        cftTaskDatabaseService.findByIdWithTaskRoles(taskId)
+            .ifPresent(taskResource -> processSensitiveTaskEventLog(
+                taskResource, roleAssignments, customErrorMessage
+            ));
     }
 
-    public int cleanUpSensitiveLogs(LocalDateTime timeStamp) {
-        return sensitiveTaskEventLogsRepository.cleanUpSensitiveLogs(timeStamp);
+    /**
+     * Logs a failed role assignment verification for a task already loaded with its task roles. The log is
+     * written in the background, in a transaction of its own.
+     */
+    public void processSensitiveTaskEventLog(TaskResource taskResource,
+                                             List<RoleAssignment> roleAssignments,
+                                             ErrorMessages customErrorMessage) {
+        TelemetryContext telemetryContext = new TelemetryContext();
+        log.info("TaskRoles for taskId {} is {}", taskResource.getTaskId(), taskResource.getTaskRoleResources());
+        OffsetDateTime now = ZonedDateTime.now().toOffsetDateTime();
+        SensitiveTaskEventLog sensitiveTaskEventLog = new SensitiveTaskEventLog(
+            telemetryContext.getOperation().getId(),
+            "",
+            taskResource.getTaskId(),
+            taskResource.getCaseId(),
+            customErrorMessage.getDetail(),
+            List.of(taskResource),
+            new Users(roleAssignments),
+            now.plusDays(90),
+            now
+        );
+
+        sensitiveTaskEventLogWriter.write(sensitiveTaskEventLog);
     }
 
-    SensitiveTaskEventLog saveSensitiveTaskEventLog(SensitiveTaskEventLog sensitiveTaskEventLog) {
-        try {
-            return sensitiveTaskEventLogsRepository.save(sensitiveTaskEventLog);
-        } catch (IllegalArgumentException e) {
-            log.error("Couldn't save SensitiveTaskEventLog for taskId {}", sensitiveTaskEventLog.getTaskId());
-            return sensitiveTaskEventLog;
-        }
+    /**
+     * Deletes up to a chunk of the logs that expired before the timestamp, in a transaction of its own unless
+     * called within one.
+     *
+     * @return the number of logs deleted
+     */
+    public int cleanUpSensitiveLogs(LocalDateTime timeStamp, int chunkSize) {
+        return sensitiveTaskEventLogsRepository.cleanUpSensitiveLogs(timeStamp, chunkSize);
     }
 }
@@ -1,6 +1,7 @@
 package uk.gov.hmcts.reform.wataskmanagementapi.services;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Qualifier;
 import org.springframework.data.domain.Sort;
 import org.springframework.data.jpa.domain.Specification;
 import org.springframework.stereotype.Service;
@@ -11,21 +12,32 @@ import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.GrantTyp
 import uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.CFTTaskState;
 import uk.gov.hmcts.reform.wataskmanagementapi.cft.query.TaskResourceCaseQueryBuilder;
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.response.GetTasksResponse;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SearchPageToken;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SearchRequest;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.TaskSearchPage;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.task.Task;
 import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
+import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.ServerErrorException;
 import uk.gov.hmcts.reform.wataskmanagementapi.repository.TaskResourceRepository;
 import uk.gov.hmcts.reform.wataskmanagementapi.services.signature.RoleSignatureBuilder;
 import uk.gov.hmcts.reform.wataskmanagementapi.services.signature.SearchFilterSignatureBuilder;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.signature.TaskSignatureWriter;
 
 import java.sql.SQLException;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
 
 import static com.nimbusds.oauth2.sdk.util.CollectionUtils.isEmpty;
+import static uk.gov.hmcts.reform.wataskmanagementapi.enums.TaskAction.MARK_FOR_RECONFIGURE;
 
 @Slf4j
 @Service
@@ -35,14 +47,25 @@ import static com.nimbusds.oauth2.sdk.util.CollectionUtils.isEmpty;
 public class CFTTaskDatabaseService {
 
     private static final int ROLE_ASSIGNMENTS_LOG_THRESHOLD = 100;
+    //Keeps IN lists well below the Postgres bind parameter limit
+    private static final int TASK_ID_BATCH_SIZE = 1000;
 
     private final TaskResourceRepository tasksRepository;
     private final CFTTaskMapper cftTaskMapper;
+    private final Executor taskSearchExecutor;
+    private final SearchFilterSignatureBuilder searchFilterSignatureBuilder;
+    private final RoleSignatureBuilder roleSignatureBuilder;
 
     public CFTTaskDatabaseService(TaskResourceRepository tasksRepository,
-                                  CFTTaskMapper cftTaskMapper) {
+                                  CFTTaskMapper cftTaskMapper,
+                                  @Qualifier("taskSearchExecutorService") Executor taskSearchExecutor,
+                                  SearchFilterSignatureBuilder searchFilterSignatureBuilder,
+                                  RoleSignatureBuilder roleSignatureBuilder) {
         this.tasksRepository = tasksRepository;
         this.cftTaskMapper = cftTaskMapper;
+        this.taskSearchExecutor = taskSearchExecutor;
+        this.searchFilterSignatureBuilder = searchFilterSignatureBuilder;
+        this.roleSignatureBuilder = roleSignatureBuilder;
     }
 
     public Optional<TaskResource> findByIdAndObtainPessimisticWriteLock(String taskId) {
@@ -62,6 +85,10 @@ public class CFTTaskDatabaseService {
         return tasksRepository.getByTaskId(taskId);
     }
 
+    public Optional<TaskResource> findByIdWithTaskRoles(String taskId) {
+        return tasksRepository.findWithTaskRolesByTaskId(taskId);
+    }
+
     public List<TaskResource> findByCaseIdOnly(String caseId) {
         return tasksRepository.getByCaseId(caseId);
     }
@@ -70,9 +97,23 @@ public class CFTTaskDatabaseService {
         return tasksRepository.getTaskIdsByCaseId(caseId);
     }
 
-    public List<TaskResource> getActiveTasksByCaseIdsAndReconfigureRequestTimeIsNull(
+    public long countActiveTasksByCaseIdsAndReconfigureRequestTimeIsNull(
         List<String> caseIds, List<CFTTaskState> states) {
-        return tasksRepository.findByCaseIdInAndStateInAndReconfigureRequestTimeIsNull(caseIds, states);
+        return tasksRepository.countByCaseIdInAndStateInAndReconfigureRequestTimeIsNull(caseIds, states);
+    }
+
+    public List<String> markActiveTasksToReconfigure(List<String> caseIds, String userId) {
+        OffsetDateTime requestTime = OffsetDateTime.now();
+        List<String> taskIds = new ArrayList<>();
+        for (int from = 0; from < caseIds.size(); from += TASK_ID_BATCH_SIZE) {
+            taskIds.addAll(tasksRepository.markActiveTasksToReconfigure(
+                caseIds.subList(from, Math.min(from + TASK_ID_BATCH_SIZE, caseIds.size())),
+                requestTime,
+                userId,
+                MARK_FOR_RECONFIGURE.getValue()
+            ));
+        }
+        return taskIds;
     }
 
     public List<String> getActiveTaskIdsAndReconfigureRequestTimeGreaterThan(
@@ -81,6 +122,16 @@ public class CFTTaskDatabaseService {
             states, reconfigureRequestTime);
     }
 
+    public Map<String, String> getJurisdictionsByTaskIds(List<String> taskIds) {
+        Map<String, String> jurisdictions = new HashMap<>();
+        for (int from = 0; from < taskIds.size(); from += TASK_ID_BATCH_SIZE) {
+            List<String> batch = taskIds.subList(from, Math.min(from + TASK_ID_BATCH_SIZE, taskIds.size()));
+            tasksRepository.findTaskIdAndJurisdictionByTaskIdIn(batch)
+                .forEach(row -> jurisdictions.put((String) row[0], (String) row[1]));
+        }
+        return jurisdictions;
+    }
+
     public List<TaskResource> getTasksByTaskIdAndStateInAndReconfigureRequestTimeIsLessThanRetry(
         List<String> taskIds, List<CFTTaskState> states, OffsetDateTime retryWindow) {
         return tasksRepository.findByTaskIdInAndStateInAndReconfigureRequestTimeIsLessThan(
@@ -96,6 +147,8 @@ public class CFTTaskDatabaseService {
         if (task.getPriorityDate() == null) {
             task.setPriorityDate(task.getDueDateTime());
         }
+        //Changes to the roles alone do not update the task, so its signatures are written here as well
+        TaskSignatureWriter.writeSignatures(task);
         return tasksRepository.save(task);
     }
 
@@ -108,6 +161,34 @@ public class CFTTaskDatabaseService {
         tasksRepository.insertAndLock(taskId, dueDate, created, dueDate);
     }
 
+    /**
+     * Inserts and locks the tasks in one batch, as {@link #insertAndLock} does for a single task.
+     *
+     * @param dueDates the due date of each task id
+     * @return the ids of the tasks inserted, tasks that already existed are left out
+     */
+    public Set<String> insertAndLockAll(Map<String, OffsetDateTime> dueDates) {
+        if (dueDates.isEmpty()) {
+            return Set.of();
+        }
+        return tasksRepository.insertAndLockAll(dueDates, OffsetDateTime.now());
+    }
+
+    public void deleteTasks(List<String> taskIds) {
+        if (!taskIds.isEmpty()) {
+            //The task roles do not cascade with the task
+            tasksRepository.deleteTaskRolesByTaskIds(taskIds);
+            tasksRepository.deleteByTaskIds(taskIds);
+        }
+    }
+
+    public void markTasksIndexed(List<String> taskIds) {
+        for (int from = 0; from < taskIds.size(); from += TASK_ID_BATCH_SIZE) {
+            tasksRepository.updateIndexedByTaskIds(
+                taskIds.subList(from, Math.min(from + TASK_ID_BATCH_SIZE, taskIds.size())));
+        }
+    }
+
     public Optional<TaskResource> findTaskBySpecification(Specification<TaskResource> specification) {
         return tasksRepository.findOne(specification);
     }
@@ -131,25 +212,48 @@ public class CFTTaskDatabaseService {
             log.info("Total volume of Role Assignments for current user: {}", roleAssignments.size());
         }
 
-        Set<String> filterSignature = SearchFilterSignatureBuilder.buildFilterSignatures(searchRequest);
-        Set<String> roleSignature = RoleSignatureBuilder.buildRoleSignatures(roleAssignments, searchRequest);
+        Set<String> filterSignature = searchFilterSignatureBuilder.buildFilterSignatures(searchRequest);
+        Set<String> roleSignature = roleSignatureBuilder.buildRoleSignatures(roleAssignments, searchRequest);
         List<String> excludeCaseIds = buildExcludedCaseIds(roleAssignments);
 
         log.info("Task search for filter signatures {} \nrole signatures {} \nexcluded case ids {}",
                  filterSignature, roleSignature, excludeCaseIds
         );
-        List<String> taskIds = tasksRepository.searchTasksIds(
-            firstResult, maxResults, filterSignature, roleSignature, excludeCaseIds, searchRequest
+        SearchPageToken pageToken = searchRequest.getPageToken() == null ? null : SearchPageToken.decode(
+            searchRequest.getPageToken(), TaskSearchSortProvider.getSortOrderQuery(searchRequest)
+        );
+        //The page and the count each use their own connection so that they run alongside each other. Both
+        //statements are bounded by the search query timeout, a query that is no longer needed is cancelled
+        //before it starts and otherwise left to finish within the timeout.
+        CompletableFuture<TaskSearchPage> pageQuery = CompletableFuture.supplyAsync(
+            () -> searchTasksPage(firstResult, maxResults, pageToken, filterSignature, roleSignature,
+                                  excludeCaseIds, searchRequest),
+            taskSearchExecutor
+        );
+        CompletableFuture<Long> countQuery = CompletableFuture.supplyAsync(
+            () -> tasksRepository.searchTasksCount(filterSignature, roleSignature, excludeCaseIds, searchRequest),
+            taskSearchExecutor
         );
 
-        if (isEmpty(taskIds)) {
-            return new GetTasksResponse<>(List.of(), 0);
+        TaskSearchPage page;
+        Long count;
+        try {
+            page = awaitFirstFailure(pageQuery, countQuery);
+            if (isEmpty(page.taskIds())) {
+                countQuery.cancel(true);
+                return new GetTasksResponse<>(List.of(), 0);
+            }
+            count = awaitFirstFailure(countQuery, pageQuery);
+        } catch (RuntimeException e) {
+            pageQuery.cancel(true);
+            countQuery.cancel(true);
+            throw e;
         }
-
-        Long count = tasksRepository.searchTasksCount(filterSignature, roleSignature, excludeCaseIds, searchRequest);
+        List<String> taskIds = page.taskIds();
+        String nextPageToken = page.nextPageToken() == null ? null : page.nextPageToken().encode();
 
         Sort sort = TaskSearchSortProvider.getSortOrders(searchRequest);
-        final List<TaskResource> taskResources = tasksRepository.findAllByTaskIdIn(taskIds, sort);
+        final List<TaskResource> taskResources = tasksRepository.findAllWithTaskRolesByTaskIdIn(taskIds, sort);
 
         final List<Task> tasks = taskResources.stream()
             .map(taskResource ->
@@ -159,15 +263,67 @@ public class CFTTaskDatabaseService {
                      )
             ).toList();
 
-        return new GetTasksResponse<>(tasks, count);
+        return new GetTasksResponse<>(tasks, count, nextPageToken);
     }
 
     public List<TaskResource> findTaskToUpdateIndex() {
         return tasksRepository.findByIndexedFalseAndStateIn(List.of(CFTTaskState.ASSIGNED, CFTTaskState.UNASSIGNED));
     }
 
-    public List<TaskResource> findLastFiveUpdatedTasks() {
-        return tasksRepository.findTop5ByOrderByLastUpdatedTimestampDesc();
+    public List<String> indexTasks(int batchSize) {
+        return tasksRepository.indexTasks(batchSize);
+    }
+
+    public List<String> fillMissingSignatures(int batchSize) {
+        return tasksRepository.fillMissingSignatures(batchSize);
+    }
+
+    public long countTasksToIndex() {
+        return tasksRepository.countTasksToIndex();
+    }
+
+    public double getIndexingLagSeconds() {
+        return tasksRepository.getIndexingLagSeconds();
+    }
+
+    public void writeReplicationHeartbeat(String instanceName, String marker, OffsetDateTime heartbeatTime) {
+        tasksRepository.writeReplicationHeartbeat(instanceName, marker, heartbeatTime);
+    }
+
+    private TaskSearchPage searchTasksPage(int firstResult,
+                                           int maxResults,
+                                           SearchPageToken pageToken,
+                                           Set<String> filterSignature,
+                                           Set<String> roleSignature,
+                                           List<String> excludeCaseIds,
+                                           SearchRequest searchRequest) {
+        if (searchRequest.isKeysetPagination()) {
+            return tasksRepository.searchTasksPage(
+                maxResults, pageToken, filterSignature, roleSignature, excludeCaseIds, searchRequest
+            );
+        }
+        return new TaskSearchPage(tasksRepository.searchTasksIds(
+            firstResult, maxResults, filterSignature, roleSignature, excludeCaseIds, searchRequest
+        ), null);
+    }
+
+    /**
+     * Waits for the query, failing as soon as either the query or the other query running alongside it fails.
+     */
+    private <T> T awaitFirstFailure(CompletableFuture<T> query, CompletableFuture<?> other) {
+        CompletableFuture<Object> firstFailure = CompletableFuture.anyOf(query, other.thenCompose(result -> query));
+        try {
+            firstFailure.get();
+            return query.get();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServerErrorException("Interrupted while searching for tasks", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new ServerErrorException("Could not search for tasks", e.getCause());
+        }
     }
 
     private List<String> buildExcludedCaseIds(List<RoleAssignment> roleAssignments) {
@@ -148,7 +148,9 @@ public class CFTTaskMapper {
             .forEach((key, value) -> mapVariableToTaskResourceProperty(taskResource, key, value));
 
         List<PermissionsDmnEvaluationResponse> permissions = taskConfigurationResults.getPermissionsDmnResponse();
-        taskResource.setTaskRoleResources(mapPermissions(permissions, taskResource));
+        taskResource.setTaskRoleResources(
+            mergeTaskRoleResources(taskResource.getTaskRoleResources(), mapPermissions(permissions, taskResource))
+        );
         return taskResource;
     }
 
@@ -173,7 +175,9 @@ public class CFTTaskMapper {
         reconfigureAdditionalTaskAttribute(taskResource, configurationAdditionalAttributeDmnResponse);
 
         List<PermissionsDmnEvaluationResponse> permissions = taskConfigurationResults.getPermissionsDmnResponse();
-        taskResource.setTaskRoleResources(mapPermissions(permissions, taskResource));
+        taskResource.setTaskRoleResources(
+            mergeTaskRoleResources(taskResource.getTaskRoleResources(), mapPermissions(permissions, taskResource))
+        );
         return taskResource;
     }
 
@@ -387,6 +391,58 @@ public class CFTTaskMapper {
         return permissionsFound;
     }
 
+    /**
+     * Merges the roles mapped from the permissions into the current roles of a task by role name. Current
+     * roles are kept and updated in place, so that only the rows of roles that were added, changed or
+     * removed are written when the task is saved.
+     */
+    private Set<TaskRoleResource> mergeTaskRoleResources(Set<TaskRoleResource> currentRoles,
+                                                         Set<TaskRoleResource> mappedRoles) {
+        if (currentRoles == null || currentRoles.isEmpty()) {
+            return mappedRoles;
+        }
+        Map<String, TaskRoleResource> currentByRoleName = currentRoles.stream()
+            .collect(Collectors.toMap(TaskRoleResource::getRoleName, role -> role, (first, second) -> first));
+
+        Set<TaskRoleResource> mergedRoles = new HashSet<>();
+        for (TaskRoleResource mappedRole : mappedRoles) {
+            TaskRoleResource currentRole = currentByRoleName.get(mappedRole.getRoleName());
+            if (currentRole == null) {
+                mergedRoles.add(mappedRole);
+            } else {
+                updateTaskRoleResource(currentRole, mappedRole);
+                mergedRoles.add(currentRole);
+            }
+        }
+        return mergedRoles;
+    }
+
+    private void updateTaskRoleResource(TaskRoleResource currentRole, TaskRoleResource mappedRole) {
+        currentRole.setRead(mappedRole.getRead());
+        currentRole.setOwn(mappedRole.getOwn());
+        currentRole.setExecute(mappedRole.getExecute());
+        currentRole.setManage(mappedRole.getManage());
+        currentRole.setCancel(mappedRole.getCancel());
+        currentRole.setRefer(mappedRole.getRefer());
+        currentRole.setComplete(mappedRole.getComplete());
+        currentRole.setCompleteOwn(mappedRole.getCompleteOwn());
+        currentRole.setCancelOwn(mappedRole.getCancelOwn());
+        currentRole.setClaim(mappedRole.getClaim());
+        currentRole.setUnclaim(mappedRole.getUnclaim());
+        currentRole.setAssign(mappedRole.getAssign());
+        currentRole.setUnassign(mappedRole.getUnassign());
+        currentRole.setUnclaimAssign(mappedRole.getUnclaimAssign());
+        currentRole.setUnassignClaim(mappedRole.getUnassignClaim());
+        currentRole.setUnassignAssign(mappedRole.getUnassignAssign());
+        //Keep the loaded array unless the authorisations changed
+        if (!Arrays.equals(currentRole.getAuthorizations(), mappedRole.getAuthorizations())) {
+            currentRole.setAuthorizations(mappedRole.getAuthorizations());
+        }
+        currentRole.setAssignmentPriority(mappedRole.getAssignmentPriority());
+        currentRole.setAutoAssignable(mappedRole.getAutoAssignable());
+        currentRole.setRoleCategory(mappedRole.getRoleCategory());
+    }
+
     private Set<TaskRoleResource> mapPermissions(
         List<PermissionsDmnEvaluationResponse> permissions,
         TaskResource taskResource
@@ -5,14 +5,18 @@ import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.datatype.jdk8.Jdk8Module;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.CamundaValue;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.ConfigurationDmnEvaluationResponse;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.PermissionsDmnEvaluationResponse;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.ccd.CaseDetails;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.configuration.TaskConfigurationResults;
+import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.ServerErrorException;
 import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.AssigneeConfigurationException;
 import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.enums.ErrorMessages;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.CaseDataCache.CaseData;
 import uk.gov.hmcts.reform.wataskmanagementapi.services.calendar.DateTypeConfigurator;
 
 import java.util.Arrays;
@@ -21,6 +25,11 @@ import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Executor;
+import java.util.concurrent.FutureTask;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
 import java.util.stream.Collectors;
 
 import static java.util.stream.Collectors.toMap;
@@ -40,16 +49,26 @@ public class CaseConfigurationProviderService {
     private final DmnEvaluationService dmnEvaluationService;
     private final ObjectMapper objectMapper;
     private final DateTypeConfigurator dateTypeConfigurator;
+    private final CaseDataCache caseDataCache;
+    private final Executor dmnEvaluationExecutor;
+    private final long dmnEvaluationTimeoutMillis;
 
     @Autowired
     public CaseConfigurationProviderService(CcdDataService ccdDataService,
                                             DmnEvaluationService dmnEvaluationService,
                                             ObjectMapper objectMapper,
-                                            DateTypeConfigurator dateTypeConfigurator) {
+                                            DateTypeConfigurator dateTypeConfigurator,
+                                            CaseDataCache caseDataCache,
+                                            @Qualifier("dmnEvaluationExecutorService") Executor dmnEvaluationExecutor,
+                                            @Value("${config.dmn.evaluationTimeoutMillis}")
+                                            long dmnEvaluationTimeoutMillis) {
         this.ccdDataService = ccdDataService;
         this.dmnEvaluationService = dmnEvaluationService;
         this.objectMapper = objectMapper;
         this.dateTypeConfigurator = dateTypeConfigurator;
+        this.caseDataCache = caseDataCache;
+        this.dmnEvaluationExecutor = dmnEvaluationExecutor;
+        this.dmnEvaluationTimeoutMillis = dmnEvaluationTimeoutMillis;
     }
 
     /**
@@ -59,55 +78,81 @@ public class CaseConfigurationProviderService {
      * @param taskAttributes taskAttributes
      * @return a map with the process variables configuration
      */
-    @SuppressWarnings("unchecked")
     public TaskConfigurationResults getCaseRelatedConfiguration(
             String caseId,
             Map<String, Object> taskAttributes,
             boolean isReconfigureRequest) {
-        // Obtain case from ccd
-        CaseDetails caseDetails = ccdDataService.getCaseData(caseId);
+        // Obtain case from ccd, tasks of the same case reconfigured in one run share the case data
+        CaseData caseData = isReconfigureRequest
+            ? caseDataCache.get(caseId, this::getCaseData)
+            : getCaseData(caseId);
+        return getCaseRelatedConfiguration(caseData, taskAttributes, isReconfigureRequest);
+    }
 
-        String caseDataString = writeValueAsString(caseDetails.getData());
+    /**
+     * Obtains a list of process variables that are related to case data already retrieved from ccd,
+     * e.g. shared by the tasks of a case initiated together.
+     *
+     * @param caseData       the ccd case data
+     * @param taskAttributes taskAttributes
+     * @return a map with the process variables configuration
+     */
+    @SuppressWarnings("unchecked")
+    public TaskConfigurationResults getCaseRelatedConfiguration(
+            CaseData caseData,
+            Map<String, Object> taskAttributes,
+            boolean isReconfigureRequest) {
+        CaseDetails caseDetails = caseData.caseDetails();
+
+        String caseDataString = caseData.caseDataString();
         String taskAttributesString = writeValueAsString(taskAttributes);
         log.debug("Case Configuration : task Attributes {}", taskAttributesString);
         String jurisdiction = caseDetails.getJurisdiction();
         String caseType = caseDetails.getCaseType();
-        // Evaluate Dmns
-        List<ConfigurationDmnEvaluationResponse> taskConfigurationDmnResults =
-            dmnEvaluationService.evaluateTaskConfigurationDmn(
+        // Evaluate Dmns, the permissions DMN does not depend on the configuration DMN so both run at once
+        FutureTask<List<PermissionsDmnEvaluationResponse>> permissionsDmnTask = new FutureTask<>(
+            () -> dmnEvaluationService.evaluateTaskPermissionsDmn(
                 jurisdiction,
                 caseType,
                 caseDataString,
                 taskAttributesString
-            );
-        log.debug("Case Configuration : taskConfigurationDmn Results {}", taskConfigurationDmnResults);
-
-        taskConfigurationDmnResults
-            .forEach(r -> {
-                Objects.requireNonNull(r.getName(), "Configuration name cannot be null");
-                Objects.requireNonNull(r.getName().getValue(), "Configuration name value cannot be null");
-                Objects.requireNonNull(r.getValue(), "Configuration value cannot be null");
-            });
-
-        boolean initiationDueDateFound = taskAttributes.containsKey(DUE_DATE.value());
-
-        List<ConfigurationDmnEvaluationResponse> taskConfigurationDmnResultsAfterUpdate
-            = updateTaskConfigurationDmnResultsForAdditionalProperties(
-            taskConfigurationDmnResults,
-            initiationDueDateFound,
-            isReconfigureRequest,
-            taskAttributes
-        );
-        taskConfigurationDmnResultsAfterUpdate =
-            normalizeAssigneeConfigurationResults(taskConfigurationDmnResultsAfterUpdate);
+            ));
+        dmnEvaluationExecutor.execute(permissionsDmnTask);
 
-        List<PermissionsDmnEvaluationResponse> permissionsDmnResults =
-            dmnEvaluationService.evaluateTaskPermissionsDmn(
-                jurisdiction,
-                caseType,
-                caseDataString,
-                taskAttributesString
+        List<ConfigurationDmnEvaluationResponse> taskConfigurationDmnResultsAfterUpdate;
+        try {
+            List<ConfigurationDmnEvaluationResponse> taskConfigurationDmnResults =
+                dmnEvaluationService.evaluateTaskConfigurationDmn(
+                    jurisdiction,
+                    caseType,
+                    caseDataString,
+                    taskAttributesString
+                );
+            log.debug("Case Configuration : taskConfigurationDmn Results {}", taskConfigurationDmnResults);
+
+            taskConfigurationDmnResults
+                .forEach(r -> {
+                    Objects.requireNonNull(r.getName(), "Configuration name cannot be null");
+                    Objects.requireNonNull(r.getName().getValue(), "Configuration name value cannot be null");
+                    Objects.requireNonNull(r.getValue(), "Configuration value cannot be null");
+                });
+
+            boolean initiationDueDateFound = taskAttributes.containsKey(DUE_DATE.value());
+
+            taskConfigurationDmnResultsAfterUpdate = updateTaskConfigurationDmnResultsForAdditionalProperties(
+                taskConfigurationDmnResults,
+                initiationDueDateFound,
+                isReconfigureRequest,
+                taskAttributes
             );
+            taskConfigurationDmnResultsAfterUpdate =
+                normalizeAssigneeConfigurationResults(taskConfigurationDmnResultsAfterUpdate);
+        } catch (RuntimeException e) {
+            permissionsDmnTask.cancel(true);
+            throw e;
+        }
+
+        List<PermissionsDmnEvaluationResponse> permissionsDmnResults = awaitPermissionsDmn(permissionsDmnTask);
         log.debug("Case Configuration : permissionsDmn Results {}", permissionsDmnResults);
         List<PermissionsDmnEvaluationResponse> filteredPermissionDmnResults
             = permissionsDmnResults.stream()
@@ -154,6 +199,25 @@ public class CaseConfigurationProviderService {
             );
     }
 
+    private List<PermissionsDmnEvaluationResponse> awaitPermissionsDmn(
+        FutureTask<List<PermissionsDmnEvaluationResponse>> permissionsDmnTask) {
+        try {
+            return permissionsDmnTask.get(dmnEvaluationTimeoutMillis, TimeUnit.MILLISECONDS);
+        } catch (InterruptedException e) {
+            permissionsDmnTask.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new ServerErrorException("Interrupted while evaluating permissions DMN", e);
+        } catch (TimeoutException e) {
+            permissionsDmnTask.cancel(true);
+            throw new ServerErrorException("Timed out evaluating permissions DMN", e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof RuntimeException runtimeException) {
+                throw runtimeException;
+            }
+            throw new ServerErrorException("Could not evaluate permissions DMN", e.getCause());
+        }
+    }
+
     private List<ConfigurationDmnEvaluationResponse> updateTaskConfigurationDmnResultsForAdditionalProperties(
         List<ConfigurationDmnEvaluationResponse> taskConfigurationDmnResults,
         boolean initiationDueDateFound,
@@ -277,6 +341,11 @@ public class CaseConfigurationProviderService {
         return caseConfigurationVariables;
     }
 
+    public CaseData getCaseData(String caseId) {
+        CaseDetails caseDetails = ccdDataService.getCaseData(caseId);
+        return new CaseData(caseDetails, writeValueAsString(caseDetails.getData()));
+    }
+
     private String writeValueAsString(Map<String, Object> data) {
         try {
             objectMapper.registerModule(new Jdk8Module());
@@ -0,0 +1,50 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services;
+
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.ccd.CaseDetails;
+
+import java.util.function.Function;
+
+/**
+ * Short lived cache of CCD case data used while reconfiguring tasks, so the tasks of a case that are
+ * reconfigured in the same run share one CCD call and one serialisation of the case data.
+ */
+@Component
+public class CaseDataCache {
+
+    public static final String CACHE_NAME = "case_data";
+
+    private final boolean enabled;
+    private final Cache<String, CaseData> cache;
+
+    @Autowired
+    public CaseDataCache(@Qualifier("caseDataCaffeineConfig") Caffeine<Object, Object> caffeineConfig,
+                         MeterRegistry meterRegistry,
+                         @Value("${caffeine.case-data.enabled}") boolean enabled) {
+        this.enabled = enabled;
+        this.cache = caffeineConfig.build();
+        CaffeineCacheMetrics.monitor(meterRegistry, cache, CACHE_NAME);
+    }
+
+    public CaseData get(String caseId, Function<String, CaseData> loader) {
+        return enabled ? cache.get(caseId, loader) : loader.apply(caseId);
+    }
+
+    /**
+     * Discards all cached case data, called at the start of each reconfiguration run so that a run
+     * never uses case data fetched before it started.
+     */
+    public void invalidateAll() {
+        cache.invalidateAll();
+    }
+
+    public record CaseData(CaseDetails caseDetails, String caseDataString) {
+    }
+}
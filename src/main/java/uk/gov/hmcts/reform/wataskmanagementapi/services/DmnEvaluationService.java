@@ -12,15 +12,18 @@ import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.CamundaObjectMappe
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.ConfigurationDmnEvaluationResponse;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.DecisionTableRequest;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.DmnRequest;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.EvaluationResponse;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.PermissionsDmnEvaluationResponse;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.TaskTypesDmnEvaluationResponse;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.TaskTypesDmnResponse;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.dmn.LocalDmnEvaluator;
 
 import java.util.HashSet;
 import java.util.List;
 import java.util.Locale;
 import java.util.Optional;
 import java.util.Set;
+import java.util.function.Supplier;
 
 import static uk.gov.hmcts.reform.wataskmanagementapi.domain.DecisionTable.WA_TASK_CONFIGURATION;
 import static uk.gov.hmcts.reform.wataskmanagementapi.domain.DecisionTable.WA_TASK_PERMISSIONS;
@@ -35,6 +38,7 @@ public class DmnEvaluationService {
     private final CamundaServiceApi camundaServiceApi;
     private final AuthTokenGenerator serviceAuthTokenGenerator;
     private final CamundaObjectMapper camundaObjectMapper;
+    private final LocalDmnEvaluator localDmnEvaluator;
 
     @Value("${config.fieldsToExcludeFromTrim}")
     private List<String> fieldsToExcludeFromTrim;
@@ -44,10 +48,12 @@ public class DmnEvaluationService {
 
     public DmnEvaluationService(CamundaServiceApi camundaServiceApi,
                                 AuthTokenGenerator serviceAuthTokenGenerator,
-                                CamundaObjectMapper camundaObjectMapper) {
+                                CamundaObjectMapper camundaObjectMapper,
+                                LocalDmnEvaluator localDmnEvaluator) {
         this.camundaServiceApi = camundaServiceApi;
         this.serviceAuthTokenGenerator = serviceAuthTokenGenerator;
         this.camundaObjectMapper = camundaObjectMapper;
+        this.localDmnEvaluator = localDmnEvaluator;
     }
 
     public List<PermissionsDmnEvaluationResponse> evaluateTaskPermissionsDmn(String jurisdiction,
@@ -102,11 +108,18 @@ public class DmnEvaluationService {
         String caseData,
         String taskAttributes) {
         try {
-            List<ConfigurationDmnEvaluationResponse> dmnResponse = camundaServiceApi.evaluateConfigurationDmnTable(
-                serviceAuthTokenGenerator.generate(),
+            List<ConfigurationDmnEvaluationResponse> dmnResponse = evaluateDecisionTable(
                 decisionTableKey,
-                jurisdiction.toLowerCase(Locale.ROOT),
-                new DmnRequest<>(new DecisionTableRequest(jsonValue(caseData), jsonValue(taskAttributes)))
+                jurisdiction,
+                caseData,
+                taskAttributes,
+                ConfigurationDmnEvaluationResponse.class,
+                () -> camundaServiceApi.evaluateConfigurationDmnTable(
+                    serviceAuthTokenGenerator.generate(),
+                    decisionTableKey,
+                    jurisdiction.toLowerCase(Locale.ROOT),
+                    new DmnRequest<>(new DecisionTableRequest(jsonValue(caseData), jsonValue(taskAttributes)))
+                )
             );
 
             cleanFieldsWithInternalDefaults(dmnConfigFieldsWithInternalDefaults, dmnResponse);
@@ -133,11 +146,18 @@ public class DmnEvaluationService {
         String caseData,
         String taskAttributes) {
         try {
-            List<PermissionsDmnEvaluationResponse> dmnResponse = camundaServiceApi.evaluatePermissionsDmnTable(
-                serviceAuthTokenGenerator.generate(),
+            List<PermissionsDmnEvaluationResponse> dmnResponse = evaluateDecisionTable(
                 decisionTableKey,
-                jurisdiction.toLowerCase(Locale.ROOT),
-                new DmnRequest<>(new DecisionTableRequest(jsonValue(caseData), jsonValue(taskAttributes)))
+                jurisdiction,
+                caseData,
+                taskAttributes,
+                PermissionsDmnEvaluationResponse.class,
+                () -> camundaServiceApi.evaluatePermissionsDmnTable(
+                    serviceAuthTokenGenerator.generate(),
+                    decisionTableKey,
+                    jurisdiction.toLowerCase(Locale.ROOT),
+                    new DmnRequest<>(new DecisionTableRequest(jsonValue(caseData), jsonValue(taskAttributes)))
+                )
             );
             return dmnResponse.stream().map(CamundaHelper::removeSpaces).toList();
         } catch (FeignException e) {
@@ -149,6 +169,20 @@ public class DmnEvaluationService {
         }
     }
 
+    private <T extends EvaluationResponse> List<T> evaluateDecisionTable(String decisionTableKey,
+                                                                         String jurisdiction,
+                                                                         String caseData,
+                                                                         String taskAttributes,
+                                                                         Class<T> responseType,
+                                                                         Supplier<List<T>> remoteEvaluation) {
+        if (localDmnEvaluator.isEnabled()) {
+            return localDmnEvaluator.evaluate(
+                decisionTableKey, jurisdiction, caseData, taskAttributes, responseType, remoteEvaluation
+            );
+        }
+        return remoteEvaluation.get();
+    }
+
     private Set<TaskTypesDmnResponse> performRetrieveTaskTypesDmn(String jurisdiction, String dmnDecisionKey) {
         try {
             List<TaskTypesDmnResponse> taskTypesDmnResponseList = camundaServiceApi.getTaskTypesDmnTable(
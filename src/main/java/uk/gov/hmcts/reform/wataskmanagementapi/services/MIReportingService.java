@@ -53,6 +53,10 @@ public class MIReportingService {
         return taskHistoryRepository.findAllByTaskIdOrderByUpdatedDesc(taskId);
     }
 
+    public boolean isHeartbeatReplicated(String instanceName, String marker) {
+        return taskHistoryRepository.isHeartbeatReplicated(instanceName, marker);
+    }
+
     public List<ReportableTaskResource> findByReportingTaskId(String taskId) {
         return reportableTaskRepository.findAllByTaskIdOrderByUpdatedAsc(taskId);
     }
@@ -88,8 +92,18 @@ public class MIReportingService {
     private void ensurePublicationConfigured() {
         if (!isPublicationPresent()) {
             createPublication();
-        } else if (!isWorkTypesInPublication()) {
+            return;
+        }
+        boolean tablesAdded = false;
+        if (!isWorkTypesInPublication()) {
             addWorkTypesToPublication();
+            tablesAdded = true;
+        }
+        if (!isHeartbeatInPublication()) {
+            addHeartbeatToPublication();
+            tablesAdded = true;
+        }
+        if (tablesAdded) {
             subscriptionCreator.refreshSubscription();
         }
     }
@@ -139,6 +153,15 @@ public class MIReportingService {
         }
     }
 
+    protected boolean isHeartbeatInPublication() {
+        if (taskResourceRepository.countHeartbeatPublicationTables() == 0) {
+            log.info("Replication heartbeat not added to publication");
+            return false;
+        } else {
+            return true;
+        }
+    }
+
     private void createPublication() {
         taskResourceRepository.createPublication();
         log.info("Created publication");
@@ -149,6 +172,11 @@ public class MIReportingService {
         log.info("Added work types to publication");
     }
 
+    private void addHeartbeatToPublication() {
+        taskResourceRepository.addHeartbeatToPublication();
+        log.info("Added replication heartbeat to publication");
+    }
+
     protected boolean isSubscriptionPresent() {
         int count = taskHistoryRepository.countSubscriptions();
         if (count == 0) {
@@ -0,0 +1,162 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import io.micrometer.core.instrument.Timer;
+import io.micrometer.core.instrument.distribution.ValueAtPercentile;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.annotation.Profile;
+import org.springframework.dao.DataAccessException;
+import org.springframework.stereotype.Component;
+
+import java.time.OffsetDateTime;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static java.util.concurrent.TimeUnit.MILLISECONDS;
+import static java.util.concurrent.TimeUnit.NANOSECONDS;
+
+/**
+ * Measures the replication lag of the reporting replica with heartbeats. A heartbeat upserts the row of this
+ * instance in the replicated heartbeat table on the primary with a new marker, and is replicated once the
+ * marker shows up in the heartbeat table of the replica. Only one heartbeat is outstanding at a time, it is
+ * either replicated or given up on after the timeout before the next one is written. Every instance has its
+ * own row, keyed by its instance name, so that instances do not overwrite the markers of each other.
+ *
+ * <p>The heartbeat table is replicated next to the tasks, so heartbeats never touch the tasks or the
+ * reporting tables.
+ */
+@Slf4j
+@Component
+@Profile("replica | preview")
+@SuppressWarnings("PMD.AvoidUsingVolatile")
+public class ReplicationLagMonitor {
+
+    private static final String TASK_REPLICATION_ERROR = "TASK_REPLICATION_ERROR: Task replication not found for [{}]";
+
+    private final CFTTaskDatabaseService cftTaskDatabaseService;
+    private final MIReportingService miReportingService;
+    private final String instanceName;
+    private final long heartbeatIntervalNanos;
+    private final long timeoutNanos;
+    private final Timer lagTimer;
+    private final Counter missedCounter;
+    private final AtomicLong lagMillis = new AtomicLong(-1);
+    private volatile Heartbeat lastHeartbeat;
+    private volatile Heartbeat pendingHeartbeat;
+    private volatile OffsetDateTime lastReplicated;
+
+    @Autowired
+    public ReplicationLagMonitor(CFTTaskDatabaseService cftTaskDatabaseService,
+                                 MIReportingService miReportingService,
+                                 MeterRegistry meterRegistry,
+                                 @Value("${config.replicationMonitor.instanceName}") String instanceName,
+                                 @Value("${config.replicationMonitor.heartbeatIntervalMillis}")
+                                 long heartbeatIntervalMillis,
+                                 @Value("${config.replicationMonitor.timeoutMillis}") long timeoutMillis) {
+        this.cftTaskDatabaseService = cftTaskDatabaseService;
+        this.miReportingService = miReportingService;
+        this.instanceName = instanceName;
+        this.heartbeatIntervalNanos = MILLISECONDS.toNanos(heartbeatIntervalMillis);
+        this.timeoutNanos = MILLISECONDS.toNanos(timeoutMillis);
+        this.lagTimer = Timer.builder("wa.replication.lag")
+            .description("Time from a heartbeat being written on the primary to it reaching the replica")
+            .publishPercentiles(0.5, 0.95, 0.99)
+            .register(meterRegistry);
+        this.missedCounter = Counter.builder("wa.replication.heartbeat.missed")
+            .description("Heartbeats that did not reach the replica heartbeat table within the timeout")
+            .register(meterRegistry);
+        TimeGauge.builder("wa.replication.lag.last", lagMillis, MILLISECONDS, AtomicLong::get)
+            .description("Replication lag of the last heartbeat, negative when it was not replicated")
+            .register(meterRegistry);
+        TimeGauge.builder("wa.replication.heartbeat.pending", this, MILLISECONDS,
+                          ReplicationLagMonitor::getPendingMillis)
+            .description("Time the outstanding heartbeat has been waiting to be replicated")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Checks whether the outstanding heartbeat has been replicated, and writes the next heartbeat once none
+     * is outstanding and the heartbeat interval has passed.
+     */
+    public synchronized void probe() {
+        try {
+            if (pendingHeartbeat != null && !settle(pendingHeartbeat)) {
+                return;
+            }
+            if (lastHeartbeat == null || System.nanoTime() - lastHeartbeat.writtenNanos() >= heartbeatIntervalNanos) {
+                writeHeartbeat();
+            }
+        } catch (DataAccessException e) {
+            log.warn("Replication heartbeat could not be checked: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Describes the replication lag measured so far, without waiting for a heartbeat.
+     */
+    public Map<String, Object> getStatus() {
+        Map<String, Object> status = new LinkedHashMap<>();
+        status.put("replicated", lagMillis.get() >= 0);
+        status.put("lastLagMillis", lagMillis.get());
+        status.put("pendingHeartbeatMillis", getPendingMillis());
+        status.put("lastReplicated", lastReplicated == null ? null : lastReplicated.toString());
+        status.put("missedHeartbeats", (long) missedCounter.count());
+        Map<String, Double> percentiles = new LinkedHashMap<>();
+        for (ValueAtPercentile percentile : lagTimer.takeSnapshot().percentileValues()) {
+            percentiles.put("p" + Math.round(percentile.percentile() * 100), percentile.value(MILLISECONDS));
+        }
+        status.put("lagPercentilesMillis", percentiles);
+        return status;
+    }
+
+    public String getInstanceName() {
+        return instanceName;
+    }
+
+    private long getPendingMillis() {
+        Heartbeat heartbeat = pendingHeartbeat;
+        return heartbeat == null ? 0 : NANOSECONDS.toMillis(System.nanoTime() - heartbeat.writtenNanos());
+    }
+
+    /**
+     * Records the lag of the heartbeat once it has been replicated, or gives up on it after the timeout.
+     *
+     * @return false while the heartbeat is still outstanding
+     */
+    private boolean settle(Heartbeat heartbeat) {
+        if (miReportingService.isHeartbeatReplicated(instanceName, heartbeat.marker())) {
+            long lagNanos = System.nanoTime() - heartbeat.writtenNanos();
+            lagTimer.record(lagNanos, NANOSECONDS);
+            lagMillis.set(NANOSECONDS.toMillis(lagNanos));
+            lastReplicated = OffsetDateTime.now();
+            pendingHeartbeat = null;
+            return true;
+        }
+        if (System.nanoTime() - heartbeat.writtenNanos() < timeoutNanos) {
+            return false;
+        }
+        missedCounter.increment();
+        lagMillis.set(-1);
+        pendingHeartbeat = null;
+        log.warn(TASK_REPLICATION_ERROR, "instanceName: " + instanceName
+                                         + ", heartbeatTimestamp: " + heartbeat.written()
+                                         + ", marker: " + heartbeat.marker());
+        return true;
+    }
+
+    private void writeHeartbeat() {
+        Heartbeat heartbeat = new Heartbeat(UUID.randomUUID().toString(), OffsetDateTime.now(), System.nanoTime());
+        cftTaskDatabaseService.writeReplicationHeartbeat(instanceName, heartbeat.marker(), heartbeat.written());
+        lastHeartbeat = heartbeat;
+        pendingHeartbeat = heartbeat;
+    }
+
+    private record Heartbeat(String marker, OffsetDateTime written, long writtenNanos) {
+    }
+}
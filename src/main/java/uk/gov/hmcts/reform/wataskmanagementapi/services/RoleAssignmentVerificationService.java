@@ -3,11 +3,13 @@ package uk.gov.hmcts.reform.wataskmanagementapi.services;
 
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.permission.PermissionRequirements;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.RoleAssignment;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.RoleType;
 import uk.gov.hmcts.reform.wataskmanagementapi.cft.query.CftQueryService;
+import uk.gov.hmcts.reform.wataskmanagementapi.cft.query.RoleAssignmentEvaluator;
 import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
 import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.RoleAssignmentVerificationException;
 import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.TaskNotFoundException;
@@ -27,14 +29,27 @@ public class RoleAssignmentVerificationService {
     private final CFTTaskDatabaseService cftTaskDatabaseService;
     private final CftQueryService cftQueryService;
     private final CFTSensitiveTaskEventLogsDatabaseService cftSensitiveTaskEventLogsDatabaseService;
+    private final boolean inMemory;
 
-    @Autowired
     public RoleAssignmentVerificationService(CFTTaskDatabaseService cftTaskDatabaseService,
                                              CftQueryService cftQueryService,
                                              CFTSensitiveTaskEventLogsDatabaseService cftSensitiveTaskEventLogsDb) {
+        this(cftTaskDatabaseService, cftQueryService, cftSensitiveTaskEventLogsDb, false);
+    }
+
+    /**
+     * Role assignments are verified in memory against the task loaded with its task roles when inMemory is
+     * set, otherwise with a query joining the task roles and filtering on every role assignment.
+     */
+    @Autowired
+    public RoleAssignmentVerificationService(CFTTaskDatabaseService cftTaskDatabaseService,
+                                             CftQueryService cftQueryService,
+                                             CFTSensitiveTaskEventLogsDatabaseService cftSensitiveTaskEventLogsDb,
+                                             @Value("${config.roleAssignmentVerification.inMemory}") boolean inMemory) {
         this.cftTaskDatabaseService = cftTaskDatabaseService;
         this.cftQueryService = cftQueryService;
         this.cftSensitiveTaskEventLogsDatabaseService = cftSensitiveTaskEventLogsDb;
+        this.inMemory = inMemory;
     }
 
     public TaskResource verifyRoleAssignments(String taskId,
@@ -49,20 +64,17 @@ public class RoleAssignmentVerificationService {
                                               List<RoleAssignment> roleAssignments,
                                               PermissionRequirements permissionsRequired,
                                               ErrorMessages customErrorMessage) {
+        if (inMemory) {
+            return verifyRoleAssignmentsInMemory(taskId, roleAssignments, permissionsRequired, customErrorMessage);
+        }
         Optional<String> optionalCaseId = cftTaskDatabaseService.findCaseId(taskId);
         if (optionalCaseId.isEmpty()) {
             throw new TaskNotFoundException(TASK_NOT_FOUND_ERROR);
         } else {
             String caseId = optionalCaseId.get();
 
-            List<RoleAssignment> filteredRoleAssignments = roleAssignments.stream()
-                .filter(ra -> !ra.getRoleType().equals(RoleType.CASE) || ra.getAttributes() != null
-                    && ra.getAttributes().get("caseId") != null
-                    && caseId.equals(ra.getAttributes().get("caseId")))
-                .toList();
-
             Optional<TaskResource> optionalTaskResource = cftQueryService.getTask(
-                taskId, filteredRoleAssignments, permissionsRequired
+                taskId, filterCaseRoleAssignments(roleAssignments, caseId), permissionsRequired
             );
 
             if (optionalTaskResource.isEmpty()) {
@@ -81,4 +93,36 @@ public class RoleAssignmentVerificationService {
         }
     }
 
+    private TaskResource verifyRoleAssignmentsInMemory(String taskId,
+                                                       List<RoleAssignment> roleAssignments,
+                                                       PermissionRequirements permissionsRequired,
+                                                       ErrorMessages customErrorMessage) {
+        TaskResource taskResource = cftTaskDatabaseService.findByIdWithTaskRoles(taskId)
+            .filter(task -> task.getCaseId() != null)
+            .orElseThrow(() -> new TaskNotFoundException(TASK_NOT_FOUND_ERROR));
+
+        List<RoleAssignment> filteredRoleAssignments = filterCaseRoleAssignments(
+            roleAssignments, taskResource.getCaseId()
+        );
+        if (!RoleAssignmentEvaluator.hasAccess(taskResource, filteredRoleAssignments, permissionsRequired)) {
+            ErrorMessages currentErrorMessage = customErrorMessage == null
+                ? ROLE_ASSIGNMENT_VERIFICATIONS_FAILED
+                : customErrorMessage;
+
+            cftSensitiveTaskEventLogsDatabaseService.processSensitiveTaskEventLog(taskResource,
+                roleAssignments,
+                currentErrorMessage);
+            throw new RoleAssignmentVerificationException(currentErrorMessage);
+        }
+        return taskResource;
+    }
+
+    private List<RoleAssignment> filterCaseRoleAssignments(List<RoleAssignment> roleAssignments, String caseId) {
+        return roleAssignments.stream()
+            .filter(ra -> !ra.getRoleType().equals(RoleType.CASE) || ra.getAttributes() != null
+                && ra.getAttributes().get("caseId") != null
+                && caseId.equals(ra.getAttributes().get("caseId")))
+            .toList();
+    }
+
 }
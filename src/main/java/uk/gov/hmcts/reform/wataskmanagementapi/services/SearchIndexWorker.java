@@ -0,0 +1,152 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.TimeGauge;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Adds the active tasks that are not indexed yet to the search index, in batches claimed with
+ * FOR UPDATE SKIP LOCKED so that tasks being changed are left for a later batch. Indexing a task
+ * adds its signatures to the search index, so the batch size is adapted to how long batches take:
+ * halved when a batch is slower than the target and grown while full batches are fast.
+ *
+ * <p>Each scheduled run also writes the search signatures of a batch of active tasks that have none, which
+ * instances of an earlier release leave behind while a release is rolled out.
+ */
+@Slf4j
+@Component
+@SuppressWarnings("PMD.AvoidCatchingGenericException")
+public class SearchIndexWorker {
+
+    private final CFTTaskDatabaseService cftTaskDatabaseService;
+    private final int minBatchSize;
+    private final int maxBatchSize;
+    private final long targetBatchMillis;
+    private final int maxBatchesPerRun;
+    private final int maxBatchesPerRequest;
+    private final AtomicInteger batchSize;
+    private final AtomicLong backlog = new AtomicLong();
+    private final AtomicLong lagMillis = new AtomicLong();
+    private final Counter indexedCounter;
+
+    @Autowired
+    public SearchIndexWorker(CFTTaskDatabaseService cftTaskDatabaseService,
+                             MeterRegistry meterRegistry,
+                             @Value("${config.searchIndex.minBatchSize}") int minBatchSize,
+                             @Value("${config.searchIndex.maxBatchSize}") int maxBatchSize,
+                             @Value("${config.searchIndex.targetBatchMillis}") long targetBatchMillis,
+                             @Value("${config.searchIndex.maxBatchesPerRun}") int maxBatchesPerRun,
+                             @Value("${config.searchIndex.maxBatchesPerRequest}") int maxBatchesPerRequest) {
+        this.cftTaskDatabaseService = cftTaskDatabaseService;
+        this.minBatchSize = minBatchSize;
+        this.maxBatchSize = maxBatchSize;
+        this.targetBatchMillis = targetBatchMillis;
+        this.maxBatchesPerRun = maxBatchesPerRun;
+        this.maxBatchesPerRequest = maxBatchesPerRequest;
+        this.batchSize = new AtomicInteger(minBatchSize);
+        this.indexedCounter = Counter.builder("wa.search_index.indexed")
+            .description("Tasks added to the search index")
+            .register(meterRegistry);
+        Gauge.builder("wa.search_index.backlog", backlog, AtomicLong::get)
+            .description("Active tasks waiting to be added to the search index")
+            .register(meterRegistry);
+        TimeGauge.builder("wa.search_index.lag", lagMillis, TimeUnit.MILLISECONDS, AtomicLong::get)
+            .description("Time since the oldest change waiting to be added to the search index")
+            .register(meterRegistry);
+        Gauge.builder("wa.search_index.batch_size", batchSize, AtomicInteger::get)
+            .description("Current number of tasks indexed per batch")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Indexes batches of tasks until none are left or the batches per run are used up.
+     *
+     * @return the number of tasks indexed
+     */
+    public int indexTasks() {
+        fillMissingSignatures();
+        return indexTasks(maxBatchesPerRun);
+    }
+
+    /**
+     * Indexes batches of tasks on behalf of a request, until none are left or the batches per request are
+     * used up. The batches run on the request thread, so the tasks left over are indexed by later runs.
+     *
+     * @return the number of tasks indexed
+     */
+    public int indexRequestedTasks() {
+        return indexTasks(maxBatchesPerRequest);
+    }
+
+    private int indexTasks(int maxBatches) {
+        int indexed = 0;
+        try {
+            int batches = 0;
+            boolean fullBatch;
+            do {
+                int size = batchSize.get();
+                long start = System.nanoTime();
+                List<String> taskIds = cftTaskDatabaseService.indexTasks(size);
+                long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+
+                indexed += taskIds.size();
+                indexedCounter.increment(taskIds.size());
+                fullBatch = taskIds.size() == size;
+                adaptBatchSize(size, fullBatch, elapsedMillis);
+                batches++;
+                if (fullBatch && elapsedMillis > targetBatchMillis) {
+                    //Leave the database as much time as the slow batch took before claiming the next one
+                    TimeUnit.MILLISECONDS.sleep(elapsedMillis);
+                }
+            } while (fullBatch && batches < maxBatches);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        } catch (RuntimeException e) {
+            batchSize.set(minBatchSize);
+            log.warn("Could not update the search index, {} tasks indexed: {}", indexed, e.getMessage());
+        }
+        if (indexed > 0) {
+            log.info("Added {} tasks to the search index", indexed);
+        }
+        refreshBacklog();
+        return indexed;
+    }
+
+    private void fillMissingSignatures() {
+        try {
+            List<String> taskIds = cftTaskDatabaseService.fillMissingSignatures(batchSize.get());
+            if (!taskIds.isEmpty()) {
+                log.info("Wrote the missing search signatures of {} tasks", taskIds.size());
+            }
+        } catch (RuntimeException e) {
+            log.warn("Could not write the missing search signatures: {}", e.getMessage());
+        }
+    }
+
+    private void adaptBatchSize(int size, boolean fullBatch, long elapsedMillis) {
+        if (elapsedMillis > targetBatchMillis) {
+            batchSize.set(Math.max(minBatchSize, size / 2));
+        } else if (fullBatch && elapsedMillis < targetBatchMillis / 2) {
+            batchSize.set(Math.min(maxBatchSize, size + minBatchSize));
+        }
+    }
+
+    private void refreshBacklog() {
+        try {
+            backlog.set(cftTaskDatabaseService.countTasksToIndex());
+            lagMillis.set((long) (cftTaskDatabaseService.getIndexingLagSeconds() * 1000));
+        } catch (RuntimeException e) {
+            log.warn("Could not read the search index backlog: {}", e.getMessage());
+        }
+    }
+}
@@ -0,0 +1,225 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.SensitiveTaskEventLog;
+import uk.gov.hmcts.reform.wataskmanagementapi.repository.SensitiveTaskEventLogsRepository;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Writes sensitive task event logs in the background. Logs are held in a bounded buffer and written by a
+ * single thread in batches, as soon as a batch is full or once the oldest buffered log has waited for the
+ * maximum delay, so that the inserts are batched by the JDBC driver. When the buffer is full the overflow
+ * policy either waits for room for a while, drops the oldest buffered log or drops the new log.
+ *
+ * <p>Logs are written by the caller while the writer is not running. The logs still buffered when the
+ * writer stops are written before the flush thread ends, and any added meanwhile are written by
+ * {@link #drain()}.
+ */
+@Slf4j
+@Component
+@SuppressWarnings({"PMD.DoNotUseThreads", "PMD.AvoidCatchingGenericException", "PMD.AvoidUsingVolatile"})
+public class SensitiveTaskEventLogWriter implements SmartLifecycle {
+
+    public enum OverflowPolicy {
+        BLOCK,
+        DROP_OLDEST,
+        DROP_NEWEST
+    }
+
+    private final SensitiveTaskEventLogsRepository sensitiveTaskEventLogsRepository;
+    private final ExecutorService sensitiveTaskEventLogsExecutorService;
+    private final BlockingQueue<SensitiveTaskEventLog> buffer;
+    private final int batchSize;
+    private final long maxDelayMillis;
+    private final OverflowPolicy overflowPolicy;
+    private final long blockMillis;
+    private final Counter writtenCounter;
+    private final Counter failedCounter;
+    private final Counter droppedOldestCounter;
+    private final Counter droppedNewestCounter;
+    private volatile boolean running;
+
+    @Autowired
+    public SensitiveTaskEventLogWriter(SensitiveTaskEventLogsRepository sensitiveTaskEventLogsRepository,
+                                       @Qualifier("sensitiveTaskEventLogsExecutorService")
+                                       ExecutorService sensitiveTaskEventLogsExecutorService,
+                                       MeterRegistry meterRegistry,
+                                       @Value("${config.sensitiveEventLog.capacity}") int capacity,
+                                       @Value("${config.sensitiveEventLog.batchSize}") int batchSize,
+                                       @Value("${config.sensitiveEventLog.maxDelayMillis}") long maxDelayMillis,
+                                       @Value("${config.sensitiveEventLog.overflowPolicy}")
+                                       OverflowPolicy overflowPolicy,
+                                       @Value("${config.sensitiveEventLog.blockMillis}") long blockMillis) {
+        this.sensitiveTaskEventLogsRepository = sensitiveTaskEventLogsRepository;
+        this.sensitiveTaskEventLogsExecutorService = sensitiveTaskEventLogsExecutorService;
+        this.buffer = new ArrayBlockingQueue<>(capacity);
+        this.batchSize = batchSize;
+        this.maxDelayMillis = maxDelayMillis;
+        this.overflowPolicy = overflowPolicy;
+        this.blockMillis = blockMillis;
+        this.writtenCounter = Counter.builder("wa.sensitive_event_log.written")
+            .description("Sensitive task event logs written")
+            .register(meterRegistry);
+        this.failedCounter = Counter.builder("wa.sensitive_event_log.failed")
+            .description("Sensitive task event logs that could not be written")
+            .register(meterRegistry);
+        this.droppedOldestCounter = droppedCounter(meterRegistry, "oldest");
+        this.droppedNewestCounter = droppedCounter(meterRegistry, "newest");
+        Gauge.builder("wa.sensitive_event_log.buffered", buffer, BlockingQueue::size)
+            .description("Sensitive task event logs waiting to be written")
+            .register(meterRegistry);
+    }
+
+    @Override
+    public synchronized void start() {
+        if (!running) {
+            running = true;
+            sensitiveTaskEventLogsExecutorService.execute(this::flush);
+        }
+    }
+
+    /**
+     * Stops taking logs into the buffer, the flush thread writes the logs still buffered and ends.
+     */
+    @Override
+    public synchronized void stop() {
+        running = false;
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    /**
+     * Writes the logs left in the buffer once the flush thread has ended.
+     *
+     * @return the number of logs written
+     */
+    public int drain() {
+        List<SensitiveTaskEventLog> remaining = new ArrayList<>();
+        buffer.drainTo(remaining);
+        for (int from = 0; from < remaining.size(); from += batchSize) {
+            save(remaining.subList(from, Math.min(remaining.size(), from + batchSize)));
+        }
+        return remaining.size();
+    }
+
+    /**
+     * Adds a log to the buffer, or writes it straight away while the writer is not running.
+     *
+     * @return false when the log was dropped
+     */
+    public boolean write(SensitiveTaskEventLog sensitiveTaskEventLog) {
+        if (!running) {
+            save(List.of(sensitiveTaskEventLog));
+            return true;
+        }
+        if (buffer.offer(sensitiveTaskEventLog)) {
+            return true;
+        }
+        return switch (overflowPolicy) {
+            case BLOCK -> offerWithin(sensitiveTaskEventLog);
+            case DROP_OLDEST -> replaceOldest(sensitiveTaskEventLog);
+            case DROP_NEWEST -> drop(droppedNewestCounter, sensitiveTaskEventLog);
+        };
+    }
+
+    private boolean offerWithin(SensitiveTaskEventLog sensitiveTaskEventLog) {
+        try {
+            if (buffer.offer(sensitiveTaskEventLog, blockMillis, TimeUnit.MILLISECONDS)) {
+                return true;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        return drop(droppedNewestCounter, sensitiveTaskEventLog);
+    }
+
+    private boolean replaceOldest(SensitiveTaskEventLog sensitiveTaskEventLog) {
+        //Another caller may take the freed slot, in which case the new log is the one dropped
+        SensitiveTaskEventLog oldest = buffer.poll();
+        if (oldest != null) {
+            drop(droppedOldestCounter, oldest);
+        }
+        return buffer.offer(sensitiveTaskEventLog) || drop(droppedNewestCounter, sensitiveTaskEventLog);
+    }
+
+    private boolean drop(Counter counter, SensitiveTaskEventLog sensitiveTaskEventLog) {
+        counter.increment();
+        log.warn("Sensitive task event log buffer is full, dropped the log for taskId {}",
+                 sensitiveTaskEventLog.getTaskId());
+        return false;
+    }
+
+    private void flush() {
+        try {
+            while (running || !buffer.isEmpty()) {
+                SensitiveTaskEventLog first = buffer.poll(maxDelayMillis, TimeUnit.MILLISECONDS);
+                if (first != null) {
+                    List<SensitiveTaskEventLog> batch = new ArrayList<>(batchSize);
+                    batch.add(first);
+                    fill(batch);
+                    save(batch);
+                }
+            }
+        } catch (InterruptedException e) {
+            //The logs left in the buffer are written by drain
+            Thread.currentThread().interrupt();
+        }
+        log.info("Stopped writing sensitive task event logs");
+    }
+
+    private void fill(List<SensitiveTaskEventLog> batch) {
+        long deadline = System.nanoTime() + TimeUnit.MILLISECONDS.toNanos(maxDelayMillis);
+        try {
+            while (running && batch.size() < batchSize) {
+                long remaining = deadline - System.nanoTime();
+                SensitiveTaskEventLog next = remaining > 0 ? buffer.poll(remaining, TimeUnit.NANOSECONDS) : null;
+                if (next == null) {
+                    break;
+                }
+                batch.add(next);
+                buffer.drainTo(batch, batchSize - batch.size());
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        buffer.drainTo(batch, batchSize - batch.size());
+    }
+
+    private void save(List<SensitiveTaskEventLog> batch) {
+        if (batch.isEmpty()) {
+            return;
+        }
+        try {
+            sensitiveTaskEventLogsRepository.saveAll(batch);
+            writtenCounter.increment(batch.size());
+        } catch (RuntimeException e) {
+            failedCounter.increment(batch.size());
+            log.error("Couldn't save {} SensitiveTaskEventLogs for taskIds {}: {}", batch.size(),
+                      batch.stream().map(SensitiveTaskEventLog::getTaskId).toList(), e.getMessage());
+        }
+    }
+
+    private static Counter droppedCounter(MeterRegistry meterRegistry, String dropped) {
+        return Counter.builder("wa.sensitive_event_log.dropped")
+            .description("Sensitive task event logs dropped as the buffer was full")
+            .tag("dropped", dropped)
+            .register(meterRegistry);
+    }
+}
@@ -1,12 +1,7 @@
 package uk.gov.hmcts.reform.wataskmanagementapi.services;
 
 import feign.FeignException;
-import jakarta.persistence.EntityManager;
-import jakarta.persistence.PersistenceContext;
 import jakarta.persistence.PersistenceException;
-import jakarta.persistence.criteria.CriteriaBuilder;
-import jakarta.persistence.criteria.Predicate;
-import jakarta.persistence.criteria.Root;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.beans.factory.annotation.Autowired;
 import org.springframework.dao.DataAccessException;
@@ -23,8 +18,7 @@ import uk.gov.hmcts.reform.wataskmanagementapi.auth.permission.entities.Permissi
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.RoleAssignment;
 import uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.CFTTaskState;
 import uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.TerminationProcess;
-import uk.gov.hmcts.reform.wataskmanagementapi.cft.query.SelectTaskResourceQueryBuilder;
-import uk.gov.hmcts.reform.wataskmanagementapi.cft.query.TaskSearchQueryBuilder;
+import uk.gov.hmcts.reform.wataskmanagementapi.cft.query.RoleAssignmentEvaluator;
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.InitiateTaskRequestMap;
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.NotesRequest;
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.options.CompletionOptions;
@@ -52,6 +46,7 @@ import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.TaskNotFoundExcepti
 import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.enums.ErrorMessages;
 import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.validation.CustomConstraintViolationException;
 import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.validation.ServiceMandatoryFieldValidationException;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.outbox.CamundaOutboxService;
 import uk.gov.hmcts.reform.wataskmanagementapi.services.utils.TaskMandatoryFieldsValidator;
 
 import java.sql.SQLException;
@@ -119,9 +114,7 @@ public class TaskManagementService {
     private final TaskMandatoryFieldsValidator taskMandatoryFieldsValidator;
 
     private final TerminationProcessHelper terminationProcessHelper;
-
-    @PersistenceContext
-    private final EntityManager entityManager;
+    private final CamundaOutboxService camundaOutboxService;
 
     @Autowired
     public TaskManagementService(CamundaService camundaService,
@@ -130,22 +123,22 @@ public class TaskManagementService {
                                  ConfigureTaskService configureTaskService,
                                  TaskAutoAssignmentService taskAutoAssignmentService,
                                  RoleAssignmentVerificationService roleAssignmentVerification,
-                                 EntityManager entityManager,
                                  IdamTokenGenerator idamTokenGenerator,
                                  CFTSensitiveTaskEventLogsDatabaseService cftSensitiveTaskEventLogsDatabaseService,
                                  TaskMandatoryFieldsValidator taskMandatoryFieldsValidator,
-                                 TerminationProcessHelper terminationProcessHelper) {
+                                 TerminationProcessHelper terminationProcessHelper,
+                                 CamundaOutboxService camundaOutboxService) {
         this.camundaService = camundaService;
         this.cftTaskDatabaseService = cftTaskDatabaseService;
         this.cftTaskMapper = cftTaskMapper;
         this.configureTaskService = configureTaskService;
         this.taskAutoAssignmentService = taskAutoAssignmentService;
         this.roleAssignmentVerification = roleAssignmentVerification;
-        this.entityManager = entityManager;
         this.idamTokenGenerator = idamTokenGenerator;
         this.cftSensitiveTaskEventLogsDatabaseService = cftSensitiveTaskEventLogsDatabaseService;
         this.taskMandatoryFieldsValidator = taskMandatoryFieldsValidator;
         this.terminationProcessHelper = terminationProcessHelper;
+        this.camundaOutboxService = camundaOutboxService;
     }
 
     protected void updateTaskActionAttributesForAssign(TaskResource taskResource, String assigner,
@@ -220,7 +213,7 @@ public class TaskManagementService {
         task.setAssignee(userId);
         setTaskActionAttributes(task, userId, TaskAction.CLAIM);
 
-        camundaService.assignTask(taskId, userId, false);
+        camundaOutboxService.assignTask(taskId, userId);
 
         //Commit transaction
         cftTaskDatabaseService.saveTask(task);
@@ -256,7 +249,7 @@ public class TaskManagementService {
             taskResource.getTaskRoleResources()
         )) {
             cftSensitiveTaskEventLogsDatabaseService.processSensitiveTaskEventLog(
-                taskId,
+                taskResource,
                 accessControlResponse.getRoleAssignments(),
                 ROLE_ASSIGNMENT_VERIFICATIONS_FAILED
             );
@@ -273,7 +266,7 @@ public class TaskManagementService {
         task.setAssignee(null);
         setTaskActionAttributes(task, userId, taskAction);
         //Perform Camunda updates
-        camundaService.unclaimTask(taskId, taskHasUnassigned);
+        camundaOutboxService.unclaimTask(taskId, taskHasUnassigned);
         //Commit transaction
         cftTaskDatabaseService.saveTask(task);
     }
@@ -343,10 +336,9 @@ public class TaskManagementService {
                 updateTaskActionAttributesForAssign(task, assigner.getUid(),
                                                     Optional.of(assignee.get().getUid()), currentAssignee);
                 //Perform Camunda updates
-                camundaService.assignTask(
+                camundaOutboxService.assignTask(
                     taskId,
-                    assignee.get().getUid(),
-                    false
+                    assignee.get().getUid()
                 );
 
                 //Commit transaction
@@ -383,7 +375,7 @@ public class TaskManagementService {
             && (taskResource.getAssignee() == null
             || !userId.equals(taskResource.getAssignee()))) {
             cftSensitiveTaskEventLogsDatabaseService.processSensitiveTaskEventLog(
-                taskId,
+                taskResource,
                 accessControlResponse.getRoleAssignments(),
                 ROLE_ASSIGNMENT_VERIFICATIONS_FAILED
             );
@@ -392,6 +384,7 @@ public class TaskManagementService {
 
         //Lock & update Task
         TaskResource task = findByIdAndObtainLock(taskId);
+        camundaOutboxService.discardPending(taskId);
         CFTTaskState previousTaskState = task.getState();
         task.setState(CFTTaskState.CANCELLED);
 
@@ -455,6 +448,7 @@ public class TaskManagementService {
 
         //Lock & update Task
         TaskResource task = findByIdAndObtainLock(taskId);
+        camundaOutboxService.discardPending(taskId);
         CFTTaskState state = task.getState();
         taskHasCompleted = state != null
             && (state.equals(CFTTaskState.COMPLETED)
@@ -507,6 +501,7 @@ public class TaskManagementService {
 
             //Lock & update Task
             TaskResource task = findByIdAndObtainLock(taskId);
+            camundaOutboxService.discardPending(taskId);
             task.setState(CFTTaskState.COMPLETED);
             setTaskActionAttributes(task, userId, TaskAction.COMPLETED);
             //Perform Camunda updates
@@ -546,6 +541,7 @@ public class TaskManagementService {
         }
         //Terminate the task if found in the database
         if (task != null) {
+            camundaOutboxService.discardPending(taskId);
             //Update cft task and terminate reason
             boolean isCamundaStateUpdated = false;
             try {
@@ -653,30 +649,17 @@ public class TaskManagementService {
             return emptyList();
         }
 
-        SelectTaskResourceQueryBuilder selectQueryBuilder = new SelectTaskResourceQueryBuilder(entityManager);
-        CriteriaBuilder builder = selectQueryBuilder.builder;
-        Root<TaskResource> root = selectQueryBuilder.root;
-
-        final Predicate selectPredicate = TaskSearchQueryBuilder.buildTaskRolePermissionsQuery(
-            taskResource.get().getTaskId(), accessControlResponse.getRoleAssignments(), builder, root);
-
-        final Optional<TaskResource> taskResourceQueryResult = selectQueryBuilder
-            .where(selectPredicate)
-            .build()
-            .getResultList()
-            .stream()
-            .findFirst();
-
-        if (taskResourceQueryResult.isEmpty()) {
+        List<RoleAssignment> roleAssignments = accessControlResponse.getRoleAssignments();
+        if (!RoleAssignmentEvaluator.hasReadPermission(taskResource.get(), roleAssignments)) {
             cftSensitiveTaskEventLogsDatabaseService.processSensitiveTaskEventLog(
                 taskId,
-                accessControlResponse.getRoleAssignments(),
+                roleAssignments,
                 ROLE_ASSIGNMENT_VERIFICATIONS_FAILED
             );
             throw new RoleAssignmentVerificationException(ROLE_ASSIGNMENT_VERIFICATIONS_FAILED);
         }
 
-        return taskResourceQueryResult.get().getTaskRoleResources().stream()
+        return taskResource.get().getTaskRoleResources().stream()
             .map(r -> cftTaskMapper.mapToTaskRolePermissions(r))
             .sorted(Comparator.comparing(TaskRolePermissions::getRoleName))
             .toList();
@@ -5,6 +5,7 @@ import org.springframework.util.CollectionUtils;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SearchRequest;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SortingParameter;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.List;
 import java.util.Locale;
@@ -43,33 +44,31 @@ public final class TaskSearchSortProvider {
 
     public static String getSortOrderQuery(SearchRequest searchRequest) {
         StringBuilder orderColumns = new StringBuilder("ORDER BY ");
-        List<SortingParameter> sortingParameters = searchRequest.getSortingParameters();
+        List<SortingParameter> sortingParameters = getSortingParameters(searchRequest);
 
-        if (!CollectionUtils.isEmpty(sortingParameters)) {
-            for (SortingParameter sortBy : sortingParameters) {
-                orderColumns.append(sortBy.getSortBy().getDbColumnName())
-                    .append(' ')
-                    .append(sortBy.getSortOrder().toString().toUpperCase(Locale.ROOT))
-                    .append(", ");
-            }
+        for (int i = 0; i < sortingParameters.size(); i++) {
+            SortingParameter sortBy = sortingParameters.get(i);
+            orderColumns.append(sortBy.getSortBy().getDbColumnName())
+                .append(' ')
+                .append(sortBy.getSortOrder().toString().toUpperCase(Locale.ROOT))
+                .append(i < sortingParameters.size() - 1 ? ", " : " ");
         }
-        orderColumns.append(MAJOR_PRIORITY.getDbColumnName())
-            .append(' ')
-            .append(ASCENDANT.toString().toUpperCase(Locale.ROOT))
-            .append(", ")
-            .append(PRIORITY_DATE.getDbColumnName())
-            .append(' ')
-            .append(ASCENDANT.toString().toUpperCase(Locale.ROOT))
-            .append(", ")
-            .append(MINOR_PRIORITY.getDbColumnName())
-            .append(' ')
-            .append(ASCENDANT.toString().toUpperCase(Locale.ROOT))
-            .append(", ")
-            .append(TASK_ID.getDbColumnName())
-            .append(' ')
-            .append(ASCENDANT.toString().toUpperCase(Locale.ROOT))
-            .append(' ');
 
         return orderColumns.toString();
     }
+
+    /**
+     * Returns the requested sorting parameters followed by the default priority order and the task id,
+     * which together give a total order over the search results.
+     */
+    public static List<SortingParameter> getSortingParameters(SearchRequest searchRequest) {
+        List<SortingParameter> sortingParameters = new ArrayList<>();
+        if (!CollectionUtils.isEmpty(searchRequest.getSortingParameters())) {
+            sortingParameters.addAll(searchRequest.getSortingParameters());
+        }
+        Stream.of(MAJOR_PRIORITY, PRIORITY_DATE, MINOR_PRIORITY, TASK_ID)
+            .map(sortField -> new SortingParameter(sortField, ASCENDANT))
+            .forEach(sortingParameters::add);
+        return sortingParameters;
+    }
 }
@@ -0,0 +1,235 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services.cache;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import lombok.extern.slf4j.Slf4j;
+import org.postgresql.PGConnection;
+import org.postgresql.PGNotification;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.cache.Cache;
+import org.springframework.cache.CacheManager;
+import org.springframework.context.SmartLifecycle;
+import org.springframework.jdbc.core.JdbcTemplate;
+import org.springframework.stereotype.Component;
+
+import java.sql.Connection;
+import java.sql.DriverManager;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+
+/**
+ * Evicts cache entries on every instance of the service. Invalidations are published with pg_notify on
+ * the primary database, within the current transaction when there is one so that they are only delivered
+ * once the change they follow is committed, and every instance listens on the channel with a dedicated
+ * connection opened outside its pool. Invalidations published while an instance is not listening are lost,
+ * so an instance evicts all its caches whenever it starts listening again.
+ *
+ * <p>Caches are found by name among the {@link InvalidatableCache} beans and the caches of every
+ * {@link CacheManager}. An invalidation without a key evicts the whole cache.
+ */
+@Slf4j
+@Component
+@SuppressWarnings({"PMD.DoNotUseThreads", "PMD.AvoidCatchingGenericException", "PMD.AvoidUsingVolatile"})
+public class CacheInvalidationBus implements SmartLifecycle {
+
+    static final String CHANNEL = "wa_cache_invalidation";
+    private static final String NOTIFY = "select pg_notify(?, ?)";
+    private static final char SEPARATOR = ':';
+
+    private final String listenUrl;
+    private final Properties listenProperties;
+    private final JdbcTemplate jdbcTemplate;
+    private final List<InvalidatableCache> caches;
+    private final List<CacheManager> cacheManagers;
+    private final MeterRegistry meterRegistry;
+    private final boolean enabled;
+    private final int pollMillis;
+    private final long retryMillis;
+    private volatile boolean running;
+    private ExecutorService listener;
+
+    @Autowired
+    public CacheInvalidationBus(@Qualifier("entityManagerDataSource") DataSource dataSource,
+                                List<InvalidatableCache> caches,
+                                List<CacheManager> cacheManagers,
+                                MeterRegistry meterRegistry,
+                                @Value("${config.cacheInvalidation.enabled}") boolean enabled,
+                                @Value("${config.cacheInvalidation.pollMillis}") int pollMillis,
+                                @Value("${config.cacheInvalidation.retryMillis}") long retryMillis,
+                                @Value("${spring.datasource.jdbcUrl}") String listenUrl,
+                                @Value("${spring.datasource.username}") String username,
+                                @Value("${spring.datasource.password}") String password) {
+        this.listenUrl = listenUrl;
+        this.listenProperties = new Properties();
+        listenProperties.setProperty("user", username);
+        listenProperties.setProperty("password", password);
+        //A connection that only waits for notifications would otherwise not notice the database going away
+        listenProperties.setProperty("tcpKeepAlive", "true");
+        this.jdbcTemplate = new JdbcTemplate(dataSource);
+        this.caches = List.copyOf(caches);
+        this.cacheManagers = List.copyOf(cacheManagers);
+        this.meterRegistry = meterRegistry;
+        this.enabled = enabled;
+        this.pollMillis = pollMillis;
+        this.retryMillis = retryMillis;
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Evicts a key from a cache on every instance.
+     */
+    public void publish(String cacheName, String key) {
+        send(cacheName, key);
+    }
+
+    /**
+     * Evicts all the entries of a cache on every instance.
+     */
+    public void publishAll(String cacheName) {
+        send(cacheName, null);
+    }
+
+    private void send(String cacheName, String key) {
+        if (!enabled) {
+            invalidate(cacheName, key);
+            return;
+        }
+        String payload = key == null ? cacheName : cacheName + SEPARATOR + key;
+        jdbcTemplate.queryForList(NOTIFY, CHANNEL, payload);
+        counter("wa.cache_invalidation.published", "Cache invalidations published", cacheName).increment();
+        log.debug("Published invalidation of cache {} key {}", cacheName, key);
+    }
+
+    /**
+     * Applies an invalidation received from the channel to the caches of this instance.
+     */
+    void receive(String payload) {
+        int separator = payload.indexOf(SEPARATOR);
+        String cacheName = separator < 0 ? payload : payload.substring(0, separator);
+        String key = separator < 0 ? null : payload.substring(separator + 1);
+        counter("wa.cache_invalidation.received", "Cache invalidations received", cacheName).increment();
+        invalidate(cacheName, key);
+    }
+
+    void invalidate(String cacheName, String key) {
+        for (InvalidatableCache cache : caches) {
+            if (cache.getCacheName().equals(cacheName)) {
+                if (key == null) {
+                    cache.evictAll();
+                } else {
+                    cache.evict(key);
+                }
+            }
+        }
+        for (CacheManager cacheManager : cacheManagers) {
+            //Caches are looked up by name first as dynamic cache managers create the caches they are asked for
+            Cache cache = cacheManager.getCacheNames().contains(cacheName) ? cacheManager.getCache(cacheName) : null;
+            if (cache != null) {
+                if (key == null) {
+                    cache.invalidate();
+                } else {
+                    cache.evictIfPresent(key);
+                }
+            }
+        }
+    }
+
+    void invalidateAll() {
+        caches.forEach(InvalidatableCache::evictAll);
+        for (CacheManager cacheManager : cacheManagers) {
+            for (String cacheName : cacheManager.getCacheNames()) {
+                Cache cache = cacheManager.getCache(cacheName);
+                if (cache != null) {
+                    cache.invalidate();
+                }
+            }
+        }
+    }
+
+    @Override
+    public void start() {
+        if (!enabled) {
+            log.info("Cache invalidation across instances is disabled");
+            return;
+        }
+        running = true;
+        listener = Executors.newSingleThreadExecutor(runnable -> {
+            Thread thread = new Thread(runnable, "cache-invalidation-listener");
+            thread.setDaemon(true);
+            return thread;
+        });
+        listener.execute(this::listen);
+    }
+
+    @Override
+    public void stop() {
+        running = false;
+        if (listener != null) {
+            listener.shutdownNow();
+        }
+    }
+
+    @Override
+    public boolean isRunning() {
+        return running;
+    }
+
+    private void listen() {
+        boolean listened = false;
+        while (running) {
+            try (Connection connection = DriverManager.getConnection(listenUrl, listenProperties);
+                 Statement statement = connection.createStatement()) {
+                statement.execute("LISTEN " + CHANNEL);
+                PGConnection pgConnection = connection.unwrap(PGConnection.class);
+                if (listened) {
+                    //Invalidations published while the connection was lost have been missed
+                    invalidateAll();
+                }
+                listened = true;
+                log.info("Listening for cache invalidations on channel {}", CHANNEL);
+
+                while (running) {
+                    PGNotification[] notifications = pgConnection.getNotifications(pollMillis);
+                    if (notifications != null) {
+                        for (PGNotification notification : notifications) {
+                            receive(notification.getParameter());
+                        }
+                    }
+                }
+            } catch (SQLException | RuntimeException e) {
+                if (running) {
+                    log.warn("Lost the cache invalidation channel, listening again in {} ms: {}",
+                             retryMillis, e.getMessage());
+                    pause();
+                }
+            }
+        }
+    }
+
+    private void pause() {
+        try {
+            TimeUnit.MILLISECONDS.sleep(retryMillis);
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            running = false;
+        }
+    }
+
+    private Counter counter(String name, String description, String cacheName) {
+        return Counter.builder(name)
+            .description(description)
+            .tag("cache", cacheName)
+            .register(meterRegistry);
+    }
+}
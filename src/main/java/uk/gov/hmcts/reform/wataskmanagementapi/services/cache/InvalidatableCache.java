@@ -0,0 +1,14 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services.cache;
+
+/**
+ * A cache held by each instance whose entries can be evicted across the cluster through the
+ * {@link CacheInvalidationBus}.
+ */
+public interface InvalidatableCache {
+
+    String getCacheName();
+
+    void evict(String key);
+
+    void evictAll();
+}
@@ -0,0 +1,169 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services.calendar;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.calendar.BankHolidays;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.CalendarSnapshot;
+import uk.gov.hmcts.reform.wataskmanagementapi.repository.CalendarSnapshotRepository;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.cache.InvalidatableCache;
+
+import java.time.OffsetDateTime;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Optional;
+import java.util.Set;
+
+/**
+ * Holds the public holiday calendars used for date calculation. Calendars are loaded at startup and
+ * refreshed in the background by the calendar refresh scheduler, and again ahead of expiry when they are
+ * read. The last good copy of each calendar is persisted and served when its source can not be reached,
+ * so date calculation only calls the source on the request path for a calendar never retrieved before.
+ */
+@Slf4j
+@Component
+@SuppressWarnings("PMD.AvoidCatchingGenericException")
+public class CalendarStore implements InvalidatableCache {
+
+    public static final String CACHE_NAME = "calendar_cache";
+
+    private final PublicHolidayService publicHolidayService;
+    private final CalendarSnapshotRepository calendarSnapshotRepository;
+    private final ObjectMapper objectMapper;
+    private final List<String> preloadUris;
+    private final LoadingCache<String, BankHolidays> calendars;
+
+    @Autowired
+    public CalendarStore(PublicHolidayService publicHolidayService,
+                         CalendarSnapshotRepository calendarSnapshotRepository,
+                         ObjectMapper objectMapper,
+                         @Qualifier("calendarCaffeineConfig") Caffeine<Object, Object> caffeineConfig,
+                         MeterRegistry meterRegistry,
+                         @Value("${config.calendar.preloadUris}") List<String> preloadUris) {
+        this.publicHolidayService = publicHolidayService;
+        this.calendarSnapshotRepository = calendarSnapshotRepository;
+        this.objectMapper = objectMapper;
+        this.preloadUris = preloadUris;
+        this.calendars = caffeineConfig.build(new CalendarLoader());
+        CaffeineCacheMetrics.monitor(meterRegistry, calendars, CACHE_NAME);
+    }
+
+    public BankHolidays getCalendar(String uri) {
+        return calendars.get(uri);
+    }
+
+    @Override
+    public String getCacheName() {
+        return CACHE_NAME;
+    }
+
+    @Override
+    public void evict(String uri) {
+        calendars.invalidate(uri);
+    }
+
+    @Override
+    public void evictAll() {
+        calendars.invalidateAll();
+    }
+
+    /**
+     * Loads the configured and previously retrieved calendars that are not held yet from their last good
+     * copy, then refreshes every calendar from its source. A calendar is only replaced when its content has
+     * changed, and calendars that can not be refreshed are kept. A calendar that has not changed is put again
+     * all the same, so that it does not expire while it is kept up to date here.
+     */
+    public void refreshAll() {
+        Set<String> uris = new LinkedHashSet<>(preloadUris);
+        uris.addAll(calendars.asMap().keySet());
+        for (CalendarSnapshot snapshot : calendarSnapshotRepository.findAll()) {
+            uris.add(snapshot.getUri());
+            if (calendars.getIfPresent(snapshot.getUri()) == null) {
+                read(snapshot).ifPresent(calendar -> calendars.put(snapshot.getUri(), calendar));
+            }
+        }
+
+        for (String uri : uris) {
+            try {
+                BankHolidays current = calendars.getIfPresent(uri);
+                BankHolidays fetched = fetch(uri);
+                calendars.put(uri, current == null || !sameContent(current, fetched) ? fetched : current);
+            } catch (RuntimeException e) {
+                log.warn("Could not refresh calendar {}, keeping the last good copy: {}", uri, e.getMessage());
+            }
+        }
+    }
+
+    private BankHolidays fetch(String uri) {
+        BankHolidays calendar = publicHolidayService.getPublicHolidays(uri);
+        try {
+            calendarSnapshotRepository.upsert(uri, objectMapper.writeValueAsString(calendar), OffsetDateTime.now());
+        } catch (JsonProcessingException | RuntimeException e) {
+            log.warn("Could not persist calendar {}: {}", uri, e.getMessage());
+        }
+        return calendar;
+    }
+
+    private boolean sameContent(BankHolidays current, BankHolidays fetched) {
+        try {
+            return objectMapper.writeValueAsString(current).equals(objectMapper.writeValueAsString(fetched));
+        } catch (JsonProcessingException e) {
+            return false;
+        }
+    }
+
+    private Optional<BankHolidays> lastGoodCopy(String uri) {
+        try {
+            return calendarSnapshotRepository.findById(uri).flatMap(this::read);
+        } catch (RuntimeException e) {
+            log.warn("Could not read the last good copy of calendar {}: {}", uri, e.getMessage());
+            return Optional.empty();
+        }
+    }
+
+    private Optional<BankHolidays> read(CalendarSnapshot snapshot) {
+        try {
+            return Optional.of(objectMapper.readValue(snapshot.getContent(), BankHolidays.class));
+        } catch (JsonProcessingException e) {
+            log.warn("Could not read the last good copy of calendar {}", snapshot.getUri(), e);
+            return Optional.empty();
+        }
+    }
+
+    private final class CalendarLoader implements CacheLoader<String, BankHolidays> {
+
+        @Override
+        public BankHolidays load(String uri) {
+            try {
+                return fetch(uri);
+            } catch (RuntimeException e) {
+                Optional<BankHolidays> lastGoodCopy = lastGoodCopy(uri);
+                if (lastGoodCopy.isEmpty()) {
+                    throw e;
+                }
+                log.warn("Could not retrieve calendar {}, using the last good copy: {}", uri, e.getMessage());
+                return lastGoodCopy.get();
+            }
+        }
+
+        @Override
+        public BankHolidays reload(String uri, BankHolidays oldValue) {
+            try {
+                BankHolidays fetched = fetch(uri);
+                return sameContent(oldValue, fetched) ? oldValue : fetched;
+            } catch (RuntimeException e) {
+                log.warn("Could not refresh calendar {}, keeping the last good copy: {}", uri, e.getMessage());
+                return oldValue;
+            }
+        }
+    }
+}
@@ -1,5 +1,7 @@
 package uk.gov.hmcts.reform.wataskmanagementapi.services.calendar;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.stereotype.Component;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.CamundaValue;
@@ -13,7 +15,7 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
-import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.Supplier;
 import java.util.stream.Collectors;
 
 import static uk.gov.hmcts.reform.wataskmanagementapi.services.calendar.DateType.CALCULATED_DATES;
@@ -46,7 +48,13 @@ public class DateTypeConfigurator {
         + " Must be (nextHearingDate,dueDate,priorityDate)";
     public static final String AMBIGUOUS_ORIGIN_DATES_PROVIDED
         = "Origin dates have multiple occurrence, Date type can't be calculated.";
+    private static final int NO_STEP = -1;
+    private static final int MAXIMUM_CALCULATION_PLANS = 1000;
+
     private final List<DateCalculator> dateCalculators;
+    private final Cache<PlanKey, CalculationPlan> calculationPlans = Caffeine.newBuilder()
+        .maximumSize(MAXIMUM_CALCULATION_PLANS)
+        .build();
 
     public DateTypeConfigurator(List<DateCalculator> dateCalculators) {
         this.dateCalculators = dateCalculators;
@@ -58,60 +66,117 @@ public class DateTypeConfigurator {
         boolean isReconfigureRequest,
         Map<String, Object> taskAttributes) {
 
-        List<DateTypeObject> calculationOrder = readCalculationOrder(dmnConfigurationResponses);
-        log.info(
-            "Date Calculation order is {}",
-            calculationOrder.stream().map(c -> c.dateTypeName).collect(Collectors.joining(","))
+        List<ConfigurationDmnEvaluationResponse> configurationResponses
+            = new ArrayList<>(dmnConfigurationResponses.size());
+        List<String> names = new ArrayList<>(dmnConfigurationResponses.size());
+        ConfigurationDmnEvaluationResponse calculatedDates = null;
+        for (ConfigurationDmnEvaluationResponse response : dmnConfigurationResponses) {
+            String name = response.getName().getValue();
+            if (name.equals(CALCULATED_DATES.getType())) {
+                calculatedDates = response;
+            }
+            if (!name.contains(CALCULATED_DATES.getType())) {
+                configurationResponses.add(response);
+                names.add(name);
+            }
+        }
+        PlanKey planKey = new PlanKey(
+            names,
+            calculatedDates != null,
+            calculatedDates == null ? null : calculatedDates.getValue().getValue()
         );
-        AtomicReference<List<ConfigurationDmnEvaluationResponse>> calculatedResponses
-            = new AtomicReference<>(new ArrayList<>());
-        List<ConfigurationDmnEvaluationResponse> configurationResponsesWithoutCalculatedDates
-            = dmnConfigurationResponses.stream()
-            .filter(r -> !r.getName().getValue().contains(CALCULATED_DATES.getType()))
-            .toList();
-        AtomicReference<List<ConfigurationDmnEvaluationResponse>> configurationResponses
-            = new AtomicReference<>(new ArrayList<>(configurationResponsesWithoutCalculatedDates));
-
-        calculationOrder
-            .forEach(dateTypeObject -> {
-                List<ConfigurationDmnEvaluationResponse> dateProperties = configurationResponses.get().stream()
-                    .filter(r -> r.getName().getValue().contains(dateTypeObject.dateTypeName))
-                    .collect(Collectors.toList());
-
-                ConfigurationDmnEvaluationResponse dateTypeResponse = getResponseFromDateCalculator(
-                    isReconfigureRequest,
-                    dateTypeObject,
-                    dateProperties,
-                    calculatedResponses,
-                    taskAttributes,
-                    configurationResponses.get(),
-                    initiationDueDateFound
-                );
-                log.info("Calculated value of {} is as {}", dateTypeObject.dateTypeName, dateTypeResponse);
-                calculatedResponses.get().add(dateTypeResponse);
-                filterOutOldValueAndAddDateType(configurationResponses, dateTypeObject, dateTypeResponse,
-                                                isReconfigureRequest);
-            });
-
-        return configurationResponses.get();
+        DateCalculation dateCalculation = new DateCalculation(
+            calculationPlans.get(planKey, this::createCalculationPlan),
+            configurationResponses
+        );
+
+        List<DateTypeObject> calculationOrder = dateCalculation.plan.calculationOrder();
+        if (log.isDebugEnabled()) {
+            log.debug(
+                "Date Calculation order is {}",
+                calculationOrder.stream().map(c -> c.dateTypeName).collect(Collectors.joining(","))
+            );
+        }
+        List<ConfigurationDmnEvaluationResponse> calculatedResponses = new ArrayList<>();
+        for (int i = 0; i < calculationOrder.size(); i++) {
+            int step = i;
+            DateTypeObject dateTypeObject = calculationOrder.get(step);
+            ConfigurationDmnEvaluationResponse dateTypeResponse = getResponseFromDateCalculator(
+                isReconfigureRequest,
+                dateTypeObject,
+                dateCalculation.dateProperties(step),
+                calculatedResponses,
+                taskAttributes,
+                () -> dateCalculation.currentDueDate(step),
+                initiationDueDateFound
+            );
+            log.debug("Calculated value of {} is as {}", dateTypeObject.dateTypeName, dateTypeResponse);
+            calculatedResponses.add(dateTypeResponse);
+            if (isAddedToResponses(dateTypeObject, dateTypeResponse, isReconfigureRequest)) {
+                dateCalculation.add(step, dateTypeResponse);
+            }
+        }
+
+        return dateCalculation.result();
+    }
+
+    /**
+     * Resolves the calculation order and, for each response, the first date type whose name it contains.
+     * That date type reads the response as one of its properties and replaces it with its calculated value,
+     * so the response is not seen by the date types calculated after it.
+     */
+    private CalculationPlan createCalculationPlan(PlanKey planKey) {
+        List<DateTypeObject> calculationOrder = planKey.calculationOrderProvided()
+            ? readCalculationOrder(planKey.calculationOrder())
+            : DEFAULT_DATE_TYPES;
+        int[] dateTypeSteps = new int[planKey.names().size()];
+        for (int i = 0; i < dateTypeSteps.length; i++) {
+            dateTypeSteps[i] = firstStepContainedIn(calculationOrder, planKey.names().get(i), 0);
+        }
+        return new CalculationPlan(calculationOrder, dateTypeSteps);
+    }
+
+    private static int firstStepContainedIn(List<DateTypeObject> calculationOrder, String name, int fromStep) {
+        for (int step = fromStep; step < calculationOrder.size(); step++) {
+            if (name.contains(calculationOrder.get(step).dateTypeName)) {
+                return step;
+            }
+        }
+        return NO_STEP;
+    }
+
+    private static boolean isAddedToResponses(DateTypeObject dateTypeObject,
+                                              ConfigurationDmnEvaluationResponse dateTypeResponse,
+                                              boolean isReconfigureRequest) {
+        if (dateTypeResponse == null) {
+            return false;
+        }
+        if (!dateTypeResponse.getValue().getValue().isBlank()) {
+            return true;
+        }
+        //when configureDates is going through calculationOrder, and it's nextHearingDate & the value is empty,
+        // add it to the filtered responses and return
+        return dateTypeObject.dateTypeName.equals(NEXT_HEARING_DATE.getType())
+            && dateTypeResponse.getValue().getValue().isEmpty()
+            && isReconfigureRequest && dateTypeResponse.getCanReconfigure() != null
+            && dateTypeResponse.getCanReconfigure().getValue();
     }
 
     private ConfigurationDmnEvaluationResponse getDefaultValueForConfiguration(
         DateTypeObject dateTypeObject,
-        List<ConfigurationDmnEvaluationResponse> configResponses,
+        Supplier<Optional<ConfigurationDmnEvaluationResponse>> currentDueDate,
         boolean initiationDueDateFound) {
 
-        Optional<ConfigurationDmnEvaluationResponse> dueDate = configResponses.stream()
-            .filter(r -> r.getName().getValue().equals(DateType.DUE_DATE.getType()))
-            .findFirst();
-
         DateType dateType = dateTypeObject.dateType;
 
-        if (dateType == PRIORITY_DATE && dueDate.isPresent()) {
-            return ConfigurationDmnEvaluationResponse.builder()
-                .name(CamundaValue.stringValue(PRIORITY_DATE.getType()))
-                .value(dueDate.get().getValue())
-                .build();
+        if (dateType == PRIORITY_DATE) {
+            Optional<ConfigurationDmnEvaluationResponse> dueDate = currentDueDate.get();
+            if (dueDate.isPresent()) {
+                return ConfigurationDmnEvaluationResponse.builder()
+                    .name(CamundaValue.stringValue(PRIORITY_DATE.getType()))
+                    .value(dueDate.get().getValue())
+                    .build();
+            }
         }
 
         return dateType.getDefaultDateTime() == null
@@ -142,39 +207,32 @@ public class DateTypeConfigurator {
             .build();
     }
 
-    private List<DateTypeObject> readCalculationOrder(List<ConfigurationDmnEvaluationResponse> configResponses) {
-
-        Optional<List<DateTypeObject>> dateTypes = configResponses.stream()
-            .filter(r1 -> r1.getName().getValue().equals(CALCULATED_DATES.getType()))
-            .reduce((a, b) -> b)
-            .map(r -> Arrays.stream(r.getValue().getValue().split(","))
-                .map(s -> new DateTypeObject(DateType.from(s), s))
-                .toList());
-
-        if (dateTypes.isPresent()) {
-            List<DateTypeObject> filtered = new ArrayList<>(dateTypes.get()).stream()
-                .filter(d -> INTERMEDIATE_DATE != d.dateType)
-                .toList();
-            if (!new HashSet<>(filtered).containsAll(MANDATORY_DATE_TYPES)) {
-                throw new DateCalculationException(MANDATORY_DATES_NOT_PROVIDED_IN_CALCULATED_DATES);
-            }
+    private List<DateTypeObject> readCalculationOrder(String calculatedDates) {
+        List<DateTypeObject> dateTypes = Arrays.stream(calculatedDates.split(","))
+            .map(s -> new DateTypeObject(DateType.from(s), s))
+            .toList();
 
-            if (!filtered.equals(MANDATORY_DATE_TYPES)) {
-                throw new DateCalculationException(MANDATORY_DATES_NOT_IN_REQUIRED_ORDER_IN_CALCULATED_DATES);
-            }
+        List<DateTypeObject> filtered = dateTypes.stream()
+            .filter(d -> INTERMEDIATE_DATE != d.dateType)
+            .toList();
+        if (!new HashSet<>(filtered).containsAll(MANDATORY_DATE_TYPES)) {
+            throw new DateCalculationException(MANDATORY_DATES_NOT_PROVIDED_IN_CALCULATED_DATES);
+        }
 
-            return dateTypes.get();
+        if (!filtered.equals(MANDATORY_DATE_TYPES)) {
+            throw new DateCalculationException(MANDATORY_DATES_NOT_IN_REQUIRED_ORDER_IN_CALCULATED_DATES);
         }
-        return dateTypes.orElse(DEFAULT_DATE_TYPES);
+
+        return dateTypes;
     }
 
     private ConfigurationDmnEvaluationResponse getResponseFromDateCalculator(
         boolean isReconfigureRequest,
         DateTypeObject dateTypeObject,
         List<ConfigurationDmnEvaluationResponse> dateProperties,
-        AtomicReference<List<ConfigurationDmnEvaluationResponse>> calculatedConfigurations,
+        List<ConfigurationDmnEvaluationResponse> calculatedConfigurations,
         Map<String, Object> taskAttributes,
-        List<ConfigurationDmnEvaluationResponse> configurationResponses,
+        Supplier<Optional<ConfigurationDmnEvaluationResponse>> currentDueDate,
         boolean initiationDueDateFound) {
         Optional<DateCalculator> dateCalculator = dateProperties.isEmpty()
             ? Optional.empty()
@@ -185,7 +243,7 @@ public class DateTypeConfigurator {
                 dateTypeObject,
                 isReconfigureRequest,
                 taskAttributes,
-                calculatedConfigurations.get()
+                calculatedConfigurations
             );
         } else {
             if (isReconfigureRequest) {
@@ -198,7 +256,7 @@ public class DateTypeConfigurator {
                 }
                 return response;
             } else {
-                return getDefaultValueForConfiguration(dateTypeObject, configurationResponses, initiationDueDateFound);
+                return getDefaultValueForConfiguration(dateTypeObject, currentDueDate, initiationDueDateFound);
             }
         }
     }
@@ -230,28 +288,103 @@ public class DateTypeConfigurator {
         }
     }
 
-    private void filterOutOldValueAndAddDateType(
-        AtomicReference<List<ConfigurationDmnEvaluationResponse>> configResponses,
-        DateTypeObject dateTypeObject,
-        ConfigurationDmnEvaluationResponse dateTypeResponse,
-        boolean isReconfigureRequest) {
-        String dateTypeName = dateTypeObject.dateTypeName;
-        List<ConfigurationDmnEvaluationResponse> filtered = configResponses.get().stream()
-            .filter(r -> !r.getName().getValue().contains(dateTypeName))
-            .collect(Collectors.toList()); //NOSONAR List needs to be mutable.
-        if (dateTypeResponse != null) {
-            Optional.of(dateTypeResponse).filter(r -> !r.getValue().getValue().isBlank()).ifPresent(filtered::add);
+    /**
+     * The responses of one configureDates call laid out by the date type that reads them. Each step reads
+     * the responses assigned to it by the plan followed by the values calculated at earlier steps whose
+     * names contain its date type name, in the order they were calculated.
+     */
+    private static final class DateCalculation {
+
+        private final CalculationPlan plan;
+        private final List<ConfigurationDmnEvaluationResponse> configurationResponses;
+        private final List<List<ConfigurationDmnEvaluationResponse>> dateProperties;
+        private final ConfigurationDmnEvaluationResponse[] calculatedValues;
+        private final int[] calculatedValueSteps;
+
+        private DateCalculation(CalculationPlan plan,
+                                List<ConfigurationDmnEvaluationResponse> configurationResponses) {
+            this.plan = plan;
+            this.configurationResponses = configurationResponses;
+            int steps = plan.calculationOrder().size();
+            this.dateProperties = new ArrayList<>(steps);
+            for (int step = 0; step < steps; step++) {
+                dateProperties.add(new ArrayList<>());
+            }
+            for (int i = 0; i < configurationResponses.size(); i++) {
+                int step = plan.dateTypeSteps()[i];
+                if (step != NO_STEP) {
+                    dateProperties.get(step).add(configurationResponses.get(i));
+                }
+            }
+            this.calculatedValues = new ConfigurationDmnEvaluationResponse[steps];
+            this.calculatedValueSteps = new int[steps];
         }
-        //when configureDates is going through calculationOrder, and it's nextHearingDate & the value is empty,
-        // add it to the filtered responses and return
-        if (dateTypeResponse != null && dateTypeName.equals(NEXT_HEARING_DATE.getType())
-            && dateTypeResponse.getValue() != null && dateTypeResponse.getValue().getValue() != null
-            && dateTypeResponse.getValue().getValue().isEmpty()
-            && isReconfigureRequest && dateTypeResponse.getCanReconfigure() != null
-            && dateTypeResponse.getCanReconfigure().getValue()) {
-            Optional.of(dateTypeResponse).filter(r -> r.getValue().getValue().isBlank()).ifPresent(filtered::add);
+
+        private List<ConfigurationDmnEvaluationResponse> dateProperties(int step) {
+            return dateProperties.get(step);
         }
-        configResponses.getAndSet(filtered);
+
+        private void add(int step, ConfigurationDmnEvaluationResponse calculatedValue) {
+            int readAtStep = firstStepContainedIn(plan.calculationOrder(), calculatedValue.getName().getValue(),
+                                                  step + 1);
+            calculatedValues[step] = calculatedValue;
+            calculatedValueSteps[step] = readAtStep;
+            if (readAtStep != NO_STEP) {
+                dateProperties.get(readAtStep).add(calculatedValue);
+            }
+        }
+
+        /**
+         * Returns the first due date among the responses that have not been read before the given step.
+         */
+        private Optional<ConfigurationDmnEvaluationResponse> currentDueDate(int step) {
+            for (int i = 0; i < configurationResponses.size(); i++) {
+                if (isUnread(plan.dateTypeSteps()[i], step) && isDueDate(configurationResponses.get(i))) {
+                    return Optional.of(configurationResponses.get(i));
+                }
+            }
+            for (int i = 0; i < step; i++) {
+                if (calculatedValues[i] != null && isUnread(calculatedValueSteps[i], step)
+                    && isDueDate(calculatedValues[i])) {
+                    return Optional.of(calculatedValues[i]);
+                }
+            }
+            return Optional.empty();
+        }
+
+        private List<ConfigurationDmnEvaluationResponse> result() {
+            int steps = calculatedValues.length;
+            List<ConfigurationDmnEvaluationResponse> result = new ArrayList<>();
+            for (int i = 0; i < configurationResponses.size(); i++) {
+                if (plan.dateTypeSteps()[i] == NO_STEP) {
+                    result.add(configurationResponses.get(i));
+                }
+            }
+            for (int i = 0; i < steps; i++) {
+                if (calculatedValues[i] != null && calculatedValueSteps[i] == NO_STEP) {
+                    result.add(calculatedValues[i]);
+                }
+            }
+            return result;
+        }
+
+        private static boolean isUnread(int readAtStep, int step) {
+            return readAtStep == NO_STEP || readAtStep >= step;
+        }
+
+        private static boolean isDueDate(ConfigurationDmnEvaluationResponse response) {
+            return response.getName().getValue().equals(DateType.DUE_DATE.getType());
+        }
+    }
+
+    private record PlanKey(List<String> names, boolean calculationOrderProvided, String calculationOrder) {
+    }
+
+    /**
+     * The calculation order for a shape of DMN responses and, for each response, the index of the date type
+     * in the calculation order that reads it, or NO_STEP when no date type does.
+     */
+    private record CalculationPlan(List<DateTypeObject> calculationOrder, int[] dateTypeSteps) {
     }
 
     record DateTypeObject(DateType dateType, String dateTypeName) {
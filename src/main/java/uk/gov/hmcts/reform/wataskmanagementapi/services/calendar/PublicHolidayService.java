@@ -4,7 +4,6 @@ import feign.Feign;
 import feign.codec.Decoder;
 import feign.codec.Encoder;
 import lombok.extern.slf4j.Slf4j;
-import org.springframework.cache.annotation.Cacheable;
 import org.springframework.context.annotation.Import;
 import org.springframework.stereotype.Component;
 import uk.gov.hmcts.reform.wataskmanagementapi.clients.BankHolidaysApi;
@@ -25,7 +24,9 @@ public class PublicHolidayService {
         this.feignEncoder = feignEncoder;
     }
 
-    @Cacheable(value = "calendar_cache", key = "#uri", sync = true, cacheManager = "calendarCacheManager")
+    /**
+     * Retrieves a calendar from its source, calendars are read through the {@link CalendarStore}.
+     */
     public BankHolidays getPublicHolidays(String uri) {
         BankHolidaysApi bankHolidaysApi = bankHolidaysApi(uri);
         return bankHolidaysApi.retrieveAll();
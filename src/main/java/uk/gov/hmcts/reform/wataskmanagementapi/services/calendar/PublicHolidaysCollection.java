@@ -1,5 +1,7 @@
 package uk.gov.hmcts.reform.wataskmanagementapi.services.calendar;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import feign.FeignException;
 import feign.codec.DecodeException;
 import lombok.extern.slf4j.Slf4j;
@@ -13,9 +15,10 @@ import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.CalendarResourceNotFou
 import java.time.LocalDate;
 import java.time.format.DateTimeFormatter;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 /**
  * Stores all public holidays for england and wales retrieved from Gov uk API: https://www.gov.uk/bank-holidays/england-and-wales.json .
@@ -26,45 +29,75 @@ import java.util.stream.Collectors;
 @Import(SnakeCaseFeignConfiguration.class)
 public class PublicHolidaysCollection {
 
-    private final PublicHolidayService publicHolidayService;
+    private static final DateTimeFormatter DATE_FORMATTER = DateTimeFormatter.ofPattern("yyyy-MM-dd");
+    private static final int MAXIMUM_MERGED_CALENDARS = 100;
 
-    public PublicHolidaysCollection(PublicHolidayService publicHolidayService) {
-        this.publicHolidayService = publicHolidayService;
+    private final CalendarStore calendarStore;
+    private final Cache<List<String>, MergedCalendars> mergedCalendars = Caffeine.newBuilder()
+        .maximumSize(MAXIMUM_MERGED_CALENDARS)
+        .build();
+
+    public PublicHolidaysCollection(CalendarStore calendarStore) {
+        this.calendarStore = calendarStore;
     }
 
+    /**
+     * Returns the public holidays of the calendars, later calendars overriding earlier ones. The same set is
+     * returned for as long as the calendars it was merged from are unchanged.
+     */
     public Set<LocalDate> getPublicHolidays(List<String> uris) {
-        List<BankHolidays.EventDate> events = new ArrayList<>();
-        BankHolidays allPublicHolidays = BankHolidays.builder().events(events).build();
-        if (uris != null) {
-            for (String uri : uris) {
-                try {
-                    BankHolidays publicHolidays = publicHolidayService.getPublicHolidays(uri);
-                    processCalendar(publicHolidays, allPublicHolidays);
-                } catch (DecodeException e) {
-                    log.error("Could not read calendar resource {}", uri, e);
-                    throw new CalendarResourceInvalidException("Could not read calendar resource " + uri, e);
-                } catch (FeignException e) {
-                    log.error("Could not find calendar resource {}", uri, e);
-                    throw new CalendarResourceNotFoundException("Could not find calendar resource " + uri, e);
-                }
+        if (uris == null) {
+            return Set.of();
+        }
+        List<BankHolidays> calendars = new ArrayList<>(uris.size());
+        for (String uri : uris) {
+            try {
+                calendars.add(calendarStore.getCalendar(uri));
+            } catch (DecodeException e) {
+                log.error("Could not read calendar resource {}", uri, e);
+                throw new CalendarResourceInvalidException("Could not read calendar resource " + uri, e);
+            } catch (FeignException e) {
+                log.error("Could not find calendar resource {}", uri, e);
+                throw new CalendarResourceNotFoundException("Could not find calendar resource " + uri, e);
             }
         }
 
+        MergedCalendars merged = mergedCalendars.getIfPresent(uris);
+        if (merged == null || !merged.isMergedFrom(calendars)) {
+            merged = new MergedCalendars(calendars, merge(calendars));
+            mergedCalendars.put(List.copyOf(uris), merged);
+        }
+        return merged.publicHolidays();
+    }
 
-        return allPublicHolidays.getEvents().stream()
-            .map(item -> LocalDate.parse(item.getDate(), DateTimeFormatter.ofPattern("yyyy-MM-dd")))
-            .collect(Collectors.toSet());
+    private Set<LocalDate> merge(List<BankHolidays> calendars) {
+        Set<LocalDate> publicHolidays = new HashSet<>();
+        for (BankHolidays calendar : calendars) {
+            for (BankHolidays.EventDate eventDate : calendar.getEvents()) {
+                LocalDate date = LocalDate.parse(eventDate.getDate(), DATE_FORMATTER);
+                if (eventDate.isWorkingDay()) {
+                    publicHolidays.remove(date);
+                } else {
+                    publicHolidays.add(date);
+                }
+            }
+        }
+        return Collections.unmodifiableSet(publicHolidays);
     }
 
-    private void processCalendar(BankHolidays publicHolidays, BankHolidays allPublicHolidays) {
-        for (BankHolidays.EventDate eventDate : publicHolidays.getEvents()) {
-            if (eventDate.isWorkingDay()) {
-                if (allPublicHolidays.getEvents().contains(eventDate)) {
-                    allPublicHolidays.getEvents().remove(eventDate);
+    private record MergedCalendars(List<BankHolidays> calendars, Set<LocalDate> publicHolidays) {
+
+        boolean isMergedFrom(List<BankHolidays> currentCalendars) {
+            if (calendars.size() != currentCalendars.size()) {
+                return false;
+            }
+            for (int i = 0; i < calendars.size(); i++) {
+                //A refreshed calendar is a new instance
+                if (calendars.get(i) != currentCalendars.get(i)) {
+                    return false;
                 }
-            } else {
-                allPublicHolidays.getEvents().add(eventDate);
             }
+            return true;
         }
     }
 }
@@ -0,0 +1,158 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services.calendar;
+
+import java.time.DayOfWeek;
+import java.time.LocalDate;
+import java.time.temporal.ChronoUnit;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.EnumSet;
+import java.util.Set;
+
+/**
+ * Working days of a set of public holiday calendars and non-working days of the week, compiled into a
+ * bitset over the years covered by the holidays with a prefix count of working days. Checking a day is
+ * O(1) and adding working days is O(log n) within the compiled range. Outside of it there are no public
+ * holidays, so only the days of the week apply.
+ */
+public final class WorkingDayCalendar {
+
+    private static final int YEARS_AROUND_TODAY = 5;
+
+    private final Set<LocalDate> publicHolidays;
+    private final Set<DayOfWeek> nonWorkingDaysOfWeek;
+    private final int workingDaysPerWeek;
+    private final long firstEpochDay;
+    private final int size;
+    private final BitSet workingDays;
+    //workingDaysBefore[i] is the number of working days in the range before the day at index i
+    private final int[] workingDaysBefore;
+
+    private WorkingDayCalendar(Set<LocalDate> publicHolidays, Set<DayOfWeek> nonWorkingDaysOfWeek) {
+        this.publicHolidays = publicHolidays;
+        this.nonWorkingDaysOfWeek = nonWorkingDaysOfWeek;
+        this.workingDaysPerWeek = DayOfWeek.values().length - nonWorkingDaysOfWeek.size();
+
+        LocalDate today = LocalDate.now();
+        int firstYear = today.getYear() - YEARS_AROUND_TODAY;
+        int lastYear = today.getYear() + YEARS_AROUND_TODAY;
+        for (LocalDate holiday : publicHolidays) {
+            firstYear = Math.min(firstYear, holiday.getYear());
+            lastYear = Math.max(lastYear, holiday.getYear());
+        }
+        LocalDate first = LocalDate.of(firstYear, 1, 1);
+        this.firstEpochDay = first.toEpochDay();
+        this.size = (int) ChronoUnit.DAYS.between(first, LocalDate.of(lastYear + 1, 1, 1));
+
+        this.workingDays = new BitSet(size);
+        this.workingDaysBefore = new int[size + 1];
+        LocalDate day = first;
+        for (int i = 0; i < size; i++) {
+            if (!nonWorkingDaysOfWeek.contains(day.getDayOfWeek()) && !publicHolidays.contains(day)) {
+                workingDays.set(i);
+            }
+            workingDaysBefore[i + 1] = workingDaysBefore[i] + (workingDays.get(i) ? 1 : 0);
+            day = day.plusDays(1);
+        }
+    }
+
+    /**
+     * Compiles a calendar.
+     *
+     * @param publicHolidays       the public holidays of the calendars
+     * @param nonWorkingDaysOfWeek names of the non-working days of the week, e.g. SATURDAY
+     */
+    public static WorkingDayCalendar compile(Set<LocalDate> publicHolidays, Collection<String> nonWorkingDaysOfWeek) {
+        Set<DayOfWeek> daysOfWeek = EnumSet.noneOf(DayOfWeek.class);
+        if (nonWorkingDaysOfWeek != null) {
+            for (DayOfWeek dayOfWeek : DayOfWeek.values()) {
+                if (nonWorkingDaysOfWeek.contains(dayOfWeek.toString())) {
+                    daysOfWeek.add(dayOfWeek);
+                }
+            }
+        }
+        return new WorkingDayCalendar(publicHolidays, daysOfWeek);
+    }
+
+    /**
+     * Returns true if the calendar was compiled from the given public holidays.
+     */
+    boolean isCompiledFrom(Set<LocalDate> publicHolidays) {
+        return this.publicHolidays == publicHolidays;
+    }
+
+    public boolean isWorkingDay(LocalDate date) {
+        int index = indexOf(date);
+        return index < 0 ? !nonWorkingDaysOfWeek.contains(date.getDayOfWeek()) : workingDays.get(index);
+    }
+
+    /**
+     * Moves the given number of working days from a date, backwards when negative. The date itself is not
+     * counted, so adding one working day returns the next working day.
+     */
+    public LocalDate addWorkingDays(LocalDate date, long days) {
+        if (days == 0) {
+            return date;
+        }
+        if (workingDaysPerWeek == 0) {
+            throw new IllegalStateException("Calendar has no working days");
+        }
+        int step = days > 0 ? 1 : -1;
+        long remaining = Math.abs(days);
+        LocalDate current = date;
+        while (true) {
+            int index = indexOf(current);
+            if (index >= 0) {
+                long rank;
+                if (step > 0) {
+                    rank = workingDaysBefore[index + 1] + remaining;
+                } else {
+                    rank = workingDaysBefore[index] - remaining + 1;
+                }
+                if (rank >= 1 && rank <= workingDaysBefore[size]) {
+                    return dayWithRank((int) rank);
+                }
+                //The result is outside of the range, continue from its boundary
+                if (step > 0) {
+                    remaining -= workingDaysBefore[size] - workingDaysBefore[index + 1];
+                    current = LocalDate.ofEpochDay(firstEpochDay + size - 1);
+                } else {
+                    remaining -= workingDaysBefore[index];
+                    current = LocalDate.ofEpochDay(firstEpochDay);
+                }
+            } else if (isMovingAwayFromRange(current, step) && remaining > workingDaysPerWeek) {
+                //Without public holidays every full week has the same number of working days
+                long weeks = (remaining - 1) / workingDaysPerWeek;
+                current = current.plusWeeks(weeks * step);
+                remaining -= weeks * workingDaysPerWeek;
+            }
+            current = current.plusDays(step);
+            if (isWorkingDay(current) && --remaining == 0) {
+                return current;
+            }
+        }
+    }
+
+    private LocalDate dayWithRank(int rank) {
+        //The working day with a rank is the first day at which the prefix count reaches it
+        int low = 1;
+        int high = size;
+        while (low < high) {
+            int middle = (low + high) >>> 1;
+            if (workingDaysBefore[middle] < rank) {
+                low = middle + 1;
+            } else {
+                high = middle;
+            }
+        }
+        return LocalDate.ofEpochDay(firstEpochDay + low - 1);
+    }
+
+    private boolean isMovingAwayFromRange(LocalDate date, int step) {
+        return step > 0 ? date.toEpochDay() >= firstEpochDay + size : date.toEpochDay() < firstEpochDay;
+    }
+
+    private int indexOf(LocalDate date) {
+        long offset = date.toEpochDay() - firstEpochDay;
+        return offset < 0 || offset >= size ? -1 : (int) offset;
+    }
+}
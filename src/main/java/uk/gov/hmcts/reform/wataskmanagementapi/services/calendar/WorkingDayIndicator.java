@@ -1,20 +1,29 @@
 package uk.gov.hmcts.reform.wataskmanagementapi.services.calendar;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import org.springframework.stereotype.Component;
 
-import java.time.DayOfWeek;
 import java.time.LocalDate;
 import java.util.List;
+import java.util.Set;
 
 import static java.util.Objects.requireNonNull;
 
 /**
  * Tells if given day is a working day.
+ * Calendars are compiled once per combination of calendar uris and non-working days of the week and
+ * recompiled when the public holidays of their calendars change.
  */
 @Component
 public class WorkingDayIndicator {
 
+    private static final int MAXIMUM_COMPILED_CALENDARS = 100;
+
     private final PublicHolidaysCollection publicHolidaysCollection;
+    private final Cache<CalendarKey, WorkingDayCalendar> compiledCalendars = Caffeine.newBuilder()
+        .maximumSize(MAXIMUM_COMPILED_CALENDARS)
+        .build();
 
     public WorkingDayIndicator(PublicHolidaysCollection publicHolidaysApiClient) {
         this.publicHolidaysCollection = publicHolidaysApiClient;
@@ -24,37 +33,38 @@ public class WorkingDayIndicator {
      * Verifies if given date is a working day in UK (England and Wales only).
      */
     public boolean isWorkingDay(LocalDate date, List<String> uri, List<String> nonWorkingDaysOfWeek) {
-        return !isPublicHoliday(date, uri)
-            && !isCustomNonWorkingDay(nonWorkingDaysOfWeek, date);
-    }
-
-    private boolean isPublicHoliday(LocalDate date, List<String> uri) {
-        return publicHolidaysCollection.getPublicHolidays(uri).contains(date);
+        return getCalendar(uri, nonWorkingDaysOfWeek).isWorkingDay(date);
     }
 
     public LocalDate getNextWorkingDay(LocalDate date, List<String> uri, List<String> nonWorkingDaysOfWeek) {
         requireNonNull(date);
-        LocalDate updated = date.plusDays(1);
-
-        return isWorkingDay(updated, uri, nonWorkingDaysOfWeek)
-            ? updated
-            : getNextWorkingDay(updated, uri, nonWorkingDaysOfWeek);
+        return getCalendar(uri, nonWorkingDaysOfWeek).addWorkingDays(date, 1);
     }
 
     public LocalDate getPreviousWorkingDay(LocalDate date, List<String> uri, List<String> nonWorkingDaysOfWeek) {
         requireNonNull(date);
-        LocalDate updated = date.minusDays(1);
+        return getCalendar(uri, nonWorkingDaysOfWeek).addWorkingDays(date, -1);
+    }
 
-        return isWorkingDay(updated, uri, nonWorkingDaysOfWeek)
-            ? updated
-            : getPreviousWorkingDay(updated, uri, nonWorkingDaysOfWeek);
+    /**
+     * Moves the given number of working days from a date, backwards when negative.
+     */
+    public LocalDate addWorkingDays(LocalDate date, long days, List<String> uri, List<String> nonWorkingDaysOfWeek) {
+        requireNonNull(date);
+        return getCalendar(uri, nonWorkingDaysOfWeek).addWorkingDays(date, days);
     }
 
-    private boolean isCustomNonWorkingDay(List<String> nonWorkingDaysOfWeek, LocalDate localDate) {
-        if (nonWorkingDaysOfWeek == null || nonWorkingDaysOfWeek.isEmpty()) {
-            return false;
+    private WorkingDayCalendar getCalendar(List<String> uri, List<String> nonWorkingDaysOfWeek) {
+        Set<LocalDate> publicHolidays = publicHolidaysCollection.getPublicHolidays(uri);
+        CalendarKey key = new CalendarKey(uri, nonWorkingDaysOfWeek);
+        WorkingDayCalendar calendar = compiledCalendars.getIfPresent(key);
+        if (calendar == null || !calendar.isCompiledFrom(publicHolidays)) {
+            calendar = WorkingDayCalendar.compile(publicHolidays, nonWorkingDaysOfWeek);
+            compiledCalendars.put(key, calendar);
         }
-        DayOfWeek dayOfWeek = localDate.getDayOfWeek();
-        return nonWorkingDaysOfWeek.contains(dayOfWeek.toString());
+        return calendar;
+    }
+
+    private record CalendarKey(List<String> uri, List<String> nonWorkingDaysOfWeek) {
     }
 }
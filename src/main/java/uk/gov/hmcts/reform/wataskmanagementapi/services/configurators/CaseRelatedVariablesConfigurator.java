@@ -26,6 +26,10 @@ public class CaseRelatedVariablesConfigurator implements TaskConfigurator {
             task.getId()
         ));
 
+        if (task.getCaseData() != null) {
+            return caseConfigurationProviderService
+                .getCaseRelatedConfiguration(task.getCaseData(), task.getTaskAttributes(), false);
+        }
         return caseConfigurationProviderService
             .getCaseRelatedConfiguration(task.getCaseId(), task.getTaskAttributes(), false);
     }
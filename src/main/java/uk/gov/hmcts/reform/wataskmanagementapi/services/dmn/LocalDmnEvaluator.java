@@ -0,0 +1,277 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services.dmn;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.core.type.TypeReference;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.github.benmanes.caffeine.cache.CacheLoader;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.LoadingCache;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import lombok.extern.slf4j.Slf4j;
+import org.apache.commons.lang3.StringUtils;
+import org.camunda.bpm.dmn.engine.DmnDecision;
+import org.camunda.bpm.dmn.engine.DmnDecisionResult;
+import org.camunda.bpm.dmn.engine.DmnEngine;
+import org.camunda.bpm.dmn.engine.DmnEngineConfiguration;
+import org.camunda.bpm.engine.variable.VariableMap;
+import org.camunda.bpm.engine.variable.Variables;
+import org.camunda.bpm.engine.variable.value.TypedValue;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.authorisation.generators.AuthTokenGenerator;
+import uk.gov.hmcts.reform.wataskmanagementapi.clients.CamundaServiceApi;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.CamundaValue;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.DecisionDefinition;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.EvaluationResponse;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.cache.CacheInvalidationBus;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.cache.InvalidatableCache;
+
+import java.io.ByteArrayInputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Supplier;
+
+/**
+ * Evaluates task configuration and permissions decision tables in process. The DMN XML of the latest
+ * deployed definition is fetched from Camunda once per decision table and tenant and parsed into an
+ * embedded DMN engine. Definitions are periodically revalidated and only re-parsed when a new version
+ * has been deployed, which is published on the cache invalidation bus so other instances do not wait for
+ * their own revalidation. A sample of local evaluations is compared with the remote evaluation, which is
+ * always used when they differ or when local evaluation fails.
+ */
+@Slf4j
+@Component
+public class LocalDmnEvaluator implements InvalidatableCache {
+
+    public static final String CACHE_NAME = "dmn_decisions";
+    private static final String METRIC_EVALUATIONS = "wa.dmn.local.evaluations";
+    private static final String METRIC_CONSISTENCY = "wa.dmn.local.consistency";
+    private static final TypeReference<Map<String, Object>> MAP_TYPE = new TypeReference<>() {
+    };
+
+    private final CamundaServiceApi camundaServiceApi;
+    private final AuthTokenGenerator serviceAuthTokenGenerator;
+    private final ObjectProvider<CacheInvalidationBus> cacheInvalidationBus;
+    private final boolean enabled;
+    private final double consistencySampleRate;
+    private final DmnEngine dmnEngine;
+    private final ObjectMapper objectMapper;
+    private final LoadingCache<DecisionKey, ParsedDecision> decisions;
+    private final Counter localCounter;
+    private final Counter fallbackCounter;
+    private final Counter matchCounter;
+    private final Counter mismatchCounter;
+
+    @Autowired
+    public LocalDmnEvaluator(CamundaServiceApi camundaServiceApi,
+                             AuthTokenGenerator serviceAuthTokenGenerator,
+                             ObjectMapper objectMapper,
+                             @Qualifier("dmnDecisionCaffeineConfig") Caffeine<Object, Object> caffeineConfig,
+                             MeterRegistry meterRegistry,
+                             ObjectProvider<CacheInvalidationBus> cacheInvalidationBus,
+                             @Value("${config.dmn.local.enabled}") boolean enabled,
+                             @Value("${config.dmn.local.consistencySampleRate}") double consistencySampleRate) {
+        this.camundaServiceApi = camundaServiceApi;
+        this.serviceAuthTokenGenerator = serviceAuthTokenGenerator;
+        //Looked up when used as the bus evicts this cache
+        this.cacheInvalidationBus = cacheInvalidationBus;
+        this.enabled = enabled;
+        this.consistencySampleRate = consistencySampleRate;
+        this.dmnEngine = DmnEngineConfiguration.createDefaultDmnEngineConfiguration().buildEngine();
+        //Reads decision results the way the Camunda client decodes the remote evaluation
+        this.objectMapper = objectMapper.copy().setPropertyNamingStrategy(PropertyNamingStrategies.LOWER_CAMEL_CASE);
+        this.decisions = caffeineConfig.build(new DecisionLoader());
+        this.localCounter = evaluationCounter(meterRegistry, "local");
+        this.fallbackCounter = evaluationCounter(meterRegistry, "fallback");
+        this.matchCounter = consistencyCounter(meterRegistry, "match");
+        this.mismatchCounter = consistencyCounter(meterRegistry, "mismatch");
+        CaffeineCacheMetrics.monitor(meterRegistry, decisions, CACHE_NAME);
+    }
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    @Override
+    public String getCacheName() {
+        return CACHE_NAME;
+    }
+
+    /**
+     * Evicts the parsed definitions of a decision table for every tenant, so a new deployment is used
+     * without waiting for the definitions to be revalidated.
+     */
+    @Override
+    public void evict(String decisionTableKey) {
+        decisions.asMap().keySet().removeIf(key -> key.decisionTableKey().equals(decisionTableKey));
+    }
+
+    @Override
+    public void evictAll() {
+        decisions.invalidateAll();
+    }
+
+    /**
+     * Evaluates the decision table locally, falling back to the remote evaluation if it can not be.
+     *
+     * @param remoteEvaluation evaluates the decision table in Camunda
+     * @return a mutable list of decision results
+     */
+    public <T extends EvaluationResponse> List<T> evaluate(String decisionTableKey,
+                                                           String jurisdiction,
+                                                           String caseData,
+                                                           String taskAttributes,
+                                                           Class<T> responseType,
+                                                           Supplier<List<T>> remoteEvaluation) {
+        List<T> localResult;
+        try {
+            localResult = evaluateLocally(decisionTableKey, jurisdiction, caseData, taskAttributes, responseType);
+        } catch (RuntimeException e) {
+            fallbackCounter.increment();
+            log.warn("Could not evaluate decision table {} locally, evaluating in Camunda: {}",
+                     decisionTableKey, e.getMessage());
+            return remoteEvaluation.get();
+        }
+        localCounter.increment();
+
+        if (ThreadLocalRandom.current().nextDouble() < consistencySampleRate) {
+            List<T> remoteResult = remoteEvaluation.get();
+            if (!remoteResult.equals(localResult)) {
+                mismatchCounter.increment();
+                log.warn("Local evaluation of decision table {} differs from Camunda. local: {} remote: {}",
+                         decisionTableKey, localResult, remoteResult);
+                return remoteResult;
+            }
+            matchCounter.increment();
+        }
+        return localResult;
+    }
+
+    private <T extends EvaluationResponse> List<T> evaluateLocally(String decisionTableKey,
+                                                                   String jurisdiction,
+                                                                   String caseData,
+                                                                   String taskAttributes,
+                                                                   Class<T> responseType) {
+        ParsedDecision parsedDecision = decisions.get(
+            new DecisionKey(decisionTableKey, jurisdiction.toLowerCase(Locale.ROOT))
+        );
+        VariableMap variables = Variables.createVariables()
+            .putValue("caseData", readJson(caseData))
+            .putValue("taskAttributes", readJson(taskAttributes));
+
+        DmnDecisionResult result = dmnEngine.evaluateDecision(parsedDecision.decision(), variables);
+
+        List<T> responses = new ArrayList<>();
+        result.forEach(entries -> {
+            //Mirror the Camunda REST representation of typed values, e.g. {"value": "x", "type": "String"}
+            Map<String, CamundaValue<Object>> response = new LinkedHashMap<>();
+            entries.getEntryMapTyped().forEach((name, typedValue) -> response.put(name, camundaValue(typedValue)));
+            responses.add(objectMapper.convertValue(response, responseType));
+        });
+        return responses;
+    }
+
+    private CamundaValue<Object> camundaValue(TypedValue typedValue) {
+        String type = typedValue.getType() == null ? null : StringUtils.capitalize(typedValue.getType().getName());
+        return new CamundaValue<>(typedValue.getValue(), type);
+    }
+
+    @SuppressWarnings("PMD.ReturnEmptyCollectionRatherThanNull")
+    private Map<String, Object> readJson(String json) {
+        if (json == null) {
+            return null;
+        }
+        try {
+            return objectMapper.readValue(json, MAP_TYPE);
+        } catch (JsonProcessingException e) {
+            throw new IllegalArgumentException("Could not read decision table input", e);
+        }
+    }
+
+    private ParsedDecision parse(DecisionKey key, DecisionDefinition definition) {
+        String dmnXml = camundaServiceApi.getDecisionDefinitionXml(
+            serviceAuthTokenGenerator.generate(),
+            definition.getId()
+        ).getDmnXml();
+        DmnDecision decision = dmnEngine.parseDecision(
+            key.decisionTableKey(),
+            new ByteArrayInputStream(dmnXml.getBytes(StandardCharsets.UTF_8))
+        );
+        log.info("Parsed decision table {} version {} for tenant {}",
+                 key.decisionTableKey(), definition.getVersion(), key.tenantId());
+        return new ParsedDecision(definition.getId(), definition.getVersion(), decision);
+    }
+
+    private void publishDeployment(DecisionKey key) {
+        CacheInvalidationBus bus = cacheInvalidationBus.getIfAvailable();
+        //Without the bus an invalidation would only evict the definition being reloaded here
+        if (bus == null || !bus.isEnabled()) {
+            return;
+        }
+        try {
+            bus.publish(CACHE_NAME, key.decisionTableKey());
+        } catch (RuntimeException e) {
+            log.warn("Could not publish the deployment of decision table {}: {}", key.decisionTableKey(),
+                     e.getMessage());
+        }
+    }
+
+    private DecisionDefinition latestDefinition(DecisionKey key) {
+        return camundaServiceApi.getDecisionDefinition(
+            serviceAuthTokenGenerator.generate(),
+            key.decisionTableKey(),
+            key.tenantId()
+        );
+    }
+
+    private static Counter evaluationCounter(MeterRegistry meterRegistry, String outcome) {
+        return Counter.builder(METRIC_EVALUATIONS)
+            .description("Decision table evaluations attempted in process")
+            .tag("outcome", outcome)
+            .register(meterRegistry);
+    }
+
+    private static Counter consistencyCounter(MeterRegistry meterRegistry, String result) {
+        return Counter.builder(METRIC_CONSISTENCY)
+            .description("Sampled comparisons of local and Camunda decision table evaluations")
+            .tag("result", result)
+            .register(meterRegistry);
+    }
+
+    private class DecisionLoader implements CacheLoader<DecisionKey, ParsedDecision> {
+
+        @Override
+        public ParsedDecision load(DecisionKey key) {
+            return parse(key, latestDefinition(key));
+        }
+
+        @Override
+        public ParsedDecision reload(DecisionKey key, ParsedDecision oldValue) {
+            DecisionDefinition definition = latestDefinition(key);
+            //Definitions are immutable once deployed, only a new deployment changes the id
+            if (definition.getId().equals(oldValue.definitionId())) {
+                return oldValue;
+            }
+            ParsedDecision parsed = parse(key, definition);
+            publishDeployment(key);
+            return parsed;
+        }
+    }
+
+    private record DecisionKey(String decisionTableKey, String tenantId) {
+    }
+
+    private record ParsedDecision(String definitionId, Integer version, DmnDecision decision) {
+    }
+}
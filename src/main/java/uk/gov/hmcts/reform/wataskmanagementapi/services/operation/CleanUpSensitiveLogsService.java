@@ -1,8 +1,9 @@
 package uk.gov.hmcts.reform.wataskmanagementapi.services.operation;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
-import org.springframework.transaction.annotation.Transactional;
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.TaskOperationRequest;
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.entities.CleanupSensitiveLogsTaskFilter;
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.entities.TaskFilter;
@@ -13,23 +14,39 @@ import java.time.LocalDateTime;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.TimeUnit;
 
 import static uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.enums.TaskOperationType.CLEANUP_SENSITIVE_LOG_ENTRIES;
 
+/**
+ * Deletes the expired sensitive task event logs in chunks, each committed before the next one is deleted, so
+ * that a clean up never locks or writes WAL for more than a chunk of rows at a time. A run stops once no
+ * expired logs are left or the time allowed for a run is used up, the next run carries on from there.
+ */
 @Slf4j
 @Component
 @SuppressWarnings("PMD.DataflowAnomalyAnalysis")
 public class CleanUpSensitiveLogsService implements TaskOperationPerformService {
 
     private final CFTSensitiveTaskEventLogsDatabaseService cftSensitiveTaskEventLogsDatabaseService;
+    private final int chunkSize;
+    private final long maxDurationMillis;
+    private final long pauseMillis;
 
+    @Autowired
     public CleanUpSensitiveLogsService(CFTSensitiveTaskEventLogsDatabaseService
-                                           cftSensitiveTaskEventLogsDatabaseService) {
+                                           cftSensitiveTaskEventLogsDatabaseService,
+                                       @Value("${config.sensitiveEventLog.cleanUp.chunkSize}") int chunkSize,
+                                       @Value("${config.sensitiveEventLog.cleanUp.maxDurationMillis}")
+                                       long maxDurationMillis,
+                                       @Value("${config.sensitiveEventLog.cleanUp.pauseMillis}") long pauseMillis) {
         this.cftSensitiveTaskEventLogsDatabaseService = cftSensitiveTaskEventLogsDatabaseService;
+        this.chunkSize = chunkSize;
+        this.maxDurationMillis = maxDurationMillis;
+        this.pauseMillis = pauseMillis;
     }
 
     @Override
-    @Transactional
     public TaskOperationResponse performOperation(TaskOperationRequest taskOperationRequest) {
         if (CLEANUP_SENSITIVE_LOG_ENTRIES.equals(taskOperationRequest.getOperation().getType())) {
             return cleanUpSensitiveLogs(taskOperationRequest);
@@ -43,15 +60,50 @@ public class CleanUpSensitiveLogsService implements TaskOperationPerformService
         LocalDateTime cleanUpStartDate = getCleanUpStartDate(request.getTaskFilter());
         Objects.requireNonNull(cleanUpStartDate);
 
+        long start = System.nanoTime();
+        int deletedRows = 0;
+        int chunks = 0;
+        boolean complete = false;
         try {
-            int deletedRows = cftSensitiveTaskEventLogsDatabaseService.cleanUpSensitiveLogs(cleanUpStartDate);
-
-            return new TaskOperationResponse(Map.of("deletedRows", deletedRows));
-
+            while (!complete) {
+                int deleted = cftSensitiveTaskEventLogsDatabaseService.cleanUpSensitiveLogs(
+                    cleanUpStartDate, chunkSize
+                );
+                deletedRows += deleted;
+                chunks++;
+                complete = deleted < chunkSize;
+                if (!complete) {
+                    long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+                    if (elapsedMillis >= maxDurationMillis) {
+                        break;
+                    }
+                    log.debug("{} deleted {} rows in {} chunks", CLEANUP_SENSITIVE_LOG_ENTRIES.name(), deletedRows,
+                              chunks);
+                    TimeUnit.MILLISECONDS.sleep(pauseMillis);
+                }
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
         } catch (Exception e) {
             log.error("{} request: {}", CLEANUP_SENSITIVE_LOG_ENTRIES.name(), e);
-            return new TaskOperationResponse(Map.of("exception", e.getMessage()));
+            return new TaskOperationResponse(Map.of(
+                "exception", e.getMessage(),
+                "deletedRows", deletedRows,
+                "chunks", chunks
+            ));
         }
+
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - start);
+        long rowsPerSecond = elapsedMillis == 0 ? deletedRows : deletedRows * 1000L / elapsedMillis;
+        log.info("{} deleted {} rows in {} chunks and {} ms, {} rows per second, complete: {}",
+                 CLEANUP_SENSITIVE_LOG_ENTRIES.name(), deletedRows, chunks, elapsedMillis, rowsPerSecond, complete);
+        return new TaskOperationResponse(Map.of(
+            "deletedRows", deletedRows,
+            "chunks", chunks,
+            "elapsedMillis", elapsedMillis,
+            "rowsPerSecond", rowsPerSecond,
+            "complete", complete
+        ));
     }
 
     private LocalDateTime getCleanUpStartDate(List<TaskFilter<?>> taskFilters) {
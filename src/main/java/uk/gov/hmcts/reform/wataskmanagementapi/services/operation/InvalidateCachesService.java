@@ -0,0 +1,60 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services.operation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import org.springframework.transaction.annotation.Transactional;
+import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.TaskOperationRequest;
+import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.entities.CacheInvalidationTaskFilter;
+import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.entities.TaskFilter;
+import uk.gov.hmcts.reform.wataskmanagementapi.controllers.response.TaskOperationResponse;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.cache.CacheInvalidationBus;
+
+import java.util.Map;
+
+import static uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.enums.TaskOperationType.INVALIDATE_CACHES;
+
+/**
+ * Evicts cache entries on every instance, for changes made outside the service such as a new decision
+ * table deployment or updated role assignments. Each filter names a cache in its key and the keys to
+ * evict in its values, all the entries of the cache are evicted when there are no values.
+ */
+@Slf4j
+@Component
+@SuppressWarnings("PMD.DataflowAnomalyAnalysis")
+public class InvalidateCachesService implements TaskOperationPerformService {
+
+    private final CacheInvalidationBus cacheInvalidationBus;
+
+    public InvalidateCachesService(CacheInvalidationBus cacheInvalidationBus) {
+        this.cacheInvalidationBus = cacheInvalidationBus;
+    }
+
+    @Override
+    @Transactional
+    public TaskOperationResponse performOperation(TaskOperationRequest taskOperationRequest) {
+        if (INVALIDATE_CACHES.equals(taskOperationRequest.getOperation().getType())) {
+            return invalidateCaches(taskOperationRequest);
+        }
+        return new TaskOperationResponse();
+    }
+
+    private TaskOperationResponse invalidateCaches(TaskOperationRequest request) {
+        log.debug("{} request: {}", INVALIDATE_CACHES.name(), request);
+
+        int invalidations = 0;
+        for (TaskFilter<?> filter : request.getTaskFilter()) {
+            if (filter instanceof CacheInvalidationTaskFilter cacheFilter) {
+                if (cacheFilter.getValues() == null || cacheFilter.getValues().isEmpty()) {
+                    cacheInvalidationBus.publishAll(cacheFilter.getKey());
+                    invalidations++;
+                } else {
+                    for (String key : cacheFilter.getValues()) {
+                        cacheInvalidationBus.publish(cacheFilter.getKey(), key);
+                        invalidations++;
+                    }
+                }
+            }
+        }
+        return new TaskOperationResponse(Map.of("invalidations", invalidations));
+    }
+}
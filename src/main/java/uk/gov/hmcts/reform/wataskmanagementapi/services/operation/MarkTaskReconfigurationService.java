@@ -1,6 +1,7 @@
 package uk.gov.hmcts.reform.wataskmanagementapi.services.operation;
 
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Component;
 import org.springframework.transaction.annotation.Transactional;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.idam.IdamTokenGenerator;
@@ -10,19 +11,16 @@ import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.entities.Mark
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.entities.TaskFilter;
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.enums.TaskOperationType;
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.response.TaskOperationResponse;
-import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
 import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.TaskReconfigurationException;
 import uk.gov.hmcts.reform.wataskmanagementapi.services.CFTTaskDatabaseService;
 
-import java.time.OffsetDateTime;
 import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
-import java.util.Optional;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
 
-import static uk.gov.hmcts.reform.wataskmanagementapi.enums.TaskAction.MARK_FOR_RECONFIGURE;
 import static uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.enums.ErrorMessages.TASK_RECONFIGURATION_MARK_TASKS_TO_RECONFIGURE_FAILED;
-import static uk.gov.hmcts.reform.wataskmanagementapi.services.TaskActionAttributesBuilder.setTaskActionAttributes;
 
 @Slf4j
 @Component
@@ -31,11 +29,18 @@ public class MarkTaskReconfigurationService implements TaskOperationPerformServi
 
     private final CFTTaskDatabaseService cftTaskDatabaseService;
     private final IdamTokenGenerator idamTokenGenerator;
-
-    public MarkTaskReconfigurationService(CFTTaskDatabaseService cftTaskDatabaseService,
-                                          IdamTokenGenerator idamTokenGenerator) {
+    private final int maxAttempts;
+    private final long backoffMillis;
+
+    public MarkTaskReconfigurationService(
+        CFTTaskDatabaseService cftTaskDatabaseService,
+        IdamTokenGenerator idamTokenGenerator,
+        @Value("${config.reconfiguration.markToReconfigure.maxAttempts}") int maxAttempts,
+        @Value("${config.reconfiguration.markToReconfigure.backoffMillis}") long backoffMillis) {
         this.cftTaskDatabaseService = cftTaskDatabaseService;
         this.idamTokenGenerator = idamTokenGenerator;
+        this.maxAttempts = maxAttempts;
+        this.backoffMillis = backoffMillis;
     }
 
     protected TaskOperationResponse markTasksToReconfigure(List<TaskFilter<?>> taskFilters) {
@@ -44,27 +49,30 @@ public class MarkTaskReconfigurationService implements TaskOperationPerformServi
             .flatMap(filter -> ((MarkTaskToReconfigureTaskFilter) filter).getValues().stream())
             .map(Object::toString)
             .toList();
-
-        List<TaskResource> taskResources = cftTaskDatabaseService
-            .getActiveTasksByCaseIdsAndReconfigureRequestTimeIsNull(
-                caseIds, List.of(CFTTaskState.ASSIGNED, CFTTaskState.UNASSIGNED));
-
-        List<TaskResource> successfulTaskResources = new ArrayList<>();
-        List<String> taskIds = taskResources.stream()
-            .map(TaskResource::getTaskId)
-            .toList();
-
-        List<String> failedTaskIds = updateReconfigureRequestTime(taskIds, successfulTaskResources);
-
-        if (!failedTaskIds.isEmpty()) {
-            failedTaskIds = updateReconfigureRequestTime(failedTaskIds, successfulTaskResources);
+        if (caseIds.isEmpty()) {
+            return new TaskOperationResponse(Map.of("successfulTaskResources", 0));
         }
 
-        if (!failedTaskIds.isEmpty()) {
-            throw new TaskReconfigurationException(TASK_RECONFIGURATION_MARK_TASKS_TO_RECONFIGURE_FAILED, caseIds);
+        String systemUserToken = idamTokenGenerator.generate();
+        String systemUserId = idamTokenGenerator.getUserInfo(systemUserToken).getUid();
+
+        //Tasks locked by other transactions are skipped and selected again after a jittered backoff
+        List<String> markedTaskIds = new ArrayList<>(
+            cftTaskDatabaseService.markActiveTasksToReconfigure(caseIds, systemUserId)
+        );
+        int attempt = 1;
+        while (hasUnmarkedActiveTasks(caseIds)) {
+            if (attempt >= maxAttempts || !backOff(attempt)) {
+                throw new TaskReconfigurationException(
+                    TASK_RECONFIGURATION_MARK_TASKS_TO_RECONFIGURE_FAILED, caseIds
+                );
+            }
+            attempt++;
+            markedTaskIds.addAll(cftTaskDatabaseService.markActiveTasksToReconfigure(caseIds, systemUserId));
         }
+        log.info("Marked task-ids {} to reconfigure", markedTaskIds);
 
-        return new TaskOperationResponse(Map.of("successfulTaskResources", successfulTaskResources.size()));
+        return new TaskOperationResponse(Map.of("successfulTaskResources", markedTaskIds.size()));
     }
 
     @Override
@@ -76,38 +84,27 @@ public class MarkTaskReconfigurationService implements TaskOperationPerformServi
         return new TaskOperationResponse();
     }
 
-    private List<String> updateReconfigureRequestTime(List<String> taskIds,
-                                                      List<TaskResource> successfulTaskResources) {
-        List<String> failedTaskIds = new ArrayList<>();
-        taskIds.forEach(taskId -> {
-
-            try {
-                log.info("Mark task-id {} to reconfigure", taskId);
-                Optional<TaskResource> optionalTaskResource = cftTaskDatabaseService
-                    .findByIdAndStateInObtainPessimisticWriteLock(
-                        taskId, List.of(CFTTaskState.ASSIGNED, CFTTaskState.UNASSIGNED));
-
-                if (optionalTaskResource.isPresent()) {
-                    TaskResource taskResource = optionalTaskResource.get();
-                    taskResource.setReconfigureRequestTime(OffsetDateTime.now());
-                    taskResource.setIndexed(false);
-                    updateTaskActionAttributes(taskResource);
-                    successfulTaskResources.add(cftTaskDatabaseService.saveTask(taskResource));
-                }
-            } catch (Exception e) {
-                log.error("Error marking task-id {} to reconfigure", taskId, e);
-                failedTaskIds.add(taskId);
-            }
-        });
-
-        return failedTaskIds;
+    /**
+     * Waits before the next attempt, doubling the backoff after every attempt and randomising the second
+     * half of it so that concurrent requests for the same cases do not retry in step.
+     *
+     * @return false if the thread was interrupted
+     */
+    private boolean backOff(int attempt) {
+        long backoff = backoffMillis << (attempt - 1);
+        long delay = backoff / 2 + ThreadLocalRandom.current().nextLong(backoff / 2 + 1);
+        log.info("Tasks of cases are locked, marking them to reconfigure again in {} ms", delay);
+        try {
+            TimeUnit.MILLISECONDS.sleep(delay);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
     }
 
-    private void updateTaskActionAttributes(TaskResource taskResource) {
-        String systemUserToken = idamTokenGenerator.generate();
-        String systemUserId = idamTokenGenerator.getUserInfo(systemUserToken).getUid();
-        setTaskActionAttributes(taskResource, systemUserId, MARK_FOR_RECONFIGURE);
+    private boolean hasUnmarkedActiveTasks(List<String> caseIds) {
+        return cftTaskDatabaseService.countActiveTasksByCaseIdsAndReconfigureRequestTimeIsNull(
+            caseIds, List.of(CFTTaskState.ASSIGNED, CFTTaskState.UNASSIGNED)) > 0;
     }
-
-
 }
@@ -0,0 +1,33 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services.operation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.TaskOperationRequest;
+import uk.gov.hmcts.reform.wataskmanagementapi.controllers.response.TaskOperationResponse;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.outbox.CamundaOutboxService;
+
+import static uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.enums.TaskOperationType.REPLAY_CAMUNDA_OUTBOX;
+
+/**
+ * Replays the Camunda updates that were marked as failed after running out of delivery attempts, once the
+ * cause has been fixed. The replayed updates are delivered by the outbox scheduler.
+ */
+@Slf4j
+@Component
+public class ReplayCamundaOutboxService implements TaskOperationPerformService {
+
+    private final CamundaOutboxService camundaOutboxService;
+
+    public ReplayCamundaOutboxService(CamundaOutboxService camundaOutboxService) {
+        this.camundaOutboxService = camundaOutboxService;
+    }
+
+    @Override
+    public TaskOperationResponse performOperation(TaskOperationRequest taskOperationRequest) {
+        if (REPLAY_CAMUNDA_OUTBOX.equals(taskOperationRequest.getOperation().getType())) {
+            log.debug("{} request: {}", REPLAY_CAMUNDA_OUTBOX.name(), taskOperationRequest);
+            return new TaskOperationResponse(camundaOutboxService.replayFailed());
+        }
+        return new TaskOperationResponse();
+    }
+}
@@ -0,0 +1,133 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services.operation;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.wataskmanagementapi.config.TaskReconfigurationConfiguration;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.CFTTaskDatabaseService;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Queue;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Reconfigures tasks on the bounded reconfiguration worker pool. Each task is still reconfigured in its own
+ * REQUIRES_NEW transaction by the {@link TaskReconfigurationTransactionHandler}. Tasks that have not started
+ * by the end of the time budget, or whose jurisdiction rate limit would only allow them to start after it,
+ * are deferred and keep their reconfigure request time so the next run picks them up.
+ */
+@Slf4j
+@Component
+@SuppressWarnings({"PMD.DoNotUseThreads", "PMD.AvoidCatchingGenericException"})
+public class TaskReconfigurationEngine {
+
+    private final TaskReconfigurationTransactionHandler taskReconfigurationTransactionHandler;
+    private final CFTTaskDatabaseService cftTaskDatabaseService;
+    private final Executor taskReconfigurationExecutor;
+    private final Map<String, Long> permitIntervalNanos = new ConcurrentHashMap<>();
+
+    @Autowired
+    public TaskReconfigurationEngine(TaskReconfigurationTransactionHandler taskReconfigurationTransactionHandler,
+                                     CFTTaskDatabaseService cftTaskDatabaseService,
+                                     @Qualifier("taskReconfigurationExecutorService")
+                                     Executor taskReconfigurationExecutor,
+                                     TaskReconfigurationConfiguration taskReconfigurationConfiguration) {
+        this.taskReconfigurationTransactionHandler = taskReconfigurationTransactionHandler;
+        this.cftTaskDatabaseService = cftTaskDatabaseService;
+        this.taskReconfigurationExecutor = taskReconfigurationExecutor;
+        taskReconfigurationConfiguration.getJurisdictionRateLimits().forEach((jurisdiction, tasksPerSecond) -> {
+            if (tasksPerSecond != null && tasksPerSecond > 0) {
+                permitIntervalNanos.put(jurisdiction.toLowerCase(Locale.ROOT),
+                                        (long) (TimeUnit.SECONDS.toNanos(1) / tasksPerSecond));
+            }
+        });
+    }
+
+    public TaskReconfigurationResult reconfigureTasks(List<String> taskIds, OffsetDateTime endTimer) {
+        Queue<TaskResource> reconfiguredTasks = new ConcurrentLinkedQueue<>();
+        Queue<String> failedTaskIds = new ConcurrentLinkedQueue<>();
+        Queue<String> deferredTaskIds = new ConcurrentLinkedQueue<>();
+
+        Map<String, String> jurisdictions = permitIntervalNanos.isEmpty() || taskIds.isEmpty()
+            ? Map.of()
+            : cftTaskDatabaseService.getJurisdictionsByTaskIds(taskIds);
+        //Start slots are handed out per run, so slots left unused by an earlier run do not hold this one back
+        Map<String, AtomicLong> nextPermitNanos = new ConcurrentHashMap<>();
+
+        CompletableFuture.allOf(taskIds.stream()
+            .map(taskId -> CompletableFuture.runAsync(() -> {
+                String jurisdiction = jurisdictions.get(taskId);
+                if (!endTimer.isAfter(OffsetDateTime.now())
+                    || !awaitPermit(nextPermitNanos, jurisdiction, endTimer)) {
+                    deferredTaskIds.add(taskId);
+                    return;
+                }
+                try {
+                    log.info("Re-configure task-id {}", taskId);
+                    taskReconfigurationTransactionHandler.reconfigureTaskResource(taskId)
+                        .ifPresent(reconfiguredTasks::add);
+                } catch (Exception e) {
+                    log.error("Error configuring task (id={}) ", taskId, e);
+                    failedTaskIds.add(taskId);
+                }
+            }, taskReconfigurationExecutor))
+            .toArray(CompletableFuture[]::new)
+        ).join();
+
+        return new TaskReconfigurationResult(
+            List.copyOf(reconfiguredTasks), List.copyOf(failedTaskIds), List.copyOf(deferredTaskIds)
+        );
+    }
+
+    /**
+     * Waits for the next start slot of the jurisdiction. Slots are handed out at a fixed interval so the
+     * configured rate holds across all workers, and a slot is only taken when it starts within the time budget.
+     *
+     * @return false if the next slot falls after the end of the time budget
+     */
+    private boolean awaitPermit(Map<String, AtomicLong> nextPermitNanos, String jurisdiction, OffsetDateTime endTimer) {
+        if (jurisdiction == null) {
+            return true;
+        }
+        String key = jurisdiction.toLowerCase(Locale.ROOT);
+        Long interval = permitIntervalNanos.get(key);
+        if (interval == null) {
+            return true;
+        }
+        long now = System.nanoTime();
+        long deadline = now + Duration.between(OffsetDateTime.now(), endTimer).toNanos();
+        AtomicLong nextPermit = nextPermitNanos.computeIfAbsent(key, k -> new AtomicLong(now));
+        long slot;
+        long next;
+        do {
+            next = nextPermit.get();
+            slot = Math.max(next, now);
+            if (slot >= deadline) {
+                return false;
+            }
+        } while (!nextPermit.compareAndSet(next, slot + interval));
+        try {
+            TimeUnit.NANOSECONDS.sleep(slot - now);
+            return true;
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return false;
+        }
+    }
+
+    public record TaskReconfigurationResult(List<TaskResource> reconfiguredTasks,
+                                            List<String> failedTaskIds,
+                                            List<String> deferredTaskIds) {
+    }
+}
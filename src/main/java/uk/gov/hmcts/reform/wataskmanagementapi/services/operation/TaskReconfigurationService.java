@@ -12,14 +12,18 @@ import uk.gov.hmcts.reform.wataskmanagementapi.controllers.response.TaskOperatio
 import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
 import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.TaskExecuteReconfigurationException;
 import uk.gov.hmcts.reform.wataskmanagementapi.services.CFTTaskDatabaseService;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.CaseDataCache;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.operation.TaskReconfigurationEngine.TaskReconfigurationResult;
 
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
+import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
-import java.util.Optional;
+import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.TimeUnit;
 
 import static uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.enums.ErrorMessages.TASK_RECONFIGURATION_EXECUTE_TASKS_TO_RECONFIGURE_FAILED;
 
@@ -29,12 +33,15 @@ import static uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.enums.ErrorM
 public class TaskReconfigurationService {
 
     private final CFTTaskDatabaseService cftTaskDatabaseService;
-    private final TaskReconfigurationTransactionHandler taskReconfigurationTransactionHandler;
+    private final TaskReconfigurationEngine taskReconfigurationEngine;
+    private final CaseDataCache caseDataCache;
 
     public TaskReconfigurationService(CFTTaskDatabaseService cftTaskDatabaseService,
-                                      TaskReconfigurationTransactionHandler taskReconfigurationTransactionHandler) {
+                                      TaskReconfigurationEngine taskReconfigurationEngine,
+                                      CaseDataCache caseDataCache) {
         this.cftTaskDatabaseService = cftTaskDatabaseService;
-        this.taskReconfigurationTransactionHandler = taskReconfigurationTransactionHandler;
+        this.taskReconfigurationEngine = taskReconfigurationEngine;
+        this.caseDataCache = caseDataCache;
     }
 
     @Transactional(noRollbackFor = TaskExecuteReconfigurationException.class)
@@ -46,31 +53,47 @@ public class TaskReconfigurationService {
 
     private TaskOperationResponse executeTasksToReconfigure(TaskOperationRequest taskOperationRequest) {
         log.debug("execute tasks toReconfigure request: {}", taskOperationRequest);
+        final long startNanos = System.nanoTime();
+        caseDataCache.invalidateAll();
         OffsetDateTime reconfigureDateTime = getReconfigureRequestTime(taskOperationRequest.getTaskFilter());
         Objects.requireNonNull(reconfigureDateTime);
         List<String> taskIds = cftTaskDatabaseService
             .getActiveTaskIdsAndReconfigureRequestTimeGreaterThan(
                 List.of(CFTTaskState.ASSIGNED, CFTTaskState.UNASSIGNED), reconfigureDateTime);
         List<TaskResource> successfulTaskResources = new ArrayList<>();
+        Set<String> deferredTaskIds = new HashSet<>();
 
         List<String> failedTaskIds = executeReconfiguration(taskIds,
                                                             successfulTaskResources,
+                                                            deferredTaskIds,
                                                             taskOperationRequest.getOperation().getMaxTimeLimit());
 
+        List<String> remainingFailedTaskIds = failedTaskIds;
         if (!failedTaskIds.isEmpty()) {
-            executeReconfiguration(
+            remainingFailedTaskIds = executeReconfiguration(
                 failedTaskIds,
                 successfulTaskResources,
+                deferredTaskIds,
                 taskOperationRequest.getOperation().getMaxTimeLimit()
             );
-            taskOperationRequest.getOperation().getMaxTimeLimit();
         }
 
+        long elapsedMillis = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startNanos);
+        log.info("Reconfigured {} of {} tasks in {} ms, {} failed, {} deferred",
+                 successfulTaskResources.size(), taskIds.size(), elapsedMillis,
+                 remainingFailedTaskIds.size(), deferredTaskIds.size());
+
         if (!failedTaskIds.isEmpty()) {
             configurationFailLog(failedTaskIds, taskOperationRequest.getOperation().getRetryWindowHours());
         }
 
-        return new TaskOperationResponse(Map.of("successfulTaskResources", successfulTaskResources.size()));
+        return new TaskOperationResponse(Map.of(
+            "successfulTaskResources", successfulTaskResources.size(),
+            "failedTaskResources", remainingFailedTaskIds.size(),
+            "deferredTaskResources", deferredTaskIds.size(),
+            "elapsedMillis", elapsedMillis,
+            "tasksPerSecond", elapsedMillis == 0 ? 0.0 : successfulTaskResources.size() * 1000.0 / elapsedMillis
+        ));
     }
 
     private void configurationFailLog(List<String> failedTaskIds, long retryWindowHours) {
@@ -89,40 +112,33 @@ public class TaskReconfigurationService {
 
     private List<String> executeReconfiguration(List<String> taskIds,
                                                 List<TaskResource> successfulTaskResources,
+                                                Set<String> deferredTaskIds,
                                                 long maxTimeLimit) {
 
         final OffsetDateTime endTimer = OffsetDateTime.now().plusSeconds(maxTimeLimit);
-        List<String> failedTaskIds = reconfigureTasks(taskIds, successfulTaskResources, endTimer);
+        List<String> failedTaskIds = reconfigureTasks(taskIds, successfulTaskResources, deferredTaskIds, endTimer);
 
         List<String> secondaryFailedTaskIds = new ArrayList<>();
 
         if (!failedTaskIds.isEmpty()) {
-            secondaryFailedTaskIds = reconfigureTasks(failedTaskIds, successfulTaskResources, endTimer);
+            secondaryFailedTaskIds = reconfigureTasks(failedTaskIds, successfulTaskResources, deferredTaskIds,
+                                                      endTimer);
         }
 
         return secondaryFailedTaskIds;
     }
 
     private List<String> reconfigureTasks(List<String> taskIds, List<TaskResource> successfulTaskResources,
-                                          OffsetDateTime endTimer) {
-        List<String> failedTaskIds = new ArrayList<>();
-        if (endTimer.isAfter(OffsetDateTime.now())) {
-            taskIds.forEach(taskId -> {
-                try {
-                    log.info("Re-configure task-id {}", taskId);
-                    // Use TaskReconfigurationTransactionHandler to reconfigure the task resource within a
-                    // new transaction. This ensures that any exceptions will trigger a rollback of the transaction.
-                    Optional<TaskResource> taskResource =
-                        taskReconfigurationTransactionHandler.reconfigureTaskResource(taskId);
-                    taskResource.ifPresent(successfulTaskResources::add);
-                } catch (Exception e) {
-                    log.error("Error configuring task (id={}) ", taskId, e);
-                    failedTaskIds.add(taskId);
-                }
-            });
+                                          Set<String> deferredTaskIds, OffsetDateTime endTimer) {
+        if (!endTimer.isAfter(OffsetDateTime.now())) {
+            return new ArrayList<>();
         }
-        return failedTaskIds;
-
+        // Each task is reconfigured by the TaskReconfigurationTransactionHandler within a new transaction.
+        // This ensures that any exceptions will trigger a rollback of that task's transaction only.
+        TaskReconfigurationResult result = taskReconfigurationEngine.reconfigureTasks(taskIds, endTimer);
+        successfulTaskResources.addAll(result.reconfiguredTasks());
+        deferredTaskIds.addAll(result.deferredTaskIds());
+        return new ArrayList<>(result.failedTaskIds());
     }
 
     private OffsetDateTime getReconfigureRequestTime(List<TaskFilter<?>> taskFilters) {
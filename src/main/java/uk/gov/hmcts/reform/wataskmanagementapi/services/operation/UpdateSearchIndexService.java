@@ -5,22 +5,18 @@ import org.springframework.stereotype.Component;
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.TaskOperationRequest;
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.enums.TaskOperationType;
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.response.TaskOperationResponse;
-import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
-import uk.gov.hmcts.reform.wataskmanagementapi.services.CFTTaskDatabaseService;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.SearchIndexWorker;
 
-import java.util.ArrayList;
-import java.util.List;
 import java.util.Map;
-import java.util.Optional;
 
 @Slf4j
 @Component
 public class UpdateSearchIndexService implements TaskOperationPerformService {
 
-    private final CFTTaskDatabaseService cftTaskDatabaseService;
+    private final SearchIndexWorker searchIndexWorker;
 
-    public UpdateSearchIndexService(CFTTaskDatabaseService cftTaskDatabaseService) {
-        this.cftTaskDatabaseService = cftTaskDatabaseService;
+    public UpdateSearchIndexService(SearchIndexWorker searchIndexWorker) {
+        this.searchIndexWorker = searchIndexWorker;
     }
 
     @Override
@@ -32,23 +28,6 @@ public class UpdateSearchIndexService implements TaskOperationPerformService {
     }
 
     private TaskOperationResponse updateSearchIndex() {
-        List<TaskResource> taskToReIndexed =  cftTaskDatabaseService.findTaskToUpdateIndex();
-        List<TaskResource> successfulTaskResources = new ArrayList<>();
-
-        if (taskToReIndexed != null) {
-            taskToReIndexed.forEach(t -> {
-                log.info("Update search index for task-id {}", t.getTaskId());
-                Optional<TaskResource> optionalTaskResource = cftTaskDatabaseService
-                    .findByIdAndWaitAndObtainPessimisticWriteLock(t.getTaskId());
-
-                if (optionalTaskResource.isPresent()) {
-                    TaskResource taskResource = optionalTaskResource.get();
-                    taskResource.setIndexed(true);
-                    successfulTaskResources.add(cftTaskDatabaseService.saveTask(taskResource));
-                }
-            });
-        }
-
-        return new TaskOperationResponse(Map.of("successfulTaskResources", successfulTaskResources.size()));
+        return new TaskOperationResponse(Map.of("successfulTaskResources", searchIndexWorker.indexRequestedTasks()));
     }
 }
@@ -0,0 +1,108 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services.outbox;
+
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.Timer;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.CamundaOutboxEntry;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.CamundaService;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+/**
+ * Delivers the Camunda updates recorded by the {@link CamundaOutboxService}. Only the oldest pending entry
+ * of a task is leased at a time, so updates of the same task are delivered in the order they were made.
+ */
+@Slf4j
+@Component
+public class CamundaOutboxDispatcher {
+
+    private static final String METRIC_DELIVERIES = "wa.camunda_outbox.deliveries";
+    private static final String TAG_OUTCOME = "outcome";
+
+    private final CamundaOutboxService camundaOutboxService;
+    private final CamundaService camundaService;
+    private final int batchSize;
+    private final int maxAttempts;
+    private final Duration leaseDuration;
+    private final Duration retryDelay;
+    private final Counter deliveredCounter;
+    private final Counter retryCounter;
+    private final Counter failedCounter;
+    private final Timer deliveryLagTimer;
+
+    @Autowired
+    public CamundaOutboxDispatcher(CamundaOutboxService camundaOutboxService,
+                                   CamundaService camundaService,
+                                   MeterRegistry meterRegistry,
+                                   @Value("${camunda.outbox.batchSize}") int batchSize,
+                                   @Value("${camunda.outbox.maxAttempts}") int maxAttempts,
+                                   @Value("${camunda.outbox.leaseDurationSeconds}") long leaseDurationSeconds,
+                                   @Value("${camunda.outbox.retryDelayMillis}") long retryDelayMillis) {
+        this.camundaOutboxService = camundaOutboxService;
+        this.camundaService = camundaService;
+        this.batchSize = batchSize;
+        this.maxAttempts = maxAttempts;
+        this.leaseDuration = Duration.ofSeconds(leaseDurationSeconds);
+        this.retryDelay = Duration.ofMillis(retryDelayMillis);
+        this.deliveredCounter = Counter.builder(METRIC_DELIVERIES)
+            .description("Camunda updates delivered from the outbox")
+            .tag(TAG_OUTCOME, "delivered")
+            .register(meterRegistry);
+        this.retryCounter = Counter.builder(METRIC_DELIVERIES)
+            .description("Camunda updates delivered from the outbox")
+            .tag(TAG_OUTCOME, "retry")
+            .register(meterRegistry);
+        this.failedCounter = Counter.builder(METRIC_DELIVERIES)
+            .description("Camunda updates delivered from the outbox")
+            .tag(TAG_OUTCOME, "failed")
+            .register(meterRegistry);
+        this.deliveryLagTimer = Timer.builder("wa.camunda_outbox.delivery.lag")
+            .description("Time from a task change being committed to its Camunda update being delivered")
+            .register(meterRegistry);
+    }
+
+    /**
+     * Delivers due entries until a batch comes back less than full.
+     */
+    public void dispatch() {
+        List<CamundaOutboxEntry> entries;
+        do {
+            entries = camundaOutboxService.leaseDueEntries(batchSize, leaseDuration);
+            entries.forEach(this::deliver);
+        } while (entries.size() == batchSize);
+    }
+
+    private void deliver(CamundaOutboxEntry entry) {
+        try {
+            switch (entry.getAction()) {
+                case ASSIGN -> camundaService.assignTask(entry.getTaskId(), entry.getAssignee(), false);
+                case UNCLAIM -> camundaService.unclaimTask(entry.getTaskId(), entry.isTaskHasUnassigned());
+                default -> throw new IllegalStateException("Unsupported Camunda outbox action " + entry.getAction());
+            }
+        } catch (RuntimeException e) {
+            boolean retrying = camundaOutboxService.markAttemptFailed(
+                entry.getId(), e.getMessage(), maxAttempts, retryDelay
+            );
+            if (retrying) {
+                retryCounter.increment();
+                log.warn("Camunda {} update for task {} failed, it will be retried: {}",
+                         entry.getAction(), entry.getTaskId(), e.getMessage());
+            } else {
+                failedCounter.increment();
+                log.error("Camunda {} update for task {} could not be delivered",
+                          entry.getAction(), entry.getTaskId(), e);
+            }
+            return;
+        }
+
+        camundaOutboxService.markDelivered(entry.getId());
+        deliveredCounter.increment();
+        deliveryLagTimer.record(Duration.between(entry.getCreated(), OffsetDateTime.now()));
+    }
+}
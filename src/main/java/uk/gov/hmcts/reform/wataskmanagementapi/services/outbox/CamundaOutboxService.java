@@ -0,0 +1,139 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services.outbox;
+
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Service;
+import org.springframework.transaction.annotation.Transactional;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.CamundaOutboxEntry;
+import uk.gov.hmcts.reform.wataskmanagementapi.enums.CamundaOutboxAction;
+import uk.gov.hmcts.reform.wataskmanagementapi.enums.CamundaOutboxStatus;
+import uk.gov.hmcts.reform.wataskmanagementapi.repository.CamundaOutboxRepository;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.CamundaService;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Sends task assignment updates to Camunda. When the outbox is enabled the update is recorded in the
+ * current transaction and delivered by the {@link CamundaOutboxDispatcher} once committed, so the task row
+ * lock and database connection are not held while Camunda is called.
+ */
+@Slf4j
+@Service
+public class CamundaOutboxService {
+
+    private static final int MAX_ERROR_LENGTH = 1000;
+
+    private final CamundaService camundaService;
+    private final CamundaOutboxRepository camundaOutboxRepository;
+    private final boolean enabled;
+
+    @Autowired
+    public CamundaOutboxService(CamundaService camundaService,
+                                CamundaOutboxRepository camundaOutboxRepository,
+                                @Value("${camunda.outbox.enabled}") boolean enabled) {
+        this.camundaService = camundaService;
+        this.camundaOutboxRepository = camundaOutboxRepository;
+        this.enabled = enabled;
+    }
+
+    public void assignTask(String taskId, String assigneeUserId) {
+        if (enabled) {
+            enqueue(new CamundaOutboxEntry(taskId, CamundaOutboxAction.ASSIGN, assigneeUserId, false,
+                                           OffsetDateTime.now()));
+        } else {
+            camundaService.assignTask(taskId, assigneeUserId, false);
+        }
+    }
+
+    public void unclaimTask(String taskId, boolean taskHasUnassigned) {
+        if (enabled) {
+            enqueue(new CamundaOutboxEntry(taskId, CamundaOutboxAction.UNCLAIM, null, taskHasUnassigned,
+                                           OffsetDateTime.now()));
+        } else {
+            camundaService.unclaimTask(taskId, taskHasUnassigned);
+        }
+    }
+
+    /**
+     * Discards the undelivered assignment updates of a task that is being completed, cancelled or terminated
+     * in Camunda directly, as they no longer apply once the Camunda task has ended.
+     *
+     * @param taskId the task id
+     */
+    public void discardPending(String taskId) {
+        if (enabled) {
+            int discarded = camundaOutboxRepository.deletePendingByTaskId(taskId);
+            if (discarded > 0) {
+                log.info("Discarded {} pending Camunda updates for task {}", discarded, taskId);
+            }
+        }
+    }
+
+    /**
+     * Locks the due entries and pushes their next attempt time out by the lease duration, so that other
+     * instances do not pick them up while they are being delivered outside of this transaction.
+     */
+    @Transactional
+    public List<CamundaOutboxEntry> leaseDueEntries(int batchSize, Duration leaseDuration) {
+        OffsetDateTime now = OffsetDateTime.now();
+        List<CamundaOutboxEntry> entries = camundaOutboxRepository.findDueEntriesForUpdate(now, batchSize);
+        entries.forEach(entry -> entry.setNextAttemptTime(now.plus(leaseDuration)));
+        return entries;
+    }
+
+    @Transactional
+    public void markDelivered(Long id) {
+        camundaOutboxRepository.deleteById(id);
+    }
+
+    /**
+     * Records a failed delivery attempt and schedules a retry with exponential backoff.
+     *
+     * @return true if the entry will be retried, false if it has been marked as failed
+     */
+    @Transactional
+    public boolean markAttemptFailed(Long id, String error, int maxAttempts, Duration retryDelay) {
+        return camundaOutboxRepository.findById(id)
+            .map(entry -> {
+                entry.setAttempts(entry.getAttempts() + 1);
+                entry.setLastError(error == null || error.length() <= MAX_ERROR_LENGTH
+                                       ? error
+                                       : error.substring(0, MAX_ERROR_LENGTH));
+                boolean retry = entry.getAttempts() < maxAttempts;
+                if (retry) {
+                    long backoff = 1L << Math.min(entry.getAttempts() - 1, 10);
+                    entry.setNextAttemptTime(OffsetDateTime.now().plus(retryDelay.multipliedBy(backoff)));
+                } else {
+                    entry.setStatus(CamundaOutboxStatus.FAILED);
+                }
+                camundaOutboxRepository.save(entry);
+                return retry;
+            })
+            //The entry was discarded while it was being delivered
+            .orElse(false);
+    }
+
+    /**
+     * Reconciles the entries that ran out of delivery attempts against the tasks. An entry that still matches
+     * its task is queued again with a fresh set of attempts, one that has since been superseded by another
+     * change, or whose task has ended, is discarded.
+     *
+     * @return the number of entries queued again and discarded
+     */
+    @Transactional
+    public Map<String, Object> replayFailed() {
+        int replayed = camundaOutboxRepository.requeueCurrentFailedEntries(OffsetDateTime.now());
+        int discarded = camundaOutboxRepository.deleteFailedEntries();
+        log.info("Replayed {} failed Camunda updates and discarded {} superseded ones", replayed, discarded);
+        return Map.of("replayed", replayed, "discarded", discarded);
+    }
+
+    private void enqueue(CamundaOutboxEntry entry) {
+        camundaOutboxRepository.save(entry);
+        log.debug("Queued Camunda {} update for task {}", entry.getAction(), entry.getTaskId());
+    }
+}
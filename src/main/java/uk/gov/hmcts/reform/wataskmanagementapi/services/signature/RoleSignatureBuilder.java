@@ -1,29 +1,61 @@
 package uk.gov.hmcts.reform.wataskmanagementapi.services.signature;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.RoleAssignment;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.RoleAttributeDefinition;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.GrantType;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SearchRequest;
 
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
 import java.util.ArrayList;
+import java.util.Base64;
 import java.util.Collection;
+import java.util.Collections;
+import java.util.EnumSet;
 import java.util.HashSet;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
-import java.util.function.Predicate;
-import java.util.stream.Collectors;
 
 import static uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.GrantType.CHALLENGED;
 import static uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.GrantType.SPECIFIC;
 import static uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.GrantType.STANDARD;
 
-public final class RoleSignatureBuilder {
-    private static final String WILDCARD = "*";
+@Component
+public class RoleSignatureBuilder {
+    public static final String CACHE_NAME = "role_signatures";
     public static final String OWN_AND_CLAIM_PERMISSION = "a";
     public static final String MANAGE_PERMISSION = "m";
     public static final String READ_PERMISSION = "r";
 
-    private RoleSignatureBuilder() {
-        //Utility class constructor
+    private static final String WILDCARD = "*";
+    private static final char SEPARATOR = ':';
+    private static final char FIELD_SEPARATOR = '\u0000';
+    private static final int SIGNATURE_CAPACITY = 128;
+    private static final Set<GrantType> SEARCHABLE_GRANT_TYPES = EnumSet.of(STANDARD, SPECIFIC, CHALLENGED);
+
+    /**
+     * Compiled signatures are shared between searches with the same role assignments, permission and
+     * filter, so paging through a task list does not rebuild them on every request. Entries are weighed
+     * by the number of role assignments and signatures they hold.
+     */
+    private final Cache<RoleSignatureKey, SignatureSet> roleSignatures;
+
+    @Autowired
+    public RoleSignatureBuilder(@Qualifier("roleSignatureCaffeineConfig") Caffeine<Object, Object> caffeineConfig,
+                                MeterRegistry meterRegistry) {
+        this.roleSignatures = caffeineConfig
+            .weigher((RoleSignatureKey key, SignatureSet signatures) -> key.roleAssignmentCount() + signatures.size())
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, roleSignatures, CACHE_NAME);
     }
 
     /**
@@ -35,61 +67,80 @@ public final class RoleSignatureBuilder {
      * - all the authorisations on the role assignment, plus a wildcard (*)
      */
 
-    public static Set<String> buildRoleSignatures(Collection<RoleAssignment> roleAssignments,
-                                                  SearchRequest searchTaskRequest) {
+    public Set<String> buildRoleSignatures(Collection<RoleAssignment> roleAssignments,
+                                           SearchRequest searchTaskRequest) {
         String permission = permissionRequirement(searchTaskRequest);
-        Set<RoleAssignment> filteredRoleAssignments = filterRoleAssignments(roleAssignments, searchTaskRequest);
+        RoleSignatureKey key = new RoleSignatureKey(
+            digest(roleAssignments),
+            roleAssignments.size(),
+            permission,
+            searchTaskRequest.isAvailableTasksOnly(),
+            copyOf(searchTaskRequest.getJurisdictions()),
+            copyOf(searchTaskRequest.getRegions()),
+            copyOf(searchTaskRequest.getLocations()),
+            copyOf(searchTaskRequest.getCaseIds())
+        );
+        return roleSignatures.get(key, k -> compileRoleSignatures(roleAssignments, searchTaskRequest, permission));
+    }
 
+    private static SignatureSet compileRoleSignatures(Collection<RoleAssignment> roleAssignments,
+                                                      SearchRequest searchTaskRequest,
+                                                      String permission) {
         Set<String> roleSignatures = new HashSet<>();
-        for (RoleAssignment roleAssignment : filteredRoleAssignments) {
-            for (String authorisation : authorisations(roleAssignment, searchTaskRequest)) {
-                String classification = roleAssignment.getClassification().getAbbreviation();
-                String roleSignature = makeRoleSignature(roleAssignment, classification, authorisation, permission);
-                roleSignatures.add(roleSignature);
+        StringBuilder signature = new StringBuilder(SIGNATURE_CAPACITY);
+        for (RoleAssignment roleAssignment : roleAssignments) {
+            Map<String, String> attributes = attributes(roleAssignment);
+            if (!canMatch(roleAssignment, attributes, searchTaskRequest)) {
+                continue;
+            }
+            String caseId = attributes.get(RoleAttributeDefinition.CASE_ID.value());
+            int prefixLength = appendRoleSignaturePrefix(signature, roleAssignment, attributes, permission);
+
+            if (searchTaskRequest.isAvailableTasksOnly() && caseId == null
+                && roleAssignment.getAuthorisations() != null) {
+                for (String authorisation : roleAssignment.getAuthorisations()) {
+                    signature.setLength(prefixLength);
+                    roleSignatures.add(signature.append(authorisation).toString());
+                }
             }
+            signature.setLength(prefixLength);
+            roleSignatures.add(signature.append(WILDCARD).toString());
         }
-        return roleSignatures;
+        return new SignatureSet(roleSignatures);
     }
 
     /**
-     * Returns the list of authorisations to be included in signatures for the given role assignment.
+     * Appends the part of the signature shared by all the authorisations of the given role assignment.
+     * Signatures are made of the role assignment attributes combined with the permission, classification
+     * and authorisation. This matches the signatures used in the database to index tasks based on task
+     * role / permission configuration. This is a uniform procedure that can be used for both case roles
+     * and organisational roles.
      * If the query is looking for available tasks, then signatures for organisational roles include
-     * all the user's authorisations, plus a wildcard ("*").
-     * For other types of query, and for case roles in all queries, authorisations are ignored, and
+     * all the user's authorisations, plus a wildcard ("*"). For other types of query, and for case roles
+     * in all queries, authorisations are ignored and only the wildcard is used.
      */
-    private static List<String> authorisations(RoleAssignment roleAssignment, SearchRequest searchTaskRequest) {
-        boolean isOrganisationalRole = roleAssignment.getAttributeValue(RoleAttributeDefinition.CASE_ID).isEmpty();
-
-        if (searchTaskRequest.isAvailableTasksOnly() && isOrganisationalRole) {
-            return withWildcard(roleAssignment.getAuthorisations());
-        } else {
-            return List.of(WILDCARD);
-        }
+    private static int appendRoleSignaturePrefix(StringBuilder signature,
+                                                 RoleAssignment roleAssignment,
+                                                 Map<String, String> attributes,
+                                                 String permission) {
+        signature.setLength(0);
+        signature.append(wildcardIfNull(attributes.get(RoleAttributeDefinition.JURISDICTION.value())))
+            .append(SEPARATOR)
+            .append(wildcardIfNull(attributes.get(RoleAttributeDefinition.REGION.value())))
+            .append(SEPARATOR)
+            .append(wildcardIfNull(attributes.get(RoleAttributeDefinition.BASE_LOCATION.value())))
+            .append(SEPARATOR)
+            .append(roleAssignment.getRoleName())
+            .append(SEPARATOR)
+            .append(wildcardIfNull(attributes.get(RoleAttributeDefinition.CASE_ID.value())))
+            .append(SEPARATOR)
+            .append(permission)
+            .append(SEPARATOR)
+            .append(wildcardIfNull(roleAssignment.getClassification().getAbbreviation()))
+            .append(SEPARATOR);
+        return signature.length();
     }
 
-    /**
-     * Create the signature of the given role assignment, combined with the
-     * classification, authorisation and permission.  This matches the signatures used in
-     * the database to index tasks based on task role / permission configuration.
-     * This is a uniform procedure that can be used for both case roles and organisational
-     * roles.
-     */
-    private static String makeRoleSignature(RoleAssignment roleAssignment,
-                                            String classification,
-                                            String authorisation,
-                                            String permission) {
-        return String.join(":",
-            wildcardIfNull(roleAssignment.getAttributeValue(RoleAttributeDefinition.JURISDICTION).orElse(null)),
-            wildcardIfNull(roleAssignment.getAttributeValue(RoleAttributeDefinition.REGION).orElse(null)),
-            wildcardIfNull(roleAssignment.getAttributeValue(RoleAttributeDefinition.BASE_LOCATION).orElse(null)),
-            roleAssignment.getRoleName(),
-            wildcardIfNull(roleAssignment.getAttributeValue(RoleAttributeDefinition.CASE_ID).orElse(null)),
-            permission,
-            wildcardIfNull(classification),
-            authorisation);
-    }
-
-
     private static String permissionRequirement(SearchRequest searchTaskRequest) {
         if (searchTaskRequest.isAvailableTasksOnly()) {
             //'a' represent own and claim permission in role signature
@@ -104,46 +155,91 @@ public final class RoleSignatureBuilder {
     }
 
     /**
-     * Removes role assignments which cannot match the query filter.  For example, if the query filter
+     * Returns false for role assignments which cannot match the query filter.  For example, if the query filter
      * has jurisdiction: [IA, SSCS], then a role assignment with jurisdiction = CIVIL cannot result
      * in any tasks being added to the query result set, whereas a role assignment with jurisdiction =
      * IA, SSCS or null can.
      */
-    private static Set<RoleAssignment> filterRoleAssignments(Collection<RoleAssignment> roleAssignments,
-                                                             SearchRequest searchTaskRequest) {
-        return roleAssignments.stream()
-            .filter(filterByAttribute(RoleAttributeDefinition.JURISDICTION, searchTaskRequest.getJurisdictions()))
-            .filter(filterByAttribute(RoleAttributeDefinition.REGION, searchTaskRequest.getRegions()))
-            .filter(filterByAttribute(RoleAttributeDefinition.BASE_LOCATION, searchTaskRequest.getLocations()))
-            .filter(filterByAttribute(RoleAttributeDefinition.CASE_ID, searchTaskRequest.getCaseIds()))
-            .filter(r -> List.of(STANDARD, SPECIFIC, CHALLENGED).contains(r.getGrantType()))
-            .collect(Collectors.toSet());
+    private static boolean canMatch(RoleAssignment roleAssignment,
+                                    Map<String, String> attributes,
+                                    SearchRequest searchTaskRequest) {
+        return SEARCHABLE_GRANT_TYPES.contains(roleAssignment.getGrantType())
+               && canMatch(attributes, RoleAttributeDefinition.JURISDICTION, searchTaskRequest.getJurisdictions())
+               && canMatch(attributes, RoleAttributeDefinition.REGION, searchTaskRequest.getRegions())
+               && canMatch(attributes, RoleAttributeDefinition.BASE_LOCATION, searchTaskRequest.getLocations())
+               && canMatch(attributes, RoleAttributeDefinition.CASE_ID, searchTaskRequest.getCaseIds());
+    }
+
+    /**
+     * Checks the constraints on the given attribute.  If the set of values is empty, then the attribute is
+     * unconstrained.  If there are values provided, then the role assignment value must be one of the set,
+     * or null, otherwise the role assignment cannot match any tasks which also match the value set.
+     * Returns true if the specified attribute is null (unconstrained) or is in the given set.
+     */
+    private static boolean canMatch(Map<String, String> attributes,
+                                    RoleAttributeDefinition attribute,
+                                    List<String> values) {
+        if (values == null || values.isEmpty()) {
+            return true;
+        }
+        String value = attributes.get(attribute.value());
+        return value == null || values.contains(value);
+    }
+
+    private static Map<String, String> attributes(RoleAssignment roleAssignment) {
+        return roleAssignment.getAttributes() == null ? Map.of() : roleAssignment.getAttributes();
+    }
+
+    private static <T> List<T> copyOf(List<T> values) {
+        return values == null ? List.of() : Collections.unmodifiableList(new ArrayList<>(values));
     }
 
     /**
-     * Filters out role assignments which cannot match the constraints on the given attribute.  If the set of values
-     * is empty, then the attribute is unconstrained and nothing is removed.  If there are values provided, then
-     * the role assignment value must be one of the set, or null, otherwise the role assignment cannot match any
-     * tasks which also match the value set, and it is removed from consideration. Returns true if the specified
-     * attribute is null (unconstrained) or is in the given set.
+     * Digests the fields of the role assignments that signatures are built from, in an order that does not
+     * depend on the order of the role assignments, so that the cache key can not be changed afterwards.
      */
-    private static Predicate<RoleAssignment> filterByAttribute(RoleAttributeDefinition attribute, List<String> values) {
-        return roleAssignment -> values == null || values.isEmpty()
-                                 || roleAssignment.getAttributes().get(attribute.value()) == null
-                                 || values.contains(roleAssignment.getAttributes().get(attribute.value()));
+    private static String digest(Collection<RoleAssignment> roleAssignments) {
+        MessageDigest digest;
+        try {
+            digest = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException("SHA-256 is not available", e);
+        }
+        roleAssignments.stream()
+            .map(RoleSignatureBuilder::describe)
+            .sorted()
+            .forEach(description -> digest.update(description.getBytes(StandardCharsets.UTF_8)));
+        return Base64.getEncoder().encodeToString(digest.digest());
     }
 
-    private static List<String> withWildcard(List<String> values) {
-        List<String> valuesWithWildcard = new ArrayList<>();
-        if (values != null) {
-            valuesWithWildcard.addAll(values);
+    private static String describe(RoleAssignment roleAssignment) {
+        Map<String, String> attributes = attributes(roleAssignment);
+        StringBuilder description = new StringBuilder(SIGNATURE_CAPACITY)
+            .append(roleAssignment.getGrantType()).append(FIELD_SEPARATOR)
+            .append(roleAssignment.getRoleName()).append(FIELD_SEPARATOR)
+            .append(roleAssignment.getClassification()).append(FIELD_SEPARATOR)
+            .append(attributes.get(RoleAttributeDefinition.JURISDICTION.value())).append(FIELD_SEPARATOR)
+            .append(attributes.get(RoleAttributeDefinition.REGION.value())).append(FIELD_SEPARATOR)
+            .append(attributes.get(RoleAttributeDefinition.BASE_LOCATION.value())).append(FIELD_SEPARATOR)
+            .append(attributes.get(RoleAttributeDefinition.CASE_ID.value())).append(FIELD_SEPARATOR);
+        if (roleAssignment.getAuthorisations() != null) {
+            roleAssignment.getAuthorisations().forEach(authorisation -> description.append(authorisation).append(','));
         }
-        valuesWithWildcard.add(WILDCARD);
-        return valuesWithWildcard;
+        return description.append('\n').toString();
     }
 
     private static String wildcardIfNull(String value) {
         return value == null ? WILDCARD : value;
     }
 
+    private record RoleSignatureKey(String roleAssignmentsDigest,
+                                    int roleAssignmentCount,
+                                    String permission,
+                                    boolean availableTasksOnly,
+                                    List<String> jurisdictions,
+                                    List<String> regions,
+                                    List<String> locations,
+                                    List<String> caseIds) {
+    }
+
 }
@@ -1,51 +1,114 @@
 package uk.gov.hmcts.reform.wataskmanagementapi.services.signature;
 
+import com.github.benmanes.caffeine.cache.Cache;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.MeterRegistry;
+import io.micrometer.core.instrument.binder.cache.CaffeineCacheMetrics;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.beans.factory.annotation.Qualifier;
+import org.springframework.stereotype.Component;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.RoleCategory;
 import uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.CFTTaskState;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SearchRequest;
 
+import java.util.ArrayList;
 import java.util.Collection;
 import java.util.Collections;
 import java.util.HashSet;
+import java.util.List;
 import java.util.Set;
-import java.util.stream.Collectors;
 
 @SuppressWarnings({
     "PMD.CognitiveComplexity"})
-public final class SearchFilterSignatureBuilder {
-    private static final Set<String> WILDCARD = Collections.singleton("*");
+@Component
+public class SearchFilterSignatureBuilder {
+    public static final String CACHE_NAME = "filter_signatures";
 
-    private SearchFilterSignatureBuilder() {
-        //Utility class constructor
+    private static final String[] WILDCARD = {"*"};
+    private static final char SEPARATOR = ':';
+    private static final int SIGNATURE_CAPACITY = 64;
+
+    /**
+     * Compiled signatures are shared between searches with the same filter, weighed by the number of
+     * signatures they hold.
+     */
+    private final Cache<FilterSignatureKey, SignatureSet> filterSignatures;
+
+    @Autowired
+    public SearchFilterSignatureBuilder(@Qualifier("filterSignatureCaffeineConfig")
+                                        Caffeine<Object, Object> caffeineConfig,
+                                        MeterRegistry meterRegistry) {
+        this.filterSignatures = caffeineConfig
+            .weigher((FilterSignatureKey key, SignatureSet signatures) -> signatures.size())
+            .build();
+        CaffeineCacheMetrics.monitor(meterRegistry, filterSignatures, CACHE_NAME);
     }
 
-    public static Set<String> buildFilterSignatures(SearchRequest searchTaskRequest) {
-        return defaultToWildcard(CFTTaskState.getAbbreviations(searchTaskRequest.getCftTaskStates())).stream()
-            .flatMap(state -> defaultToWildcard(searchTaskRequest.getJurisdictions()).stream()
-                .flatMap(jurisdiction ->
-                    defaultToWildcard(RoleCategory.getAbbreviations(searchTaskRequest.getRoleCategories())).stream()
-                        .flatMap(roleCategory -> defaultToWildcard(searchTaskRequest.getWorkTypes()).stream()
-                            .flatMap(workType -> defaultToWildcard(searchTaskRequest.getRegions()).stream()
-                                .flatMap(region -> defaultToWildcard(searchTaskRequest.getLocations()).stream()
-                                    .map(location ->
-                                        String.join(
-                                            ":",
-                                            state,
-                                            jurisdiction,
-                                            roleCategory,
-                                            workType,
-                                            region,
-                                            location))
-                                )
-                            )
-                        )
-                )
-            )
-            .collect(Collectors.toCollection(HashSet::new));  // Collecting into a HashSet
+    public Set<String> buildFilterSignatures(SearchRequest searchTaskRequest) {
+        FilterSignatureKey key = new FilterSignatureKey(
+            copyOf(searchTaskRequest.getCftTaskStates()),
+            copyOf(searchTaskRequest.getJurisdictions()),
+            copyOf(searchTaskRequest.getRoleCategories()),
+            copyOf(searchTaskRequest.getWorkTypes()),
+            copyOf(searchTaskRequest.getRegions()),
+            copyOf(searchTaskRequest.getLocations())
+        );
+        return filterSignatures.get(key, SearchFilterSignatureBuilder::compileFilterSignatures);
     }
 
+    /**
+     * Builds the cartesian product of state, jurisdiction, role category, work type, region and location,
+     * using a wildcard for every unconstrained filter.
+     */
+    private static SignatureSet compileFilterSignatures(FilterSignatureKey key) {
+        String[][] dimensions = {
+            defaultToWildcard(CFTTaskState.getAbbreviations(key.states())),
+            defaultToWildcard(key.jurisdictions()),
+            defaultToWildcard(RoleCategory.getAbbreviations(key.roleCategories())),
+            defaultToWildcard(key.workTypes()),
+            defaultToWildcard(key.regions()),
+            defaultToWildcard(key.locations())
+        };
+
+        Set<String> signatures = new HashSet<>();
+        StringBuilder signature = new StringBuilder(SIGNATURE_CAPACITY);
+        int[] position = new int[dimensions.length];
+        int dimension = 0;
+        while (dimension >= 0) {
+            signature.setLength(0);
+            for (int i = 0; i < dimensions.length; i++) {
+                if (i > 0) {
+                    signature.append(SEPARATOR);
+                }
+                signature.append(dimensions[i][position[i]]);
+            }
+            signatures.add(signature.toString());
+
+            dimension = dimensions.length - 1;
+            while (dimension >= 0 && position[dimension] == dimensions[dimension].length - 1) {
+                position[dimension] = 0;
+                dimension--;
+            }
+            if (dimension >= 0) {
+                position[dimension]++;
+            }
+        }
+        return new SignatureSet(signatures);
+    }
+
+    private static String[] defaultToWildcard(Collection<String> strings) {
+        return strings == null || strings.isEmpty() ? WILDCARD : strings.toArray(new String[0]);
+    }
+
+    private static <T> List<T> copyOf(List<T> values) {
+        return values == null ? List.of() : Collections.unmodifiableList(new ArrayList<>(values));
+    }
 
-    private static Collection<String> defaultToWildcard(Collection<String> strings) {
-        return strings == null || strings.isEmpty() ? WILDCARD : strings;
+    private record FilterSignatureKey(List<CFTTaskState> states,
+                                      List<String> jurisdictions,
+                                      List<RoleCategory> roleCategories,
+                                      List<String> workTypes,
+                                      List<String> regions,
+                                      List<String> locations) {
     }
 }
@@ -0,0 +1,52 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services.signature;
+
+import java.util.AbstractSet;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.Set;
+
+/**
+ * Immutable set of compiled search signatures. The signatures are held both as a set, for lookups,
+ * and as the array that is bound to the {@code text[]} query parameters, so memoised signature sets
+ * can be shared between searches without being copied again.
+ */
+@SuppressWarnings("PMD.MethodReturnsInternalArray")
+public final class SignatureSet extends AbstractSet<String> {
+
+    private final Set<String> signatures;
+    private final String[] signatureArray;
+
+    SignatureSet(Collection<String> signatures) {
+        this.signatures = Set.copyOf(signatures);
+        this.signatureArray = this.signatures.toArray(new String[0]);
+    }
+
+    /**
+     * Returns the signatures as an array suitable for binding to a {@code text[]} parameter.
+     * Compiled signature sets hand out their shared array, which must not be modified.
+     *
+     * @param signatures the signatures
+     * @return the signatures as an array
+     */
+    public static String[] toSignatureArray(Set<String> signatures) {
+        if (signatures instanceof SignatureSet signatureSet) {
+            return signatureSet.signatureArray;
+        }
+        return signatures.toArray(new String[0]);
+    }
+
+    @Override
+    public Iterator<String> iterator() {
+        return signatures.iterator();
+    }
+
+    @Override
+    public int size() {
+        return signatureArray.length;
+    }
+
+    @Override
+    public boolean contains(Object signature) {
+        return signatures.contains(signature);
+    }
+}
@@ -0,0 +1,166 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services.signature;
+
+import jakarta.persistence.PrePersist;
+import jakarta.persistence.PreUpdate;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.Classification;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.RoleCategory;
+import uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.CFTTaskState;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.SecurityClassification;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskRoleResource;
+
+import java.util.ArrayList;
+import java.util.EnumSet;
+import java.util.List;
+import java.util.Set;
+import java.util.TreeSet;
+
+import static uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.CFTTaskState.ASSIGNED;
+import static uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.CFTTaskState.UNASSIGNED;
+import static uk.gov.hmcts.reform.wataskmanagementapi.services.signature.RoleSignatureBuilder.MANAGE_PERMISSION;
+import static uk.gov.hmcts.reform.wataskmanagementapi.services.signature.RoleSignatureBuilder.OWN_AND_CLAIM_PERMISSION;
+import static uk.gov.hmcts.reform.wataskmanagementapi.services.signature.RoleSignatureBuilder.READ_PERMISSION;
+
+/**
+ * Writes the signatures a task is found by in the search index, the counterpart of the signatures searched
+ * for by {@link RoleSignatureBuilder} and {@link SearchFilterSignatureBuilder}. Registered as an entity
+ * listener of the task, so the signatures are written whenever the task is inserted or updated. Signatures
+ * are only kept for the assigned and unassigned tasks covered by the search index, and are sorted so that
+ * a task saved with unchanged attributes and roles does not rewrite them.
+ */
+public class TaskSignatureWriter {
+    private static final String WILDCARD = "*";
+    private static final char SEPARATOR = ':';
+    private static final Set<CFTTaskState> INDEXED_STATES = EnumSet.of(ASSIGNED, UNASSIGNED);
+
+    @PrePersist
+    @PreUpdate
+    public void beforeSave(TaskResource task) {
+        writeSignatures(task);
+    }
+
+    public static void writeSignatures(TaskResource task) {
+        if (!INDEXED_STATES.contains(task.getState())) {
+            task.setFilterSignatures(null);
+            task.setRoleSignatures(null);
+            return;
+        }
+        task.setFilterSignatures(filterSignatures(task));
+        task.setRoleSignatures(roleSignatures(task));
+    }
+
+    /**
+     * Builds the cartesian product of state, jurisdiction, role category, work type, region and location,
+     * each paired with a wildcard, so the task matches every search filter that includes or ignores them.
+     */
+    private static String[] filterSignatures(TaskResource task) {
+        String workType = task.getWorkTypeResource() == null ? null : task.getWorkTypeResource().getId();
+        List<String> signatures = combine(
+            withWildcard(task.getState().getAbbreviation()),
+            withWildcard(task.getJurisdiction()),
+            withWildcard(roleCategoryAbbreviation(task.getRoleCategory())),
+            withWildcard(workType),
+            withWildcard(task.getRegion()),
+            withWildcard(task.getLocation())
+        );
+        return new TreeSet<>(signatures).toArray(new String[0]);
+    }
+
+    /**
+     * Builds the signatures of the role assignments which would match the permissions on the task:
+     * jurisdiction, region, location, role name, case id, permission, classification and authorisation.
+     * Organisational roles match any case and carry the authorisations required for the available
+     * permission, case roles match the case of the task and ignore authorisations. The classification
+     * is every classification at or above the one of the task.
+     */
+    private static String[] roleSignatures(TaskResource task) {
+        if (task.getSecurityClassification() == null || task.getTaskRoleResources() == null) {
+            return new String[0];
+        }
+        List<String> locations = combine(
+            withWildcard(task.getJurisdiction()),
+            withWildcard(task.getRegion()),
+            withWildcard(task.getLocation())
+        );
+        List<String> classifications = classificationsFrom(task.getSecurityClassification());
+
+        Set<String> signatures = new TreeSet<>();
+        for (TaskRoleResource role : task.getTaskRoleResources()) {
+            if (role.getRoleName() == null) {
+                continue;
+            }
+            for (String[] permission : permissions(role)) {
+                for (String location : locations) {
+                    for (String classification : classifications) {
+                        String prefix = location + SEPARATOR + role.getRoleName() + SEPARATOR;
+                        String suffix = SEPARATOR + permission[0] + SEPARATOR + classification + SEPARATOR;
+                        for (int i = 1; i < permission.length; i++) {
+                            signatures.add(prefix + WILDCARD + suffix + permission[i]);
+                        }
+                        if (task.getCaseId() != null) {
+                            signatures.add(prefix + task.getCaseId() + suffix + WILDCARD);
+                        }
+                    }
+                }
+            }
+        }
+        return signatures.toArray(new String[0]);
+    }
+
+    /**
+     * Returns the permissions of the role that searches can require, each followed by the authorisations
+     * it needs. Only the available permission, own and claim, is restricted by authorisations.
+     */
+    private static List<String[]> permissions(TaskRoleResource role) {
+        List<String[]> permissions = new ArrayList<>();
+        if (Boolean.TRUE.equals(role.getRead())) {
+            permissions.add(new String[]{READ_PERMISSION, WILDCARD});
+        }
+        if (Boolean.TRUE.equals(role.getManage())) {
+            permissions.add(new String[]{MANAGE_PERMISSION, WILDCARD});
+        }
+        if (Boolean.TRUE.equals(role.getOwn()) && Boolean.TRUE.equals(role.getClaim())) {
+            String[] authorizations = role.getAuthorizations();
+            if (authorizations == null || authorizations.length == 0) {
+                permissions.add(new String[]{OWN_AND_CLAIM_PERMISSION, WILDCARD});
+            } else {
+                String[] permission = new String[authorizations.length + 1];
+                permission[0] = OWN_AND_CLAIM_PERMISSION;
+                System.arraycopy(authorizations, 0, permission, 1, authorizations.length);
+                permissions.add(permission);
+            }
+        }
+        return permissions;
+    }
+
+    private static List<String> classificationsFrom(SecurityClassification securityClassification) {
+        List<String> classifications = new ArrayList<>();
+        SecurityClassification[] values = SecurityClassification.values();
+        for (int i = securityClassification.ordinal(); i < values.length; i++) {
+            classifications.add(Classification.valueOf(values[i].name()).getAbbreviation());
+        }
+        return classifications;
+    }
+
+    private static String roleCategoryAbbreviation(String roleCategory) {
+        return RoleCategory.isAllowed(roleCategory) ? RoleCategory.valueOf(roleCategory).getAbbreviation() : null;
+    }
+
+    private static String[] withWildcard(String value) {
+        return value == null ? new String[]{WILDCARD} : new String[]{WILDCARD, value};
+    }
+
+    private static List<String> combine(String[]... dimensions) {
+        List<String> combinations = List.of("");
+        for (int i = 0; i < dimensions.length; i++) {
+            List<String> extended = new ArrayList<>(combinations.size() * dimensions[i].length);
+            for (String combination : combinations) {
+                for (String value : dimensions[i]) {
+                    extended.add(i == 0 ? value : combination + SEPARATOR + value);
+                }
+            }
+            combinations = extended;
+        }
+        return combinations;
+    }
+}
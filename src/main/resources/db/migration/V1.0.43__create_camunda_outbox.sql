@@ -0,0 +1,19 @@
+CREATE TABLE cft_task_db.camunda_outbox
+(
+    id                      BIGSERIAL,
+    task_id                 TEXT        NOT NULL,
+    action                  TEXT        NOT NULL,
+    assignee                TEXT        NULL,
+    task_has_unassigned     BOOLEAN     NOT NULL default false,
+    status                  TEXT        NOT NULL default 'PENDING',
+    attempts                INTEGER     NOT NULL default 0,
+    last_error              TEXT        NULL,
+    created                 TIMESTAMP   NOT NULL default CURRENT_TIMESTAMP,
+    next_attempt_time       TIMESTAMP   NOT NULL default CURRENT_TIMESTAMP,
+    PRIMARY KEY (id)
+);
+
+create index if not exists idx_camunda_outbox_task_id on cft_task_db.camunda_outbox using btree(task_id, id)
+    where status = 'PENDING';
+create index if not exists idx_camunda_outbox_next_attempt on cft_task_db.camunda_outbox using btree(next_attempt_time)
+    where status = 'PENDING';
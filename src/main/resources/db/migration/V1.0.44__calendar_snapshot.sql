@@ -0,0 +1,7 @@
+CREATE TABLE cft_task_db.calendar_snapshot
+(
+    uri                     TEXT        NOT NULL,
+    content                 TEXT        NOT NULL,
+    fetched                 TIMESTAMP   NOT NULL default CURRENT_TIMESTAMP,
+    PRIMARY KEY (uri)
+);
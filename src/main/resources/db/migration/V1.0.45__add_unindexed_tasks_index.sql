@@ -0,0 +1,3 @@
+create index if not exists idx_tasks_unindexed on cft_task_db.tasks
+    using btree((coalesce(last_updated_timestamp, created)))
+    where not indexed and state in ('ASSIGNED', 'UNASSIGNED') and reconfigure_request_time is null;
@@ -0,0 +1,48 @@
+/*
+ * Hold the search index signatures of a task as columns, written by the
+ * application whenever a task and its roles are saved, instead of calling
+ * the signature functions from the index.  The role signature function
+ * reads task_roles, so it could only be declared immutable because tasks
+ * are taken out of the index while they change, and every index update or
+ * rebuild had to generate the signatures again.  Only assigned and
+ * unassigned tasks have signatures.
+ */
+alter table cft_task_db.tasks add column if not exists filter_signatures text[];
+alter table cft_task_db.tasks add column if not exists role_signatures text[];
+
+/*
+ * The signatures of the existing tasks are populated and the search index is
+ * rebuilt on the columns outside of this transaction, see
+ * V1.0.48__backfill_search_signatures.sql, so that adding the columns only
+ * locks the tasks table briefly.
+ */
+
+/*
+ * Refresh the signatures of all the searched tasks, then add them to the
+ * search index.  Needed after data fixes that update tasks or task roles
+ * without going through the application.
+ */
+create or replace procedure cft_task_db.reindex_all_tasks()
+	language plpgsql
+as $$
+begin
+update cft_task_db.tasks set indexed = false;
+commit;
+update cft_task_db.tasks
+set filter_signatures = array(
+        select distinct s
+        from unnest(cft_task_db.filter_signatures(task_id, state, jurisdiction, role_category, work_type, region,
+                                                  location)) s
+        where s is not null
+        order by s collate "C"),
+    role_signatures = array(
+        select distinct s
+        from unnest(cft_task_db.role_signatures(task_id, jurisdiction, region, location, case_id,
+                                                security_classification)) s
+        where s is not null
+        order by s collate "C"),
+    indexed = true
+where state in ('ASSIGNED'::cft_task_db.task_state_enum, 'UNASSIGNED'::cft_task_db.task_state_enum);
+commit;
+end;
+$$;
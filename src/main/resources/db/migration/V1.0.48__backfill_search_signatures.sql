@@ -0,0 +1,83 @@
+/*
+ * Runs outside of a transaction, see the .conf file next to this script, so
+ * that each batch of the backfill is committed on its own and the indexes are
+ * built without blocking writes to the tasks table.
+ */
+
+/*
+ * Active tasks whose signatures have not been written yet: the tasks that
+ * existed before the signature columns, and the tasks saved by instances that
+ * do not write the signatures while a release is rolled out.  The search index
+ * worker keeps filling these in after the rollout.
+ */
+create index concurrently if not exists idx_tasks_missing_signatures on cft_task_db.tasks
+    using btree(task_id)
+    where state in ('ASSIGNED', 'UNASSIGNED') and (filter_signatures is null or role_signatures is null);
+
+/*
+ * Populate the signatures of the active tasks that have none, sorted and
+ * without duplicates as the application writes them, committing each batch.
+ * Tasks locked by other transactions are left for the search index worker.
+ */
+create or replace procedure cft_task_db.backfill_search_signatures(batch_size integer)
+	language plpgsql
+as $$
+declare
+    filled integer;
+begin
+loop
+    with batch as (
+        select task_id
+        from cft_task_db.tasks
+        where state in ('ASSIGNED'::cft_task_db.task_state_enum, 'UNASSIGNED'::cft_task_db.task_state_enum)
+          and (filter_signatures is null or role_signatures is null)
+        limit batch_size
+        for update skip locked)
+    update cft_task_db.tasks t
+    set filter_signatures = array(
+            select distinct s
+            from unnest(cft_task_db.filter_signatures(t.task_id, t.state, t.jurisdiction, t.role_category,
+                                                      t.work_type, t.region, t.location)) s
+            where s is not null
+            order by s collate "C"),
+        role_signatures = array(
+            select distinct s
+            from unnest(cft_task_db.role_signatures(t.task_id, t.jurisdiction, t.region, t.location, t.case_id,
+                                                    t.security_classification)) s
+            where s is not null
+            order by s collate "C")
+    from batch
+    where t.task_id = batch.task_id;
+    get diagnostics filled = row_count;
+    commit;
+    exit when filled = 0;
+end loop;
+end;
+$$;
+
+call cft_task_db.backfill_search_signatures(1000);
+
+/*
+ * GIN index to look up tasks based on role signatures and filter signatures.
+ * As it only covers plain columns it can be rebuilt without blocking writes:
+ * reindex index concurrently cft_task_db.search_signatures_index;
+ */
+create index concurrently if not exists search_signatures_index on cft_task_db.tasks using gin (
+    filter_signatures,
+    role_signatures,
+    case_id,
+    assignee)
+    where state in ('ASSIGNED','UNASSIGNED') and indexed;
+
+/*
+ * The previous search index called the signature functions for every entry.
+ */
+drop index concurrently if exists cft_task_db.search_index;
+
+/*
+ * The signature functions are no longer used by the index, they are kept to
+ * refresh the signatures after data fixes that update tasks or task roles
+ * directly.  The role signature function reads task_roles, so it is stable.
+ */
+alter function cft_task_db.role_signatures(text, text, text, text, text, cft_task_db.security_classification_enum)
+    stable;
@@ -0,0 +1,2 @@
+ALTER TABLE cft_task_db.tasks ADD COLUMN filter_signatures TEXT[];
+ALTER TABLE cft_task_db.tasks ADD COLUMN role_signatures TEXT[];
@@ -0,0 +1,7 @@
+CREATE TABLE cft_task_db.replication_heartbeat
+(
+    instance_name           TEXT        NOT NULL,
+    marker                  TEXT        NOT NULL,
+    updated                 TIMESTAMP   NOT NULL default CURRENT_TIMESTAMP,
+    PRIMARY KEY (instance_name)
+);
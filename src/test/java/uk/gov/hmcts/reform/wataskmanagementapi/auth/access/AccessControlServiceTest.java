@@ -1,5 +1,8 @@
 package uk.gov.hmcts.reform.wataskmanagementapi.auth.access;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -8,12 +11,14 @@ import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.access.entities.AccessControlResponse;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.idam.IdamService;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.idam.entities.UserInfo;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.RoleAssignmentCache;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.RoleAssignmentService;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.RoleAssignment;
 import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.NoRoleAssignmentsFoundException;
 
 import java.util.Collections;
 import java.util.Optional;
+import java.util.concurrent.TimeUnit;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.junit.Assert.assertEquals;
@@ -39,7 +44,16 @@ class AccessControlServiceTest {
 
     @BeforeEach
     void setUp() {
-        accessControlService = new AccessControlService(idamService, roleAssignmentService);
+        RoleAssignmentCache roleAssignmentCache = new RoleAssignmentCache(
+            roleAssignmentService,
+            Caffeine.newBuilder(),
+            Ticker.systemTicker(),
+            new SimpleMeterRegistry(),
+            false,
+            15,
+            TimeUnit.SECONDS
+        );
+        accessControlService = new AccessControlService(idamService, roleAssignmentService, roleAssignmentCache);
     }
 
     @Test
@@ -0,0 +1,241 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.auth.role;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.testing.FakeTicker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpHeaders;
+import org.springframework.http.HttpStatus;
+import org.springframework.http.ResponseEntity;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.RoleAssignment;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.response.RoleAssignmentResource;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class RoleAssignmentCacheTest {
+
+    private static final String USER_ID = "userId";
+    private static final String AUTH_TOKEN = "Bearer token";
+    private static final String NEXT_AUTH_TOKEN = "Bearer next token";
+    private static final String E_TAG = "\"etag-1\"";
+
+    @Mock
+    private RoleAssignmentService roleAssignmentService;
+
+    private FakeTicker ticker;
+    private SimpleMeterRegistry meterRegistry;
+    private RoleAssignmentCache roleAssignmentCache;
+
+    @BeforeEach
+    void setUp() {
+        ticker = new FakeTicker();
+        meterRegistry = new SimpleMeterRegistry();
+        Caffeine<Object, Object> caffeine = Caffeine.newBuilder()
+            .expireAfterWrite(60, TimeUnit.SECONDS)
+            .maximumSize(100)
+            .recordStats()
+            .ticker(ticker::read);
+
+        roleAssignmentCache = new RoleAssignmentCache(roleAssignmentService, caffeine, ticker::read, meterRegistry,
+                                                      true, 15, TimeUnit.SECONDS, Runnable::run);
+    }
+
+    @Test
+    void should_cache_role_assignments_per_user() {
+        List<RoleAssignment> roleAssignments =
+            List.of(RoleAssignment.builder().roleName("tribunal-caseworker").build());
+        when(roleAssignmentService.getRolesForUserIfNoneMatch(USER_ID, AUTH_TOKEN, null))
+            .thenReturn(okResponse(roleAssignments));
+
+        assertEquals(roleAssignments, roleAssignmentCache.getRolesForUser(USER_ID, AUTH_TOKEN));
+        assertEquals(roleAssignments, roleAssignmentCache.getRolesForUser(USER_ID, AUTH_TOKEN));
+        assertEquals(roleAssignments, roleAssignmentCache.getRolesForUser(USER_ID, AUTH_TOKEN));
+
+        verify(roleAssignmentService, times(1)).getRolesForUserIfNoneMatch(USER_ID, AUTH_TOKEN, null);
+        assertEquals(2.0, meterRegistry.get("cache.gets").tag("cache", RoleAssignmentCache.CACHE_NAME)
+            .tag("result", "hit").functionCounter().count());
+        assertEquals(1L, meterRegistry.get("wa.role_assignment.remote.latency").timer().count());
+    }
+
+    @Test
+    void should_record_the_remote_latency_saved_by_cache_hits() {
+        List<RoleAssignment> roleAssignments =
+            List.of(RoleAssignment.builder().roleName("tribunal-caseworker").build());
+        when(roleAssignmentService.getRolesForUserIfNoneMatch(USER_ID, AUTH_TOKEN, null))
+            .thenReturn(okResponse(roleAssignments));
+
+        roleAssignmentCache.getRolesForUser(USER_ID, AUTH_TOKEN);
+        roleAssignmentCache.getRolesForUser(USER_ID, AUTH_TOKEN);
+        roleAssignmentCache.getRolesForUser(USER_ID, AUTH_TOKEN);
+
+        double remoteLatency = meterRegistry.get("wa.role_assignment.remote.latency").timer()
+            .mean(TimeUnit.MILLISECONDS);
+        assertEquals(2 * remoteLatency,
+                     meterRegistry.get("wa.role_assignment.cache.saved_latency").counter().count());
+    }
+
+    @Test
+    void should_refresh_ahead_with_etag_and_the_request_token_once_refresh_interval_elapsed() {
+        List<RoleAssignment> roleAssignments =
+            List.of(RoleAssignment.builder().roleName("tribunal-caseworker").build());
+        when(roleAssignmentService.getRolesForUserIfNoneMatch(USER_ID, AUTH_TOKEN, null))
+            .thenReturn(okResponse(roleAssignments));
+        when(roleAssignmentService.getRolesForUserIfNoneMatch(USER_ID, NEXT_AUTH_TOKEN, E_TAG))
+            .thenReturn(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
+
+        roleAssignmentCache.getRolesForUser(USER_ID, AUTH_TOKEN);
+        ticker.advance(10, TimeUnit.SECONDS);
+        assertEquals(roleAssignments, roleAssignmentCache.getRolesForUser(USER_ID, NEXT_AUTH_TOKEN));
+        verify(roleAssignmentService, never()).getRolesForUserIfNoneMatch(USER_ID, NEXT_AUTH_TOKEN, E_TAG);
+
+        ticker.advance(10, TimeUnit.SECONDS);
+        assertEquals(roleAssignments, roleAssignmentCache.getRolesForUser(USER_ID, NEXT_AUTH_TOKEN));
+        verify(roleAssignmentService, times(1)).getRolesForUserIfNoneMatch(USER_ID, NEXT_AUTH_TOKEN, E_TAG);
+
+        //Revalidation resets the write time so the entry does not expire
+        ticker.advance(50, TimeUnit.SECONDS);
+        assertEquals(roleAssignments, roleAssignmentCache.getRolesForUser(USER_ID, NEXT_AUTH_TOKEN));
+        verify(roleAssignmentService, times(1)).getRolesForUserIfNoneMatch(USER_ID, AUTH_TOKEN, null);
+    }
+
+    @Test
+    void should_replace_role_assignments_when_modified() {
+        List<RoleAssignment> original = List.of(RoleAssignment.builder().roleName("tribunal-caseworker").build());
+        List<RoleAssignment> updated = List.of(RoleAssignment.builder().roleName("senior-tribunal-caseworker").build());
+        when(roleAssignmentService.getRolesForUserIfNoneMatch(USER_ID, AUTH_TOKEN, null))
+            .thenReturn(okResponse(original));
+        when(roleAssignmentService.getRolesForUserIfNoneMatch(USER_ID, AUTH_TOKEN, E_TAG))
+            .thenReturn(okResponse(updated));
+
+        roleAssignmentCache.getRolesForUser(USER_ID, AUTH_TOKEN);
+        ticker.advance(20, TimeUnit.SECONDS);
+
+        //The cached assignments are served while the entry is refreshed ahead of expiry
+        assertEquals(original, roleAssignmentCache.getRolesForUser(USER_ID, AUTH_TOKEN));
+        assertEquals(updated, roleAssignmentCache.getRolesForUser(USER_ID, AUTH_TOKEN));
+        verify(roleAssignmentService, times(1)).getRolesForUserIfNoneMatch(USER_ID, AUTH_TOKEN, E_TAG);
+    }
+
+    @Test
+    void should_keep_serving_cached_role_assignments_when_refresh_fails() {
+        List<RoleAssignment> roleAssignments =
+            List.of(RoleAssignment.builder().roleName("tribunal-caseworker").build());
+        when(roleAssignmentService.getRolesForUserIfNoneMatch(USER_ID, AUTH_TOKEN, null))
+            .thenReturn(okResponse(roleAssignments));
+        when(roleAssignmentService.getRolesForUserIfNoneMatch(USER_ID, AUTH_TOKEN, E_TAG))
+            .thenThrow(new IllegalStateException("Role assignment service is unavailable"));
+
+        roleAssignmentCache.getRolesForUser(USER_ID, AUTH_TOKEN);
+        ticker.advance(20, TimeUnit.SECONDS);
+
+        assertEquals(roleAssignments, roleAssignmentCache.getRolesForUser(USER_ID, AUTH_TOKEN));
+        assertEquals(roleAssignments, roleAssignmentCache.getRolesForUser(USER_ID, AUTH_TOKEN));
+        verify(roleAssignmentService, times(2)).getRolesForUserIfNoneMatch(USER_ID, AUTH_TOKEN, E_TAG);
+        verify(roleAssignmentService, times(1)).getRolesForUserIfNoneMatch(USER_ID, AUTH_TOKEN, null);
+    }
+
+    @Test
+    void should_refresh_ahead_once_per_user_and_not_undo_an_eviction() {
+        List<Runnable> refreshes = new ArrayList<>();
+        roleAssignmentCache = new RoleAssignmentCache(
+            roleAssignmentService,
+            Caffeine.newBuilder().expireAfterWrite(60, TimeUnit.SECONDS).ticker(ticker::read),
+            ticker::read,
+            meterRegistry,
+            true,
+            15,
+            TimeUnit.SECONDS,
+            refreshes::add
+        );
+        List<RoleAssignment> roleAssignments =
+            List.of(RoleAssignment.builder().roleName("tribunal-caseworker").build());
+        when(roleAssignmentService.getRolesForUserIfNoneMatch(USER_ID, AUTH_TOKEN, null))
+            .thenReturn(okResponse(roleAssignments));
+        when(roleAssignmentService.getRolesForUserIfNoneMatch(USER_ID, AUTH_TOKEN, E_TAG))
+            .thenReturn(ResponseEntity.status(HttpStatus.NOT_MODIFIED).build());
+
+        roleAssignmentCache.getRolesForUser(USER_ID, AUTH_TOKEN);
+        ticker.advance(20, TimeUnit.SECONDS);
+        roleAssignmentCache.getRolesForUser(USER_ID, AUTH_TOKEN);
+        roleAssignmentCache.getRolesForUser(USER_ID, AUTH_TOKEN);
+        assertEquals(1, refreshes.size());
+
+        roleAssignmentCache.evict(USER_ID);
+        refreshes.get(0).run();
+        roleAssignmentCache.getRolesForUser(USER_ID, AUTH_TOKEN);
+
+        verify(roleAssignmentService, times(2)).getRolesForUserIfNoneMatch(USER_ID, AUTH_TOKEN, null);
+    }
+
+    @Test
+    void should_not_keep_users_without_role_assignments() {
+        when(roleAssignmentService.getRolesForUserIfNoneMatch(USER_ID, AUTH_TOKEN, null))
+            .thenReturn(okResponse(List.of()));
+
+        assertTrue(roleAssignmentCache.getRolesForUser(USER_ID, AUTH_TOKEN).isEmpty());
+        assertTrue(roleAssignmentCache.getRolesForUser(USER_ID, AUTH_TOKEN).isEmpty());
+
+        verify(roleAssignmentService, times(2)).getRolesForUserIfNoneMatch(USER_ID, AUTH_TOKEN, null);
+    }
+
+    @Test
+    void should_fetch_again_after_eviction() {
+        List<RoleAssignment> roleAssignments =
+            List.of(RoleAssignment.builder().roleName("tribunal-caseworker").build());
+        when(roleAssignmentService.getRolesForUserIfNoneMatch(USER_ID, AUTH_TOKEN, null))
+            .thenReturn(okResponse(roleAssignments));
+
+        roleAssignmentCache.getRolesForUser(USER_ID, AUTH_TOKEN);
+        roleAssignmentCache.evict(USER_ID);
+        roleAssignmentCache.getRolesForUser(USER_ID, AUTH_TOKEN);
+        roleAssignmentCache.evictAll();
+        roleAssignmentCache.getRolesForUser(USER_ID, AUTH_TOKEN);
+
+        verify(roleAssignmentService, times(3)).getRolesForUserIfNoneMatch(USER_ID, AUTH_TOKEN, null);
+    }
+
+    @Test
+    void should_delegate_to_role_assignment_service_when_disabled() {
+        roleAssignmentCache = new RoleAssignmentCache(
+            roleAssignmentService,
+            Caffeine.newBuilder(),
+            ticker::read,
+            meterRegistry,
+            false,
+            15,
+            TimeUnit.SECONDS
+        );
+        List<RoleAssignment> roleAssignments =
+            List.of(RoleAssignment.builder().roleName("tribunal-caseworker").build());
+        when(roleAssignmentService.getRolesForUser(USER_ID, AUTH_TOKEN)).thenReturn(roleAssignments);
+
+        assertEquals(roleAssignments, roleAssignmentCache.getRolesForUser(USER_ID, AUTH_TOKEN));
+        assertEquals(roleAssignments, roleAssignmentCache.getRolesForUser(USER_ID, AUTH_TOKEN));
+
+        verify(roleAssignmentService, times(2)).getRolesForUser(USER_ID, AUTH_TOKEN);
+        verify(roleAssignmentService, never()).getRolesForUserIfNoneMatch(any(), eq(AUTH_TOKEN), isNull());
+    }
+
+    private ResponseEntity<RoleAssignmentResource> okResponse(List<RoleAssignment> roleAssignments) {
+        HttpHeaders headers = new HttpHeaders();
+        headers.setETag(E_TAG);
+        return ResponseEntity.ok().headers(headers).body(new RoleAssignmentResource(roleAssignments));
+    }
+}
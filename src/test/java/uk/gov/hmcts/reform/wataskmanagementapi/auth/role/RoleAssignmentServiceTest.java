@@ -11,6 +11,7 @@ import org.mockito.ArgumentCaptor;
 import org.mockito.Captor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.http.HttpStatus;
 import org.springframework.http.ResponseEntity;
 import uk.gov.hmcts.reform.authorisation.generators.AuthTokenGenerator;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.idam.IdamTokenGenerator;
@@ -129,6 +130,40 @@ class RoleAssignmentServiceTest {
         );
     }
 
+    @Test
+    void testGetRolesForUserIfNoneMatchReturnsNotModified() {
+        String idamUserId = "user";
+        String authToken = "token";
+        String serviceAuthToken = "authToken";
+        FeignException notModified = mock(FeignException.class);
+        when(notModified.status()).thenReturn(304);
+        when(authTokenGenerator.generate()).thenReturn(serviceAuthToken);
+        when(roleAssignmentServiceApi.getRolesForUserIfNoneMatch(idamUserId, authToken, serviceAuthToken, "etag"))
+            .thenThrow(notModified);
+
+        ResponseEntity<RoleAssignmentResource> response =
+            roleAssignmentService.getRolesForUserIfNoneMatch(idamUserId, authToken, "etag");
+
+        assertEquals(HttpStatus.NOT_MODIFIED, response.getStatusCode());
+    }
+
+    @Test
+    void testGetRolesForUserIfNoneMatchThrowsUnauthorizedException() {
+        String idamUserId = "user";
+        String authToken = "token";
+        String serviceAuthToken = "authToken";
+        FeignException forbidden = mock(FeignException.class);
+        when(forbidden.status()).thenReturn(403);
+        when(authTokenGenerator.generate()).thenReturn(serviceAuthToken);
+        when(roleAssignmentServiceApi.getRolesForUserIfNoneMatch(idamUserId, authToken, serviceAuthToken, null))
+            .thenThrow(forbidden);
+
+        assertThrows(
+            UnAuthorizedException.class,
+            () -> roleAssignmentService.getRolesForUserIfNoneMatch(idamUserId, authToken, null)
+        );
+    }
+
     @Test
     void testGetRolesForUserThrowsNullPointerWhenIdamUserIdIsNull() {
         String authToken = "token";
@@ -0,0 +1,199 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.cft.query;
+
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.permission.PermissionRequirementBuilder;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.permission.PermissionRequirements;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.permission.entities.PermissionJoin;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.RoleAssignment;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.Classification;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.GrantType;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.RoleType;
+import uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.CFTTaskState;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.SecurityClassification;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskRoleResource;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static uk.gov.hmcts.reform.wataskmanagementapi.auth.permission.entities.PermissionTypes.CLAIM;
+import static uk.gov.hmcts.reform.wataskmanagementapi.auth.permission.entities.PermissionTypes.EXECUTE;
+import static uk.gov.hmcts.reform.wataskmanagementapi.auth.permission.entities.PermissionTypes.MANAGE;
+import static uk.gov.hmcts.reform.wataskmanagementapi.auth.permission.entities.PermissionTypes.OWN;
+import static uk.gov.hmcts.reform.wataskmanagementapi.auth.permission.entities.PermissionTypes.READ;
+
+class RoleAssignmentEvaluatorTest {
+
+    private static final String CASE_ID = "1623278362431003";
+    private static final PermissionRequirements READ_REQUIRED =
+        PermissionRequirementBuilder.builder().buildSingleType(READ);
+
+    @Test
+    void should_give_access_when_a_role_assignment_matches_a_task_role_with_the_permission() {
+        TaskResource task = task(SecurityClassification.PUBLIC, role("tribunal-caseofficer", null));
+
+        assertTrue(RoleAssignmentEvaluator.hasAccess(
+            task, List.of(standard("tribunal-caseofficer", Classification.PUBLIC)), READ_REQUIRED));
+        assertFalse(RoleAssignmentEvaluator.hasAccess(
+            task, List.of(standard("senior-tribunal-caseofficer", Classification.PUBLIC)), READ_REQUIRED));
+        assertFalse(RoleAssignmentEvaluator.hasAccess(
+            task, List.of(standard("tribunal-caseofficer", Classification.PUBLIC)),
+            PermissionRequirementBuilder.builder().buildSingleType(MANAGE)));
+    }
+
+    @Test
+    void should_only_give_access_to_tasks_at_or_below_the_classification() {
+        TaskResource task = task(SecurityClassification.PRIVATE, role("tribunal-caseofficer", null));
+
+        assertFalse(RoleAssignmentEvaluator.hasAccess(
+            task, List.of(standard("tribunal-caseofficer", Classification.PUBLIC)), READ_REQUIRED));
+        assertTrue(RoleAssignmentEvaluator.hasAccess(
+            task, List.of(standard("tribunal-caseofficer", Classification.PRIVATE)), READ_REQUIRED));
+        assertTrue(RoleAssignmentEvaluator.hasAccess(
+            task, List.of(standard("tribunal-caseofficer", Classification.RESTRICTED)), READ_REQUIRED));
+    }
+
+    @Test
+    void should_not_give_access_when_an_attribute_does_not_match() {
+        TaskResource task = task(SecurityClassification.PUBLIC, role("tribunal-caseofficer", null));
+        RoleAssignment otherRegion = RoleAssignment.builder()
+            .roleName("tribunal-caseofficer")
+            .roleType(RoleType.ORGANISATION)
+            .grantType(GrantType.STANDARD)
+            .classification(Classification.PUBLIC)
+            .attributes(Map.of("jurisdiction", "IA", "region", "2"))
+            .build();
+
+        assertFalse(RoleAssignmentEvaluator.hasAccess(task, List.of(otherRegion), READ_REQUIRED));
+    }
+
+    @Test
+    void should_require_one_of_the_task_role_authorisations() {
+        TaskResource task = task(SecurityClassification.PUBLIC, role("tribunal-caseofficer", new String[]{"IAC"}));
+
+        assertFalse(RoleAssignmentEvaluator.hasAccess(
+            task, List.of(standard("tribunal-caseofficer", Classification.PUBLIC)), READ_REQUIRED));
+        RoleAssignment authorised = RoleAssignment.builder()
+            .roleName("tribunal-caseofficer")
+            .roleType(RoleType.ORGANISATION)
+            .grantType(GrantType.STANDARD)
+            .classification(Classification.PUBLIC)
+            .attributes(Map.of("jurisdiction", "IA"))
+            .authorisations(List.of("SSCS", "IAC"))
+            .build();
+        assertTrue(RoleAssignmentEvaluator.hasAccess(task, List.of(authorised), READ_REQUIRED));
+    }
+
+    @Test
+    void should_not_give_standard_access_when_the_case_is_excluded() {
+        TaskResource task = task(SecurityClassification.PUBLIC, role("tribunal-caseofficer", null),
+                                 role("case-manager", null));
+        RoleAssignment excluded = RoleAssignment.builder()
+            .roleName("conflict-of-interest")
+            .roleType(RoleType.CASE)
+            .grantType(GrantType.EXCLUDED)
+            .classification(Classification.RESTRICTED)
+            .attributes(Map.of("caseId", CASE_ID))
+            .build();
+        RoleAssignment specific = RoleAssignment.builder()
+            .roleName("case-manager")
+            .roleType(RoleType.CASE)
+            .grantType(GrantType.SPECIFIC)
+            .classification(Classification.PUBLIC)
+            .attributes(Map.of("caseId", CASE_ID))
+            .build();
+
+        assertFalse(RoleAssignmentEvaluator.hasAccess(
+            task, List.of(standard("tribunal-caseofficer", Classification.PUBLIC), excluded), READ_REQUIRED));
+        assertTrue(RoleAssignmentEvaluator.hasAccess(task, List.of(excluded, specific), READ_REQUIRED));
+    }
+
+    @Test
+    void should_ignore_role_assignments_that_are_not_active() {
+        TaskResource task = task(SecurityClassification.PUBLIC, role("tribunal-caseofficer", null));
+        RoleAssignment expired = RoleAssignment.builder()
+            .roleName("tribunal-caseofficer")
+            .roleType(RoleType.ORGANISATION)
+            .grantType(GrantType.STANDARD)
+            .classification(Classification.PUBLIC)
+            .endTime(OffsetDateTime.now().minusDays(1))
+            .build();
+
+        assertFalse(RoleAssignmentEvaluator.hasAccess(task, List.of(expired), READ_REQUIRED));
+    }
+
+    @Test
+    void should_evaluate_joined_permission_requirements_on_a_single_task_role() {
+        TaskRoleResource reader = role("tribunal-caseofficer", null);
+        TaskRoleResource owner = new TaskRoleResource(
+            "senior-tribunal-caseofficer", false, true, false, false, false, false, new String[]{}, 1, false);
+        owner.setClaim(true);
+        TaskResource task = task(SecurityClassification.PUBLIC, reader, owner);
+        List<RoleAssignment> roleAssignments = List.of(
+            standard("tribunal-caseofficer", Classification.PUBLIC),
+            standard("senior-tribunal-caseofficer", Classification.PUBLIC)
+        );
+
+        assertTrue(RoleAssignmentEvaluator.hasAccess(
+            task, roleAssignments, PermissionRequirementBuilder.builder().buildSingleRequirementWithAnd(OWN, CLAIM)));
+        assertFalse(RoleAssignmentEvaluator.hasAccess(
+            task, roleAssignments, PermissionRequirementBuilder.builder().buildSingleRequirementWithAnd(READ, OWN)));
+        assertTrue(RoleAssignmentEvaluator.hasAccess(
+            task, roleAssignments, PermissionRequirementBuilder.builder()
+                .initPermissionRequirement(List.of(OWN, EXECUTE), PermissionJoin.AND)
+                .joinPermissionRequirement(PermissionJoin.OR)
+                .nextPermissionRequirement(List.of(READ), PermissionJoin.AND)
+                .build()));
+    }
+
+    @Test
+    void should_give_read_permission_when_an_active_role_assignment_names_a_task_role_that_can_read() {
+        TaskRoleResource owner = new TaskRoleResource(
+            "senior-tribunal-caseofficer", false, true, false, false, false, false, new String[]{}, 1, false);
+        TaskResource task = task(SecurityClassification.RESTRICTED, role("tribunal-caseofficer", null), owner);
+        RoleAssignment expired = RoleAssignment.builder()
+            .roleName("tribunal-caseofficer")
+            .roleType(RoleType.ORGANISATION)
+            .endTime(OffsetDateTime.now().minusDays(1))
+            .build();
+        RoleAssignment unknown = RoleAssignment.builder()
+            .roleName("tribunal-caseofficer")
+            .roleType(RoleType.UNKNOWN)
+            .build();
+
+        assertTrue(RoleAssignmentEvaluator.hasReadPermission(
+            task, List.of(standard("tribunal-caseofficer", Classification.PUBLIC))));
+        assertFalse(RoleAssignmentEvaluator.hasReadPermission(
+            task, List.of(standard("senior-tribunal-caseofficer", Classification.RESTRICTED))));
+        assertFalse(RoleAssignmentEvaluator.hasReadPermission(task, List.of(expired, unknown)));
+    }
+
+    private RoleAssignment standard(String roleName, Classification classification) {
+        return RoleAssignment.builder()
+            .roleName(roleName)
+            .roleType(RoleType.ORGANISATION)
+            .grantType(GrantType.STANDARD)
+            .classification(classification)
+            .attributes(Map.of("jurisdiction", "IA", "region", "1", "baseLocation", "765324"))
+            .build();
+    }
+
+    private TaskRoleResource role(String roleName, String[] authorizations) {
+        return new TaskRoleResource(roleName, true, false, false, false, false, false, authorizations, 1, false);
+    }
+
+    private TaskResource task(SecurityClassification securityClassification, TaskRoleResource... roles) {
+        TaskResource task = new TaskResource("taskId", "aTaskName", "aTaskType", CFTTaskState.UNASSIGNED, CASE_ID);
+        task.setJurisdiction("IA");
+        task.setCaseTypeId("Asylum");
+        task.setRegion("1");
+        task.setLocation("765324");
+        task.setSecurityClassification(securityClassification);
+        task.setTaskRoleResources(Set.of(roles));
+        return task;
+    }
+}
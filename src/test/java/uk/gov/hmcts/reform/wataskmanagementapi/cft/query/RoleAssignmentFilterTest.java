@@ -28,7 +28,6 @@ import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
 
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.List;
 import java.util.Locale;
 
@@ -38,7 +37,6 @@ import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
-import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -418,42 +416,6 @@ class RoleAssignmentFilterTest {
         verify(builder, times(3)).or();
     }
 
-    @Test
-    void should_build_query_to_retrieve_role_information() {
-        when(taskRoleResources.get("roleName")).thenReturn(roleNamePath);
-        when(builder.equal(roleNamePath, "hmcts-judiciary")).thenReturn(equalPredicate);
-
-        RoleAssignmentFilter.buildQueryToRetrieveRoleInformation(
-            roleAssignmentWithSpecificGrantType(Classification.PUBLIC), builder, root);
-
-        verify(root, times(1)).join(anyString());
-        verify(builder, times(0)).equal(any(), any());
-        verify(builder, times(1)).or(any(Predicate[].class));
-        verify(builder, times(2)).and(any(), any());
-    }
-
-    @Test
-    void should_build_query_to_retrieve_role_information_when_role_assignment_are_empty() {
-        RoleAssignmentFilter.buildQueryToRetrieveRoleInformation(
-            Collections.emptyList(), builder, root);
-
-        verify(root, times(1)).join("taskRoleResources");
-        verify(builder, times(1)).or(any(Predicate[].class));
-        verify(builder, never()).equal(any(), any());
-        verify(builder, never()).and(any(), any());
-    }
-
-    @Test
-    void should_build_query_to_retrieve_role_information_when_role_assignment_are_inactive() {
-        RoleAssignmentFilter.buildQueryToRetrieveRoleInformation(
-            inActiveRoles(), builder, root);
-
-        verify(root, times(1)).join("taskRoleResources");
-        verify(builder, times(1)).or();
-        verify(builder, never()).equal(any(), any());
-        verify(builder, never()).and(any(), any());
-    }
-
     @Test
     void should_build_query_for_permission_requirement_collection() {
         List<RoleAssignment> roleAssignments = new ArrayList<>();
@@ -49,6 +49,7 @@ import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Set;
 
 import static java.util.Collections.singleton;
 import static org.assertj.core.api.Assertions.assertThat;
@@ -59,11 +60,12 @@ import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static uk.gov.hmcts.reform.wataskmanagementapi.auth.permission.entities.PermissionTypes.EXECUTE;
 import static uk.gov.hmcts.reform.wataskmanagementapi.auth.permission.entities.PermissionTypes.OWN;
 import static uk.gov.hmcts.reform.wataskmanagementapi.auth.permission.entities.PermissionTypes.READ;
-import static uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.CFTTaskState.UNCONFIGURED;
 import static uk.gov.hmcts.reform.wataskmanagementapi.domain.search.parameter.SearchParameterKey.CASE_ID;
 import static uk.gov.hmcts.reform.wataskmanagementapi.domain.search.parameter.SearchParameterKey.JURISDICTION;
 import static uk.gov.hmcts.reform.wataskmanagementapi.domain.search.parameter.SearchParameterKey.LOCATION;
@@ -324,7 +326,15 @@ class TaskResourceDaoTest {
         PermissionRequirements permissionsRequired = PermissionRequirementBuilder.builder()
             .buildSingleRequirementWithOr(OWN, EXECUTE);
 
-        when(query.getResultList()).thenReturn(List.of(createTaskResource()));
+        TaskResource executable = createTaskResource();
+        executable.setTaskRoleResources(Set.of(new TaskRoleResource(
+            "senior-tribunal-caseworker", false, true, true, false, false, false, new String[]{}, 1, false)));
+        TaskResource readOnly = createTaskResource();
+        readOnly.setTaskId("readOnlyTaskId");
+
+        when(em.createQuery(TaskResourceDao.COMPLETABLE_TASKS_QUERY, TaskResource.class)).thenReturn(query);
+        when(query.setParameter(anyString(), any())).thenReturn(query);
+        when(query.getResultList()).thenReturn(List.of(executable, readOnly));
 
         List<TaskResource> taskResources = taskResourceDao.getCompletableTaskResources(
             searchEventAndCase,
@@ -333,8 +343,30 @@ class TaskResourceDaoTest {
             List.of("reviewTheAppeal")
         );
 
-        assertNotNull(taskResources);
-        assertEquals("taskId", taskResources.get(0).getTaskId());
+        assertEquals(List.of(executable), taskResources);
+        verify(query).setParameter("caseId", "someCaseId");
+        verify(query).setParameter("states", List.of(CFTTaskState.ASSIGNED, CFTTaskState.UNASSIGNED));
+        verify(query).setParameter("taskTypes", List.of("reviewTheAppeal"));
+    }
+
+    @Test
+    void shouldNotLookUpCompletableTasksWithoutTaskTypes() {
+        SearchEventAndCase searchEventAndCase = new SearchEventAndCase(
+            "someCaseId",
+            "someEventId",
+            "IA",
+            "Asylum"
+        );
+
+        List<TaskResource> taskResources = taskResourceDao.getCompletableTaskResources(
+            searchEventAndCase,
+            roleAssignmentWithAllGrantTypes(),
+            PermissionRequirementBuilder.builder().buildSingleRequirementWithOr(OWN, EXECUTE),
+            List.of()
+        );
+
+        assertThat(taskResources).isEmpty();
+        verify(em, never()).createQuery(anyString(), any());
     }
 
     @Test
@@ -371,23 +403,39 @@ class TaskResourceDaoTest {
     void shouldGetTask() {
         PermissionRequirements permissionsRequired = PermissionRequirementBuilder.builder().buildSingleType(READ);
 
-        String taskId = "taskId";
-        TaskResource expectedTask = new TaskResource(
-            taskId,
-            "takeName",
-            "taskType",
-            UNCONFIGURED,
-            "caseId"
-        );
+        TaskResource expectedTask = createTaskResource();
+        expectedTask.setTaskRoleResources(Set.of(new TaskRoleResource(
+            "senior-tribunal-caseworker", true, false, false, false, false, false, new String[]{}, 1, false)));
 
+        when(em.createQuery(TaskResourceDao.TASK_WITH_ROLES_QUERY, TaskResource.class)).thenReturn(query);
+        when(query.setParameter(anyString(), any())).thenReturn(query);
         when(query.getResultList()).thenReturn(List.of(expectedTask));
 
         Optional<TaskResource> task
-            = taskResourceDao.getTask(taskId, roleAssignmentWithAllGrantTypes(), permissionsRequired);
+            = taskResourceDao.getTask("taskId", roleAssignmentWithAllGrantTypes(), permissionsRequired);
 
         assertThat(task)
             .isPresent()
             .get().isEqualTo(expectedTask);
+        verify(query).setParameter("taskId", "taskId");
+    }
+
+    @Test
+    void shouldNotGetTaskWhenRoleAssignmentsDoNotGiveAccess() {
+        PermissionRequirements permissionsRequired = PermissionRequirementBuilder.builder().buildSingleType(READ);
+
+        TaskResource ownOnly = createTaskResource();
+        ownOnly.setTaskRoleResources(Set.of(new TaskRoleResource(
+            "senior-tribunal-caseworker", false, true, false, false, false, false, new String[]{}, 1, false)));
+
+        when(em.createQuery(TaskResourceDao.TASK_WITH_ROLES_QUERY, TaskResource.class)).thenReturn(query);
+        when(query.setParameter(anyString(), any())).thenReturn(query);
+        when(query.getResultList()).thenReturn(List.of(ownOnly));
+
+        Optional<TaskResource> task
+            = taskResourceDao.getTask("taskId", roleAssignmentWithAllGrantTypes(), permissionsRequired);
+
+        assertThat(task).isEmpty();
     }
 
     @Test
@@ -15,7 +15,6 @@ import org.junit.jupiter.params.provider.MethodSource;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.access.entities.AccessControlResponse;
-import uk.gov.hmcts.reform.wataskmanagementapi.auth.idam.entities.SearchEventAndCase;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.permission.PermissionRequirementBuilder;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.permission.PermissionRequirements;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.permission.entities.PermissionTypes;
@@ -43,11 +42,9 @@ import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
-import static uk.gov.hmcts.reform.wataskmanagementapi.auth.permission.entities.PermissionTypes.EXECUTE;
 import static uk.gov.hmcts.reform.wataskmanagementapi.auth.permission.entities.PermissionTypes.OWN;
 import static uk.gov.hmcts.reform.wataskmanagementapi.auth.permission.entities.PermissionTypes.READ;
 import static uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.Classification.PUBLIC;
-import static uk.gov.hmcts.reform.wataskmanagementapi.cft.query.RoleAssignmentTestUtils.roleAssignmentWithSpecificGrantType;
 import static uk.gov.hmcts.reform.wataskmanagementapi.cft.query.RoleAssignmentTestUtils.roleAssignmentWithSpecificGrantTypeOnly;
 import static uk.gov.hmcts.reform.wataskmanagementapi.domain.search.RequestContext.AVAILABLE_TASKS;
 import static uk.gov.hmcts.reform.wataskmanagementapi.domain.search.parameter.SearchParameterKey.CASE_ID;
@@ -292,73 +289,6 @@ class TaskResourceSpecificationTest {
         verify(criteriaBuilder, times(1)).equal(any(), any(CFTTaskState.class));
     }
 
-    @Test
-    void should_build_single_task_query() {
-        final Predicate predicate = TaskSearchQueryBuilder.buildSingleTaskQuery(
-            "someTaskId", roleAssignmentWithSpecificGrantType(PUBLIC),
-            PermissionRequirementBuilder.builder().buildSingleType(READ),
-            criteriaBuilder, root
-        );
-
-        assertNotNull(predicate);
-    }
-
-    @Test
-    void should_build_task_role_permissions_query() {
-
-        final Predicate predicate = TaskSearchQueryBuilder.buildTaskRolePermissionsQuery(
-            "someTaskId", roleAssignmentWithSpecificGrantType(PUBLIC), criteriaBuilder, root);
-
-        assertNotNull(predicate);
-    }
-
-    @ParameterizedTest
-    @MethodSource({
-        "searchParameterForCompletable"
-    })
-    void should_build_task_query_for_search_for_completable(SearchTaskRequestScenario scenario) {
-        PermissionRequirements permissionsRequired = PermissionRequirementBuilder.builder()
-            .buildSingleRequirementWithOr(OWN, EXECUTE);
-
-        Predicate predicate = TaskSearchQueryBuilder.buildQueryForCompletable(
-            scenario.searchEventAndCase,
-            roleAssignmentWithSpecificGrantTypeOnly(PUBLIC),
-            permissionsRequired,
-            List.of("taskType"),
-            criteriaBuilder,
-            root
-        );
-
-        assertNotNull(predicate);
-
-        verify(criteriaBuilder, times(1)).in(any());
-        verify(criteriaBuilder, times(3)).equal(any(), anyString());
-
-    }
-
-    @Test
-    void should_build_task_query_for_search_for_completable_negated() {
-        PermissionRequirements permissionsRequired = PermissionRequirementBuilder.builder()
-            .buildSingleRequirementWithOr(OWN, EXECUTE);
-
-        SearchEventAndCase searchEventAndCase = new SearchEventAndCase(
-            "caseId", "eventId", "IA", "caseType");
-
-        Predicate predicate = TaskSearchQueryBuilder.buildQueryForCompletable(
-            searchEventAndCase,
-            roleAssignmentWithSpecificGrantTypeOnly(PUBLIC),
-            permissionsRequired,
-            emptyList(),
-            criteriaBuilder,
-            root
-        );
-
-        assertNotNull(predicate);
-
-        verify(criteriaBuilder, times(1)).in(any());
-        verify(criteriaBuilder, times(2)).equal(any(), anyString());
-    }
-
     private static Stream<SearchTaskRequestScenario> searchParameterForTaskQuery() { //NOSONAR paramTests
         SearchTaskRequest searchTaskRequest = new SearchTaskRequest(List.of(
             new SearchParameterList(JURISDICTION, SearchOperator.IN, singletonList("IA"))
@@ -463,21 +393,11 @@ class TaskResourceSpecificationTest {
 
     }
 
-    private static Stream<SearchTaskRequestScenario> searchParameterForCompletable() { //NOSONAR paramTests
-        SearchEventAndCase searchEventAndCase = new SearchEventAndCase(
-            "caseId", "eventId", "IA", "caseType");
-        SearchTaskRequestScenario withCaseId =
-            SearchTaskRequestScenario.builder().searchEventAndCase(searchEventAndCase).build();
-
-        return Stream.of(withCaseId);
-    }
-
     @Builder
     private static class SearchTaskRequestScenario {
         public Boolean availableTaskOnly;
         String name;
         SearchTaskRequest searchTaskRequest;
-        SearchEventAndCase searchEventAndCase;
         PermissionRequirements permissionsRequired;
         List<String> taskTypes;
         int expectedInPredicate;
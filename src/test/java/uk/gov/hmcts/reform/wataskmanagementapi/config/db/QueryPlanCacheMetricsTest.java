@@ -0,0 +1,57 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.config.db;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import jakarta.persistence.EntityManagerFactory;
+import org.hibernate.SessionFactory;
+import org.hibernate.stat.Statistics;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class QueryPlanCacheMetricsTest {
+
+    @Mock
+    private EntityManagerFactory entityManagerFactory;
+    @Mock
+    private SessionFactory sessionFactory;
+    @Mock
+    private Statistics statistics;
+
+    @Test
+    void should_count_query_plan_cache_hits_and_misses() {
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getStatistics()).thenReturn(statistics);
+        when(statistics.isStatisticsEnabled()).thenReturn(true);
+        when(statistics.getQueryPlanCacheHitCount()).thenReturn(12L);
+        when(statistics.getQueryPlanCacheMissCount()).thenReturn(3L);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        new QueryPlanCacheMetrics(Map.of("entityManagerFactory", entityManagerFactory), meterRegistry);
+
+        assertEquals(12, meterRegistry.get("wa.hibernate.query_plan_cache.hits")
+            .tag("entity_manager_factory", "entityManagerFactory").functionCounter().count());
+        assertEquals(3, meterRegistry.get("wa.hibernate.query_plan_cache.misses")
+            .tag("entity_manager_factory", "entityManagerFactory").functionCounter().count());
+    }
+
+    @Test
+    void should_not_expose_the_query_plan_cache_when_statistics_are_disabled() {
+        when(entityManagerFactory.unwrap(SessionFactory.class)).thenReturn(sessionFactory);
+        when(sessionFactory.getStatistics()).thenReturn(statistics);
+        when(statistics.isStatisticsEnabled()).thenReturn(false);
+        SimpleMeterRegistry meterRegistry = new SimpleMeterRegistry();
+
+        new QueryPlanCacheMetrics(Map.of("entityManagerFactory", entityManagerFactory), meterRegistry);
+
+        assertNull(meterRegistry.find("wa.hibernate.query_plan_cache.hits").functionCounter());
+        assertNull(meterRegistry.find("wa.hibernate.query_plan_cache.misses").functionCounter());
+    }
+}
@@ -0,0 +1,169 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.config.db;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.aopalliance.intercept.MethodInvocation;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.transaction.support.TransactionSynchronizationManager;
+
+import java.sql.Connection;
+import java.sql.ResultSet;
+import java.sql.ResultSetMetaData;
+import java.sql.SQLException;
+import java.sql.Statement;
+import java.util.concurrent.TimeUnit;
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReadReplicaRoutingDataSourceTest {
+
+    private static final long MAX_LAG_MILLIS = 1000;
+
+    @Mock
+    private DataSource primaryDataSource;
+    @Mock
+    private DataSource replicaDataSource;
+    @Mock
+    private Connection primaryConnection;
+    @Mock
+    private Connection replicaConnection;
+    @Mock
+    private Statement statement;
+    @Mock
+    private ResultSet resultSet;
+    @Mock
+    private ResultSetMetaData resultSetMetaData;
+    @Mock
+    private MethodInvocation invocation;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ReadReplicaRoutingDataSource readReplicaRoutingDataSource;
+
+    @BeforeEach
+    void setUp() throws Throwable {
+        lenient().when(primaryDataSource.getConnection()).thenReturn(primaryConnection);
+        lenient().when(invocation.proceed()).thenAnswer(call -> readReplicaRoutingDataSource.getConnection());
+        meterRegistry = new SimpleMeterRegistry();
+        readReplicaRoutingDataSource = new ReadReplicaRoutingDataSource(
+            primaryDataSource, replicaDataSource, meterRegistry, MAX_LAG_MILLIS
+        );
+    }
+
+    @AfterEach
+    void tearDown() {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(false);
+    }
+
+    @Test
+    void should_use_the_primary_until_the_replication_lag_is_known() throws SQLException {
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertFalse(readReplicaRoutingDataSource.isReplicaUsable());
+        assertSame(primaryConnection, readFromReplica());
+        assertEquals(1, connections("primary"));
+    }
+
+    @Test
+    void should_send_read_only_transactions_to_the_replica_when_the_lag_is_under_the_threshold()
+        throws SQLException {
+        replicationLag(200);
+
+        readReplicaRoutingDataSource.refreshLag();
+
+        assertTrue(readReplicaRoutingDataSource.isReplicaUsable());
+        assertEquals(200, meterRegistry.get("wa.read_replica.lag").timeGauge().value(TimeUnit.MILLISECONDS));
+        assertSame(primaryConnection, readFromReplica());
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertSame(replicaConnection, readFromReplica());
+        assertEquals(1, connections("replica"));
+        assertEquals(0, connections("primary"));
+    }
+
+    @Test
+    void should_keep_read_only_transactions_that_are_not_marked_on_the_primary() throws SQLException {
+        replicationLag(200);
+        readReplicaRoutingDataSource.refreshLag();
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(primaryConnection, readReplicaRoutingDataSource.getConnection());
+        assertEquals(0, connections("replica"));
+        assertEquals(0, connections("primary"));
+    }
+
+    @Test
+    void should_not_use_a_replica_that_is_not_streaming() throws SQLException {
+        replicationLag(0);
+        readReplicaRoutingDataSource.refreshLag();
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.wasNull()).thenReturn(true);
+
+        readReplicaRoutingDataSource.refreshLag();
+
+        assertFalse(readReplicaRoutingDataSource.isReplicaUsable());
+        assertEquals(-1, meterRegistry.get("wa.read_replica.lag").timeGauge().value(TimeUnit.MILLISECONDS));
+    }
+
+    @Test
+    void should_fall_back_to_the_primary_when_the_lag_is_over_the_threshold() throws SQLException {
+        replicationLag(200);
+        readReplicaRoutingDataSource.refreshLag();
+        replicationLag(5000);
+
+        readReplicaRoutingDataSource.refreshLag();
+
+        assertFalse(readReplicaRoutingDataSource.isReplicaUsable());
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+        assertSame(primaryConnection, readFromReplica());
+    }
+
+    @Test
+    void should_fall_back_to_the_primary_when_the_replica_can_not_be_reached() throws SQLException {
+        replicationLag(0);
+        readReplicaRoutingDataSource.refreshLag();
+        when(replicaDataSource.getConnection()).thenThrow(new SQLException("Connection refused"));
+        TransactionSynchronizationManager.setCurrentTransactionReadOnly(true);
+
+        assertSame(primaryConnection, readFromReplica());
+        assertFalse(readReplicaRoutingDataSource.isReplicaUsable());
+
+        readReplicaRoutingDataSource.refreshLag();
+
+        assertFalse(readReplicaRoutingDataSource.isReplicaUsable());
+        assertEquals(-1, meterRegistry.get("wa.read_replica.lag").timeGauge().value(TimeUnit.MILLISECONDS));
+    }
+
+    private void replicationLag(double lagMillis) throws SQLException {
+        when(replicaDataSource.getConnection()).thenReturn(replicaConnection);
+        when(replicaConnection.createStatement()).thenReturn(statement);
+        when(statement.executeQuery(ReadReplicaRoutingDataSource.REPLICATION_LAG_MILLIS)).thenReturn(resultSet);
+        when(resultSet.next()).thenReturn(true, false);
+        when(resultSet.getMetaData()).thenReturn(resultSetMetaData);
+        when(resultSetMetaData.getColumnCount()).thenReturn(1);
+        when(resultSet.getDouble(1)).thenReturn(lagMillis);
+    }
+
+    private Connection readFromReplica() throws SQLException {
+        try {
+            return (Connection) new ReadFromReplicaInterceptor().invoke(invocation);
+        } catch (SQLException e) {
+            throw e;
+        } catch (Throwable e) {
+            throw new IllegalStateException(e);
+        }
+    }
+
+    private double connections(String target) {
+        return meterRegistry.get("wa.read_replica.connections").tag("target", target).counter().count();
+    }
+}
@@ -0,0 +1,78 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.config.executors;
+
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.slf4j.MDC;
+import org.springframework.mock.web.MockHttpServletRequest;
+import org.springframework.security.authentication.UsernamePasswordAuthenticationToken;
+import org.springframework.security.core.Authentication;
+import org.springframework.security.core.context.SecurityContextHolder;
+import org.springframework.web.context.request.RequestAttributes;
+import org.springframework.web.context.request.RequestContextHolder;
+import org.springframework.web.context.request.ServletRequestAttributes;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class ContextPropagatingThreadPoolExecutorTest {
+
+    private final CompletableFuture<List<Object>> contextAfterTask = new CompletableFuture<>();
+    private ContextPropagatingThreadPoolExecutor executor;
+    private Authentication authentication;
+    private RequestAttributes requestAttributes;
+
+    @BeforeEach
+    void setUp() {
+        executor = new ContextPropagatingThreadPoolExecutor(
+            1, new LinkedBlockingQueue<>(), new ThreadPoolExecutor.CallerRunsPolicy()
+        ) {
+            @Override
+            protected void afterExecute(Runnable runnable, Throwable throwable) {
+                contextAfterTask.complete(currentContext());
+            }
+        };
+        authentication = new UsernamePasswordAuthenticationToken("user", "token", List.of());
+        requestAttributes = new ServletRequestAttributes(new MockHttpServletRequest());
+        MDC.put("correlationId", "someCorrelationId");
+        SecurityContextHolder.getContext().setAuthentication(authentication);
+        RequestContextHolder.setRequestAttributes(requestAttributes);
+    }
+
+    @AfterEach
+    void tearDown() {
+        MDC.clear();
+        SecurityContextHolder.clearContext();
+        RequestContextHolder.resetRequestAttributes();
+        executor.shutdownNow();
+    }
+
+    @Test
+    void should_run_tasks_with_the_context_of_the_submitting_thread() throws Exception {
+        List<Object> context = CompletableFuture.supplyAsync(this::currentContext, executor)
+            .get(5, TimeUnit.SECONDS);
+
+        assertEquals(Arrays.asList("someCorrelationId", authentication, requestAttributes), context);
+    }
+
+    @Test
+    void should_not_leave_the_context_on_the_worker_thread() throws Exception {
+        executor.execute(() -> { });
+
+        assertEquals(Arrays.asList(null, null, null), contextAfterTask.get(5, TimeUnit.SECONDS));
+    }
+
+    private List<Object> currentContext() {
+        return Arrays.asList(
+            MDC.get("correlationId"),
+            SecurityContextHolder.getContext().getAuthentication(),
+            RequestContextHolder.getRequestAttributes()
+        );
+    }
+}
@@ -4,14 +4,18 @@ import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.beans.factory.annotation.Autowired;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.SensitiveTaskEventLogWriter;
 
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
 
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.junit.jupiter.api.Assertions.fail;
+import static org.mockito.Mockito.inOrder;
 
 @Slf4j
 @ExtendWith(MockitoExtension.class)
@@ -20,12 +24,15 @@ class SensitiveTaskEventLogsExecutorTest {
     @Autowired
     private ExecutorService sensitiveTaskEventLogsExecutorService;
 
+    @Mock
+    private SensitiveTaskEventLogWriter sensitiveTaskEventLogWriter;
 
     @Test
     @DisplayName("Test if the executor is shutdown properly")
     void testExecutorShutdown() {
         SensitiveTaskEventLogsExecutor executor = new SensitiveTaskEventLogsExecutor();
         executor.sensitiveTaskEventLogsExecutorService = Executors.newSingleThreadExecutor();
+        executor.sensitiveTaskEventLogWriter = sensitiveTaskEventLogWriter;
 
         // Submit a task to the executor
         executor.sensitiveTaskEventLogsExecutorService.submit(() -> {
@@ -41,5 +48,10 @@ class SensitiveTaskEventLogsExecutorTest {
 
         // Verify that the executor has been shutdown properly
         assertTrue(executor.sensitiveTaskEventLogsExecutorService.isTerminated(), "Executor should have been shutdown");
+
+        // Verify that the writer was stopped before the shutdown and the logs left in its buffer were written
+        InOrder inOrder = inOrder(sensitiveTaskEventLogWriter);
+        inOrder.verify(sensitiveTaskEventLogWriter).stop();
+        inOrder.verify(sensitiveTaskEventLogWriter).drain();
     }
 }
@@ -15,11 +15,16 @@ import uk.gov.hmcts.reform.wataskmanagementapi.auth.idam.IdamTokenGenerator;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.idam.entities.UserInfo;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.restrict.ClientAccessControlService;
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.InitiateTaskRequestMap;
+import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.InitiateTasksRequest;
+import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.InitiateTasksRequestItem;
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.TerminateTaskRequest;
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.options.TerminateInfo;
+import uk.gov.hmcts.reform.wataskmanagementapi.controllers.response.InitiateTaskResult;
+import uk.gov.hmcts.reform.wataskmanagementapi.controllers.response.InitiateTasksResponse;
 import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
 import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.GenericForbiddenException;
 import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.validation.CustomConstraintViolationException;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.BulkTaskInitiationService;
 import uk.gov.hmcts.reform.wataskmanagementapi.services.TaskManagementService;
 
 import java.util.HashMap;
@@ -52,6 +57,8 @@ class ExclusiveTaskActionsControllerTest {
     @Mock
     private TaskManagementService taskManagementService;
     @Mock
+    private BulkTaskInitiationService bulkTaskInitiationService;
+    @Mock
     private ClientAccessControlService clientAccessControlService;
     @Mock
     private IdamTokenGenerator idamTokenGenerator;
@@ -66,7 +73,8 @@ class ExclusiveTaskActionsControllerTest {
         taskId = UUID.randomUUID().toString();
         exclusiveTaskActionsController = new ExclusiveTaskActionsController(
             clientAccessControlService,
-            taskManagementService
+            taskManagementService,
+            bulkTaskInitiationService
         );
         lenient().when(idamTokenGenerator.generate()).thenReturn("IDAM_SYS_TOKEN");
         lenient().when(idamTokenGenerator.generate()).thenReturn("SYSTEM_BEARER_TOKEN");
@@ -74,6 +82,7 @@ class ExclusiveTaskActionsControllerTest {
         lenient().when(userInfo.getUid()).thenReturn("SYSTEM_USER_IDAM_ID");
         ReflectionTestUtils.setField(exclusiveTaskActionsController, "initiationRequestRequiredFields",
                                      List.of());
+        ReflectionTestUtils.setField(exclusiveTaskActionsController, "maxTasksToInitiate", 2);
     }
 
     @Nested
@@ -131,6 +140,79 @@ class ExclusiveTaskActionsControllerTest {
 
     }
 
+    @Nested
+    class BulkInitiateRequest {
+        @Test
+        void should_return_201_when_all_tasks_are_initiated() {
+            String otherTaskId = UUID.randomUUID().toString();
+            InitiateTasksRequestItem task = new InitiateTasksRequestItem(taskId, INITIATION, Map.of());
+            InitiateTasksRequestItem otherTask = new InitiateTasksRequestItem(otherTaskId, INITIATION, Map.of());
+
+            when(clientAccessControlService.hasExclusiveAccess(SERVICE_AUTHORIZATION_TOKEN))
+                .thenReturn(true);
+            when(bulkTaskInitiationService.initiateTasks(List.of(task, otherTask)))
+                .thenReturn(List.of(
+                    InitiateTaskResult.initiated(createDummyTaskResource(taskId)),
+                    InitiateTaskResult.initiated(createDummyTaskResource(otherTaskId))
+                ));
+
+            ResponseEntity<InitiateTasksResponse> response = exclusiveTaskActionsController
+                .initiateTasks(SERVICE_AUTHORIZATION_TOKEN, new InitiateTasksRequest(List.of(task, otherTask)));
+
+            assertEquals(HttpStatus.CREATED, response.getStatusCode());
+            assertNotNull(response.getBody());
+            assertEquals(List.of(taskId, otherTaskId), response.getBody().getResults().stream()
+                .map(InitiateTaskResult::getTaskId).toList());
+            verify(bulkTaskInitiationService).updateTaskIndexes(List.of(taskId, otherTaskId));
+        }
+
+        @Test
+        void should_return_207_and_only_initiate_valid_tasks_when_a_task_is_invalid() {
+            ReflectionTestUtils.setField(exclusiveTaskActionsController, "initiationRequestRequiredFields",
+                                         List.of("caseId"));
+            InitiateTasksRequestItem invalidTask = new InitiateTasksRequestItem(
+                UUID.randomUUID().toString(), INITIATION, Map.of(TASK_NAME.value(), "aTaskName"));
+            InitiateTasksRequestItem validTask = new InitiateTasksRequestItem(
+                taskId, INITIATION, Map.of(CASE_ID.value(), "aCaseId"));
+
+            when(clientAccessControlService.hasExclusiveAccess(SERVICE_AUTHORIZATION_TOKEN))
+                .thenReturn(true);
+            when(bulkTaskInitiationService.initiateTasks(List.of(validTask)))
+                .thenReturn(List.of(InitiateTaskResult.initiated(createDummyTaskResource(taskId))));
+
+            ResponseEntity<InitiateTasksResponse> response = exclusiveTaskActionsController
+                .initiateTasks(SERVICE_AUTHORIZATION_TOKEN, new InitiateTasksRequest(List.of(invalidTask, validTask)));
+
+            assertEquals(HttpStatus.MULTI_STATUS, response.getStatusCode());
+            assertNotNull(response.getBody());
+            InitiateTaskResult invalidResult = response.getBody().getResults().get(0);
+            assertEquals(invalidTask.getTaskId(), invalidResult.getTaskId());
+            assertEquals(400, invalidResult.getStatus());
+            assertEquals("caseId: must not be empty", invalidResult.getError());
+            assertEquals(201, response.getBody().getResults().get(1).getStatus());
+            verify(bulkTaskInitiationService).updateTaskIndexes(List.of(taskId));
+        }
+
+        @Test
+        void should_fail_when_initiating_more_tasks_than_allowed_and_return_400() {
+            List<InitiateTasksRequestItem> tasks = List.of(
+                new InitiateTasksRequestItem(UUID.randomUUID().toString(), INITIATION, Map.of()),
+                new InitiateTasksRequestItem(UUID.randomUUID().toString(), INITIATION, Map.of()),
+                new InitiateTasksRequestItem(UUID.randomUUID().toString(), INITIATION, Map.of())
+            );
+
+            when(clientAccessControlService.hasExclusiveAccess(SERVICE_AUTHORIZATION_TOKEN))
+                .thenReturn(true);
+
+            CustomConstraintViolationException exception = assertThrows(
+                CustomConstraintViolationException.class,
+                () -> exclusiveTaskActionsController.initiateTasks(
+                    SERVICE_AUTHORIZATION_TOKEN, new InitiateTasksRequest(tasks))
+            );
+            assertEquals("tasks", exception.getViolations().get(0).getField());
+        }
+    }
+
     @ParameterizedTest
     @CsvSource(value = {
         ",taskType,caseId,name",
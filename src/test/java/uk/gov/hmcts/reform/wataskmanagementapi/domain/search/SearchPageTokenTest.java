@@ -0,0 +1,42 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.domain.search;
+
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.InvalidRequestException;
+
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+
+class SearchPageTokenTest {
+
+    private static final String SORT_ORDER = "ORDER BY case_name ASC, major_priority ASC, task_id ASC ";
+
+    @Test
+    void should_decode_encoded_token() {
+        SearchPageToken pageToken = new SearchPageToken(SORT_ORDER, Arrays.asList(null, "5000", "some-task-id"));
+
+        SearchPageToken decoded = SearchPageToken.decode(pageToken.encode(), SORT_ORDER);
+
+        assertEquals(pageToken, decoded);
+    }
+
+    @Test
+    void should_reject_token_for_a_different_sort_order() {
+        String token = new SearchPageToken(SORT_ORDER, Arrays.asList("name", "5000", "some-task-id")).encode();
+
+        assertThatThrownBy(() -> SearchPageToken.decode(token, "ORDER BY task_id ASC "))
+            .isInstanceOf(InvalidRequestException.class)
+            .hasMessageContaining("page_token");
+    }
+
+    @Test
+    void should_reject_malformed_token() {
+        assertThatThrownBy(() -> SearchPageToken.decode("not a token", SORT_ORDER))
+            .isInstanceOf(InvalidRequestException.class)
+            .hasMessageContaining("page_token");
+        assertThatThrownBy(() -> SearchPageToken.decode("AAE", SORT_ORDER))
+            .isInstanceOf(InvalidRequestException.class)
+            .hasMessageContaining("page_token");
+    }
+}
@@ -2,6 +2,7 @@ package uk.gov.hmcts.reform.wataskmanagementapi.repository;
 
 import jakarta.persistence.EntityManager;
 import jakarta.persistence.Query;
+import org.hibernate.jpa.SpecHints;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
@@ -10,19 +11,31 @@ import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.CFTTaskState;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.RequestContext;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SearchPageToken;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SearchRequest;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SortField;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SortOrder;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SortingParameter;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.TaskSearchPage;
+import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.InvalidRequestException;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.TaskSearchSortProvider;
 
 import java.math.BigInteger;
+import java.util.Arrays;
 import java.util.List;
 import java.util.Set;
 
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.inOrder;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static uk.gov.hmcts.reform.wataskmanagementapi.repository.TaskResourceCustomRepositoryImpl.RESULT_MAPPER;
 
@@ -51,16 +64,33 @@ class TaskResourceCustomRepositoryImplTest {
         lenient().when(query.getSingleResult()).thenReturn(BigInteger.ONE);
     }
 
+    @Test
+    void should_bound_search_and_count_queries_by_the_query_timeout() {
+        taskResourceCustomRepository.setQueryTimeoutMillis(5000);
+        SearchRequest searchRequest = SearchRequest.builder().build();
+
+        taskResourceCustomRepository.searchTasksIds(1, 25, filterSignature, roleSignature, null, searchRequest);
+        taskResourceCustomRepository.searchTasksCount(filterSignature, roleSignature, null, searchRequest);
+
+        verify(query, times(2)).setHint(SpecHints.HINT_SPEC_QUERY_TIMEOUT, 5000);
+    }
+
+    @Test
+    void should_not_set_a_query_timeout_when_none_is_configured() {
+        taskResourceCustomRepository.searchTasksCount(filterSignature, roleSignature, null,
+            SearchRequest.builder().build());
+
+        verify(query, never()).setHint(anyString(), any());
+    }
+
     @Test
     void when_search_request_is_empty_then_build_search_query_with_signatures() {
         taskResourceCustomRepository.searchTasksIds(1, 25, filterSignature, roleSignature,
             null, SearchRequest.builder().build());
 
         String queryStr = "SELECT t.task_id FROM {h-schema}tasks t WHERE indexed "
-                       + "AND {h-schema}filter_signatures(t.task_id, t.state, t.jurisdiction, t.role_category, "
-                          + "t.work_type, t.region, t.location) && CAST(:filterSignature AS text[]) "
-                       + "AND {h-schema}role_signatures(t.task_id, t.jurisdiction, t.region, t.location, t.case_id, "
-                          + "t.security_classification) && CAST(:roleSignature AS text[]) "
+                       + "AND t.filter_signatures && CAST(:filterSignature AS text[]) "
+                       + "AND t.role_signatures && CAST(:roleSignature AS text[]) "
                        + "AND state IN ('ASSIGNED', 'UNASSIGNED') "
                        + "ORDER BY major_priority ASC, priority_date ASC, minor_priority ASC, task_id ASC "
                        + "OFFSET :firstResult LIMIT :maxResults";
@@ -81,10 +111,8 @@ class TaskResourceCustomRepositoryImplTest {
                 .build());
 
         String queryStr = "SELECT t.task_id FROM {h-schema}tasks t WHERE indexed "
-                       + "AND {h-schema}filter_signatures(t.task_id, t.state, t.jurisdiction, t.role_category, "
-                          + "t.work_type, t.region, t.location) && CAST(:filterSignature AS text[]) "
-                       + "AND {h-schema}role_signatures(t.task_id, t.jurisdiction, t.region, t.location, t.case_id, "
-                          + "t.security_classification) && CAST(:roleSignature AS text[]) "
+                       + "AND t.filter_signatures && CAST(:filterSignature AS text[]) "
+                       + "AND t.role_signatures && CAST(:roleSignature AS text[]) "
                        + "AND state IN ('ASSIGNED', 'UNASSIGNED') "
                        + "ORDER BY case_id ASC, case_name ASC, "
                           + "major_priority ASC, priority_date ASC, minor_priority ASC, task_id ASC "
@@ -103,10 +131,8 @@ class TaskResourceCustomRepositoryImplTest {
             SearchRequest.builder().build());
 
         String queryStr = "SELECT count(*) FROM {h-schema}tasks t WHERE indexed "
-                       + "AND {h-schema}filter_signatures(t.task_id, t.state, t.jurisdiction, t.role_category, "
-                          + "t.work_type, t.region, t.location) && CAST(:filterSignature AS text[]) "
-                       + "AND {h-schema}role_signatures(t.task_id, t.jurisdiction, t.region, t.location, t.case_id, "
-                          + "t.security_classification) && CAST(:roleSignature AS text[]) "
+                       + "AND t.filter_signatures && CAST(:filterSignature AS text[]) "
+                       + "AND t.role_signatures && CAST(:roleSignature AS text[]) "
                        + "AND state IN ('ASSIGNED', 'UNASSIGNED') ";
         verify(entityManager).createNativeQuery(queryStr);
         InOrder inOrder = inOrder(query);
@@ -114,6 +140,110 @@ class TaskResourceCustomRepositoryImplTest {
         inOrder.verify(query).setParameter("roleSignature", new String[]{"IA:*:*:tribunal-caseofficer:*:r:U:*"});
     }
 
+    @Test
+    void when_keyset_search_request_has_page_token_then_build_seek_query_with_signatures() {
+        SearchRequest searchRequest = SearchRequest.builder()
+            .sortingParameters(List.of(new SortingParameter(SortField.CASE_NAME_CAMEL_CASE, SortOrder.DESCENDANT)))
+            .keysetPagination(true)
+            .build();
+        SearchPageToken after = new SearchPageToken(
+            TaskSearchSortProvider.getSortOrderQuery(searchRequest),
+            Arrays.asList(null, "5000", "2024-01-01 10:00:00", "500", "task-id")
+        );
+        lenient().when(query.getResultList()).thenReturn(List.of(
+            new Object[]{"task-1", "name", "5000", "2024-01-01 10:00:00", "500", "task-1"},
+            new Object[]{"task-2", "name", "5000", "2024-01-01 10:00:00", "500", "task-2"}
+        ));
+
+        TaskSearchPage page = taskResourceCustomRepository.searchTasksPage(2, after, filterSignature, roleSignature,
+            null, searchRequest);
+
+        String queryStr = "SELECT t.task_id, CAST(case_name AS text) AS sortKey0, "
+                       + "CAST(major_priority AS text) AS sortKey1, CAST(priority_date AS text) AS sortKey2, "
+                       + "CAST(minor_priority AS text) AS sortKey3, CAST(task_id AS text) AS sortKey4 "
+                       + "FROM {h-schema}tasks t WHERE indexed "
+                       + "AND t.filter_signatures && CAST(:filterSignature AS text[]) "
+                       + "AND t.role_signatures && CAST(:roleSignature AS text[]) "
+                       + "AND state IN ('ASSIGNED', 'UNASSIGNED') "
+                       + "AND ((case_name IS NOT NULL) "
+                       + "OR (case_name IS NULL AND (major_priority > CAST(:sortKey1 AS integer) "
+                          + "OR major_priority IS NULL)) "
+                       + "OR (case_name IS NULL AND major_priority = CAST(:sortKey1 AS integer) "
+                          + "AND (priority_date > CAST(:sortKey2 AS timestamp) OR priority_date IS NULL)) "
+                       + "OR (case_name IS NULL AND major_priority = CAST(:sortKey1 AS integer) "
+                          + "AND priority_date = CAST(:sortKey2 AS timestamp) "
+                          + "AND (minor_priority > CAST(:sortKey3 AS integer) OR minor_priority IS NULL)) "
+                       + "OR (case_name IS NULL AND major_priority = CAST(:sortKey1 AS integer) "
+                          + "AND priority_date = CAST(:sortKey2 AS timestamp) "
+                          + "AND minor_priority = CAST(:sortKey3 AS integer) "
+                          + "AND (task_id > :sortKey4 OR task_id IS NULL))) "
+                       + "ORDER BY case_name DESC, major_priority ASC, priority_date ASC, minor_priority ASC, "
+                          + "task_id ASC "
+                       + "LIMIT :maxResults";
+        verify(entityManager).createNativeQuery(queryStr);
+        verify(query, never()).setParameter(eq("sortKey0"), any());
+        verify(query).setParameter("sortKey1", "5000");
+        verify(query).setParameter("sortKey2", "2024-01-01 10:00:00");
+        verify(query).setParameter("sortKey3", "500");
+        verify(query).setParameter("sortKey4", "task-id");
+        verify(query).setParameter("maxResults", 2);
+
+        assertEquals(List.of("task-1", "task-2"), page.taskIds());
+        assertEquals(
+            new SearchPageToken(after.sortOrder(), List.of("name", "5000", "2024-01-01 10:00:00", "500", "task-2")),
+            page.nextPageToken()
+        );
+    }
+
+    @Test
+    void when_keyset_search_returns_partial_page_then_no_next_page_token() {
+        SearchRequest searchRequest = SearchRequest.builder().keysetPagination(true).build();
+
+        TaskSearchPage page = taskResourceCustomRepository.searchTasksPage(25, null, filterSignature, roleSignature,
+            null, searchRequest);
+
+        String queryStr = "SELECT t.task_id, CAST(major_priority AS text) AS sortKey0, "
+                       + "CAST(priority_date AS text) AS sortKey1, CAST(minor_priority AS text) AS sortKey2, "
+                       + "CAST(task_id AS text) AS sortKey3 "
+                       + "FROM {h-schema}tasks t WHERE indexed "
+                       + "AND t.filter_signatures && CAST(:filterSignature AS text[]) "
+                       + "AND t.role_signatures && CAST(:roleSignature AS text[]) "
+                       + "AND state IN ('ASSIGNED', 'UNASSIGNED') "
+                       + "ORDER BY major_priority ASC, priority_date ASC, minor_priority ASC, task_id ASC "
+                       + "LIMIT :maxResults";
+        verify(entityManager).createNativeQuery(queryStr);
+        assertTrue(page.taskIds().isEmpty());
+        assertNull(page.nextPageToken());
+    }
+
+    @Test
+    void when_page_token_does_not_match_sort_order_then_reject_it() {
+        SearchRequest searchRequest = SearchRequest.builder().keysetPagination(true).build();
+        SearchPageToken after = new SearchPageToken(TaskSearchSortProvider.getSortOrderQuery(searchRequest),
+            List.of("5000"));
+
+        assertThatThrownBy(() -> taskResourceCustomRepository.searchTasksPage(25, after, filterSignature,
+            roleSignature, null, searchRequest))
+            .isInstanceOf(InvalidRequestException.class);
+    }
+
+    @Test
+    void when_search_request_has_count_limit_then_build_capped_count_query_with_signatures() {
+        taskResourceCustomRepository.searchTasksCount(filterSignature, roleSignature, null,
+            SearchRequest.builder().countLimit(100).build());
+
+        String queryStr = "SELECT count(*) FROM (SELECT 1 FROM {h-schema}tasks t WHERE indexed "
+                       + "AND t.filter_signatures && CAST(:filterSignature AS text[]) "
+                       + "AND t.role_signatures && CAST(:roleSignature AS text[]) "
+                       + "AND state IN ('ASSIGNED', 'UNASSIGNED') "
+                       + "LIMIT :countLimit) capped";
+        verify(entityManager).createNativeQuery(queryStr);
+        InOrder inOrder = inOrder(query);
+        inOrder.verify(query).setParameter("filterSignature", new String[]{"*:IA:*:*:1:765324"});
+        inOrder.verify(query).setParameter("roleSignature", new String[]{"IA:*:*:tribunal-caseofficer:*:r:U:*"});
+        inOrder.verify(query).setParameter("countLimit", 100);
+    }
+
     @Test
     void when_search_request_for_available_task_then_build_search_query_with_signatures() {
         taskResourceCustomRepository.searchTasksIds(1, 25, filterSignature, roleSignature,
@@ -123,10 +253,8 @@ class TaskResourceCustomRepositoryImplTest {
                 .build());
 
         String queryStr = "SELECT t.task_id FROM {h-schema}tasks t WHERE indexed "
-                       + "AND {h-schema}filter_signatures(t.task_id, t.state, t.jurisdiction, t.role_category, "
-                          + "t.work_type, t.region, t.location) && CAST(:filterSignature AS text[]) "
-                       + "AND {h-schema}role_signatures(t.task_id, t.jurisdiction, t.region, t.location, t.case_id, "
-                          + "t.security_classification) && CAST(:roleSignature AS text[]) "
+                       + "AND t.filter_signatures && CAST(:filterSignature AS text[]) "
+                       + "AND t.role_signatures && CAST(:roleSignature AS text[]) "
                        + "AND assignee IS NULL "
                        + "AND state IN ('ASSIGNED', 'UNASSIGNED') "
                        + "ORDER BY major_priority ASC, priority_date ASC, minor_priority ASC, task_id ASC "
@@ -148,10 +276,8 @@ class TaskResourceCustomRepositoryImplTest {
             .build());
 
         String queryStr = "SELECT count(*) FROM {h-schema}tasks t WHERE indexed "
-                       + "AND {h-schema}filter_signatures(t.task_id, t.state, t.jurisdiction, t.role_category, "
-                          + "t.work_type, t.region, t.location) && CAST(:filterSignature AS text[]) "
-                       + "AND {h-schema}role_signatures(t.task_id, t.jurisdiction, t.region, t.location, t.case_id, "
-                          + "t.security_classification) && CAST(:roleSignature AS text[]) "
+                       + "AND t.filter_signatures && CAST(:filterSignature AS text[]) "
+                       + "AND t.role_signatures && CAST(:roleSignature AS text[]) "
                        + "AND assignee IS NULL "
                        + "AND state IN ('ASSIGNED', 'UNASSIGNED') ";
         verify(entityManager).createNativeQuery(queryStr);
@@ -171,10 +297,8 @@ class TaskResourceCustomRepositoryImplTest {
                 .build());
 
         String queryStr = "SELECT t.task_id FROM {h-schema}tasks t WHERE indexed "
-                       + "AND {h-schema}filter_signatures(t.task_id, t.state, t.jurisdiction, t.role_category, "
-                          + "t.work_type, t.region, t.location) && CAST(:filterSignature AS text[]) "
-                       + "AND {h-schema}role_signatures(t.task_id, t.jurisdiction, t.region, t.location, t.case_id, "
-                          + "t.security_classification) && CAST(:roleSignature AS text[]) "
+                       + "AND t.filter_signatures && CAST(:filterSignature AS text[]) "
+                       + "AND t.role_signatures && CAST(:roleSignature AS text[]) "
                        + "AND assignee = :assignee "
                        + "AND state IN ('COMPLETED') "
                        + "AND case_id = :caseId "
@@ -204,10 +328,8 @@ class TaskResourceCustomRepositoryImplTest {
             .build());
 
         String queryStr = "SELECT count(*) FROM {h-schema}tasks t WHERE indexed "
-                       + "AND {h-schema}filter_signatures(t.task_id, t.state, t.jurisdiction, t.role_category, "
-                          + "t.work_type, t.region, t.location) && CAST(:filterSignature AS text[]) "
-                       + "AND {h-schema}role_signatures(t.task_id, t.jurisdiction, t.region, t.location, t.case_id, "
-                          + "t.security_classification) && CAST(:roleSignature AS text[]) "
+                       + "AND t.filter_signatures && CAST(:filterSignature AS text[]) "
+                       + "AND t.role_signatures && CAST(:roleSignature AS text[]) "
                        + "AND assignee = :assignee "
                        + "AND state IN ('COMPLETED') "
                        + "AND case_id = :caseId "
@@ -232,10 +354,8 @@ class TaskResourceCustomRepositoryImplTest {
                 .build());
 
         String queryStr = "SELECT t.task_id FROM {h-schema}tasks t WHERE indexed "
-                       + "AND {h-schema}filter_signatures(t.task_id, t.state, t.jurisdiction, t.role_category, "
-                          + "t.work_type, t.region, t.location) && CAST(:filterSignature AS text[]) "
-                       + "AND {h-schema}role_signatures(t.task_id, t.jurisdiction, t.region, t.location, t.case_id, "
-                          + "t.security_classification) && CAST(:roleSignature AS text[]) "
+                       + "AND t.filter_signatures && CAST(:filterSignature AS text[]) "
+                       + "AND t.role_signatures && CAST(:roleSignature AS text[]) "
                        + "AND assignee IN (:assignee) "
                        + "AND state IN ('COMPLETED', 'CONFIGURED') "
                        + "AND case_id IN (:caseId) "
@@ -265,10 +385,8 @@ class TaskResourceCustomRepositoryImplTest {
             .build());
 
         String queryStr = "SELECT count(*) FROM {h-schema}tasks t WHERE indexed "
-                       + "AND {h-schema}filter_signatures(t.task_id, t.state, t.jurisdiction, t.role_category, "
-                          + "t.work_type, t.region, t.location) && CAST(:filterSignature AS text[]) "
-                       + "AND {h-schema}role_signatures(t.task_id, t.jurisdiction, t.region, t.location, t.case_id, "
-                          + "t.security_classification) && CAST(:roleSignature AS text[]) "
+                       + "AND t.filter_signatures && CAST(:filterSignature AS text[]) "
+                       + "AND t.role_signatures && CAST(:roleSignature AS text[]) "
                        + "AND assignee IN (:assignee) "
                        + "AND state IN ('COMPLETED', 'CONFIGURED') "
                        + "AND case_id IN (:caseId) "
@@ -293,10 +411,8 @@ class TaskResourceCustomRepositoryImplTest {
                 .build());
 
         String queryStr = "SELECT t.task_id FROM {h-schema}tasks t WHERE indexed "
-                       + "AND {h-schema}filter_signatures(t.task_id, t.state, t.jurisdiction, t.role_category, "
-                          + "t.work_type, t.region, t.location) && CAST(:filterSignature AS text[]) "
-                       + "AND {h-schema}role_signatures(t.task_id, t.jurisdiction, t.region, t.location, t.case_id, "
-                          + "t.security_classification) && CAST(:roleSignature AS text[]) "
+                       + "AND t.filter_signatures && CAST(:filterSignature AS text[]) "
+                       + "AND t.role_signatures && CAST(:roleSignature AS text[]) "
                        + "AND assignee IN (:assignee) "
                        + "AND state IN ('COMPLETED', 'CONFIGURED') "
                        + "AND case_id IN (:caseId) "
@@ -328,10 +444,8 @@ class TaskResourceCustomRepositoryImplTest {
             .build());
 
         String queryStr = "SELECT count(*) FROM {h-schema}tasks t WHERE indexed "
-                       + "AND {h-schema}filter_signatures(t.task_id, t.state, t.jurisdiction, t.role_category, "
-                          + "t.work_type, t.region, t.location) && CAST(:filterSignature AS text[]) "
-                       + "AND {h-schema}role_signatures(t.task_id, t.jurisdiction, t.region, t.location, t.case_id, "
-                          + "t.security_classification) && CAST(:roleSignature AS text[]) "
+                       + "AND t.filter_signatures && CAST(:filterSignature AS text[]) "
+                       + "AND t.role_signatures && CAST(:roleSignature AS text[]) "
                        + "AND assignee IN (:assignee) "
                        + "AND state IN ('COMPLETED', 'CONFIGURED') "
                        + "AND case_id IN (:caseId) "
@@ -358,10 +472,8 @@ class TaskResourceCustomRepositoryImplTest {
                 .build());
 
         String queryStr = "SELECT t.task_id FROM {h-schema}tasks t WHERE indexed "
-                       + "AND {h-schema}filter_signatures(t.task_id, t.state, t.jurisdiction, t.role_category, "
-                          + "t.work_type, t.region, t.location) && CAST(:filterSignature AS text[]) "
-                       + "AND {h-schema}role_signatures(t.task_id, t.jurisdiction, t.region, "
-                          + "t.location, t.case_id, t.security_classification) && CAST(:roleSignature AS text[]) "
+                       + "AND t.filter_signatures && CAST(:filterSignature AS text[]) "
+                       + "AND t.role_signatures && CAST(:roleSignature AS text[]) "
                        + "AND assignee IN (:assignee) "
                        + "AND state IN ('COMPLETED', 'CONFIGURED') "
                        + "AND case_id IN (:caseId) "
@@ -393,10 +505,8 @@ class TaskResourceCustomRepositoryImplTest {
             .build());
 
         String queryStr = "SELECT count(*) FROM {h-schema}tasks t WHERE indexed "
-                       + "AND {h-schema}filter_signatures(t.task_id, t.state, t.jurisdiction, t.role_category, "
-                          + "t.work_type, t.region, t.location) && CAST(:filterSignature AS text[]) "
-                       + "AND {h-schema}role_signatures(t.task_id, t.jurisdiction, t.region, t.location, "
-                          + "t.case_id, t.security_classification) && CAST(:roleSignature AS text[]) "
+                       + "AND t.filter_signatures && CAST(:filterSignature AS text[]) "
+                       + "AND t.role_signatures && CAST(:roleSignature AS text[]) "
                        + "AND assignee IN (:assignee) "
                        + "AND state IN ('COMPLETED', 'CONFIGURED') "
                        + "AND case_id IN (:caseId) "
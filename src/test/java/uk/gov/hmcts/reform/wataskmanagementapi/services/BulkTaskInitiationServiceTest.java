@@ -0,0 +1,171 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services;
+
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InOrder;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.transaction.PlatformTransactionManager;
+import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.InitiateTasksRequestItem;
+import uk.gov.hmcts.reform.wataskmanagementapi.controllers.response.InitiateTaskResult;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.TaskState;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.configuration.TaskToConfigure;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
+import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.ServerErrorException;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.CaseDataCache.CaseData;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.utils.TaskMandatoryFieldsValidator;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyMap;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.ArgumentMatchers.isNull;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.inOrder;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+import static uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.CFTTaskState.UNASSIGNED;
+import static uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.CFTTaskState.UNCONFIGURED;
+import static uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.enums.InitiateTaskOperation.INITIATION;
+import static uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.CamundaVariableDefinition.CASE_ID;
+import static uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.CamundaVariableDefinition.DUE_DATE;
+
+@ExtendWith(MockitoExtension.class)
+class BulkTaskInitiationServiceTest {
+
+    private static final String CASE_ID_VALUE = "1623278362431003";
+    private static final OffsetDateTime DUE_DATE_VALUE = OffsetDateTime.parse("2026-10-20T16:00:00Z");
+
+    @Mock
+    private CFTTaskDatabaseService cftTaskDatabaseService;
+    @Mock
+    private CFTTaskMapper cftTaskMapper;
+    @Mock
+    private ConfigureTaskService configureTaskService;
+    @Mock
+    private CaseConfigurationProviderService caseConfigurationProviderService;
+    @Mock
+    private TaskMandatoryFieldsValidator taskMandatoryFieldsValidator;
+    @Mock
+    private TaskAutoAssignmentService taskAutoAssignmentService;
+    @Mock
+    private CamundaService camundaService;
+    @Mock
+    private PlatformTransactionManager transactionManager;
+
+    private BulkTaskInitiationService bulkTaskInitiationService;
+    private CaseData caseData;
+
+    @BeforeEach
+    void setUp() {
+        bulkTaskInitiationService = new BulkTaskInitiationService(
+            cftTaskDatabaseService,
+            cftTaskMapper,
+            configureTaskService,
+            caseConfigurationProviderService,
+            taskMandatoryFieldsValidator,
+            taskAutoAssignmentService,
+            camundaService,
+            Runnable::run,
+            transactionManager
+        );
+        caseData = new CaseData(null, "{}");
+        when(cftTaskMapper.readDate(anyMap(), eq(DUE_DATE), isNull())).thenReturn(DUE_DATE_VALUE);
+    }
+
+    @Test
+    void should_initiate_the_tasks_of_a_case_with_one_case_data_retrieval() {
+        when(cftTaskDatabaseService.insertAndLockAll(Map.of("task1", DUE_DATE_VALUE, "task2", DUE_DATE_VALUE)))
+            .thenReturn(Set.of("task1", "task2"));
+        when(caseConfigurationProviderService.getCaseData(CASE_ID_VALUE)).thenReturn(caseData);
+        mockConfiguration("task1");
+        mockConfiguration("task2");
+        when(cftTaskDatabaseService.saveTask(any())).thenAnswer(invocation -> invocation.getArgument(0));
+
+        List<InitiateTaskResult> results = bulkTaskInitiationService.initiateTasks(List.of(task("task1"),
+                                                                                          task("task2")));
+
+        assertEquals(List.of("task1", "task2"), results.stream().map(InitiateTaskResult::getTaskId).toList());
+        assertEquals(List.of(201, 201), results.stream().map(InitiateTaskResult::getStatus).toList());
+        verify(caseConfigurationProviderService, times(1)).getCaseData(CASE_ID_VALUE);
+        verify(configureTaskService, times(2))
+            .configureCFTTask(any(), argThat((TaskToConfigure task) -> task.getCaseData() == caseData));
+        verify(camundaService).updateCftTaskState("task1", TaskState.UNASSIGNED);
+        verify(camundaService).updateCftTaskState("task2", TaskState.UNASSIGNED);
+        verify(transactionManager, times(2)).commit(any());
+        verify(cftTaskDatabaseService, never()).deleteTasks(any());
+    }
+
+    @Test
+    void should_report_failed_tasks_and_remove_them_without_failing_the_others() {
+        when(cftTaskDatabaseService.insertAndLockAll(Map.of(
+            "task1", DUE_DATE_VALUE, "task2", DUE_DATE_VALUE, "task3", DUE_DATE_VALUE
+        ))).thenReturn(Set.of("task2", "task3"));
+        when(caseConfigurationProviderService.getCaseData(CASE_ID_VALUE)).thenReturn(caseData);
+        TaskResource task2 = mockConfiguration("task2");
+        TaskResource task3 = mockConfiguration("task3");
+        doThrow(new ServerErrorException("Camunda is unavailable", null))
+            .when(camundaService).updateCftTaskState("task2", TaskState.UNASSIGNED);
+        when(cftTaskDatabaseService.saveTask(task2)).thenReturn(task2);
+        when(cftTaskDatabaseService.saveTask(task3)).thenReturn(task3);
+
+        List<InitiateTaskResult> results = bulkTaskInitiationService.initiateTasks(List.of(
+            task("task1"), task("task2"), task("task3")
+        ));
+
+        assertEquals(List.of(503, 502, 201), results.stream().map(InitiateTaskResult::getStatus).toList());
+        assertSame(task3, results.get(2).getTask());
+        verify(transactionManager).rollback(any());
+        verify(cftTaskDatabaseService).deleteTasks(List.of("task2"));
+    }
+
+    @Test
+    void should_update_camunda_before_committing_each_task() {
+        when(cftTaskDatabaseService.insertAndLockAll(Map.of("task1", DUE_DATE_VALUE, "task2", DUE_DATE_VALUE)))
+            .thenReturn(Set.of("task1", "task2"));
+        when(caseConfigurationProviderService.getCaseData(CASE_ID_VALUE)).thenReturn(caseData);
+        TaskResource task1 = mockConfiguration("task1");
+        TaskResource task2 = mockConfiguration("task2");
+        when(cftTaskDatabaseService.saveTask(task1))
+            .thenThrow(new DataAccessResourceFailureException("primary not reachable"));
+        when(cftTaskDatabaseService.saveTask(task2)).thenReturn(task2);
+
+        List<InitiateTaskResult> results = bulkTaskInitiationService.initiateTasks(List.of(task("task1"),
+                                                                                          task("task2")));
+
+        assertEquals(List.of(500, 201), results.stream().map(InitiateTaskResult::getStatus).toList());
+        assertSame(task2, results.get(1).getTask());
+        verify(transactionManager).rollback(any());
+        verify(camundaService, never()).updateCftTaskState(eq("task1"), any());
+        InOrder inOrder = inOrder(cftTaskDatabaseService, transactionManager, camundaService);
+        inOrder.verify(cftTaskDatabaseService).saveTask(task2);
+        inOrder.verify(camundaService).updateCftTaskState("task2", TaskState.UNASSIGNED);
+        inOrder.verify(transactionManager).commit(any());
+        inOrder.verify(cftTaskDatabaseService).deleteTasks(List.of("task1"));
+    }
+
+    private InitiateTasksRequestItem task(String taskId) {
+        return new InitiateTasksRequestItem(taskId, INITIATION, Map.of(CASE_ID.value(), CASE_ID_VALUE));
+    }
+
+    private TaskResource mockConfiguration(String taskId) {
+        TaskResource skeleton = new TaskResource(taskId, "aTaskName", "aTaskType", UNCONFIGURED, CASE_ID_VALUE);
+        skeleton.setDueDateTime(DUE_DATE_VALUE);
+        TaskResource configured = new TaskResource(taskId, "aTaskName", "aTaskType", UNASSIGNED, CASE_ID_VALUE);
+        when(cftTaskMapper.mapToTaskResource(eq(taskId), anyMap())).thenReturn(skeleton);
+        when(configureTaskService.configureCFTTask(eq(skeleton), any())).thenReturn(configured);
+        when(taskAutoAssignmentService.performAutoAssignment(taskId, configured)).thenReturn(configured);
+        return configured;
+    }
+}
@@ -3,6 +3,7 @@ package uk.gov.hmcts.reform.wataskmanagementapi.services;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.RoleAssignment;
@@ -13,21 +14,22 @@ import uk.gov.hmcts.reform.wataskmanagementapi.repository.SensitiveTaskEventLogs
 
 import java.time.OffsetDateTime;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
+import java.util.Optional;
 
-import static org.assertj.core.api.AssertionsForClassTypes.assertThatThrownBy;
+import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
 import static uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.CFTTaskState.UNCONFIGURED;
 
 @ExtendWith(MockitoExtension.class)
 class CFTSensitiveTaskEventLogsDatabaseServiceTest {
 
     @Mock
-    ExecutorService sensitiveTaskEventLogsExecutorService;
+    private SensitiveTaskEventLogWriter sensitiveTaskEventLogWriter;
 
     @Mock
     private SensitiveTaskEventLogsRepository sensitiveTaskEventLogsRepository;
@@ -46,7 +48,7 @@ class CFTSensitiveTaskEventLogsDatabaseServiceTest {
             new CFTSensitiveTaskEventLogsDatabaseService(
                 sensitiveTaskEventLogsRepository,
                 cftTaskDatabaseService,
-                sensitiveTaskEventLogsExecutorService
+                sensitiveTaskEventLogWriter
             );
     }
 
@@ -64,31 +66,50 @@ class CFTSensitiveTaskEventLogsDatabaseServiceTest {
         taskResource.setCreated(OffsetDateTime.now());
         taskResource.setCaseId(caseId);
 
+        cftSensitiveTaskEventLogsDatabaseService.processSensitiveTaskEventLog(
+            taskResource,
+            List.of(roleAssignments),
+            ErrorMessages.ROLE_ASSIGNMENT_VERIFICATIONS_FAILED_ASSIGNEE
+        );
+
+        ArgumentCaptor<SensitiveTaskEventLog> captor = ArgumentCaptor.forClass(SensitiveTaskEventLog.class);
+        verify(sensitiveTaskEventLogWriter, times(1)).write(captor.capture());
+        assertEquals(taskId, captor.getValue().getTaskId());
+        assertEquals(caseId, captor.getValue().getCaseId());
+        assertEquals(List.of(taskResource), captor.getValue().getTaskData());
+        verifyNoInteractions(cftTaskDatabaseService);
+    }
+
+    @Test
+    void should_load_the_task_with_its_roles_when_only_the_task_id_is_known() {
+        String taskId = "someTaskId";
+        TaskResource taskResource = new TaskResource(taskId, "someTaskName", "someTaskType", UNCONFIGURED,
+                                                     "someCaseId");
+        when(cftTaskDatabaseService.findByIdWithTaskRoles(taskId)).thenReturn(Optional.of(taskResource));
+
         cftSensitiveTaskEventLogsDatabaseService.processSensitiveTaskEventLog(
             taskId,
             List.of(roleAssignments),
             ErrorMessages.ROLE_ASSIGNMENT_VERIFICATIONS_FAILED_ASSIGNEE
         );
 
-        ExecutorService executorService = new ScheduledThreadPoolExecutor(1);
-        executorService.execute(() -> {
-            verify(sensitiveTaskEventLogsRepository, times(1)).save(any(SensitiveTaskEventLog.class));
-        });
+        ArgumentCaptor<SensitiveTaskEventLog> captor = ArgumentCaptor.forClass(SensitiveTaskEventLog.class);
+        verify(sensitiveTaskEventLogWriter, times(1)).write(captor.capture());
+        assertEquals(taskId, captor.getValue().getTaskId());
+        assertEquals("someCaseId", captor.getValue().getCaseId());
     }
 
     @Test
-    void should_process_and_log_error_when_db_exception_happens() {
+    void should_not_log_when_the_task_does_not_exist() {
         String taskId = "someTaskId";
-        doThrow(new RuntimeException("some unexpected error"))
-            .when(sensitiveTaskEventLogsRepository).save(any(SensitiveTaskEventLog.class));
+        when(cftTaskDatabaseService.findByIdWithTaskRoles(taskId)).thenReturn(Optional.empty());
 
         cftSensitiveTaskEventLogsDatabaseService.processSensitiveTaskEventLog(
             taskId,
             List.of(roleAssignments),
             ErrorMessages.ROLE_ASSIGNMENT_VERIFICATIONS_FAILED_ASSIGNEE
         );
-        assertThatThrownBy(() -> cftSensitiveTaskEventLogsDatabaseService.saveSensitiveTaskEventLog(any(
-            SensitiveTaskEventLog.class)))
-            .isInstanceOf(RuntimeException.class);
+
+        verify(sensitiveTaskEventLogWriter, never()).write(any(SensitiveTaskEventLog.class));
     }
 }
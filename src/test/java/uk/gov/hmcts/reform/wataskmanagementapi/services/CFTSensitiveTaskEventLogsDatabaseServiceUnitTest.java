@@ -3,6 +3,7 @@ package uk.gov.hmcts.reform.wataskmanagementapi.services;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.RoleAssignment;
@@ -14,13 +15,11 @@ import uk.gov.hmcts.reform.wataskmanagementapi.repository.SensitiveTaskEventLogs
 import java.time.LocalDateTime;
 import java.time.OffsetDateTime;
 import java.util.List;
-import java.util.concurrent.ExecutorService;
-import java.util.concurrent.ScheduledThreadPoolExecutor;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
-import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
 import static org.mockito.Mockito.when;
 import static uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.CFTTaskState.UNCONFIGURED;
 
@@ -28,7 +27,7 @@ import static uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.CFTTaskState.UNC
 class CFTSensitiveTaskEventLogsDatabaseServiceUnitTest {
 
     @Mock
-    ExecutorService sensitiveTaskEventLogsExecutorService;
+    private SensitiveTaskEventLogWriter sensitiveTaskEventLogWriter;
     @Mock
     private SensitiveTaskEventLogsRepository sensitiveTaskEventLogsRepository;
 
@@ -46,7 +45,7 @@ class CFTSensitiveTaskEventLogsDatabaseServiceUnitTest {
             new CFTSensitiveTaskEventLogsDatabaseService(
                 sensitiveTaskEventLogsRepository,
                 cftTaskDatabaseService,
-                sensitiveTaskEventLogsExecutorService
+                sensitiveTaskEventLogWriter
             );
     }
 
@@ -65,15 +64,17 @@ class CFTSensitiveTaskEventLogsDatabaseServiceUnitTest {
         taskResource.setCaseId(caseId);
 
         cftSensitiveTaskEventLogsDatabaseService.processSensitiveTaskEventLog(
-            taskId,
+            taskResource,
             List.of(roleAssignments),
             ErrorMessages.ROLE_ASSIGNMENT_VERIFICATIONS_FAILED_ASSIGNEE
         );
 
-        ExecutorService executorService = new ScheduledThreadPoolExecutor(1);
-        executorService.execute(() -> {
-            verify(sensitiveTaskEventLogsRepository, times(1)).save(any(SensitiveTaskEventLog.class));
-        });
+        ArgumentCaptor<SensitiveTaskEventLog> captor = ArgumentCaptor.forClass(SensitiveTaskEventLog.class);
+        verify(sensitiveTaskEventLogWriter, times(1)).write(captor.capture());
+        assertEquals(taskId, captor.getValue().getTaskId());
+        assertEquals(caseId, captor.getValue().getCaseId());
+        assertEquals(List.of(taskResource), captor.getValue().getTaskData());
+        verifyNoInteractions(cftTaskDatabaseService);
     }
 
     @Test
@@ -81,15 +82,15 @@ class CFTSensitiveTaskEventLogsDatabaseServiceUnitTest {
 
         LocalDateTime timeStamp = LocalDateTime.now();
 
-        when(sensitiveTaskEventLogsRepository.cleanUpSensitiveLogs(timeStamp))
+        when(sensitiveTaskEventLogsRepository.cleanUpSensitiveLogs(timeStamp, 100))
             .thenReturn(1);
 
-        int deletedRows = cftSensitiveTaskEventLogsDatabaseService.cleanUpSensitiveLogs(timeStamp);
+        int deletedRows = cftSensitiveTaskEventLogsDatabaseService.cleanUpSensitiveLogs(timeStamp, 100);
 
         assertEquals(1, deletedRows);
 
         verify(sensitiveTaskEventLogsRepository, times(1))
-            .cleanUpSensitiveLogs(timeStamp);
+            .cleanUpSensitiveLogs(timeStamp, 100);
     }
 
 }
@@ -1,5 +1,7 @@
 package uk.gov.hmcts.reform.wataskmanagementapi.services;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import jakarta.persistence.LockTimeoutException;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -12,20 +14,26 @@ import uk.gov.hmcts.reform.wataskmanagementapi.auth.access.entities.AccessContro
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.RoleAssignment;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.Classification;
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.response.GetTasksResponse;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SearchPageToken;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SearchRequest;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SortField;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SortOrder;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SortingParameter;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.TaskSearchPage;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.task.Task;
 import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
 import uk.gov.hmcts.reform.wataskmanagementapi.repository.TaskResourceRepository;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.signature.RoleSignatureBuilder;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.signature.SearchFilterSignatureBuilder;
 
 import java.sql.SQLException;
 import java.time.OffsetDateTime;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
+import java.util.concurrent.atomic.AtomicInteger;
 import java.util.stream.Collectors;
 import java.util.stream.Stream;
 
@@ -35,6 +43,7 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertThrowsExactly;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
@@ -42,6 +51,7 @@ import static org.mockito.Mockito.doNothing;
 import static org.mockito.Mockito.doReturn;
 import static org.mockito.Mockito.lenient;
 import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.spy;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
@@ -55,6 +65,7 @@ import static uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.CamundaVari
 import static uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.CamundaVariableDefinition.MINOR_PRIORITY;
 import static uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.CamundaVariableDefinition.PRIORITY_DATE;
 import static uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.CamundaVariableDefinition.TASK_ID;
+import static uk.gov.hmcts.reform.wataskmanagementapi.enums.TaskAction.MARK_FOR_RECONFIGURE;
 
 @ExtendWith(MockitoExtension.class)
 @SuppressWarnings("unchecked")
@@ -70,7 +81,11 @@ class CFTTaskDatabaseServiceTest {
 
     @BeforeEach
     void setUp() {
-        cftTaskDatabaseService = new CFTTaskDatabaseService(taskResourceRepository, cftTaskMapper);
+        cftTaskDatabaseService = new CFTTaskDatabaseService(
+            taskResourceRepository, cftTaskMapper, Runnable::run,
+            new SearchFilterSignatureBuilder(Caffeine.newBuilder().maximumWeight(1000), new SimpleMeterRegistry()),
+            new RoleSignatureBuilder(Caffeine.newBuilder().maximumWeight(1000), new SimpleMeterRegistry())
+        );
 
         taskId = UUID.randomUUID().toString();
     }
@@ -163,17 +178,26 @@ class CFTTaskDatabaseServiceTest {
     }
 
     @Test
-    void should_find_by_case_ids_states_reconfiguration_time_is_null() {
-        TaskResource someTaskResource = mock(TaskResource.class);
+    void should_count_by_case_ids_states_reconfiguration_time_is_null() {
+        when(taskResourceRepository.countByCaseIdInAndStateInAndReconfigureRequestTimeIsNull(
+            List.of("1234"), List.of(ASSIGNED))).thenReturn(2L);
 
-        when(taskResourceRepository.findByCaseIdInAndStateInAndReconfigureRequestTimeIsNull(
-            List.of("1234"), List.of(ASSIGNED))).thenReturn(List.of(someTaskResource));
+        long count = cftTaskDatabaseService
+            .countActiveTasksByCaseIdsAndReconfigureRequestTimeIsNull(List.of("1234"), List.of(ASSIGNED));
 
-        final List<TaskResource> actualTaskResource = cftTaskDatabaseService
-            .getActiveTasksByCaseIdsAndReconfigureRequestTimeIsNull(List.of("1234"), List.of(ASSIGNED));
+        assertEquals(2L, count);
+    }
 
-        assertNotNull(actualTaskResource);
-        assertEquals(someTaskResource, actualTaskResource.get(0));
+    @Test
+    void should_mark_active_tasks_of_cases_to_reconfigure() {
+        when(taskResourceRepository.markActiveTasksToReconfigure(
+            eq(List.of("1234", "4567")), any(), eq("systemUserId"), eq(MARK_FOR_RECONFIGURE.getValue())))
+            .thenReturn(List.of("taskId1", "taskId2"));
+
+        List<String> taskIds = cftTaskDatabaseService
+            .markActiveTasksToReconfigure(List.of("1234", "4567"), "systemUserId");
+
+        assertEquals(List.of("taskId1", "taskId2"), taskIds);
     }
 
     @Test
@@ -289,6 +313,68 @@ class CFTTaskDatabaseServiceTest {
         assertTrue(response.getTasks().isEmpty());
     }
 
+    @Test
+    void should_cancel_count_when_search_page_query_fails() {
+        List<Runnable> pendingTasks = new ArrayList<>();
+        cftTaskDatabaseService = searchServiceDeferringSubmission(2, pendingTasks);
+        SearchRequest searchRequest = SearchRequest.builder()
+            .jurisdictions(List.of("IA"))
+            .build();
+        when(taskResourceRepository.searchTasksIds(anyInt(), anyInt(), any(), any(), any(), eq(searchRequest)))
+            .thenThrow(new IllegalStateException("page query failed"));
+        AccessControlResponse accessControlResponse = mock((AccessControlResponse.class));
+        when(accessControlResponse.getRoleAssignments())
+            .thenReturn(roleAssignmentWithoutAttributes(Classification.PUBLIC));
+
+        assertThatThrownBy(() -> cftTaskDatabaseService.searchForTasks(0, 25, searchRequest, accessControlResponse))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("page query failed");
+
+        pendingTasks.forEach(Runnable::run);
+        verify(taskResourceRepository, never()).searchTasksCount(any(), any(), any(), any());
+    }
+
+    @Test
+    void should_cancel_search_page_query_when_count_fails() {
+        List<Runnable> pendingTasks = new ArrayList<>();
+        cftTaskDatabaseService = searchServiceDeferringSubmission(1, pendingTasks);
+        SearchRequest searchRequest = SearchRequest.builder()
+            .jurisdictions(List.of("IA"))
+            .build();
+        when(taskResourceRepository.searchTasksCount(any(), any(), any(), eq(searchRequest)))
+            .thenThrow(new IllegalStateException("count query failed"));
+        AccessControlResponse accessControlResponse = mock((AccessControlResponse.class));
+        when(accessControlResponse.getRoleAssignments())
+            .thenReturn(roleAssignmentWithoutAttributes(Classification.PUBLIC));
+
+        assertThatThrownBy(() -> cftTaskDatabaseService.searchForTasks(0, 25, searchRequest, accessControlResponse))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("count query failed");
+
+        pendingTasks.forEach(Runnable::run);
+        verify(taskResourceRepository, never()).searchTasksIds(anyInt(), anyInt(), any(), any(), any(), any());
+    }
+
+    @Test
+    void should_propagate_count_query_failure() {
+        SearchRequest searchRequest = SearchRequest.builder()
+            .jurisdictions(List.of("IA"))
+            .build();
+        when(taskResourceRepository.searchTasksCount(any(), any(), any(), eq(searchRequest)))
+            .thenThrow(new IllegalStateException("count query failed"));
+        when(taskResourceRepository.searchTasksIds(anyInt(), anyInt(), any(), any(), any(), eq(searchRequest)))
+            .thenReturn(List.of("1"));
+        AccessControlResponse accessControlResponse = mock((AccessControlResponse.class));
+        when(accessControlResponse.getRoleAssignments())
+            .thenReturn(roleAssignmentWithoutAttributes(Classification.PUBLIC));
+
+        assertThatThrownBy(() -> cftTaskDatabaseService.searchForTasks(0, 25, searchRequest, accessControlResponse))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("count query failed");
+
+        verify(taskResourceRepository, never()).findAllByTaskIdIn(anyList(), any());
+    }
+
     @Test
     void should_return_task_list_and_count_when_search_find_some_task_and_sort_default_order() {
         List<String> taskIds = List.of("1");
@@ -314,7 +400,7 @@ class CFTTaskDatabaseServiceTest {
             searchRequest
         ))
             .thenReturn(taskIds);
-        when(taskResourceRepository.findAllByTaskIdIn(taskIds, Sort.by(orders)))
+        when(taskResourceRepository.findAllWithTaskRolesByTaskIdIn(taskIds, Sort.by(orders)))
             .thenReturn(taskResources);
         when(taskResourceRepository.searchTasksCount(
             Set.of("*:IA:*:*:*:765324"),
@@ -336,6 +422,40 @@ class CFTTaskDatabaseServiceTest {
         assertEquals(task, response.getTasks().get(0));
     }
 
+    @Test
+    void should_return_next_page_token_when_search_uses_keyset_pagination() {
+        TaskResource taskResource = mock(TaskResource.class);
+        Task task = mock(Task.class);
+        AccessControlResponse accessControlResponse = mock((AccessControlResponse.class));
+        String sortOrder = TaskSearchSortProvider.getSortOrderQuery(SearchRequest.builder().build());
+        SearchPageToken after = new SearchPageToken(sortOrder, List.of("5000", "2024-01-01 10:00:00", "500", "0"));
+        SearchPageToken next = new SearchPageToken(sortOrder, List.of("5000", "2024-01-01 10:00:00", "500", "1"));
+        SearchRequest searchRequest = SearchRequest.builder()
+            .jurisdictions(List.of("IA"))
+            .keysetPagination(true)
+            .pageToken(after.encode())
+            .build();
+
+        when(accessControlResponse.getRoleAssignments())
+            .thenReturn(roleAssignmentWithoutAttributes(Classification.PUBLIC));
+        when(taskResourceRepository.searchTasksPage(eq(1), eq(after), any(), any(), any(), eq(searchRequest)))
+            .thenReturn(new TaskSearchPage(List.of("1"), next));
+        when(taskResourceRepository.findAllWithTaskRolesByTaskIdIn(eq(List.of("1")), any()))
+            .thenReturn(List.of(taskResource));
+        when(taskResourceRepository.searchTasksCount(any(), any(), any(), eq(searchRequest)))
+            .thenReturn(10L);
+        when(cftTaskMapper.mapToTaskAndExtractPermissionsUnion(eq(taskResource), anyList())).thenReturn(task);
+
+        GetTasksResponse<Task> response = cftTaskDatabaseService.searchForTasks(0, 1, searchRequest,
+            accessControlResponse
+        );
+
+        assertEquals(10, response.getTotalRecords());
+        assertEquals(List.of(task), response.getTasks());
+        assertEquals(next.encode(), response.getNextPageToken());
+        verify(taskResourceRepository, never()).searchTasksIds(anyInt(), anyInt(), any(), any(), any(), any());
+    }
+
     @Test
     void should_return_task_list_and_count_when_search_find_some_task_and_sort_request_order() {
         List<String> taskIds = List.of("1");
@@ -362,7 +482,7 @@ class CFTTaskDatabaseServiceTest {
             searchRequest
         ))
             .thenReturn(taskIds);
-        when(taskResourceRepository.findAllByTaskIdIn(taskIds, Sort.by(orders)))
+        when(taskResourceRepository.findAllWithTaskRolesByTaskIdIn(taskIds, Sort.by(orders)))
             .thenReturn(taskResources);
         when(taskResourceRepository.searchTasksCount(
             Set.of("*:IA:*:*:*:765324"),
@@ -410,7 +530,7 @@ class CFTTaskDatabaseServiceTest {
             searchRequest
         ))
             .thenReturn(taskIds);
-        when(taskResourceRepository.findAllByTaskIdIn(taskIds, Sort.by(orders)))
+        when(taskResourceRepository.findAllWithTaskRolesByTaskIdIn(taskIds, Sort.by(orders)))
             .thenReturn(taskResources);
         when(taskResourceRepository.searchTasksCount(
             Set.of("*:IA:*:*:*:765324"),
@@ -492,4 +612,24 @@ class CFTTaskDatabaseServiceTest {
 
         verify(roleAssignments, times(2)).size();
     }
+
+    /**
+     * Builds the service with an executor that runs search queries on the calling thread, except for the
+     * query submitted in the given position, which is left pending.
+     */
+    private CFTTaskDatabaseService searchServiceDeferringSubmission(int submission, List<Runnable> pendingTasks) {
+        AtomicInteger submissions = new AtomicInteger();
+        return new CFTTaskDatabaseService(
+            taskResourceRepository, cftTaskMapper,
+            command -> {
+                if (submissions.incrementAndGet() == submission) {
+                    pendingTasks.add(command);
+                } else {
+                    command.run();
+                }
+            },
+            new SearchFilterSignatureBuilder(Caffeine.newBuilder().maximumWeight(1000), new SimpleMeterRegistry()),
+            new RoleSignatureBuilder(Caffeine.newBuilder().maximumWeight(1000), new SimpleMeterRegistry())
+        );
+    }
 }
@@ -60,6 +60,7 @@ import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotEquals;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.Mockito.mock;
 import static org.mockito.Mockito.when;
@@ -2289,6 +2290,37 @@ class CFTTaskMapperTest {
         );
     }
 
+    @Test
+    void should_only_change_the_roles_that_differ_when_reconfiguring_a_task() {
+        TaskResource taskResource = createTaskResource();
+        OffsetDateTime created = OffsetDateTime.parse("2021-05-09T20:15:45.345875+01:00");
+        TaskRoleResource unchangedRole = new TaskRoleResource(
+            "tribunalCaseworker", true, true, false, true, true, true,
+            new String[]{}, null, false, "LEGAL_OPERATIONS", taskResource.getTaskId(), created
+        );
+        TaskRoleResource removedRole = new TaskRoleResource(
+            "judge", true, false, false, false, false, false,
+            new String[]{}, null, false, "JUDICIAL", taskResource.getTaskId(), created
+        );
+        String[] authorizations = unchangedRole.getAuthorizations();
+        taskResource.setTaskRoleResources(new HashSet<>(Set.of(unchangedRole, removedRole)));
+
+        TaskResource reconfiguredTaskResource = cftTaskMapper.reconfigureTaskResourceFromDmnResults(
+            taskResource,
+            new TaskConfigurationResults(emptyMap(), configurationDmnResponse(true), permissionsResponse())
+        );
+
+        Map<String, TaskRoleResource> roles = new HashMap<>();
+        reconfiguredTaskResource.getTaskRoleResources().forEach(role -> roles.put(role.getRoleName(), role));
+        assertEquals(Set.of("tribunalCaseworker", "seniorTribunalCaseworker"), roles.keySet());
+        assertSame(unchangedRole, roles.get("tribunalCaseworker"));
+        assertSame(authorizations, unchangedRole.getAuthorizations());
+        assertEquals(created, unchangedRole.getCreated());
+        assertTrue(unchangedRole.getOwn());
+        assertFalse(unchangedRole.getExecute());
+        assertNotNull(roles.get("seniorTribunalCaseworker").getCreated());
+    }
+
     @Test
     void can_not_reconfigure_a_task_with_data_from_configuration_DMN_when_canReconfigure_false() {
 
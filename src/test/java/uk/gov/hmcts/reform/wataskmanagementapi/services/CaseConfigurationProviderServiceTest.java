@@ -3,7 +3,9 @@ package uk.gov.hmcts.reform.wataskmanagementapi.services;
 import com.fasterxml.jackson.core.JsonProcessingException;
 import com.fasterxml.jackson.databind.ObjectMapper;
 import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.github.benmanes.caffeine.cache.Caffeine;
 import com.google.common.collect.ImmutableMap;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.assertj.core.api.Assertions;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
@@ -18,6 +20,7 @@ import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.ConfigurationDmnEv
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.PermissionsDmnEvaluationResponse;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.ccd.CaseDetails;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.configuration.TaskConfigurationResults;
+import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.ServerErrorException;
 import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.AssigneeConfigurationException;
 import uk.gov.hmcts.reform.wataskmanagementapi.services.calendar.DateTypeConfigurator;
 import uk.gov.hmcts.reform.wataskmanagementapi.services.calendar.DueDateCalculator;
@@ -29,12 +32,14 @@ import uk.gov.hmcts.reform.wataskmanagementapi.services.calendar.WorkingDayIndic
 import java.time.LocalDate;
 import java.time.LocalDateTime;
 import java.time.format.DateTimeFormatter;
+import java.util.ArrayList;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
 import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.FutureTask;
 import java.util.stream.Stream;
 
 import static java.util.Arrays.asList;
@@ -45,6 +50,7 @@ import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyMap;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 import static uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.CamundaValue.booleanValue;
@@ -84,7 +90,10 @@ class CaseConfigurationProviderServiceTest {
                     new DueDateCalculator(),
                     new DueDateIntervalCalculator(new WorkingDayIndicator(publicHolidaysCollection)),
                     new DueDateTimeCalculator()
-                ))
+                )),
+            new CaseDataCache(Caffeine.newBuilder(), new SimpleMeterRegistry(), true),
+            Runnable::run,
+            1000
         );
 
         lenient().when(caseDetails.getCaseType()).thenReturn("Asylum");
@@ -821,6 +830,79 @@ class CaseConfigurationProviderServiceTest {
             .isEmpty();
     }
 
+    @Test
+    void should_fetch_and_serialise_case_data_once_for_tasks_of_the_same_case_when_reconfiguring() {
+        String someCaseId = "someCaseId";
+        when(caseDetails.getData()).thenReturn(Map.of("appealType", "protection"));
+        when(ccdDataService.getCaseData(someCaseId)).thenReturn(caseDetails);
+        when(dmnEvaluationService.evaluateTaskPermissionsDmn(any(), any(), any(), any())).thenReturn(List.of());
+        when(dmnEvaluationService.evaluateTaskConfigurationDmn(any(), any(), any(), any())).thenReturn(List.of());
+
+        caseConfigurationProviderService.getCaseRelatedConfiguration(someCaseId, Map.of("taskType", "a"), true);
+        caseConfigurationProviderService.getCaseRelatedConfiguration(someCaseId, Map.of("taskType", "b"), true);
+
+        verify(ccdDataService, times(1)).getCaseData(someCaseId);
+        verify(dmnEvaluationService).evaluateTaskConfigurationDmn(
+            "IA", "Asylum", "{\"appealType\":\"protection\"}", "{\"taskType\":\"a\"}");
+        verify(dmnEvaluationService).evaluateTaskConfigurationDmn(
+            "IA", "Asylum", "{\"appealType\":\"protection\"}", "{\"taskType\":\"b\"}");
+    }
+
+    @Test
+    void should_propagate_permissions_dmn_failure() {
+        String someCaseId = "someCaseId";
+        when(ccdDataService.getCaseData(someCaseId)).thenReturn(caseDetails);
+        when(dmnEvaluationService.evaluateTaskConfigurationDmn(any(), any(), any(), any())).thenReturn(List.of());
+        when(dmnEvaluationService.evaluateTaskPermissionsDmn(any(), any(), any(), any()))
+            .thenThrow(new IllegalStateException("Could not evaluate from decision table"));
+
+        assertThatThrownBy(() -> caseConfigurationProviderService
+            .getCaseRelatedConfiguration(someCaseId, Map.of(), false))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("Could not evaluate from decision table");
+    }
+
+    @Test
+    void should_time_out_when_permissions_dmn_is_not_evaluated_in_time() {
+        List<Runnable> pendingTasks = new ArrayList<>();
+        caseConfigurationProviderService = new CaseConfigurationProviderService(
+            ccdDataService,
+            dmnEvaluationService,
+            objectMapper,
+            new DateTypeConfigurator(
+                List.of(
+                    new DueDateCalculator(),
+                    new DueDateIntervalCalculator(new WorkingDayIndicator(publicHolidaysCollection)),
+                    new DueDateTimeCalculator()
+                )),
+            new CaseDataCache(Caffeine.newBuilder(), new SimpleMeterRegistry(), true),
+            pendingTasks::add,
+            10
+        );
+        String someCaseId = "someCaseId";
+        when(ccdDataService.getCaseData(someCaseId)).thenReturn(caseDetails);
+        when(dmnEvaluationService.evaluateTaskConfigurationDmn(any(), any(), any(), any())).thenReturn(List.of());
+
+        assertThatThrownBy(() -> caseConfigurationProviderService
+            .getCaseRelatedConfiguration(someCaseId, Map.of(), false))
+            .isInstanceOf(ServerErrorException.class)
+            .hasMessage("Timed out evaluating permissions DMN");
+        assertThat(((FutureTask<?>) pendingTasks.get(0)).isCancelled(), is(true));
+    }
+
+    @Test
+    void should_fetch_case_data_for_each_task_when_initiating() {
+        String someCaseId = "someCaseId";
+        when(ccdDataService.getCaseData(someCaseId)).thenReturn(caseDetails);
+        when(dmnEvaluationService.evaluateTaskPermissionsDmn(any(), any(), any(), any())).thenReturn(List.of());
+        when(dmnEvaluationService.evaluateTaskConfigurationDmn(any(), any(), any(), any())).thenReturn(List.of());
+
+        caseConfigurationProviderService.getCaseRelatedConfiguration(someCaseId, Map.of(), false);
+        caseConfigurationProviderService.getCaseRelatedConfiguration(someCaseId, Map.of(), false);
+
+        verify(ccdDataService, times(2)).getCaseData(someCaseId);
+    }
+
     @Test
     void should_recalculate_due_date_from_given_due_date_properties() {
         String someCaseId = "someCaseId";
@@ -0,0 +1,47 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.ccd.CaseDetails;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.CaseDataCache.CaseData;
+
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Function;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
+
+class CaseDataCacheTest {
+
+    private final AtomicInteger loads = new AtomicInteger();
+    private final Function<String, CaseData> loader = caseId -> {
+        loads.incrementAndGet();
+        return new CaseData(new CaseDetails("IA", "Asylum", "PUBLIC", Map.of()), "{}");
+    };
+
+    @Test
+    void should_load_case_data_once_until_invalidated() {
+        CaseDataCache caseDataCache = new CaseDataCache(Caffeine.newBuilder(), new SimpleMeterRegistry(), true);
+
+        CaseData first = caseDataCache.get("caseId", loader);
+        assertSame(first, caseDataCache.get("caseId", loader));
+        caseDataCache.get("otherCaseId", loader);
+        assertEquals(2, loads.get());
+
+        caseDataCache.invalidateAll();
+        caseDataCache.get("caseId", loader);
+        assertEquals(3, loads.get());
+    }
+
+    @Test
+    void should_always_load_case_data_when_disabled() {
+        CaseDataCache caseDataCache = new CaseDataCache(Caffeine.newBuilder(), new SimpleMeterRegistry(), false);
+
+        caseDataCache.get("caseId", loader);
+        caseDataCache.get("caseId", loader);
+
+        assertEquals(2, loads.get());
+    }
+}
@@ -26,6 +26,7 @@ import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.EvaluationResponse
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.PermissionsDmnEvaluationResponse;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.TaskTypesDmnEvaluationResponse;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.TaskTypesDmnResponse;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.dmn.LocalDmnEvaluator;
 
 import java.util.ArrayList;
 import java.util.HashMap;
@@ -67,6 +68,8 @@ class DmnEvaluationServiceTest {
     private AuthTokenGenerator authTokenGenerator;
     @Mock
     private CamundaObjectMapper camundaObjectMapper;
+    @Mock
+    private LocalDmnEvaluator localDmnEvaluator;
 
     DmnRequest<DecisionTableRequest> dmnRequest = new DmnRequest<>();
     DmnEvaluationService dmnEvaluationService;
@@ -79,7 +82,8 @@ class DmnEvaluationServiceTest {
         dmnEvaluationService = new DmnEvaluationService(
             camundaServiceApi,
             authTokenGenerator,
-            camundaObjectMapper
+            camundaObjectMapper,
+            localDmnEvaluator
         );
 
         when(authTokenGenerator.generate()).thenReturn(BEARER_SERVICE_TOKEN);
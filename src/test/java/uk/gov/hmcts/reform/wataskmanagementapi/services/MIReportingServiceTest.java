@@ -109,6 +109,32 @@ class MIReportingServiceTest {
         verify(taskAssignmentsRepository, never()).findAllByTaskIdOrderByAssignmentIdAsc("123");
     }
 
+    @Test
+    void given_no_heartbeat_in_publication_should_add_it_and_refresh_the_subscription() {
+        TaskResourceRepository taskResourceRepository = mock(TaskResourceRepository.class);
+        when(taskResourceRepository.countReplicationSlots()).thenReturn(1);
+        when(taskResourceRepository.countPublications()).thenReturn(1);
+        when(taskResourceRepository.countPublicationTables()).thenReturn(2);
+        when(taskResourceRepository.countHeartbeatPublicationTables()).thenReturn(0);
+        when(taskResourceRepository.showWalLevel()).thenReturn("logical");
+
+        SubscriptionCreator subscriptionCreator = mock(SubscriptionCreator.class);
+
+        TaskHistoryResourceRepository taskHistoryResourceRepository = mock(TaskHistoryResourceRepository.class);
+        when(taskHistoryResourceRepository.countSubscriptions()).thenReturn(1);
+
+        miReportingService = new MIReportingService(taskHistoryResourceRepository, taskResourceRepository,
+            null, null, subscriptionCreator);
+
+        assertFalse(miReportingService.isHeartbeatInPublication());
+
+        miReportingService.logicalReplicationCheck();
+
+        verify(taskResourceRepository, never()).addWorkTypesToPublication();
+        verify(taskResourceRepository, times(1)).addHeartbeatToPublication();
+        verify(subscriptionCreator, times(1)).refreshSubscription();
+    }
+
     @Test
     void given_work_types_in_publication_should_return_true() {
         TaskResourceRepository taskResourceRepository = mock(TaskResourceRepository.class);
@@ -583,7 +609,8 @@ class MIReportingServiceTest {
         when(taskResourceRepository.showWalLevel()).thenReturn("logical");
         when(taskResourceRepository.countReplicationSlots()).thenReturn(1);
         when(taskResourceRepository.countPublications()).thenReturn(1);
-        when(taskResourceRepository.countPublicationTables()).thenReturn(2); // work types present
+        when(taskResourceRepository.countPublicationTables()).thenReturn(3); // work types present
+        when(taskResourceRepository.countHeartbeatPublicationTables()).thenReturn(1);
         when(taskHistoryResourceRepository.countSubscriptions()).thenReturn(1);
 
         SubscriptionCreator subscriptionCreator = mock(SubscriptionCreator.class);
@@ -599,6 +626,7 @@ class MIReportingServiceTest {
         verify(taskResourceRepository, never()).createReplicationSlot();
         verify(taskResourceRepository, never()).createPublication();
         verify(taskResourceRepository, never()).addWorkTypesToPublication();
+        verify(taskResourceRepository, never()).addHeartbeatToPublication();
         verify(subscriptionCreator, never()).createSubscription();
         verify(subscriptionCreator, never()).refreshSubscription();
     }
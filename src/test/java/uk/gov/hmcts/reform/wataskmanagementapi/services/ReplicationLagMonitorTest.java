@@ -0,0 +1,155 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.boot.test.system.CapturedOutput;
+import org.springframework.boot.test.system.OutputCaptureExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+
+import java.time.OffsetDateTime;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNotEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@ExtendWith(OutputCaptureExtension.class)
+class ReplicationLagMonitorTest {
+
+    @Mock
+    private CFTTaskDatabaseService cftTaskDatabaseService;
+    @Mock
+    private MIReportingService miReportingService;
+
+    private static final String INSTANCE_NAME = "wa-task-management-api-0";
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void should_record_the_lag_once_the_heartbeat_is_replicated() {
+        ReplicationLagMonitor monitor = monitor(0, 60_000);
+
+        monitor.probe();
+        String marker = writtenMarker(1);
+        when(miReportingService.isHeartbeatReplicated(INSTANCE_NAME, marker)).thenReturn(true);
+        monitor.probe();
+
+        assertEquals(1, meterRegistry.timer("wa.replication.lag").count());
+        Map<String, Object> status = monitor.getStatus();
+        assertEquals(true, status.get("replicated"));
+        assertEquals(0L, status.get("missedHeartbeats"));
+        assertTrue(((Map<?, ?>) status.get("lagPercentilesMillis")).containsKey("p99"));
+        assertNotEquals(marker, writtenMarker(2));
+    }
+
+    @Test
+    void should_not_write_another_heartbeat_while_one_is_outstanding() {
+        ReplicationLagMonitor monitor = monitor(0, 60_000);
+
+        monitor.probe();
+        monitor.probe();
+        monitor.probe();
+
+        verify(cftTaskDatabaseService, times(1))
+            .writeReplicationHeartbeat(eq(INSTANCE_NAME), anyString(), any());
+        assertFalse((Boolean) monitor.getStatus().get("replicated"));
+        assertEquals(0, meterRegistry.timer("wa.replication.lag").count());
+    }
+
+    @Test
+    void should_wait_for_the_heartbeat_interval_before_writing_the_next_heartbeat() {
+        ReplicationLagMonitor monitor = monitor(60_000, 60_000);
+
+        monitor.probe();
+        when(miReportingService.isHeartbeatReplicated(INSTANCE_NAME, writtenMarker(1))).thenReturn(true);
+        monitor.probe();
+        monitor.probe();
+
+        verify(cftTaskDatabaseService, times(1))
+            .writeReplicationHeartbeat(eq(INSTANCE_NAME), anyString(), any());
+        assertEquals(1, meterRegistry.timer("wa.replication.lag").count());
+    }
+
+    @Test
+    void should_count_a_missed_heartbeat_after_the_timeout(CapturedOutput output) {
+        ReplicationLagMonitor monitor = monitor(0, 0);
+
+        monitor.probe();
+        String marker = writtenMarker(1);
+        monitor.probe();
+
+        assertEquals(1, meterRegistry.counter("wa.replication.heartbeat.missed").count());
+        assertEquals(0, meterRegistry.timer("wa.replication.lag").count());
+        Map<String, Object> status = monitor.getStatus();
+        assertFalse((Boolean) status.get("replicated"));
+        assertEquals(1L, status.get("missedHeartbeats"));
+        assertTrue(output.getOut().contains("TASK_REPLICATION_ERROR: Task replication not found for [instanceName: "
+                                            + INSTANCE_NAME));
+        assertTrue(output.getOut().contains("marker: " + marker + "]"));
+    }
+
+    @Test
+    void should_write_the_heartbeats_of_each_instance_under_its_own_name() {
+        ReplicationLagMonitor first = monitor(0, 60_000);
+        first.probe();
+        String firstMarker = writtenMarker(1);
+        ReplicationLagMonitor second = new ReplicationLagMonitor(cftTaskDatabaseService, miReportingService,
+                                                                 new SimpleMeterRegistry(), "wa-task-management-api-1",
+                                                                 0, 60_000);
+        second.probe();
+
+        when(miReportingService.isHeartbeatReplicated(INSTANCE_NAME, firstMarker)).thenReturn(true);
+        first.probe();
+
+        verify(cftTaskDatabaseService).writeReplicationHeartbeat(eq("wa-task-management-api-1"), anyString(), any());
+        assertEquals(1, meterRegistry.timer("wa.replication.lag").count());
+        assertEquals("wa-task-management-api-1", second.getInstanceName());
+    }
+
+    @Test
+    void should_keep_probing_when_the_heartbeat_can_not_be_written() {
+        doThrow(new DataAccessResourceFailureException("primary not reachable"))
+            .when(cftTaskDatabaseService).writeReplicationHeartbeat(anyString(), anyString(), any());
+        ReplicationLagMonitor monitor = monitor(0, 60_000);
+
+        monitor.probe();
+        monitor.probe();
+
+        verify(cftTaskDatabaseService, times(2))
+            .writeReplicationHeartbeat(eq(INSTANCE_NAME), anyString(), any());
+        verify(miReportingService, never()).isHeartbeatReplicated(anyString(), anyString());
+        assertEquals(0L, monitor.getStatus().get("pendingHeartbeatMillis"));
+    }
+
+    private ReplicationLagMonitor monitor(long heartbeatIntervalMillis, long timeoutMillis) {
+        return new ReplicationLagMonitor(cftTaskDatabaseService, miReportingService, meterRegistry, INSTANCE_NAME,
+                                         heartbeatIntervalMillis, timeoutMillis);
+    }
+
+    private String writtenMarker(int heartbeats) {
+        ArgumentCaptor<String> marker = ArgumentCaptor.forClass(String.class);
+        verify(cftTaskDatabaseService, times(heartbeats)).writeReplicationHeartbeat(
+            eq(INSTANCE_NAME), marker.capture(), any(OffsetDateTime.class));
+        return marker.getValue();
+    }
+}
@@ -1,14 +1,19 @@
 package uk.gov.hmcts.reform.wataskmanagementapi.services;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.params.ParameterizedTest;
 import org.junit.jupiter.params.provider.CsvSource;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.RoleAssignment;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.Classification;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.GrantType;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.RoleType;
 import uk.gov.hmcts.reform.wataskmanagementapi.cft.query.RoleAssignmentTestUtils;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.RequestContext;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SearchRequest;
 import uk.gov.hmcts.reform.wataskmanagementapi.services.signature.RoleSignatureBuilder;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.signature.SignatureSet;
 
 import java.util.List;
 import java.util.Set;
@@ -16,18 +21,74 @@ import java.util.Set;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasItem;
 import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.not;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 
 class RoleSignatureBuilderTest {
 
+    private final RoleSignatureBuilder roleSignatureBuilder =
+        new RoleSignatureBuilder(Caffeine.newBuilder().maximumWeight(1000), new SimpleMeterRegistry());
+
     @Test
     void returnEmptySignatureForEmptyFields() {
         SearchRequest searchRequest = SearchRequest.builder().build();
-        Set<String> signature = RoleSignatureBuilder.buildRoleSignatures(List.of(), searchRequest);
+        Set<String> signature = roleSignatureBuilder.buildRoleSignatures(List.of(), searchRequest);
 
         assertEquals(0, signature.size());
     }
 
+    @Test
+    void shouldReuseCompiledSignaturesForSameRoleAssignmentsAndFilter() {
+        List<RoleAssignment> roleAssignments = RoleAssignmentTestUtils
+            .roleAssignmentWithStandardGrantTypeForSearchTask(Classification.PUBLIC);
+        SearchRequest searchRequest = SearchRequest.builder().jurisdictions(List.of("IA")).build();
+
+        Set<String> first = roleSignatureBuilder.buildRoleSignatures(roleAssignments, searchRequest);
+        Set<String> second = roleSignatureBuilder.buildRoleSignatures(
+            List.copyOf(roleAssignments),
+            SearchRequest.builder().jurisdictions(List.of("IA")).build()
+        );
+
+        assertSame(first, second);
+        assertSame(SignatureSet.toSignatureArray(first), SignatureSet.toSignatureArray(second));
+        assertEquals(first.size(), SignatureSet.toSignatureArray(first).length);
+    }
+
+    @Test
+    void shouldNotReuseCompiledSignaturesOnceRoleAssignmentsAreChanged() {
+        List<RoleAssignment> roleAssignments = RoleAssignmentTestUtils
+            .roleAssignmentWithStandardGrantTypeForSearchTask(Classification.PUBLIC);
+        SearchRequest searchRequest = SearchRequest.builder().jurisdictions(List.of("IA")).build();
+
+        Set<String> before = roleSignatureBuilder.buildRoleSignatures(roleAssignments, searchRequest);
+        roleAssignments.set(0, RoleAssignment.builder().roleName("tribunal-caseworker")
+            .roleType(RoleType.ORGANISATION)
+            .classification(Classification.PUBLIC)
+            .attributes(roleAssignments.get(0).getAttributes())
+            .grantType(GrantType.STANDARD)
+            .build());
+        Set<String> after = roleSignatureBuilder.buildRoleSignatures(roleAssignments, searchRequest);
+
+        assertThat(before, hasItem("IA:1:765324:hmcts-judiciary:*:r:U:*"));
+        assertThat(after, hasItem("IA:1:765324:tribunal-caseworker:*:r:U:*"));
+        assertThat(after, not(hasItem("IA:1:765324:hmcts-judiciary:*:r:U:*")));
+    }
+
+    @Test
+    void shouldNotReuseCompiledSignaturesForDifferentPermission() {
+        List<RoleAssignment> roleAssignments = RoleAssignmentTestUtils
+            .roleAssignmentWithStandardGrantTypeForSearchTask(Classification.PUBLIC);
+
+        Set<String> read = roleSignatureBuilder.buildRoleSignatures(
+            roleAssignments, SearchRequest.builder().build());
+        Set<String> manage = roleSignatureBuilder.buildRoleSignatures(
+            roleAssignments, SearchRequest.builder().requestContext(RequestContext.ALL_WORK).build());
+
+        assertThat(read, hasItem("IA:1:765324:hmcts-judiciary:*:r:U:*"));
+        assertThat(manage, hasItem("IA:1:765324:hmcts-judiciary:*:m:U:*"));
+    }
+
     @ParameterizedTest
     @CsvSource({"ALL_WORK,PUBLIC", "ALL_WORK,PRIVATE", "ALL_WORK,RESTRICTED", "ALL_WORK,UNKNOWN",
         "AVAILABLE_TASKS,PUBLIC", "AVAILABLE_TASKS,PRIVATE", "AVAILABLE_TASKS,RESTRICTED", "AVAILABLE_TASKS,UNKNOWN",
@@ -53,7 +114,7 @@ class RoleSignatureBuilderTest {
                                    + abbreviation
                                    + ":*";
 
-        Set<String> signature = RoleSignatureBuilder.buildRoleSignatures(roleAssignments, searchRequest);
+        Set<String> signature = roleSignatureBuilder.buildRoleSignatures(roleAssignments, searchRequest);
 
         assertEquals(1, signature.size());
         assertThat(signature, hasItem(expectedSignature));
@@ -72,7 +133,7 @@ class RoleSignatureBuilderTest {
 
         String expectedSignature = "*:*:*:hmcts-judiciary:*:r:U:*";
 
-        Set<String> signature = RoleSignatureBuilder.buildRoleSignatures(roleAssignments, searchRequest);
+        Set<String> signature = roleSignatureBuilder.buildRoleSignatures(roleAssignments, searchRequest);
 
         assertEquals(1, signature.size());
         assertThat(signature, hasItem(expectedSignature));
@@ -87,7 +148,7 @@ class RoleSignatureBuilderTest {
 
         String expectedSignature = "IA:1:765324:hmcts-judiciary:*:r:U:*";
 
-        Set<String> signature = RoleSignatureBuilder.buildRoleSignatures(roleAssignments, searchRequest);
+        Set<String> signature = roleSignatureBuilder.buildRoleSignatures(roleAssignments, searchRequest);
 
         assertEquals(1, signature.size());
         assertThat(signature, hasItem(expectedSignature));
@@ -106,7 +167,7 @@ class RoleSignatureBuilderTest {
 
         String expectedSignature = "IA:1:765324:hmcts-judiciary:1623278362431003:r:U:*";
 
-        Set<String> signature = RoleSignatureBuilder.buildRoleSignatures(roleAssignments, searchRequest);
+        Set<String> signature = roleSignatureBuilder.buildRoleSignatures(roleAssignments, searchRequest);
 
         assertEquals(1, signature.size());
         assertThat(signature, hasItem(expectedSignature));
@@ -128,7 +189,7 @@ class RoleSignatureBuilderTest {
         String expectedSignature2 = "IA:1:765324:hmcts-judiciary:*:a:U:Skill1";
         String expectedSignature3 = "IA:1:765324:tribunal-caseworker:1623278362431003:a:U:*";
 
-        Set<String> signature = RoleSignatureBuilder.buildRoleSignatures(roleAssignments, searchRequest);
+        Set<String> signature = roleSignatureBuilder.buildRoleSignatures(roleAssignments, searchRequest);
 
         assertEquals(3, signature.size());
         assertThat(signature, hasItems(expectedSignature, expectedSignature2, expectedSignature3));
@@ -149,7 +210,7 @@ class RoleSignatureBuilderTest {
         String expectedSignature = "IA:1:765324:hmcts-judiciary:*:m:U:*";
         String expectedSignature2 = "IA:1:765324:tribunal-caseworker:1623278362431003:m:U:*";
 
-        Set<String> signature = RoleSignatureBuilder.buildRoleSignatures(roleAssignments, searchRequest);
+        Set<String> signature = roleSignatureBuilder.buildRoleSignatures(roleAssignments, searchRequest);
 
         assertEquals(2, signature.size());
         assertThat(signature, hasItems(expectedSignature, expectedSignature2));
@@ -166,7 +227,7 @@ class RoleSignatureBuilderTest {
         List<RoleAssignment> roleAssignments = RoleAssignmentTestUtils
             .roleAssignmentWithDifferentAttributes(Classification.PUBLIC);
 
-        Set<String> signature = RoleSignatureBuilder.buildRoleSignatures(roleAssignments, searchRequest);
+        Set<String> signature = roleSignatureBuilder.buildRoleSignatures(roleAssignments, searchRequest);
 
         assertEquals(5, signature.size());
         assertThat(signature, hasItems("*:*:765325:tribunal-caseworker:*:r:U:*",
@@ -1,10 +1,13 @@
 package uk.gov.hmcts.reform.wataskmanagementapi.services;
 
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
 import org.junit.jupiter.api.Test;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.RoleCategory;
 import uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.CFTTaskState;
 import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SearchRequest;
 import uk.gov.hmcts.reform.wataskmanagementapi.services.signature.SearchFilterSignatureBuilder;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.signature.SignatureSet;
 
 import java.util.List;
 import java.util.Set;
@@ -12,25 +15,44 @@ import java.util.Set;
 import static org.hamcrest.MatcherAssert.assertThat;
 import static org.hamcrest.Matchers.hasItems;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertSame;
 import static org.junit.jupiter.api.Assertions.assertTrue;
 
 class SearchFilterSignatureBuilderTest {
 
+    private final SearchFilterSignatureBuilder searchFilterSignatureBuilder =
+        new SearchFilterSignatureBuilder(Caffeine.newBuilder().maximumWeight(1000), new SimpleMeterRegistry());
+
     @Test
     void buildWildCardSignatureForEmptyFields() {
         SearchRequest searchRequest = SearchRequest.builder().build();
-        Set<String> signature = SearchFilterSignatureBuilder.buildFilterSignatures(searchRequest);
+        Set<String> signature = searchFilterSignatureBuilder.buildFilterSignatures(searchRequest);
 
         assertEquals(1, signature.size());
         assertTrue(signature.contains("*:*:*:*:*:*"));
     }
 
+    @Test
+    void reuseCompiledSignaturesForSameFilter() {
+        Set<String> first = searchFilterSignatureBuilder.buildFilterSignatures(SearchRequest.builder()
+            .cftTaskStates(List.of(CFTTaskState.ASSIGNED))
+            .jurisdictions(List.of("WA", "IA"))
+            .build());
+        Set<String> second = searchFilterSignatureBuilder.buildFilterSignatures(SearchRequest.builder()
+            .cftTaskStates(List.of(CFTTaskState.ASSIGNED))
+            .jurisdictions(List.of("WA", "IA"))
+            .build());
+
+        assertSame(first, second);
+        assertThat(List.of(SignatureSet.toSignatureArray(first)), hasItems("A:WA:*:*:*:*", "A:IA:*:*:*:*"));
+    }
+
     @Test
     void buildSignatureForAllStateValues() {
         SearchRequest searchRequest = SearchRequest.builder()
             .cftTaskStates(List.of(CFTTaskState.ASSIGNED, CFTTaskState.UNASSIGNED))
             .build();
-        Set<String> signature = SearchFilterSignatureBuilder.buildFilterSignatures(searchRequest);
+        Set<String> signature = searchFilterSignatureBuilder.buildFilterSignatures(searchRequest);
 
         assertEquals(2, signature.size());
         assertThat(signature, hasItems("A:*:*:*:*:*", "U:*:*:*:*:*"));
@@ -42,7 +64,7 @@ class SearchFilterSignatureBuilderTest {
             .cftTaskStates(List.of(CFTTaskState.ASSIGNED, CFTTaskState.UNASSIGNED))
             .jurisdictions(List.of("WA", "IA"))
             .build();
-        Set<String> signature = SearchFilterSignatureBuilder.buildFilterSignatures(searchRequest);
+        Set<String> signature = searchFilterSignatureBuilder.buildFilterSignatures(searchRequest);
 
         assertEquals(4, signature.size());
         assertThat(signature, hasItems("A:WA:*:*:*:*", "U:WA:*:*:*:*", "A:IA:*:*:*:*", "U:IA:*:*:*:*"));
@@ -55,7 +77,7 @@ class SearchFilterSignatureBuilderTest {
             .jurisdictions(List.of("WA", "IA"))
             .roleCategories(List.of(RoleCategory.ADMIN, RoleCategory.CTSC))
             .build();
-        Set<String> signature = SearchFilterSignatureBuilder.buildFilterSignatures(searchRequest);
+        Set<String> signature = searchFilterSignatureBuilder.buildFilterSignatures(searchRequest);
 
         assertEquals(8, signature.size());
         assertThat(signature, hasItems("A:WA:A:*:*:*", "U:WA:A:*:*:*", "A:IA:A:*:*:*", "U:IA:A:*:*:*",
@@ -70,7 +92,7 @@ class SearchFilterSignatureBuilderTest {
             .roleCategories(List.of(RoleCategory.ADMIN, RoleCategory.CTSC))
             .workTypes(List.of("evidence", "priority"))
             .build();
-        Set<String> signature = SearchFilterSignatureBuilder.buildFilterSignatures(searchRequest);
+        Set<String> signature = searchFilterSignatureBuilder.buildFilterSignatures(searchRequest);
 
         assertEquals(16, signature.size());
         assertThat(signature, hasItems(
@@ -89,7 +111,7 @@ class SearchFilterSignatureBuilderTest {
             .workTypes(List.of("evidence", "priority"))
             .regions(List.of("1", "2"))
             .build();
-        Set<String> signature = SearchFilterSignatureBuilder.buildFilterSignatures(searchRequest);
+        Set<String> signature = searchFilterSignatureBuilder.buildFilterSignatures(searchRequest);
 
         assertEquals(32, signature.size());
         assertThat(signature, hasItems(
@@ -113,7 +135,7 @@ class SearchFilterSignatureBuilderTest {
             .regions(List.of("1", "2"))
             .locations(List.of("765324", "765325"))
             .build();
-        Set<String> signature = SearchFilterSignatureBuilder.buildFilterSignatures(searchRequest);
+        Set<String> signature = searchFilterSignatureBuilder.buildFilterSignatures(searchRequest);
 
         assertEquals(64, signature.size());
         assertThat(signature, hasItems(
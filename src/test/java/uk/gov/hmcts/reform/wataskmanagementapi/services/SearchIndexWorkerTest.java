@@ -0,0 +1,101 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.IntStream;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class SearchIndexWorkerTest {
+
+    @Mock
+    private CFTTaskDatabaseService cftTaskDatabaseService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private SearchIndexWorker searchIndexWorker;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        searchIndexWorker = new SearchIndexWorker(cftTaskDatabaseService, meterRegistry, 2, 4, 10_000, 3, 5);
+    }
+
+    @Test
+    void should_index_batches_until_a_batch_is_not_full_and_grow_the_batch_size() {
+        when(cftTaskDatabaseService.indexTasks(2)).thenReturn(List.of("task1", "task2"));
+        when(cftTaskDatabaseService.indexTasks(4)).thenReturn(List.of("task3"));
+        when(cftTaskDatabaseService.countTasksToIndex()).thenReturn(5L);
+        when(cftTaskDatabaseService.getIndexingLagSeconds()).thenReturn(1.5);
+
+        assertEquals(3, searchIndexWorker.indexTasks());
+
+        assertEquals(3, meterRegistry.get("wa.search_index.indexed").counter().count());
+        assertEquals(5, meterRegistry.get("wa.search_index.backlog").gauge().value());
+        assertEquals(1500, meterRegistry.get("wa.search_index.lag").timeGauge().value(TimeUnit.MILLISECONDS));
+        assertEquals(4, meterRegistry.get("wa.search_index.batch_size").gauge().value());
+    }
+
+    @Test
+    void should_stop_after_the_batches_per_run() {
+        when(cftTaskDatabaseService.indexTasks(anyInt()))
+            .thenAnswer(invocation -> taskIds(invocation.getArgument(0)));
+
+        assertEquals(2 + 4 + 4, searchIndexWorker.indexTasks());
+        verify(cftTaskDatabaseService, times(3)).indexTasks(anyInt());
+    }
+
+    @Test
+    void should_stop_after_the_batches_per_request() {
+        when(cftTaskDatabaseService.indexTasks(anyInt()))
+            .thenAnswer(invocation -> taskIds(invocation.getArgument(0)));
+
+        assertEquals(2 + 4 + 4 + 4 + 4, searchIndexWorker.indexRequestedTasks());
+        verify(cftTaskDatabaseService, times(5)).indexTasks(anyInt());
+    }
+
+    @Test
+    void should_reset_the_batch_size_when_indexing_fails() {
+        when(cftTaskDatabaseService.indexTasks(2)).thenReturn(List.of("task1", "task2"));
+        when(cftTaskDatabaseService.indexTasks(4)).thenThrow(new IllegalStateException("Database unavailable"));
+
+        assertEquals(2, searchIndexWorker.indexTasks());
+
+        assertEquals(2, meterRegistry.get("wa.search_index.batch_size").gauge().value());
+    }
+
+    @Test
+    void should_write_the_missing_signatures_before_indexing_on_scheduled_runs_only() {
+        when(cftTaskDatabaseService.fillMissingSignatures(2)).thenReturn(List.of("task1"));
+        when(cftTaskDatabaseService.indexTasks(2)).thenReturn(List.of("task1"));
+
+        assertEquals(1, searchIndexWorker.indexTasks());
+        searchIndexWorker.indexRequestedTasks();
+
+        verify(cftTaskDatabaseService, times(1)).fillMissingSignatures(anyInt());
+    }
+
+    @Test
+    void should_index_tasks_when_the_missing_signatures_can_not_be_written() {
+        when(cftTaskDatabaseService.fillMissingSignatures(2))
+            .thenThrow(new IllegalStateException("Database unavailable"));
+        when(cftTaskDatabaseService.indexTasks(2)).thenReturn(List.of("task1"));
+
+        assertEquals(1, searchIndexWorker.indexTasks());
+    }
+
+    private List<String> taskIds(int count) {
+        return IntStream.range(0, count).mapToObj(i -> "task" + i).toList();
+    }
+}
@@ -0,0 +1,146 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.SensitiveTaskEventLog;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.Users;
+import uk.gov.hmcts.reform.wataskmanagementapi.repository.SensitiveTaskEventLogsRepository;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.SensitiveTaskEventLogWriter.OverflowPolicy;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.StreamSupport;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("PMD.DoNotUseThreads")
+class SensitiveTaskEventLogWriterTest {
+
+    @Mock
+    private SensitiveTaskEventLogsRepository sensitiveTaskEventLogsRepository;
+
+    @Mock
+    private ExecutorService executorService;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+    }
+
+    @Test
+    void should_write_straight_away_when_not_running() {
+        SensitiveTaskEventLogWriter writer = writer(executorService, 2, OverflowPolicy.DROP_OLDEST);
+
+        assertTrue(writer.write(sensitiveTaskEventLog("taskId")));
+
+        verify(sensitiveTaskEventLogsRepository).saveAll(taskIds("taskId"));
+        assertEquals(1, meterRegistry.counter("wa.sensitive_event_log.written").count());
+    }
+
+    @Test
+    void should_drop_the_oldest_log_when_the_buffer_is_full() {
+        SensitiveTaskEventLogWriter writer = writer(executorService, 2, OverflowPolicy.DROP_OLDEST);
+        writer.start();
+
+        assertTrue(writer.write(sensitiveTaskEventLog("first")));
+        assertTrue(writer.write(sensitiveTaskEventLog("second")));
+        assertTrue(writer.write(sensitiveTaskEventLog("third")));
+        writer.stop();
+
+        assertEquals(2, writer.drain());
+        verify(sensitiveTaskEventLogsRepository).saveAll(taskIds("second", "third"));
+        assertEquals(1, meterRegistry.counter("wa.sensitive_event_log.dropped", "dropped", "oldest").count());
+    }
+
+    @Test
+    void should_drop_the_new_log_when_the_buffer_is_full() {
+        SensitiveTaskEventLogWriter writer = writer(executorService, 1, OverflowPolicy.DROP_NEWEST);
+        writer.start();
+
+        assertTrue(writer.write(sensitiveTaskEventLog("first")));
+        assertFalse(writer.write(sensitiveTaskEventLog("second")));
+        writer.stop();
+
+        assertEquals(1, writer.drain());
+        verify(sensitiveTaskEventLogsRepository).saveAll(taskIds("first"));
+        assertEquals(1, meterRegistry.counter("wa.sensitive_event_log.dropped", "dropped", "newest").count());
+        assertEquals(0, meterRegistry.counter("wa.sensitive_event_log.dropped", "dropped", "oldest").count());
+    }
+
+    @Test
+    void should_write_buffered_logs_in_batches_before_stopping() throws InterruptedException {
+        ExecutorService flushExecutor = Executors.newSingleThreadExecutor();
+        SensitiveTaskEventLogWriter writer = writer(flushExecutor, 10, OverflowPolicy.BLOCK);
+        writer.start();
+        List<SensitiveTaskEventLog> logs = List.of(
+            sensitiveTaskEventLog("first"), sensitiveTaskEventLog("second"), sensitiveTaskEventLog("third")
+        );
+
+        logs.forEach(writer::write);
+        writer.stop();
+        flushExecutor.shutdown();
+        assertTrue(flushExecutor.awaitTermination(5, TimeUnit.SECONDS));
+
+        assertEquals(0, writer.drain());
+        verify(sensitiveTaskEventLogsRepository).saveAll(taskIds("first", "second"));
+        verify(sensitiveTaskEventLogsRepository).saveAll(taskIds("third"));
+        assertEquals(3, meterRegistry.counter("wa.sensitive_event_log.written").count());
+    }
+
+    @Test
+    void should_count_logs_that_could_not_be_written() {
+        doThrow(new IllegalArgumentException("some unexpected error"))
+            .when(sensitiveTaskEventLogsRepository).saveAll(any());
+        SensitiveTaskEventLogWriter writer = writer(executorService, 2, OverflowPolicy.DROP_OLDEST);
+
+        assertTrue(writer.write(sensitiveTaskEventLog("taskId")));
+
+        assertEquals(1, meterRegistry.counter("wa.sensitive_event_log.failed").count());
+        assertEquals(0, meterRegistry.counter("wa.sensitive_event_log.written").count());
+    }
+
+    @Test
+    void should_not_write_anything_when_draining_an_empty_buffer() {
+        SensitiveTaskEventLogWriter writer = writer(executorService, 2, OverflowPolicy.DROP_OLDEST);
+
+        assertEquals(0, writer.drain());
+
+        verify(sensitiveTaskEventLogsRepository, never()).saveAll(any());
+    }
+
+    private SensitiveTaskEventLogWriter writer(ExecutorService executor, int capacity, OverflowPolicy overflowPolicy) {
+        return new SensitiveTaskEventLogWriter(
+            sensitiveTaskEventLogsRepository, executor, meterRegistry, capacity, 2, 1000, overflowPolicy, 10
+        );
+    }
+
+    private static Iterable<SensitiveTaskEventLog> taskIds(String... taskIds) {
+        //Sensitive task event logs are all equal to each other, batches are told apart by their task ids
+        return argThat(batch -> batch != null && List.of(taskIds).equals(
+            StreamSupport.stream(batch.spliterator(), false).map(SensitiveTaskEventLog::getTaskId).toList()
+        ));
+    }
+
+    private SensitiveTaskEventLog sensitiveTaskEventLog(String taskId) {
+        return new SensitiveTaskEventLog("requestId", "", taskId, "caseId", "message", List.of(),
+                                         new Users(List.of()), OffsetDateTime.now().plusDays(90),
+                                         OffsetDateTime.now());
+    }
+}
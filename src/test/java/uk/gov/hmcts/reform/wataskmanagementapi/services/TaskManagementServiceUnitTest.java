@@ -4,15 +4,7 @@ import ch.qos.logback.classic.Logger;
 import ch.qos.logback.classic.spi.ILoggingEvent;
 import ch.qos.logback.core.read.ListAppender;
 import com.fasterxml.jackson.databind.ObjectMapper;
-import jakarta.persistence.EntityManager;
 import jakarta.persistence.LockTimeoutException;
-import jakarta.persistence.TypedQuery;
-import jakarta.persistence.criteria.CriteriaBuilder;
-import jakarta.persistence.criteria.CriteriaQuery;
-import jakarta.persistence.criteria.Join;
-import jakarta.persistence.criteria.Path;
-import jakarta.persistence.criteria.Predicate;
-import jakarta.persistence.criteria.Root;
 import lombok.extern.slf4j.Slf4j;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
@@ -77,13 +69,13 @@ import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.TaskNotFoundExcepti
 import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.enums.ErrorMessages;
 import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.validation.CustomConstraintViolationException;
 import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.validation.ServiceMandatoryFieldValidationException;
+import uk.gov.hmcts.reform.wataskmanagementapi.repository.CamundaOutboxRepository;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.outbox.CamundaOutboxService;
 import uk.gov.hmcts.reform.wataskmanagementapi.services.utils.TaskMandatoryFieldsValidator;
 
-import java.io.Serializable;
 import java.sql.SQLException;
 import java.time.OffsetDateTime;
 import java.util.ArrayList;
-import java.util.Collections;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
@@ -188,31 +180,9 @@ class TaskManagementServiceUnitTest extends CamundaHelpers {
     TaskManagementService taskManagementService;
     String taskId;
     String caseId;
-    @Mock
-    private EntityManager entityManager;
-    @Mock(extraInterfaces = Serializable.class)
-    private CriteriaBuilder builder;
-    @Mock
-    private CriteriaQuery<TaskResource> criteriaQuery;
 
     @Mock
     private TaskMandatoryFieldsValidator taskMandatoryFieldsValidator;
-    @Mock
-    private Predicate predicate;
-    @Mock
-    private CriteriaBuilder.In<Object> inObject;
-    @Mock
-    private CriteriaBuilder.In<Object> values;
-    @Mock
-    private Root<TaskResource> root;
-    @Mock
-    private Path<Object> path;
-    @Mock
-    private Path<Object> authorizations;
-    @Mock
-    private Join<Object, Object> taskRoleResources;
-    @Mock
-    private TypedQuery<TaskResource> query;
     @Captor
     private ArgumentCaptor<TaskResource> taskResourceCaptor;
     @Mock
@@ -393,40 +363,16 @@ class TaskManagementServiceUnitTest extends CamundaHelpers {
             configureTaskService,
             taskAutoAssignmentService,
             roleAssignmentVerification,
-            entityManager,
             idamTokenGenerator,
             cftSensitiveTaskEventLogsDatabaseService,
             taskMandatoryFieldsValidator,
-            terminationProcessHelper);
+            terminationProcessHelper,
+            new CamundaOutboxService(camundaService, mock(CamundaOutboxRepository.class), false));
 
 
         taskId = UUID.randomUUID().toString();
         caseId = UUID.randomUUID().toString();
 
-        lenient().when(entityManager.getCriteriaBuilder()).thenReturn(builder);
-        lenient().when(builder.createQuery(TaskResource.class)).thenReturn(criteriaQuery);
-        lenient().when(criteriaQuery.from(TaskResource.class)).thenReturn(root);
-        lenient().when(criteriaQuery.distinct(true)).thenReturn(criteriaQuery);
-        lenient().when(criteriaQuery.select(root)).thenReturn(criteriaQuery);
-        lenient().when(entityManager.createQuery(criteriaQuery)).thenReturn(query);
-        lenient().when(builder.in(any())).thenReturn(inObject);
-        lenient().when(inObject.value(any())).thenReturn(values);
-        lenient().when(builder.or(any(), any())).thenReturn(inObject);
-        lenient().when(builder.or(any())).thenReturn(inObject);
-        lenient().when(builder.and(any(), any())).thenReturn(inObject);
-        lenient().when(builder.and(any(), any(), any(), any(), any(), any(), any())).thenReturn(inObject);
-
-        lenient().when(builder.conjunction()).thenReturn(predicate);
-        lenient().when(builder.equal(any(), any())).thenReturn(predicate);
-        lenient().when(inObject.value(any())).thenReturn(values);
-
-        lenient().when(taskRoleResources.get(anyString())).thenReturn(authorizations);
-
-        lenient().when(authorizations.isNull()).thenReturn(predicate);
-        lenient().when(root.join(anyString())).thenReturn(taskRoleResources);
-        lenient().when(root.get(anyString())).thenReturn(path);
-        lenient().when(root.get(anyString()).get(anyString())).thenReturn(path);
-
         lenient().when(caseConfigurationProviderService.evaluateConfigurationDmn(
             anyString(),
             anyMap()
@@ -2999,7 +2945,9 @@ class TaskManagementServiceUnitTest extends CamundaHelpers {
             taskResource.setTaskRoleResources(taskRoleResourceSet);
 
             when(cftTaskDatabaseService.findByIdOnly(taskId)).thenReturn(Optional.of(taskResource));
-            when(entityManager.createQuery(criteriaQuery).getResultList()).thenReturn(List.of(taskResource));
+            when(accessControlResponse.getRoleAssignments()).thenReturn(List.of(
+                RoleAssignment.builder().roleName("tribunal-caseworker").roleType(RoleType.ORGANISATION).build()
+            ));
 
             final List<TaskRolePermissions> taskRolePermissions = taskManagementService.getTaskRolePermissions(
                 taskId, accessControlResponse);
@@ -3094,7 +3042,9 @@ class TaskManagementServiceUnitTest extends CamundaHelpers {
             Set<TaskRoleResource> taskRoleResourceSet = Set.of(taskRoleResource);
             when(Optional.of(taskResource).get().getTaskRoleResources()).thenReturn(taskRoleResourceSet);
             when(cftTaskDatabaseService.findByIdOnly(taskId)).thenReturn(Optional.of(taskResource));
-            when(entityManager.createQuery(criteriaQuery).getResultList()).thenReturn(Collections.emptyList());
+            when(accessControlResponse.getRoleAssignments()).thenReturn(List.of(
+                RoleAssignment.builder().roleName("tribunal-caseworker").roleType(RoleType.ORGANISATION).build()
+            ));
 
             assertThrows(RoleAssignmentVerificationException.class, () -> taskManagementService.getTaskRolePermissions(
                 taskId, accessControlResponse));
@@ -3136,7 +3086,9 @@ class TaskManagementServiceUnitTest extends CamundaHelpers {
             taskResource.setTaskRoleResources(taskRoleResourceSet);
 
             when(cftTaskDatabaseService.findByIdOnly(taskId)).thenReturn(Optional.of(taskResource));
-            when(entityManager.createQuery(criteriaQuery).getResultList()).thenReturn(List.of(taskResource));
+            when(accessControlResponse.getRoleAssignments()).thenReturn(List.of(
+                RoleAssignment.builder().roleName("tribunal-caseworker").roleType(RoleType.ORGANISATION).build()
+            ));
 
             final List<TaskRolePermissions> taskRolePermissions = taskManagementService.getTaskRolePermissions(
                 taskId, accessControlResponse);
@@ -3204,7 +3156,9 @@ class TaskManagementServiceUnitTest extends CamundaHelpers {
             taskResource.setTaskRoleResources(taskRoleResourceSet);
 
             when(cftTaskDatabaseService.findByIdOnly(taskId)).thenReturn(Optional.of(taskResource));
-            when(entityManager.createQuery(criteriaQuery).getResultList()).thenReturn(List.of(taskResource));
+            when(accessControlResponse.getRoleAssignments()).thenReturn(List.of(
+                RoleAssignment.builder().roleName("tribunal-caseworker").roleType(RoleType.ORGANISATION).build()
+            ));
 
             final List<TaskRolePermissions> taskRolePermissions = taskManagementService.getTaskRolePermissions(
                 taskId, accessControlResponse);
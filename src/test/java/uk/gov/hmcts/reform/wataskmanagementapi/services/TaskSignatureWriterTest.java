@@ -0,0 +1,146 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services;
+
+import com.github.benmanes.caffeine.cache.Caffeine;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.RoleAssignment;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.Classification;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.GrantType;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.RoleCategory;
+import uk.gov.hmcts.reform.wataskmanagementapi.auth.role.entities.enums.RoleType;
+import uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.CFTTaskState;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.SecurityClassification;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.RequestContext;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.search.SearchRequest;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskRoleResource;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.WorkTypeResource;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.signature.RoleSignatureBuilder;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.signature.SearchFilterSignatureBuilder;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.signature.TaskSignatureWriter;
+
+import java.util.Arrays;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import static org.hamcrest.MatcherAssert.assertThat;
+import static org.hamcrest.Matchers.hasItems;
+import static org.hamcrest.Matchers.not;
+import static org.junit.jupiter.api.Assertions.assertArrayEquals;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+class TaskSignatureWriterTest {
+
+    private final SearchFilterSignatureBuilder searchFilterSignatureBuilder =
+        new SearchFilterSignatureBuilder(Caffeine.newBuilder().maximumWeight(1000), new SimpleMeterRegistry());
+    private final RoleSignatureBuilder roleSignatureBuilder =
+        new RoleSignatureBuilder(Caffeine.newBuilder().maximumWeight(1000), new SimpleMeterRegistry());
+
+    @Test
+    void should_write_the_filter_signatures_of_every_combination_with_wildcards() {
+        TaskResource task = task(CFTTaskState.ASSIGNED);
+
+        TaskSignatureWriter.writeSignatures(task);
+
+        List<String> signatures = Arrays.asList(task.getFilterSignatures());
+        assertEquals(64, signatures.size());
+        assertThat(signatures, hasItems("*:*:*:*:*:*", "A:IA:L:hearing_work:1:765324", "A:*:L:*:*:765324"));
+    }
+
+    @Test
+    void should_write_the_role_signatures_of_org_and_case_roles() {
+        TaskResource task = task(CFTTaskState.UNASSIGNED);
+
+        TaskSignatureWriter.writeSignatures(task);
+
+        List<String> signatures = Arrays.asList(task.getRoleSignatures());
+        assertThat(signatures, hasItems(
+            "IA:1:765324:tribunal-caseofficer:*:r:P:*",
+            "IA:1:765324:tribunal-caseofficer:*:a:P:IAC",
+            "*:*:*:tribunal-caseofficer:1623278362431003:a:R:*",
+            "IA:*:*:case-manager:1623278362431003:m:P:*"
+        ));
+        assertThat(signatures, not(hasItems("IA:1:765324:tribunal-caseofficer:*:r:U:*")));
+        assertThat(signatures, not(hasItems("IA:1:765324:tribunal-caseofficer:*:a:P:*")));
+        assertThat(signatures, not(hasItems("IA:1:765324:case-manager:*:r:P:*")));
+    }
+
+    @Test
+    void should_write_signatures_matching_the_signatures_searched_for() {
+        TaskResource task = task(CFTTaskState.UNASSIGNED);
+        TaskSignatureWriter.writeSignatures(task);
+
+        SearchRequest searchRequest = SearchRequest.builder()
+            .cftTaskStates(List.of(CFTTaskState.UNASSIGNED))
+            .jurisdictions(List.of("IA"))
+            .roleCategories(List.of(RoleCategory.LEGAL_OPERATIONS))
+            .requestContext(RequestContext.AVAILABLE_TASKS)
+            .build();
+        RoleAssignment roleAssignment = RoleAssignment.builder()
+            .roleName("tribunal-caseofficer")
+            .roleType(RoleType.ORGANISATION)
+            .grantType(GrantType.STANDARD)
+            .classification(Classification.RESTRICTED)
+            .attributes(Map.of("jurisdiction", "IA"))
+            .authorisations(List.of("IAC"))
+            .build();
+
+        assertTrue(overlaps(task.getFilterSignatures(),
+                            searchFilterSignatureBuilder.buildFilterSignatures(searchRequest)));
+        assertTrue(overlaps(task.getRoleSignatures(),
+                            roleSignatureBuilder.buildRoleSignatures(List.of(roleAssignment), searchRequest)));
+        assertFalse(overlaps(task.getRoleSignatures(), roleSignatureBuilder.buildRoleSignatures(
+            List.of(roleAssignment), SearchRequest.builder().jurisdictions(List.of("WA")).build())));
+    }
+
+    @Test
+    void should_write_the_same_signatures_when_nothing_changed() {
+        TaskResource task = task(CFTTaskState.ASSIGNED);
+        TaskSignatureWriter.writeSignatures(task);
+        String[] filterSignatures = task.getFilterSignatures();
+        String[] roleSignatures = task.getRoleSignatures();
+
+        TaskSignatureWriter.writeSignatures(task);
+
+        assertArrayEquals(filterSignatures, task.getFilterSignatures());
+        assertArrayEquals(roleSignatures, task.getRoleSignatures());
+    }
+
+    @Test
+    void should_not_write_signatures_for_tasks_that_are_not_searched() {
+        TaskResource task = task(CFTTaskState.ASSIGNED);
+        TaskSignatureWriter.writeSignatures(task);
+
+        task.setState(CFTTaskState.COMPLETED);
+        TaskSignatureWriter.writeSignatures(task);
+
+        assertNull(task.getFilterSignatures());
+        assertNull(task.getRoleSignatures());
+    }
+
+    private TaskResource task(CFTTaskState state) {
+        TaskResource task = new TaskResource("taskId", "aTaskName", "aTaskType", state, "1623278362431003");
+        task.setJurisdiction("IA");
+        task.setRegion("1");
+        task.setLocation("765324");
+        task.setRoleCategory("LEGAL_OPERATIONS");
+        task.setWorkTypeResource(new WorkTypeResource("hearing_work"));
+        task.setSecurityClassification(SecurityClassification.PRIVATE);
+
+        TaskRoleResource caseOfficer = new TaskRoleResource(
+            "tribunal-caseofficer", true, true, false, false, false, false, new String[]{"IAC"}, 1, false);
+        caseOfficer.setClaim(true);
+        TaskRoleResource caseManager = new TaskRoleResource(
+            "case-manager", false, false, false, true, false, false, new String[]{}, 1, false);
+        task.setTaskRoleResources(Set.of(caseOfficer, caseManager));
+        return task;
+    }
+
+    private boolean overlaps(String[] taskSignatures, Set<String> searchSignatures) {
+        return Arrays.stream(taskSignatures).anyMatch(searchSignatures::contains);
+    }
+}
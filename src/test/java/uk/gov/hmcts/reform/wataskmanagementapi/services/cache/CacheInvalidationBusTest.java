@@ -0,0 +1,100 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services.cache;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.cache.Cache;
+import org.springframework.cache.concurrent.ConcurrentMapCacheManager;
+
+import java.util.List;
+import javax.sql.DataSource;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class CacheInvalidationBusTest {
+
+    @Mock
+    private DataSource dataSource;
+    @Mock
+    private InvalidatableCache roleAssignments;
+
+    private SimpleMeterRegistry meterRegistry;
+    private ConcurrentMapCacheManager cacheManager;
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @BeforeEach
+    void setUp() {
+        lenient().when(roleAssignments.getCacheName()).thenReturn("role_assignments");
+        meterRegistry = new SimpleMeterRegistry();
+        cacheManager = new ConcurrentMapCacheManager("task_types");
+        cacheManager.getCache("task_types").put("wa-task-types-wa", "taskTypes");
+        cacheManager.getCache("task_types").put("wa-task-types-ia", "taskTypes");
+        cacheInvalidationBus = bus(true);
+    }
+
+    @Test
+    void should_evict_the_key_received() {
+        cacheInvalidationBus.receive("role_assignments:user:1");
+        cacheInvalidationBus.receive("task_types:wa-task-types-wa");
+
+        verify(roleAssignments).evict("user:1");
+        Cache taskTypes = cacheManager.getCache("task_types");
+        assertNull(taskTypes.get("wa-task-types-wa"));
+        assertEquals("taskTypes", taskTypes.get("wa-task-types-ia").get());
+        assertEquals(1.0, meterRegistry.counter("wa.cache_invalidation.received", "cache", "task_types").count());
+    }
+
+    @Test
+    void should_evict_every_entry_when_no_key_is_received() {
+        cacheInvalidationBus.receive("role_assignments");
+        cacheInvalidationBus.receive("task_types");
+
+        verify(roleAssignments).evictAll();
+        assertNull(cacheManager.getCache("task_types").get("wa-task-types-ia"));
+    }
+
+    @Test
+    void should_not_create_caches_that_do_not_exist() {
+        cacheInvalidationBus.receive("unknown_cache:key");
+
+        verify(roleAssignments, never()).evict("key");
+        assertFalse(cacheManager.getCacheNames().contains("unknown_cache"));
+    }
+
+    @Test
+    void should_evict_every_cache_when_listening_again() {
+        cacheInvalidationBus.invalidateAll();
+
+        verify(roleAssignments).evictAll();
+        assertNull(cacheManager.getCache("task_types").get("wa-task-types-wa"));
+    }
+
+    @Test
+    void should_only_evict_locally_when_disabled() {
+        CacheInvalidationBus disabled = bus(false);
+
+        disabled.publish("role_assignments", "user1");
+        disabled.start();
+
+        verify(roleAssignments).evict("user1");
+        assertFalse(disabled.isRunning());
+        verifyNoInteractions(dataSource);
+    }
+
+    private CacheInvalidationBus bus(boolean enabled) {
+        return new CacheInvalidationBus(
+            dataSource, List.of(roleAssignments), List.of(cacheManager), meterRegistry, enabled, 500, 5000,
+            "jdbc:postgresql://localhost:5432/cft_task_db", "postgres", "password"
+        );
+    }
+}
@@ -0,0 +1,167 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services.calendar;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.github.benmanes.caffeine.cache.Ticker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.calendar.BankHolidays;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.CalendarSnapshot;
+import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.CalendarResourceNotFoundException;
+import uk.gov.hmcts.reform.wataskmanagementapi.repository.CalendarSnapshotRepository;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.contains;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CalendarStoreTest {
+
+    private static final String CALENDAR_URI = "https://www.gov.uk/bank-holidays/england-and-wales.json";
+    private static final String SNAPSHOT_CONTENT = """
+        {"division":"england-and-wales","events":[{"date":"2025-12-25","working_day":false}]}
+        """;
+
+    @Mock
+    private PublicHolidayService publicHolidayService;
+    @Mock
+    private CalendarSnapshotRepository calendarSnapshotRepository;
+
+    private CalendarStore calendarStore;
+
+    @BeforeEach
+    void setUp() {
+        calendarStore = new CalendarStore(
+            publicHolidayService,
+            calendarSnapshotRepository,
+            new ObjectMapper(),
+            Caffeine.newBuilder(),
+            new SimpleMeterRegistry(),
+            List.of(CALENDAR_URI)
+        );
+    }
+
+    @Test
+    void should_retrieve_calendar_once_and_persist_it() {
+        BankHolidays calendar = calendar("2026-01-01");
+        when(publicHolidayService.getPublicHolidays(CALENDAR_URI)).thenReturn(calendar);
+
+        assertThat(calendarStore.getCalendar(CALENDAR_URI)).isSameAs(calendar);
+        assertThat(calendarStore.getCalendar(CALENDAR_URI)).isSameAs(calendar);
+
+        verify(publicHolidayService, times(1)).getPublicHolidays(CALENDAR_URI);
+        verify(calendarSnapshotRepository).upsert(eq(CALENDAR_URI), contains("\"working_day\":false"), any());
+    }
+
+    @Test
+    void should_use_last_good_copy_when_calendar_can_not_be_retrieved() {
+        when(publicHolidayService.getPublicHolidays(CALENDAR_URI))
+            .thenThrow(new CalendarResourceNotFoundException("unreachable", new RuntimeException()));
+        when(calendarSnapshotRepository.findById(CALENDAR_URI)).thenReturn(Optional.of(snapshot()));
+
+        BankHolidays calendar = calendarStore.getCalendar(CALENDAR_URI);
+
+        assertThat(calendar.getEvents()).extracting(BankHolidays.EventDate::getDate).containsExactly("2025-12-25");
+    }
+
+    @Test
+    void should_fail_when_calendar_can_not_be_retrieved_and_there_is_no_last_good_copy() {
+        CalendarResourceNotFoundException exception =
+            new CalendarResourceNotFoundException("unreachable", new RuntimeException());
+        when(publicHolidayService.getPublicHolidays(CALENDAR_URI)).thenThrow(exception);
+        when(calendarSnapshotRepository.findById(CALENDAR_URI)).thenReturn(Optional.empty());
+
+        assertThatThrownBy(() -> calendarStore.getCalendar(CALENDAR_URI)).isSameAs(exception);
+    }
+
+    @Test
+    void should_preload_last_good_copies_and_keep_them_when_refresh_fails() {
+        when(calendarSnapshotRepository.findAll()).thenReturn(List.of(snapshot()));
+        when(publicHolidayService.getPublicHolidays(CALENDAR_URI))
+            .thenThrow(new CalendarResourceNotFoundException("unreachable", new RuntimeException()));
+
+        calendarStore.refreshAll();
+
+        assertThat(calendarStore.getCalendar(CALENDAR_URI).getEvents())
+            .extracting(BankHolidays.EventDate::getDate)
+            .containsExactly("2025-12-25");
+        verify(publicHolidayService, times(1)).getPublicHolidays(CALENDAR_URI);
+    }
+
+    @Test
+    void should_replace_calendars_when_refreshed() {
+        BankHolidays refreshed = calendar("2026-01-01");
+        when(calendarSnapshotRepository.findAll()).thenReturn(List.of(snapshot()));
+        when(publicHolidayService.getPublicHolidays(CALENDAR_URI)).thenReturn(refreshed);
+
+        calendarStore.refreshAll();
+
+        assertThat(calendarStore.getCalendar(CALENDAR_URI)).isSameAs(refreshed);
+    }
+
+    @Test
+    void should_keep_calendars_whose_content_has_not_changed_when_refreshed() {
+        BankHolidays calendar = calendar("2026-01-01");
+        when(publicHolidayService.getPublicHolidays(CALENDAR_URI)).thenReturn(calendar, calendar("2026-01-01"));
+        assertThat(calendarStore.getCalendar(CALENDAR_URI)).isSameAs(calendar);
+
+        calendarStore.refreshAll();
+
+        assertThat(calendarStore.getCalendar(CALENDAR_URI)).isSameAs(calendar);
+        verify(publicHolidayService, times(2)).getPublicHolidays(CALENDAR_URI);
+    }
+
+    @Test
+    void should_not_expire_calendars_that_are_refreshed_without_changes() {
+        AtomicLong nanos = new AtomicLong();
+        Ticker ticker = nanos::get;
+        calendarStore = new CalendarStore(
+            publicHolidayService,
+            calendarSnapshotRepository,
+            new ObjectMapper(),
+            Caffeine.newBuilder()
+                .expireAfterWrite(24, TimeUnit.HOURS)
+                .refreshAfterWrite(12, TimeUnit.HOURS)
+                .executor(Runnable::run)
+                .ticker(ticker),
+            new SimpleMeterRegistry(),
+            List.of(CALENDAR_URI)
+        );
+        BankHolidays calendar = calendar("2026-01-01");
+        when(publicHolidayService.getPublicHolidays(CALENDAR_URI)).thenReturn(calendar, calendar("2026-01-01"));
+        calendarStore.getCalendar(CALENDAR_URI);
+
+        nanos.addAndGet(TimeUnit.HOURS.toNanos(13));
+        calendarStore.refreshAll();
+        nanos.addAndGet(TimeUnit.MINUTES.toNanos(11 * 60 + 30));
+
+        assertThat(calendarStore.getCalendar(CALENDAR_URI)).isSameAs(calendar);
+        verify(publicHolidayService, times(2)).getPublicHolidays(CALENDAR_URI);
+    }
+
+    private static BankHolidays calendar(String date) {
+        return BankHolidays.builder()
+            .division("england-and-wales")
+            .events(List.of(BankHolidays.EventDate.builder().date(date).workingDay(false).build()))
+            .build();
+    }
+
+    private static CalendarSnapshot snapshot() {
+        return new CalendarSnapshot(CALENDAR_URI, SNAPSHOT_CONTENT, OffsetDateTime.now());
+    }
+}
@@ -0,0 +1,222 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services.calendar;
+
+import org.junit.jupiter.api.Test;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.CamundaValue;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.ConfigurationDmnEvaluationResponse;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.calendar.DateTypeConfigurator.DateTypeObject;
+
+import java.util.HashMap;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static uk.gov.hmcts.reform.wataskmanagementapi.services.calendar.DateTypeConfigurator.MANDATORY_DATES_NOT_IN_REQUIRED_ORDER_IN_CALCULATED_DATES;
+
+class DateTypeConfiguratorCalculationPlanTest {
+
+    private final Map<String, Object> taskAttributes = new HashMap<>();
+
+    @Test
+    void should_pass_each_response_to_the_first_date_type_whose_name_it_contains() {
+        RecordingDateCalculator dateCalculator =
+            new RecordingDateCalculator(Set.of("nextHearingDate", "dueDate", "priorityDate"));
+        DateTypeConfigurator dateTypeConfigurator = new DateTypeConfigurator(List.of(dateCalculator));
+
+        List<ConfigurationDmnEvaluationResponse> result = dateTypeConfigurator.configureDates(
+            List.of(
+                response("caseName", "Bob Smith"),
+                response("nextHearingDateOriginRef", "hearingDate"),
+                response("dueDateIntervalDays", "5"),
+                response("priorityDateOriginRef", "dueDate")
+            ),
+            false,
+            false,
+            taskAttributes
+        );
+
+        assertThat(dateCalculator.dateProperties).containsExactly(
+            Map.entry("nextHearingDate", List.of("nextHearingDateOriginRef")),
+            Map.entry("dueDate", List.of("dueDateIntervalDays")),
+            Map.entry("priorityDate", List.of("priorityDateOriginRef"))
+        );
+        assertThat(result).containsExactly(
+            response("caseName", "Bob Smith"),
+            response("nextHearingDate", "hearingDate"),
+            response("dueDate", "5"),
+            response("priorityDate", "dueDate")
+        );
+    }
+
+    @Test
+    void should_pass_calculated_values_to_the_first_later_date_type_whose_name_they_contain() {
+        RecordingDateCalculator dateCalculator =
+            new RecordingDateCalculator(Set.of("nextHearingDate", "HearingDate", "dueDate", "priorityDate"));
+        DateTypeConfigurator dateTypeConfigurator = new DateTypeConfigurator(List.of(dateCalculator));
+
+        List<ConfigurationDmnEvaluationResponse> result = dateTypeConfigurator.configureDates(
+            List.of(
+                response("calculatedDates", "nextHearingDate,HearingDate,dueDate,priorityDate"),
+                response("nextHearingDate", "2023-01-10T16:00"),
+                response("dueDate", "2023-01-12T16:00"),
+                response("priorityDate", "2023-01-11T16:00")
+            ),
+            false,
+            false,
+            taskAttributes
+        );
+
+        assertThat(dateCalculator.dateProperties).containsExactly(
+            Map.entry("nextHearingDate", List.of("nextHearingDate")),
+            Map.entry("HearingDate", List.of("nextHearingDate")),
+            Map.entry("dueDate", List.of("dueDate")),
+            Map.entry("priorityDate", List.of("priorityDate"))
+        );
+        assertThat(result).containsExactly(
+            response("HearingDate", "2023-01-10T16:00"),
+            response("dueDate", "2023-01-12T16:00"),
+            response("priorityDate", "2023-01-11T16:00")
+        );
+    }
+
+    @Test
+    void should_default_priority_date_to_the_calculated_due_date() {
+        RecordingDateCalculator dateCalculator = new RecordingDateCalculator(Set.of("dueDate"));
+        DateTypeConfigurator dateTypeConfigurator = new DateTypeConfigurator(List.of(dateCalculator));
+
+        List<ConfigurationDmnEvaluationResponse> result = dateTypeConfigurator.configureDates(
+            List.of(response("dueDateTime", "2023-01-12T18:00")),
+            false,
+            false,
+            taskAttributes
+        );
+
+        assertThat(dateCalculator.dateProperties).containsOnlyKeys("dueDate");
+        assertThat(result).containsExactly(
+            response("dueDate", "2023-01-12T18:00"),
+            response("priorityDate", "2023-01-12T18:00")
+        );
+    }
+
+    @Test
+    void should_calculate_each_call_from_its_own_responses_when_reusing_a_calculation_plan() {
+        RecordingDateCalculator dateCalculator = new RecordingDateCalculator(Set.of("dueDate"));
+        DateTypeConfigurator dateTypeConfigurator = new DateTypeConfigurator(List.of(dateCalculator));
+
+        List<ConfigurationDmnEvaluationResponse> first = dateTypeConfigurator.configureDates(
+            List.of(response("dueDateTime", "16:00"), response("caseName", "Bob Smith")),
+            false,
+            false,
+            taskAttributes
+        );
+        List<ConfigurationDmnEvaluationResponse> second = dateTypeConfigurator.configureDates(
+            List.of(response("dueDateTime", "18:00"), response("caseName", "Jane Doe")),
+            false,
+            false,
+            taskAttributes
+        );
+
+        assertThat(first).containsExactly(
+            response("caseName", "Bob Smith"),
+            response("dueDate", "16:00"),
+            response("priorityDate", "16:00")
+        );
+        assertThat(second).containsExactly(
+            response("caseName", "Jane Doe"),
+            response("dueDate", "18:00"),
+            response("priorityDate", "18:00")
+        );
+    }
+
+    @Test
+    void should_not_share_calculation_plans_between_differently_ordered_responses() {
+        RecordingDateCalculator dateCalculator = new RecordingDateCalculator(Set.of("dueDate"));
+        DateTypeConfigurator dateTypeConfigurator = new DateTypeConfigurator(List.of(dateCalculator));
+
+        dateTypeConfigurator.configureDates(
+            List.of(response("dueDateTime", "16:00"), response("dueDateIntervalDays", "2")),
+            false,
+            false,
+            taskAttributes
+        );
+        assertThat(dateCalculator.dateProperties)
+            .containsExactly(Map.entry("dueDate", List.of("dueDateTime", "dueDateIntervalDays")));
+
+        List<ConfigurationDmnEvaluationResponse> result = dateTypeConfigurator.configureDates(
+            List.of(response("dueDateIntervalDays", "2"), response("dueDateTime", "16:00")),
+            false,
+            false,
+            taskAttributes
+        );
+
+        assertThat(dateCalculator.dateProperties)
+            .containsExactly(Map.entry("dueDate", List.of("dueDateIntervalDays", "dueDateTime")));
+        assertThat(result).containsExactly(
+            response("dueDate", "2|16:00"),
+            response("priorityDate", "2|16:00")
+        );
+    }
+
+    @Test
+    void should_reject_invalid_calculated_dates_on_every_call() {
+        DateTypeConfigurator dateTypeConfigurator = new DateTypeConfigurator(List.of());
+        List<ConfigurationDmnEvaluationResponse> responses = List.of(
+            response("calculatedDates", "dueDate,nextHearingDate,priorityDate"),
+            response("dueDate", "2023-01-12T16:00")
+        );
+
+        for (int call = 0; call < 2; call++) {
+            assertThatThrownBy(() -> dateTypeConfigurator.configureDates(responses, false, false, taskAttributes))
+                .isInstanceOf(DateCalculationException.class)
+                .hasMessage(MANDATORY_DATES_NOT_IN_REQUIRED_ORDER_IN_CALCULATED_DATES);
+        }
+    }
+
+    private static ConfigurationDmnEvaluationResponse response(String name, String value) {
+        return ConfigurationDmnEvaluationResponse.builder()
+            .name(CamundaValue.stringValue(name))
+            .value(CamundaValue.stringValue(value))
+            .build();
+    }
+
+    /**
+     * Records the names of the properties each date type is calculated from, and calculates the value of a
+     * date type by joining the values of its properties.
+     */
+    private static final class RecordingDateCalculator implements DateCalculator {
+
+        private final Set<String> supportedDateTypes;
+        private final Map<String, List<String>> dateProperties = new LinkedHashMap<>();
+
+        private RecordingDateCalculator(Set<String> supportedDateTypes) {
+            this.supportedDateTypes = supportedDateTypes;
+        }
+
+        @Override
+        public boolean supports(List<ConfigurationDmnEvaluationResponse> dueDateProperties,
+                                DateTypeObject dateTypeObject,
+                                boolean isReconfigureRequest) {
+            return supportedDateTypes.contains(dateTypeObject.dateTypeName());
+        }
+
+        @Override
+        public ConfigurationDmnEvaluationResponse calculateDate(
+            List<ConfigurationDmnEvaluationResponse> configResponses,
+            DateTypeObject dateType,
+            boolean isReconfigureRequest,
+            Map<String, Object> taskAttributes,
+            List<ConfigurationDmnEvaluationResponse> calculatedConfigurations) {
+            dateProperties.put(
+                dateType.dateTypeName(),
+                configResponses.stream().map(r -> r.getName().getValue()).toList()
+            );
+            return response(
+                dateType.dateTypeName(),
+                configResponses.stream().map(r -> r.getValue().getValue()).collect(Collectors.joining("|"))
+            );
+        }
+    }
+}
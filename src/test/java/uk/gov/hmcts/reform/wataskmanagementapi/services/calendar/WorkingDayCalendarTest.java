@@ -0,0 +1,84 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services.calendar;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.ValueSource;
+
+import java.time.LocalDate;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class WorkingDayCalendarTest {
+
+    private static final List<String> WEEKEND = List.of("SATURDAY", "SUNDAY");
+    private static final LocalDate CHRISTMAS_DAY = LocalDate.of(2025, 12, 25);
+    private static final LocalDate BOXING_DAY = LocalDate.of(2025, 12, 26);
+
+    @Test
+    void should_skip_public_holidays_and_non_working_days_of_week() {
+        WorkingDayCalendar calendar = WorkingDayCalendar.compile(Set.of(CHRISTMAS_DAY, BOXING_DAY), WEEKEND);
+
+        assertThat(calendar.isWorkingDay(CHRISTMAS_DAY)).isFalse();
+        assertThat(calendar.isWorkingDay(LocalDate.of(2025, 12, 27))).isFalse();
+        assertThat(calendar.isWorkingDay(LocalDate.of(2025, 12, 24))).isTrue();
+
+        assertThat(calendar.addWorkingDays(LocalDate.of(2025, 12, 24), 1)).isEqualTo(LocalDate.of(2025, 12, 29));
+        assertThat(calendar.addWorkingDays(LocalDate.of(2025, 12, 29), -1)).isEqualTo(LocalDate.of(2025, 12, 24));
+        assertThat(calendar.addWorkingDays(CHRISTMAS_DAY, 0)).isEqualTo(CHRISTMAS_DAY);
+    }
+
+    @ParameterizedTest
+    @ValueSource(longs = {1, 5, 20, 250, 4000, -1, -5, -20, -250, -4000})
+    void should_add_working_days_like_counting_day_by_day(long days) {
+        Random random = new Random(days);
+        Set<LocalDate> publicHolidays = new HashSet<>();
+        for (int i = 0; i < 100; i++) {
+            publicHolidays.add(LocalDate.of(2020, 1, 1).plusDays(random.nextInt(3650)));
+        }
+        WorkingDayCalendar calendar = WorkingDayCalendar.compile(publicHolidays, WEEKEND);
+
+        for (int i = 0; i < 50; i++) {
+            //Includes dates well outside of the compiled range
+            LocalDate date = LocalDate.of(1990, 1, 1).plusDays(random.nextInt(365 * 70));
+            assertThat(calendar.addWorkingDays(date, days))
+                .as("%s working days from %s", days, date)
+                .isEqualTo(countDayByDay(date, days, publicHolidays));
+        }
+    }
+
+    @Test
+    void should_treat_every_day_as_working_day_when_no_non_working_days_are_given() {
+        WorkingDayCalendar calendar = WorkingDayCalendar.compile(Set.of(), null);
+
+        assertThat(calendar.addWorkingDays(LocalDate.of(2025, 12, 27), 2)).isEqualTo(LocalDate.of(2025, 12, 29));
+    }
+
+    @Test
+    void should_reject_adding_working_days_when_there_are_none() {
+        WorkingDayCalendar calendar = WorkingDayCalendar.compile(
+            Set.of(),
+            List.of("MONDAY", "TUESDAY", "WEDNESDAY", "THURSDAY", "FRIDAY", "SATURDAY", "SUNDAY")
+        );
+
+        assertThatThrownBy(() -> calendar.addWorkingDays(CHRISTMAS_DAY, 1))
+            .isInstanceOf(IllegalStateException.class)
+            .hasMessage("Calendar has no working days");
+    }
+
+    private LocalDate countDayByDay(LocalDate date, long days, Set<LocalDate> publicHolidays) {
+        int step = days > 0 ? 1 : -1;
+        LocalDate current = date;
+        for (long remaining = Math.abs(days); remaining > 0; ) {
+            current = current.plusDays(step);
+            if (!WEEKEND.contains(current.getDayOfWeek().toString()) && !publicHolidays.contains(current)) {
+                remaining--;
+            }
+        }
+        return current;
+    }
+}
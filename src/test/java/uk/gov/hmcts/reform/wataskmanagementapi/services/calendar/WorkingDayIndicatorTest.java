@@ -142,5 +142,25 @@ class WorkingDayIndicatorTest {
 
         assertEquals(NEXT_WORKING_DAY_AFTER_BANK_HOLIDAY, nextWorkingDay);
     }
-}
 
+    @Test
+    void shouldAddWorkingDaysSkippingBankHolidaysAndWeekends() {
+        when(publicHolidaysCollection.getPublicHolidays(List.of(URI))).thenReturn(Set.of(BANK_HOLIDAY));
+
+        LocalDate result = service.addWorkingDays(toDate("2017-05-26"), 2, List.of(URI), List.of("SATURDAY", "SUNDAY"));
+
+        assertEquals(toDate("2017-05-31"), result);
+    }
+
+    @Test
+    void shouldRecompileCalendarWhenPublicHolidaysChange() {
+        when(publicHolidaysCollection.getPublicHolidays(List.of(URI)))
+            .thenReturn(Set.of(MONDAY))
+            .thenReturn(Set.of(MONDAY))
+            .thenReturn(Set.of(TUESDAY));
+
+        assertFalse(service.isWorkingDay(MONDAY, List.of(URI), List.of("SATURDAY", "SUNDAY")));
+        assertFalse(service.isWorkingDay(MONDAY, List.of(URI), List.of("SATURDAY", "SUNDAY")));
+        assertTrue(service.isWorkingDay(MONDAY, List.of(URI), List.of("SATURDAY", "SUNDAY")));
+    }
+}
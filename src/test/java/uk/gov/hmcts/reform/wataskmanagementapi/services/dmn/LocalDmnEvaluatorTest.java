@@ -0,0 +1,209 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services.dmn;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.fasterxml.jackson.databind.PropertyNamingStrategies;
+import com.github.benmanes.caffeine.cache.Caffeine;
+import com.google.common.testing.FakeTicker;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.beans.factory.ObjectProvider;
+import uk.gov.hmcts.reform.authorisation.generators.AuthTokenGenerator;
+import uk.gov.hmcts.reform.wataskmanagementapi.clients.CamundaServiceApi;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.CamundaValue;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.ConfigurationDmnEvaluationResponse;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.DecisionDefinition;
+import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.DecisionDefinitionXml;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.cache.CacheInvalidationBus;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+import static uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.CamundaValue.stringValue;
+
+@ExtendWith(MockitoExtension.class)
+class LocalDmnEvaluatorTest {
+
+    private static final String SERVICE_TOKEN = "Bearer service token";
+    private static final String DECISION_TABLE_KEY = "wa-task-configuration-ia-asylum";
+    private static final String CASE_DATA = "{\"appealType\":\"protection\",\"appellantName\":\"Bob Smith\"}";
+    private static final String TASK_ATTRIBUTES = "{\"taskType\":\"reviewTheAppeal\"}";
+    private static final String DMN_XML = """
+        <?xml version="1.0" encoding="UTF-8"?>
+        <definitions xmlns="https://www.omg.org/spec/DMN/20191111/MODEL/" id="definitions"
+                     name="definitions" namespace="http://camunda.org/schema/1.0/dmn">
+          <decision id="wa-task-configuration-ia-asylum" name="Task configuration">
+            <decisionTable id="decisionTable" hitPolicy="COLLECT">
+              <input id="appealType" label="Appeal type">
+                <inputExpression id="appealTypeExpression" typeRef="string">
+                  <text>caseData.appealType</text>
+                </inputExpression>
+              </input>
+              <output id="name" name="name" typeRef="string" />
+              <output id="value" name="value" typeRef="string" />
+              <output id="canReconfigure" name="canReconfigure" typeRef="boolean" />
+              <rule id="workType">
+                <inputEntry id="workTypeInput"><text>"protection"</text></inputEntry>
+                <outputEntry id="workTypeName"><text>"workType"</text></outputEntry>
+                <outputEntry id="workTypeValue"><text>"decision_making_work"</text></outputEntry>
+                <outputEntry id="workTypeReconfigure"><text>true</text></outputEntry>
+              </rule>
+              <rule id="caseName">
+                <inputEntry id="caseNameInput"><text>-</text></inputEntry>
+                <outputEntry id="caseNameName"><text>"caseName"</text></outputEntry>
+                <outputEntry id="caseNameValue"><text>caseData.appellantName</text></outputEntry>
+                <outputEntry id="caseNameReconfigure"><text>false</text></outputEntry>
+              </rule>
+            </decisionTable>
+          </decision>
+        </definitions>
+        """;
+
+    @Mock
+    private CamundaServiceApi camundaServiceApi;
+    @Mock
+    private AuthTokenGenerator authTokenGenerator;
+    @Mock
+    private ObjectProvider<CacheInvalidationBus> cacheInvalidationBusProvider;
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    private SimpleMeterRegistry meterRegistry;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        when(authTokenGenerator.generate()).thenReturn(SERVICE_TOKEN);
+    }
+
+    @Test
+    void should_evaluate_decision_table_locally_and_parse_it_once() {
+        LocalDmnEvaluator localDmnEvaluator = evaluator(0.0);
+        stubDefinition();
+
+        List<ConfigurationDmnEvaluationResponse> first = evaluate(localDmnEvaluator, List.of());
+        List<ConfigurationDmnEvaluationResponse> second = evaluate(localDmnEvaluator, List.of());
+
+        assertEquals(expectedResult(), first);
+        assertEquals(first, second);
+        verify(camundaServiceApi, times(1)).getDecisionDefinitionXml(SERVICE_TOKEN, "definitionId");
+        assertEquals(2.0, count("wa.dmn.local.evaluations", "outcome", "local"));
+    }
+
+    @Test
+    void should_evaluate_in_camunda_when_decision_table_can_not_be_evaluated_locally() {
+        LocalDmnEvaluator localDmnEvaluator = evaluator(0.0);
+        when(camundaServiceApi.getDecisionDefinition(any(), any(), any()))
+            .thenThrow(new IllegalStateException("Camunda unavailable"));
+        List<ConfigurationDmnEvaluationResponse> remoteResult = new ArrayList<>(expectedResult());
+
+        assertEquals(remoteResult, evaluate(localDmnEvaluator, remoteResult));
+        assertEquals(1.0, count("wa.dmn.local.evaluations", "outcome", "fallback"));
+    }
+
+    @Test
+    void should_use_camunda_result_when_a_sampled_evaluation_differs() {
+        LocalDmnEvaluator localDmnEvaluator = evaluator(1.0);
+        stubDefinition();
+        List<ConfigurationDmnEvaluationResponse> remoteResult = new ArrayList<>(List.of(
+            new ConfigurationDmnEvaluationResponse(stringValue("caseName"), stringValue("Someone else"))
+        ));
+
+        assertEquals(remoteResult, evaluate(localDmnEvaluator, remoteResult));
+        assertEquals(expectedResult(), evaluate(localDmnEvaluator, new ArrayList<>(expectedResult())));
+        assertEquals(1.0, count("wa.dmn.local.consistency", "result", "mismatch"));
+        assertEquals(1.0, count("wa.dmn.local.consistency", "result", "match"));
+    }
+
+    @Test
+    void should_publish_a_new_deployment_found_when_revalidating() {
+        FakeTicker ticker = new FakeTicker();
+        LocalDmnEvaluator localDmnEvaluator = evaluator(0.0, revalidatingCaffeine(ticker));
+        when(cacheInvalidationBusProvider.getIfAvailable()).thenReturn(cacheInvalidationBus);
+        when(cacheInvalidationBus.isEnabled()).thenReturn(true);
+        when(camundaServiceApi.getDecisionDefinition(SERVICE_TOKEN, DECISION_TABLE_KEY, "ia"))
+            .thenReturn(new DecisionDefinition("definitionId", DECISION_TABLE_KEY, 3, "ia"),
+                        new DecisionDefinition("nextDefinitionId", DECISION_TABLE_KEY, 4, "ia"));
+        when(camundaServiceApi.getDecisionDefinitionXml(SERVICE_TOKEN, "definitionId"))
+            .thenReturn(new DecisionDefinitionXml("definitionId", DMN_XML));
+        when(camundaServiceApi.getDecisionDefinitionXml(SERVICE_TOKEN, "nextDefinitionId"))
+            .thenReturn(new DecisionDefinitionXml("nextDefinitionId", DMN_XML));
+
+        evaluate(localDmnEvaluator, List.of());
+        ticker.advance(2, TimeUnit.MINUTES);
+        evaluate(localDmnEvaluator, List.of());
+
+        verify(camundaServiceApi, times(1)).getDecisionDefinitionXml(SERVICE_TOKEN, "nextDefinitionId");
+        verify(cacheInvalidationBus).publish(LocalDmnEvaluator.CACHE_NAME, DECISION_TABLE_KEY);
+    }
+
+    @Test
+    void should_not_publish_when_the_deployment_is_unchanged() {
+        FakeTicker ticker = new FakeTicker();
+        LocalDmnEvaluator localDmnEvaluator = evaluator(0.0, revalidatingCaffeine(ticker));
+        stubDefinition();
+
+        evaluate(localDmnEvaluator, List.of());
+        ticker.advance(2, TimeUnit.MINUTES);
+        evaluate(localDmnEvaluator, List.of());
+
+        verify(camundaServiceApi, times(2)).getDecisionDefinition(SERVICE_TOKEN, DECISION_TABLE_KEY, "ia");
+        verifyNoInteractions(cacheInvalidationBusProvider);
+    }
+
+    private LocalDmnEvaluator evaluator(double consistencySampleRate) {
+        return evaluator(consistencySampleRate, Caffeine.newBuilder().maximumSize(1000));
+    }
+
+    private LocalDmnEvaluator evaluator(double consistencySampleRate, Caffeine<Object, Object> caffeine) {
+        //The application mapper uses snake case, decision results are read in camel case as Camunda returns them
+        ObjectMapper objectMapper = new ObjectMapper().setPropertyNamingStrategy(PropertyNamingStrategies.SNAKE_CASE);
+        return new LocalDmnEvaluator(camundaServiceApi, authTokenGenerator, objectMapper, caffeine, meterRegistry,
+                                     cacheInvalidationBusProvider, true, consistencySampleRate);
+    }
+
+    private Caffeine<Object, Object> revalidatingCaffeine(FakeTicker ticker) {
+        return Caffeine.newBuilder()
+            .refreshAfterWrite(1, TimeUnit.MINUTES)
+            .executor(Runnable::run)
+            .ticker(ticker::read);
+    }
+
+    private void stubDefinition() {
+        when(camundaServiceApi.getDecisionDefinition(SERVICE_TOKEN, DECISION_TABLE_KEY, "ia"))
+            .thenReturn(new DecisionDefinition("definitionId", DECISION_TABLE_KEY, 3, "ia"));
+        when(camundaServiceApi.getDecisionDefinitionXml(SERVICE_TOKEN, "definitionId"))
+            .thenReturn(new DecisionDefinitionXml("definitionId", DMN_XML));
+    }
+
+    private List<ConfigurationDmnEvaluationResponse> evaluate(LocalDmnEvaluator localDmnEvaluator,
+                                                              List<ConfigurationDmnEvaluationResponse> remoteResult) {
+        return localDmnEvaluator.evaluate(DECISION_TABLE_KEY, "IA", CASE_DATA, TASK_ATTRIBUTES,
+                                          ConfigurationDmnEvaluationResponse.class, () -> remoteResult);
+    }
+
+    private List<ConfigurationDmnEvaluationResponse> expectedResult() {
+        return List.of(
+            new ConfigurationDmnEvaluationResponse(
+                stringValue("workType"), stringValue("decision_making_work"), new CamundaValue<>(true, "Boolean")
+            ),
+            new ConfigurationDmnEvaluationResponse(
+                stringValue("caseName"), stringValue("Bob Smith"), new CamundaValue<>(false, "Boolean")
+            )
+        );
+    }
+
+    private double count(String name, String tag, String value) {
+        return meterRegistry.get(name).tag(tag, value).counter().count();
+    }
+}
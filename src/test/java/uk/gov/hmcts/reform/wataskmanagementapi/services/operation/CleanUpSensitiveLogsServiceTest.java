@@ -1,8 +1,8 @@
 package uk.gov.hmcts.reform.wataskmanagementapi.services.operation;
 
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.dao.DataAccessResourceFailureException;
@@ -13,7 +13,6 @@ import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.entities.Task
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.enums.TaskFilterOperator;
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.enums.TaskOperationType;
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.response.TaskOperationResponse;
-import uk.gov.hmcts.reform.wataskmanagementapi.repository.SensitiveTaskEventLogsRepository;
 import uk.gov.hmcts.reform.wataskmanagementapi.services.CFTSensitiveTaskEventLogsDatabaseService;
 
 import java.time.LocalDateTime;
@@ -25,22 +24,31 @@ import static org.junit.jupiter.api.Assertions.assertNotNull;
 import static org.junit.jupiter.api.Assertions.assertNull;
 import static org.junit.jupiter.api.Assertions.assertThrows;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
 class CleanUpSensitiveLogsServiceTest {
 
     private static final String KEY = "clean_up_start_date";
+    private static final int CHUNK_SIZE = 2;
 
     @Mock
     private CFTSensitiveTaskEventLogsDatabaseService cftSensitiveTaskEventLogsDatabaseService;
 
-    @Mock
-    private SensitiveTaskEventLogsRepository sensitiveTaskEventLogsRepository;
-
-    @InjectMocks
     private CleanUpSensitiveLogsService cleanUpSensitiveLogsService;
 
+    @BeforeEach
+    void setUp() {
+        cleanUpSensitiveLogsService = new CleanUpSensitiveLogsService(
+            cftSensitiveTaskEventLogsDatabaseService, CHUNK_SIZE, 60_000, 0
+        );
+    }
+
     @Test
     void should_return_empty_response_when_invalid_operation_name_provided() {
         OffsetDateTime timestamp = OffsetDateTime.now();
@@ -85,7 +93,41 @@ class CleanUpSensitiveLogsServiceTest {
             .get("deletedRows");
 
         assertEquals(0, deletedRows);
+        assertEquals(1, taskOperationResponse.getResponseMap().get("chunks"));
+        assertEquals(true, taskOperationResponse.getResponseMap().get("complete"));
+
+    }
+
+    @Test
+    void should_clean_up_sensitive_logs_in_chunks_until_a_chunk_is_not_full() {
+        when(cftSensitiveTaskEventLogsDatabaseService.cleanUpSensitiveLogs(any(LocalDateTime.class), eq(CHUNK_SIZE)))
+            .thenReturn(CHUNK_SIZE, CHUNK_SIZE, 1);
+
+        TaskOperationResponse taskOperationResponse = cleanUpSensitiveLogsService
+            .performOperation(cleanUpRequest());
+
+        assertEquals(5, taskOperationResponse.getResponseMap().get("deletedRows"));
+        assertEquals(3, taskOperationResponse.getResponseMap().get("chunks"));
+        assertEquals(true, taskOperationResponse.getResponseMap().get("complete"));
+        assertNotNull(taskOperationResponse.getResponseMap().get("rowsPerSecond"));
+        verify(cftSensitiveTaskEventLogsDatabaseService, times(3))
+            .cleanUpSensitiveLogs(any(LocalDateTime.class), eq(CHUNK_SIZE));
+    }
 
+    @Test
+    void should_stop_cleaning_up_sensitive_logs_when_the_run_takes_longer_than_allowed() {
+        cleanUpSensitiveLogsService = new CleanUpSensitiveLogsService(
+            cftSensitiveTaskEventLogsDatabaseService, CHUNK_SIZE, 0, 0
+        );
+        when(cftSensitiveTaskEventLogsDatabaseService.cleanUpSensitiveLogs(any(LocalDateTime.class), eq(CHUNK_SIZE)))
+            .thenReturn(CHUNK_SIZE);
+
+        TaskOperationResponse taskOperationResponse = cleanUpSensitiveLogsService
+            .performOperation(cleanUpRequest());
+
+        assertEquals(CHUNK_SIZE, taskOperationResponse.getResponseMap().get("deletedRows"));
+        assertEquals(1, taskOperationResponse.getResponseMap().get("chunks"));
+        assertEquals(false, taskOperationResponse.getResponseMap().get("complete"));
     }
 
     @Test
@@ -102,7 +144,7 @@ class CleanUpSensitiveLogsServiceTest {
         );
 
         doThrow(new DataAccessResourceFailureException("cleanup exception"))
-            .when(cftSensitiveTaskEventLogsDatabaseService).cleanUpSensitiveLogs(any(LocalDateTime.class));
+            .when(cftSensitiveTaskEventLogsDatabaseService).cleanUpSensitiveLogs(any(LocalDateTime.class), anyInt());
 
         TaskOperationResponse taskOperationResponse = cleanUpSensitiveLogsService.performOperation(request);
 
@@ -133,6 +175,16 @@ class CleanUpSensitiveLogsServiceTest {
 
     }
 
+    private TaskOperationRequest cleanUpRequest() {
+        return new TaskOperationRequest(
+            TaskOperation.builder()
+                .type(TaskOperationType.CLEANUP_SENSITIVE_LOG_ENTRIES)
+                .runId("")
+                .build(),
+            createTaskFilters(KEY, OffsetDateTime.now())
+        );
+    }
+
     private List<TaskFilter<?>> createTaskFilters(String key, OffsetDateTime timestamp) {
         CleanupSensitiveLogsTaskFilter filter = new CleanupSensitiveLogsTaskFilter(
             key, timestamp, TaskFilterOperator.BEFORE);
@@ -1,14 +1,15 @@
 package uk.gov.hmcts.reform.wataskmanagementapi.services.operation;
 
 import jakarta.persistence.OptimisticLockException;
+import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import org.springframework.boot.test.system.CapturedOutput;
 import org.springframework.boot.test.system.OutputCaptureExtension;
 import uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.CFTTaskState;
+import uk.gov.hmcts.reform.wataskmanagementapi.config.TaskReconfigurationConfiguration;
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.TaskOperationRequest;
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.entities.ExecuteReconfigureTaskFilter;
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.entities.TaskFilter;
@@ -18,6 +19,7 @@ import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.enums.TaskOpe
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.response.TaskOperationResponse;
 import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
 import uk.gov.hmcts.reform.wataskmanagementapi.services.CFTTaskDatabaseService;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.CaseDataCache;
 
 import java.time.Duration;
 import java.time.OffsetDateTime;
@@ -27,6 +29,7 @@ import java.util.Objects;
 import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
 import static org.mockito.ArgumentMatchers.anyString;
@@ -42,9 +45,21 @@ class ExecuteTaskReconfigurationServiceTest {
 
     @Mock
     TaskReconfigurationTransactionHandler taskReconfigurationTransactionHandler;
-    @InjectMocks
+    @Mock
+    private CaseDataCache caseDataCache;
     private TaskReconfigurationService taskReconfigurationService;
 
+    @BeforeEach
+    void setUp() {
+        TaskReconfigurationEngine taskReconfigurationEngine = new TaskReconfigurationEngine(
+            taskReconfigurationTransactionHandler, cftTaskDatabaseService, Runnable::run,
+            new TaskReconfigurationConfiguration()
+        );
+        taskReconfigurationService = new TaskReconfigurationService(
+            cftTaskDatabaseService, taskReconfigurationEngine, caseDataCache
+        );
+    }
+
 
     @Test
     void should_get_tasks_with_reconfigure_request_time_and_set_to_null() {
@@ -212,6 +227,41 @@ class ExecuteTaskReconfigurationServiceTest {
         verify(taskReconfigurationTransactionHandler, times(0)).reconfigureTaskResource(any());
     }
 
+    @Test
+    void should_report_failed_tasks_and_throughput() {
+
+        List<TaskFilter<?>> taskFilters = createReconfigureTaskFilters();
+        List<TaskResource> taskResources = taskResourcesToReconfigure(OffsetDateTime.now());
+
+        when(cftTaskDatabaseService.getActiveTaskIdsAndReconfigureRequestTimeGreaterThan(
+            anyList(), any())).thenReturn(taskResources.stream().map(TaskResource::getTaskId).toList());
+        when(taskReconfigurationTransactionHandler.reconfigureTaskResource(taskResources.get(0).getTaskId()))
+            .thenReturn(Optional.of(taskResources.get(0)));
+        when(taskReconfigurationTransactionHandler.reconfigureTaskResource(taskResources.get(1).getTaskId()))
+            .thenThrow(new OptimisticLockException("locked"));
+
+        TaskOperationRequest request = new TaskOperationRequest(
+            TaskOperation.builder()
+                .type(TaskOperationType.EXECUTE_RECONFIGURE)
+                .runId("")
+                .retryWindowHours(1L)
+                .maxTimeLimit(30)
+                .build(), taskFilters
+        );
+
+        Map<String, Object> responseMap = taskReconfigurationService.performTaskReconfiguration(request)
+            .getNow(new TaskOperationResponse()).getResponseMap();
+
+        assertEquals(1, responseMap.get("successfulTaskResources"));
+        assertEquals(1, responseMap.get("failedTaskResources"));
+        assertEquals(0, responseMap.get("deferredTaskResources"));
+        assertTrue(responseMap.containsKey("elapsedMillis"));
+        assertTrue(responseMap.containsKey("tasksPerSecond"));
+        // The failing task is attempted twice in each of the two reconfiguration passes
+        verify(taskReconfigurationTransactionHandler, times(4))
+            .reconfigureTaskResource(taskResources.get(1).getTaskId());
+    }
+
     private List<TaskFilter<?>> createReconfigureTaskFilters() {
         ExecuteReconfigureTaskFilter filter = new ExecuteReconfigureTaskFilter(
             "reconfigure_request_time", OffsetDateTime.now().minus(Duration.ofDays(10)), TaskFilterOperator.AFTER);
@@ -0,0 +1,60 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services.operation;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.TaskOperationRequest;
+import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.entities.CacheInvalidationTaskFilter;
+import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.entities.TaskOperation;
+import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.enums.TaskFilterOperator;
+import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.enums.TaskOperationType;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.cache.CacheInvalidationBus;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+
+@ExtendWith(MockitoExtension.class)
+class InvalidateCachesServiceTest {
+
+    @Mock
+    private CacheInvalidationBus cacheInvalidationBus;
+
+    @InjectMocks
+    private InvalidateCachesService invalidateCachesService;
+
+    @Test
+    void should_publish_an_invalidation_for_each_key() {
+        TaskOperationRequest request = new TaskOperationRequest(
+            TaskOperation.builder().type(TaskOperationType.INVALIDATE_CACHES).build(),
+            List.of(
+                new CacheInvalidationTaskFilter("role_assignments", List.of("user1", "user2"), TaskFilterOperator.IN),
+                new CacheInvalidationTaskFilter("task_types_dmn", List.of(), TaskFilterOperator.IN)
+            )
+        );
+
+        Map<String, Object> responseMap = invalidateCachesService.performOperation(request).getResponseMap();
+
+        assertEquals(3, responseMap.get("invalidations"));
+        verify(cacheInvalidationBus).publish("role_assignments", "user1");
+        verify(cacheInvalidationBus).publish("role_assignments", "user2");
+        verify(cacheInvalidationBus).publishAll("task_types_dmn");
+    }
+
+    @Test
+    void should_not_invalidate_caches_for_other_operations() {
+        TaskOperationRequest otherRequest = new TaskOperationRequest(
+            TaskOperation.builder().type(TaskOperationType.MARK_TO_RECONFIGURE).build(),
+            List.of()
+        );
+
+        assertNull(invalidateCachesService.performOperation(otherRequest).getResponseMap());
+        verifyNoInteractions(cacheInvalidationBus);
+    }
+}
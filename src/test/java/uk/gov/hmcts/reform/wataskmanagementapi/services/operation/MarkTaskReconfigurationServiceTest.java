@@ -3,7 +3,6 @@ package uk.gov.hmcts.reform.wataskmanagementapi.services.operation;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
-import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
 import uk.gov.hmcts.reform.wataskmanagementapi.auth.idam.IdamTokenGenerator;
@@ -13,23 +12,17 @@ import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.entities.Mark
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.entities.TaskFilter;
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.enums.TaskFilterOperator;
 import uk.gov.hmcts.reform.wataskmanagementapi.controllers.response.TaskOperationResponse;
-import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.CamundaValue;
-import uk.gov.hmcts.reform.wataskmanagementapi.domain.camunda.ConfigurationDmnEvaluationResponse;
-import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
+import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.TaskReconfigurationException;
 import uk.gov.hmcts.reform.wataskmanagementapi.services.CFTTaskDatabaseService;
-import uk.gov.hmcts.reform.wataskmanagementapi.services.CaseConfigurationProviderService;
 
-import java.time.OffsetDateTime;
 import java.util.List;
-import java.util.Objects;
-import java.util.Optional;
 
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 import static org.mockito.ArgumentMatchers.any;
-import static org.mockito.ArgumentMatchers.anyList;
-import static org.mockito.ArgumentMatchers.anyMap;
-import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
 import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
@@ -38,159 +31,134 @@ import static org.mockito.Mockito.when;
 class MarkTaskReconfigurationServiceTest {
 
     private static final String IDAM_SYSTEM_USER = "IDAM_SYSTEM_USER";
+    private static final List<String> CASE_IDS = List.of("1234", "4567");
+    private static final List<CFTTaskState> ACTIVE_STATES = List.of(CFTTaskState.ASSIGNED, CFTTaskState.UNASSIGNED);
 
-    @Mock
-    CaseConfigurationProviderService caseConfigurationProviderService;
     @Mock
     private CFTTaskDatabaseService cftTaskDatabaseService;
     @Mock
     private IdamTokenGenerator idamTokenGenerator;
     @Mock
     private UserInfo userInfo;
-    @InjectMocks
     private MarkTaskReconfigurationService markTaskReconfigurationService;
 
     @BeforeEach
     void setup() {
-        lenient().when(caseConfigurationProviderService.evaluateConfigurationDmn(
-            anyString(),
-            anyMap()
-        )).thenReturn(List.of(
-            new ConfigurationDmnEvaluationResponse(
-                CamundaValue.stringValue("caseName"),
-                CamundaValue.stringValue("Value"),
-                CamundaValue.booleanValue(true)
-            )
-        ));
+        markTaskReconfigurationService = new MarkTaskReconfigurationService(
+            cftTaskDatabaseService, idamTokenGenerator, 3, 1
+        );
         lenient().when(idamTokenGenerator.generate()).thenReturn("token");
         lenient().when(idamTokenGenerator.getUserInfo(any())).thenReturn(userInfo);
         lenient().when(userInfo.getUid()).thenReturn(IDAM_SYSTEM_USER);
     }
 
-
     @Test
     void should_mark_tasks_to_reconfigure_if_task_resource_is_not_already_marked() {
-
-        List<TaskFilter<?>> taskFilters = createTaskFilters();
-        List<TaskResource> taskResources = taskResources(null);
-        when(cftTaskDatabaseService.getActiveTasksByCaseIdsAndReconfigureRequestTimeIsNull(
-            anyList(), anyList())).thenReturn(taskResources);
-        when(cftTaskDatabaseService.findByIdAndStateInObtainPessimisticWriteLock(anyString(), anyList()))
-            .thenReturn(Optional.of(taskResources.get(0)))
-            .thenReturn(Optional.of(taskResources.get(1)));
-        when(cftTaskDatabaseService.saveTask(any()))
-            .thenReturn(taskResources.get(0))
-            .thenReturn(taskResources.get(1));
+        when(cftTaskDatabaseService.markActiveTasksToReconfigure(CASE_IDS, IDAM_SYSTEM_USER))
+            .thenReturn(List.of("taskId1", "taskId2"));
+        when(cftTaskDatabaseService.countActiveTasksByCaseIdsAndReconfigureRequestTimeIsNull(CASE_IDS, ACTIVE_STATES))
+            .thenReturn(0L);
 
         TaskOperationResponse taskOperationResponse = markTaskReconfigurationService
-            .markTasksToReconfigure(taskFilters);
+            .markTasksToReconfigure(createTaskFilters());
 
-        verify(caseConfigurationProviderService, times(0)).evaluateConfigurationDmn(anyString(),
-                                                                                    any());
+        assertEquals(2, taskOperationResponse.getResponseMap().get("successfulTaskResources"));
+        verify(idamTokenGenerator, times(1)).generate();
+        verify(cftTaskDatabaseService, times(1)).markActiveTasksToReconfigure(CASE_IDS, IDAM_SYSTEM_USER);
+    }
 
-        int taskResourcesMarked = (int) taskOperationResponse.getResponseMap()
-            .get("successfulTaskResources");
+    @Test
+    void should_not_mark_tasks_to_reconfigure_if_task_resource_is_already_marked_or_not_active() {
+        when(cftTaskDatabaseService.markActiveTasksToReconfigure(CASE_IDS, IDAM_SYSTEM_USER))
+            .thenReturn(List.of());
+        when(cftTaskDatabaseService.countActiveTasksByCaseIdsAndReconfigureRequestTimeIsNull(CASE_IDS, ACTIVE_STATES))
+            .thenReturn(0L);
 
-        assertEquals(2, taskResourcesMarked);
+        TaskOperationResponse taskOperationResponse = markTaskReconfigurationService
+            .markTasksToReconfigure(createTaskFilters());
 
+        assertEquals(0, taskOperationResponse.getResponseMap().get("successfulTaskResources"));
     }
 
     @Test
-    void should_not_mark_tasks_to_reconfigure_if_task_resource_is_not_active() {
-        List<TaskFilter<?>> taskFilters = createTaskFilters();
-
-        List<TaskResource> taskResources = cancelledTaskResources();
-        when(cftTaskDatabaseService.getActiveTasksByCaseIdsAndReconfigureRequestTimeIsNull(
-            anyList(), anyList())).thenReturn(taskResources);
+    void should_retry_marking_tasks_that_were_locked_by_another_process() {
+        when(cftTaskDatabaseService.markActiveTasksToReconfigure(CASE_IDS, IDAM_SYSTEM_USER))
+            .thenReturn(List.of("taskId1"))
+            .thenReturn(List.of("taskId2"));
+        when(cftTaskDatabaseService.countActiveTasksByCaseIdsAndReconfigureRequestTimeIsNull(CASE_IDS, ACTIVE_STATES))
+            .thenReturn(1L)
+            .thenReturn(0L);
 
         TaskOperationResponse taskOperationResponse = markTaskReconfigurationService
-            .markTasksToReconfigure(taskFilters);
-
-        int taskResourcesMarked = (int) taskOperationResponse.getResponseMap()
-            .get("successfulTaskResources");
-
-        assertEquals(0, taskResourcesMarked);
+            .markTasksToReconfigure(createTaskFilters());
 
+        assertEquals(2, taskOperationResponse.getResponseMap().get("successfulTaskResources"));
+        verify(idamTokenGenerator, times(1)).generate();
     }
 
     @Test
-    void should_not_mark_tasks_to_reconfigure_if_task_state_is_changed_to_not_active() {
-        List<TaskResource> taskResources = taskResources(null);
-        when(cftTaskDatabaseService.getActiveTasksByCaseIdsAndReconfigureRequestTimeIsNull(
-            anyList(), anyList())).thenReturn(taskResources);
-        taskResources.get(0).setState(CFTTaskState.CANCELLED);
-        cftTaskDatabaseService.saveTask(taskResources.get(0));
-        List<TaskFilter<?>> taskFilters = createTaskFilters();
+    void should_keep_retrying_until_the_last_attempt() {
+        when(cftTaskDatabaseService.markActiveTasksToReconfigure(CASE_IDS, IDAM_SYSTEM_USER))
+            .thenReturn(List.of("taskId1"))
+            .thenReturn(List.of())
+            .thenReturn(List.of("taskId2"));
+        when(cftTaskDatabaseService.countActiveTasksByCaseIdsAndReconfigureRequestTimeIsNull(CASE_IDS, ACTIVE_STATES))
+            .thenReturn(1L)
+            .thenReturn(1L)
+            .thenReturn(0L);
 
         TaskOperationResponse taskOperationResponse = markTaskReconfigurationService
-            .markTasksToReconfigure(taskFilters);
+            .markTasksToReconfigure(createTaskFilters());
 
-        int taskResourcesMarked = (int) taskOperationResponse.getResponseMap()
-            .get("successfulTaskResources");
+        assertEquals(2, taskOperationResponse.getResponseMap().get("successfulTaskResources"));
+        verify(cftTaskDatabaseService, times(3)).markActiveTasksToReconfigure(CASE_IDS, IDAM_SYSTEM_USER);
+    }
 
-        assertEquals(0, taskResourcesMarked);
+    @Test
+    void should_fail_if_tasks_are_still_locked_by_another_process_after_retrying() {
+        when(cftTaskDatabaseService.markActiveTasksToReconfigure(CASE_IDS, IDAM_SYSTEM_USER))
+            .thenReturn(List.of("taskId1"))
+            .thenReturn(List.of());
+        when(cftTaskDatabaseService.countActiveTasksByCaseIdsAndReconfigureRequestTimeIsNull(CASE_IDS, ACTIVE_STATES))
+            .thenReturn(1L);
 
+        List<TaskFilter<?>> taskFilters = createTaskFilters();
+        assertThrows(TaskReconfigurationException.class,
+            () -> markTaskReconfigurationService.markTasksToReconfigure(taskFilters));
+        verify(cftTaskDatabaseService, times(3)).markActiveTasksToReconfigure(CASE_IDS, IDAM_SYSTEM_USER);
     }
 
     @Test
-    void should_not_mark_tasks_to_reconfigure_if_task_resource_is_already_marked_to_configure() {
-        List<TaskFilter<?>> taskFilters = createTaskFilters();
+    void should_stop_retrying_when_interrupted() {
+        when(cftTaskDatabaseService.markActiveTasksToReconfigure(CASE_IDS, IDAM_SYSTEM_USER))
+            .thenReturn(List.of());
+        when(cftTaskDatabaseService.countActiveTasksByCaseIdsAndReconfigureRequestTimeIsNull(CASE_IDS, ACTIVE_STATES))
+            .thenReturn(1L);
 
-        when(cftTaskDatabaseService.getActiveTasksByCaseIdsAndReconfigureRequestTimeIsNull(
-            anyList(), anyList())).thenReturn(List.of());
+        List<TaskFilter<?>> taskFilters = createTaskFilters();
+        Thread.currentThread().interrupt();
+        try {
+            assertThrows(TaskReconfigurationException.class,
+                () -> markTaskReconfigurationService.markTasksToReconfigure(taskFilters));
+            assertTrue(Thread.currentThread().isInterrupted());
+        } finally {
+            Thread.interrupted();
+        }
+        verify(cftTaskDatabaseService, times(1)).markActiveTasksToReconfigure(CASE_IDS, IDAM_SYSTEM_USER);
+    }
 
+    @Test
+    void should_not_mark_tasks_to_reconfigure_if_there_are_no_case_ids() {
         TaskOperationResponse taskOperationResponse = markTaskReconfigurationService
-            .markTasksToReconfigure(taskFilters);
-
-        int taskResourcesMarked = (int) taskOperationResponse.getResponseMap()
-            .get("successfulTaskResources");
+            .markTasksToReconfigure(List.of());
 
-        assertEquals(0, taskResourcesMarked);
+        assertEquals(0, taskOperationResponse.getResponseMap().get("successfulTaskResources"));
+        verify(cftTaskDatabaseService, never()).markActiveTasksToReconfigure(any(), any());
     }
 
     private List<TaskFilter<?>> createTaskFilters() {
         MarkTaskToReconfigureTaskFilter filter = new MarkTaskToReconfigureTaskFilter(
-            "case_id", List.of("1234", "4567"), TaskFilterOperator.IN);
+            "case_id", CASE_IDS, TaskFilterOperator.IN);
         return List.of(filter);
     }
-
-    private List<TaskResource> taskResources(OffsetDateTime reconfigureTime) {
-        TaskResource taskResource1 = new TaskResource(
-            "1234",
-            "someTaskName",
-            "someTaskType",
-            CFTTaskState.UNASSIGNED,
-            "someCaseId"
-        );
-        TaskResource taskResource2 = new TaskResource(
-            "4567",
-            "someTaskName",
-            "someTaskType",
-            CFTTaskState.ASSIGNED,
-            "someCaseId"
-        );
-        if (Objects.nonNull(reconfigureTime)) {
-            taskResource1.setReconfigureRequestTime(reconfigureTime);
-            taskResource2.setReconfigureRequestTime(reconfigureTime);
-        }
-        return List.of(taskResource1, taskResource2);
-    }
-
-    private List<TaskResource> cancelledTaskResources() {
-        TaskResource taskResource1 = new TaskResource(
-            "5678",
-            "someTaskName",
-            "someTaskType",
-            CFTTaskState.CANCELLED,
-            "someCaseId"
-        );
-        TaskResource taskResource2 = new TaskResource(
-            "6789",
-            "someTaskName",
-            "someTaskType",
-            CFTTaskState.CANCELLED,
-            "someCaseId"
-        );
-        return List.of(taskResource1, taskResource2);
-    }
 }
@@ -0,0 +1,54 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services.operation;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.TaskOperationRequest;
+import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.entities.TaskOperation;
+import uk.gov.hmcts.reform.wataskmanagementapi.controllers.request.enums.TaskOperationType;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.outbox.CamundaOutboxService;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class ReplayCamundaOutboxServiceTest {
+
+    @Mock
+    private CamundaOutboxService camundaOutboxService;
+
+    @InjectMocks
+    private ReplayCamundaOutboxService replayCamundaOutboxService;
+
+    @Test
+    void should_replay_failed_camunda_updates() {
+        when(camundaOutboxService.replayFailed()).thenReturn(Map.of("replayed", 2, "discarded", 1));
+        TaskOperationRequest request = new TaskOperationRequest(
+            TaskOperation.builder().type(TaskOperationType.REPLAY_CAMUNDA_OUTBOX).build(),
+            List.of()
+        );
+
+        Map<String, Object> responseMap = replayCamundaOutboxService.performOperation(request).getResponseMap();
+
+        assertEquals(2, responseMap.get("replayed"));
+        assertEquals(1, responseMap.get("discarded"));
+    }
+
+    @Test
+    void should_not_replay_for_other_operations() {
+        TaskOperationRequest otherRequest = new TaskOperationRequest(
+            TaskOperation.builder().type(TaskOperationType.MARK_TO_RECONFIGURE).build(),
+            List.of()
+        );
+
+        assertNull(replayCamundaOutboxService.performOperation(otherRequest).getResponseMap());
+        verifyNoInteractions(camundaOutboxService);
+    }
+}
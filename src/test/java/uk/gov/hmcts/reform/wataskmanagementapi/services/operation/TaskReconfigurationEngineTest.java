@@ -0,0 +1,128 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services.operation;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.hmcts.reform.wataskmanagementapi.cft.enums.CFTTaskState;
+import uk.gov.hmcts.reform.wataskmanagementapi.config.TaskReconfigurationConfiguration;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.TaskResource;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.CFTTaskDatabaseService;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.operation.TaskReconfigurationEngine.TaskReconfigurationResult;
+
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@SuppressWarnings("PMD.DoNotUseThreads")
+class TaskReconfigurationEngineTest {
+
+    @Mock
+    private TaskReconfigurationTransactionHandler taskReconfigurationTransactionHandler;
+    @Mock
+    private CFTTaskDatabaseService cftTaskDatabaseService;
+
+    @Test
+    void should_reconfigure_tasks_on_the_worker_pool() {
+        ExecutorService executorService = Executors.newFixedThreadPool(4);
+        try {
+            TaskReconfigurationEngine engine = new TaskReconfigurationEngine(
+                taskReconfigurationTransactionHandler, cftTaskDatabaseService, executorService,
+                new TaskReconfigurationConfiguration()
+            );
+            when(taskReconfigurationTransactionHandler.reconfigureTaskResource(anyString()))
+                .thenAnswer(invocation -> Optional.of(task(invocation.getArgument(0))));
+            when(taskReconfigurationTransactionHandler.reconfigureTaskResource("failing"))
+                .thenThrow(new IllegalStateException("failed"));
+
+            TaskReconfigurationResult result = engine.reconfigureTasks(
+                List.of("1", "2", "3", "failing", "5"), OffsetDateTime.now().plusSeconds(30)
+            );
+
+            assertEquals(4, result.reconfiguredTasks().size());
+            assertEquals(List.of("failing"), result.failedTaskIds());
+            assertTrue(result.deferredTaskIds().isEmpty());
+            verify(cftTaskDatabaseService, never()).getJurisdictionsByTaskIds(any());
+        } finally {
+            executorService.shutdownNow();
+        }
+    }
+
+    @Test
+    void should_defer_tasks_that_can_not_start_within_the_time_budget() {
+        TaskReconfigurationEngine engine = new TaskReconfigurationEngine(
+            taskReconfigurationTransactionHandler, cftTaskDatabaseService, Runnable::run,
+            new TaskReconfigurationConfiguration()
+        );
+
+        TaskReconfigurationResult result = engine.reconfigureTasks(List.of("1", "2"), OffsetDateTime.now());
+
+        assertTrue(result.reconfiguredTasks().isEmpty());
+        assertEquals(List.of("1", "2"), result.deferredTaskIds());
+        verify(taskReconfigurationTransactionHandler, never()).reconfigureTaskResource(anyString());
+    }
+
+    @Test
+    void should_defer_tasks_over_the_jurisdiction_rate_limit() {
+        TaskReconfigurationConfiguration configuration = new TaskReconfigurationConfiguration();
+        //One task every 100 seconds
+        configuration.setJurisdictionRateLimits(Map.of("IA", 0.01));
+        TaskReconfigurationEngine engine = new TaskReconfigurationEngine(
+            taskReconfigurationTransactionHandler, cftTaskDatabaseService, Runnable::run, configuration
+        );
+        when(cftTaskDatabaseService.getJurisdictionsByTaskIds(List.of("1", "2", "3", "4")))
+            .thenReturn(Map.of("1", "ia", "2", "ia", "3", "wa", "4", "wa"));
+        when(taskReconfigurationTransactionHandler.reconfigureTaskResource(anyString()))
+            .thenAnswer(invocation -> Optional.of(task(invocation.getArgument(0))));
+
+        TaskReconfigurationResult result = engine.reconfigureTasks(
+            List.of("1", "2", "3", "4"), OffsetDateTime.now().plusSeconds(30)
+        );
+
+        assertEquals(3, result.reconfiguredTasks().size());
+        assertEquals(List.of("2"), result.deferredTaskIds());
+        verify(taskReconfigurationTransactionHandler, times(3)).reconfigureTaskResource(anyString());
+    }
+
+    @Test
+    void should_not_carry_start_slots_over_to_the_next_run() {
+        TaskReconfigurationConfiguration configuration = new TaskReconfigurationConfiguration();
+        //One task every 100 seconds
+        configuration.setJurisdictionRateLimits(Map.of("IA", 0.01));
+        TaskReconfigurationEngine engine = new TaskReconfigurationEngine(
+            taskReconfigurationTransactionHandler, cftTaskDatabaseService, Runnable::run, configuration
+        );
+        when(cftTaskDatabaseService.getJurisdictionsByTaskIds(any()))
+            .thenReturn(Map.of("1", "ia", "2", "ia", "3", "ia"));
+        when(taskReconfigurationTransactionHandler.reconfigureTaskResource(anyString()))
+            .thenAnswer(invocation -> Optional.of(task(invocation.getArgument(0))));
+
+        TaskReconfigurationResult first = engine.reconfigureTasks(
+            List.of("1", "2"), OffsetDateTime.now().plusSeconds(30)
+        );
+        TaskReconfigurationResult second = engine.reconfigureTasks(
+            List.of("3"), OffsetDateTime.now().plusSeconds(30)
+        );
+
+        assertEquals(List.of("2"), first.deferredTaskIds());
+        assertEquals(1, second.reconfiguredTasks().size());
+        assertTrue(second.deferredTaskIds().isEmpty());
+    }
+
+    private TaskResource task(String taskId) {
+        return new TaskResource(taskId, "someTaskName", "someTaskType", CFTTaskState.ASSIGNED, "someCaseId");
+    }
+}
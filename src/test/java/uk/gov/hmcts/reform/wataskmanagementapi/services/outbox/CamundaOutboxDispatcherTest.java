@@ -0,0 +1,112 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services.outbox;
+
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.CamundaOutboxEntry;
+import uk.gov.hmcts.reform.wataskmanagementapi.enums.CamundaOutboxAction;
+import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.TaskAssignException;
+import uk.gov.hmcts.reform.wataskmanagementapi.exceptions.v2.enums.ErrorMessages;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.CamundaService;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.doThrow;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CamundaOutboxDispatcherTest {
+
+    private static final int BATCH_SIZE = 2;
+    private static final int MAX_ATTEMPTS = 5;
+
+    @Mock
+    private CamundaOutboxService camundaOutboxService;
+    @Mock
+    private CamundaService camundaService;
+
+    private SimpleMeterRegistry meterRegistry;
+    private CamundaOutboxDispatcher camundaOutboxDispatcher;
+
+    @BeforeEach
+    void setUp() {
+        meterRegistry = new SimpleMeterRegistry();
+        camundaOutboxDispatcher = new CamundaOutboxDispatcher(
+            camundaOutboxService, camundaService, meterRegistry, BATCH_SIZE, MAX_ATTEMPTS, 60, 1000
+        );
+    }
+
+    @Test
+    void should_deliver_due_entries_until_a_batch_is_not_full() {
+        CamundaOutboxEntry assign = entry(1L, "taskId1", CamundaOutboxAction.ASSIGN, "assignee");
+        CamundaOutboxEntry unclaim = entry(2L, "taskId2", CamundaOutboxAction.UNCLAIM, null);
+        CamundaOutboxEntry second = entry(3L, "taskId1", CamundaOutboxAction.UNCLAIM, null);
+        when(camundaOutboxService.leaseDueEntries(BATCH_SIZE, Duration.ofSeconds(60)))
+            .thenReturn(List.of(assign, unclaim))
+            .thenReturn(List.of(second));
+
+        camundaOutboxDispatcher.dispatch();
+
+        verify(camundaService).assignTask("taskId1", "assignee", false);
+        verify(camundaService).unclaimTask("taskId2", true);
+        verify(camundaService).unclaimTask("taskId1", true);
+        verify(camundaOutboxService).markDelivered(1L);
+        verify(camundaOutboxService).markDelivered(2L);
+        verify(camundaOutboxService).markDelivered(3L);
+        assertEquals(3.0, deliveries("delivered"));
+    }
+
+    @Test
+    void should_record_failed_attempt_when_delivery_fails() {
+        CamundaOutboxEntry assign = entry(1L, "taskId1", CamundaOutboxAction.ASSIGN, "assignee");
+        when(camundaOutboxService.leaseDueEntries(BATCH_SIZE, Duration.ofSeconds(60)))
+            .thenReturn(List.of(assign));
+        doThrow(new TaskAssignException(ErrorMessages.TASK_ASSIGN_UNABLE_TO_ASSIGN))
+            .when(camundaService).assignTask("taskId1", "assignee", false);
+        when(camundaOutboxService.markAttemptFailed(eq(1L), any(), eq(MAX_ATTEMPTS), eq(Duration.ofMillis(1000))))
+            .thenReturn(true);
+
+        camundaOutboxDispatcher.dispatch();
+
+        verify(camundaOutboxService, never()).markDelivered(any());
+        assertEquals(1.0, deliveries("retry"));
+        assertEquals(0.0, deliveries("failed"));
+    }
+
+    @Test
+    void should_count_entries_that_ran_out_of_attempts() {
+        CamundaOutboxEntry unclaim = entry(1L, "taskId1", CamundaOutboxAction.UNCLAIM, null);
+        when(camundaOutboxService.leaseDueEntries(BATCH_SIZE, Duration.ofSeconds(60)))
+            .thenReturn(List.of(unclaim));
+        doThrow(new IllegalStateException("unavailable"))
+            .when(camundaService).unclaimTask("taskId1", true);
+        when(camundaOutboxService.markAttemptFailed(eq(1L), anyString(), anyInt(), any()))
+            .thenReturn(false);
+
+        camundaOutboxDispatcher.dispatch();
+
+        assertEquals(1.0, deliveries("failed"));
+    }
+
+    private double deliveries(String outcome) {
+        return meterRegistry.get("wa.camunda_outbox.deliveries").tag("outcome", outcome).counter().count();
+    }
+
+    private CamundaOutboxEntry entry(Long id, String taskId, CamundaOutboxAction action, String assignee) {
+        CamundaOutboxEntry entry = new CamundaOutboxEntry(taskId, action, assignee, true, OffsetDateTime.now());
+        entry.setId(id);
+        return entry;
+    }
+}
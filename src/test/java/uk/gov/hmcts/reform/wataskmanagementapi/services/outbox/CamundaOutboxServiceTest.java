@@ -0,0 +1,128 @@
+package uk.gov.hmcts.reform.wataskmanagementapi.services.outbox;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import uk.gov.hmcts.reform.wataskmanagementapi.entity.CamundaOutboxEntry;
+import uk.gov.hmcts.reform.wataskmanagementapi.enums.CamundaOutboxAction;
+import uk.gov.hmcts.reform.wataskmanagementapi.enums.CamundaOutboxStatus;
+import uk.gov.hmcts.reform.wataskmanagementapi.repository.CamundaOutboxRepository;
+import uk.gov.hmcts.reform.wataskmanagementapi.services.CamundaService;
+
+import java.time.Duration;
+import java.time.OffsetDateTime;
+import java.util.List;
+import java.util.Map;
+import java.util.Optional;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.times;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.verifyNoInteractions;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+class CamundaOutboxServiceTest {
+
+    private static final String TASK_ID = "taskId";
+    private static final String ASSIGNEE = "assignee";
+
+    @Mock
+    private CamundaService camundaService;
+    @Mock
+    private CamundaOutboxRepository camundaOutboxRepository;
+
+    @Test
+    void should_queue_assignment_updates_when_enabled() {
+        CamundaOutboxService camundaOutboxService =
+            new CamundaOutboxService(camundaService, camundaOutboxRepository, true);
+
+        camundaOutboxService.assignTask(TASK_ID, ASSIGNEE);
+        camundaOutboxService.unclaimTask(TASK_ID, true);
+
+        ArgumentCaptor<CamundaOutboxEntry> captor = ArgumentCaptor.forClass(CamundaOutboxEntry.class);
+        verify(camundaOutboxRepository, times(2)).save(captor.capture());
+        List<CamundaOutboxEntry> entries = captor.getAllValues();
+        assertEquals(CamundaOutboxAction.ASSIGN, entries.get(0).getAction());
+        assertEquals(ASSIGNEE, entries.get(0).getAssignee());
+        assertEquals(CamundaOutboxStatus.PENDING, entries.get(0).getStatus());
+        assertEquals(CamundaOutboxAction.UNCLAIM, entries.get(1).getAction());
+        assertTrue(entries.get(1).isTaskHasUnassigned());
+        verifyNoInteractions(camundaService);
+    }
+
+    @Test
+    void should_call_camunda_directly_when_disabled() {
+        CamundaOutboxService camundaOutboxService =
+            new CamundaOutboxService(camundaService, camundaOutboxRepository, false);
+
+        camundaOutboxService.assignTask(TASK_ID, ASSIGNEE);
+        camundaOutboxService.unclaimTask(TASK_ID, false);
+        camundaOutboxService.discardPending(TASK_ID);
+
+        verify(camundaService).assignTask(TASK_ID, ASSIGNEE, false);
+        verify(camundaService).unclaimTask(TASK_ID, false);
+        verifyNoInteractions(camundaOutboxRepository);
+    }
+
+    @Test
+    void should_discard_pending_updates_of_a_task() {
+        CamundaOutboxService camundaOutboxService =
+            new CamundaOutboxService(camundaService, camundaOutboxRepository, true);
+
+        camundaOutboxService.discardPending(TASK_ID);
+
+        verify(camundaOutboxRepository).deletePendingByTaskId(TASK_ID);
+    }
+
+    @Test
+    void should_schedule_retry_with_backoff_until_max_attempts() {
+        CamundaOutboxService camundaOutboxService =
+            new CamundaOutboxService(camundaService, camundaOutboxRepository, true);
+        CamundaOutboxEntry entry = new CamundaOutboxEntry(TASK_ID, CamundaOutboxAction.ASSIGN, ASSIGNEE, false,
+                                                          OffsetDateTime.now());
+        entry.setAttempts(1);
+        when(camundaOutboxRepository.findById(1L)).thenReturn(Optional.of(entry));
+
+        OffsetDateTime before = OffsetDateTime.now();
+        assertTrue(camundaOutboxService.markAttemptFailed(1L, "error", 3, Duration.ofSeconds(10)));
+
+        assertEquals(2, entry.getAttempts());
+        assertEquals("error", entry.getLastError());
+        assertEquals(CamundaOutboxStatus.PENDING, entry.getStatus());
+        assertFalse(entry.getNextAttemptTime().isBefore(before.plusSeconds(20)));
+
+        assertFalse(camundaOutboxService.markAttemptFailed(1L, "x".repeat(2000), 3, Duration.ofSeconds(10)));
+
+        assertEquals(3, entry.getAttempts());
+        assertEquals(1000, entry.getLastError().length());
+        assertEquals(CamundaOutboxStatus.FAILED, entry.getStatus());
+        verify(camundaOutboxRepository, times(2)).save(eq(entry));
+    }
+
+    @Test
+    void should_not_retry_an_entry_that_was_discarded() {
+        CamundaOutboxService camundaOutboxService =
+            new CamundaOutboxService(camundaService, camundaOutboxRepository, true);
+        when(camundaOutboxRepository.findById(any())).thenReturn(Optional.empty());
+
+        assertFalse(camundaOutboxService.markAttemptFailed(1L, "error", 3, Duration.ofSeconds(10)));
+    }
+
+    @Test
+    void should_requeue_current_failed_entries_and_discard_the_rest() {
+        CamundaOutboxService camundaOutboxService =
+            new CamundaOutboxService(camundaService, camundaOutboxRepository, true);
+        when(camundaOutboxRepository.requeueCurrentFailedEntries(any())).thenReturn(2);
+        when(camundaOutboxRepository.deleteFailedEntries()).thenReturn(1);
+
+        assertEquals(Map.of("replayed", 2, "discarded", 1), camundaOutboxService.replayFailed());
+        verifyNoInteractions(camundaService);
+    }
+}